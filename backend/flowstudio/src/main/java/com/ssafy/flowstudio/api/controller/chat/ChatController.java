@@ -6,14 +6,21 @@ import com.ssafy.flowstudio.api.service.chat.ChatService;
 import com.ssafy.flowstudio.api.service.chat.response.ChatCreateResponse;
 import com.ssafy.flowstudio.api.service.chat.response.ChatDetailResponse;
 import com.ssafy.flowstudio.api.service.chat.response.ChatListResponse;
+import com.ssafy.flowstudio.api.service.chat.response.ChatMessageListResponse;
+import com.ssafy.flowstudio.api.service.chat.response.ChatRunResponse;
+import com.ssafy.flowstudio.api.service.chat.response.NodeLatencyResponse;
+import com.ssafy.flowstudio.api.service.chat.response.RunTraceResponse;
 import com.ssafy.flowstudio.common.annotation.CurrentUser;
 import com.ssafy.flowstudio.common.payload.ApiResponse;
 import com.ssafy.flowstudio.domain.user.entity.User;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 @RestController
 public class ChatController {
@@ -51,6 +58,27 @@ public class ChatController {
         return ApiResponse.ok(chatService.getChat(user, chatFlowId, chatId));
     }
 
+    /**
+     * 채팅 메시지 목록 조회
+     * seq 커서로 before 이전 또는 after 이후 메시지를 조회하며, 둘 다 없으면 최근 메시지를 조회한다.
+     * @param chatFlowId
+     * @param chatId
+     * @param before
+     * @param after
+     * @param limit
+     * @return
+     */
+    @GetMapping(value = "/api/v1/chat-flows/{chatFlowId}/chats/{chatId}/messages")
+    public ApiResponse<ChatMessageListResponse> getChatMessages(
+            @CurrentUser User user,
+            @PathVariable Long chatFlowId,
+            @PathVariable Long chatId,
+            @RequestParam(value = "before", required = false) Integer before,
+            @RequestParam(value = "after", required = false) Integer after,
+            @RequestParam(value = "limit", defaultValue = "30") int limit
+    ) {
+        return ApiResponse.ok(chatService.getMessages(user, chatFlowId, chatId, before, after, limit));
+    }
 
     /**
      * 채팅 생성
@@ -69,19 +97,65 @@ public class ChatController {
 
     /**
      * 채팅 메시지 생성
+     * 실행은 비동기로 진행되며 결과는 SSE로 전달된다.
      * @param chatId
      * @param request
      * @return
      */
+    @ResponseStatus(HttpStatus.ACCEPTED)
     @PostMapping(value = "/api/v1/chats/{chatId}")
-    public ApiResponse<Void> sendChatMessage(
+    public ApiResponse<ChatRunResponse> sendChatMessage(
             @PathVariable Long chatId,
             @Valid @RequestBody ChatMessageRequest request
     ) {
-        chatService.sendMessage(chatId, request.toServiceRequest());
+        return ApiResponse.of(HttpStatus.ACCEPTED, chatService.sendMessage(chatId, request.toServiceRequest()));
+    }
+
+    /**
+     * 채팅 메시지 실행 중단
+     * 중단된 실행은 SSE cancel 이벤트로 끝난다.
+     * @param chatId
+     * @param runId
+     * @return
+     */
+    @PostMapping(value = "/api/v1/chats/{chatId}/runs/{runId}/cancel")
+    public ApiResponse<Void> cancelChatRun(
+            @CurrentUser User user,
+            @PathVariable Long chatId,
+            @PathVariable String runId
+    ) {
+        chatService.cancelRun(user, chatId, runId);
         return ApiResponse.ok();
     }
 
+    /**
+     * 채팅 메시지 실행 트레이스 조회
+     * @param chatId
+     * @param runId
+     * @return
+     */
+    @GetMapping(value = "/api/v1/chats/{chatId}/runs/{runId}/trace")
+    public ApiResponse<RunTraceResponse> getRunTrace(
+            @CurrentUser User user,
+            @PathVariable Long chatId,
+            @PathVariable String runId
+    ) {
+        return ApiResponse.ok(chatService.getRunTrace(user, chatId, runId));
+    }
+
+    /**
+     * 챗플로우 노드별 실행 시간 통계 조회
+     * @param chatFlowId
+     * @return
+     */
+    @GetMapping(value = "/api/v1/chat-flows/{chatFlowId}/node-latencies")
+    public ApiResponse<List<NodeLatencyResponse>> getNodeLatencies(
+            @CurrentUser User user,
+            @PathVariable Long chatFlowId
+    ) {
+        return ApiResponse.ok(chatService.getNodeLatencies(user, chatFlowId));
+    }
+
     /**
      * 채팅 삭제
      * @param chatId
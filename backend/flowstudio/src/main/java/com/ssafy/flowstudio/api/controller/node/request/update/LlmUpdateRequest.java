@@ -31,9 +31,12 @@ public class LlmUpdateRequest {
     private Integer maxTokens;
     @NotNull(message = "modelName을 입력해주세요.")
     private ModelName modelName;
+    private Boolean responseCacheEnabled;
+    private ModelName fallbackModelName;
+    private Boolean hedgingEnabled;
 
     @Builder
-    private LlmUpdateRequest(String name, CoordinateRequest coordinate, String promptSystem, String promptUser, String context, Double temperature, Integer maxTokens, ModelName modelName) {
+    private LlmUpdateRequest(String name, CoordinateRequest coordinate, String promptSystem, String promptUser, String context, Double temperature, Integer maxTokens, ModelName modelName, Boolean responseCacheEnabled, ModelName fallbackModelName, Boolean hedgingEnabled) {
         this.name = name;
         this.coordinate = coordinate;
         this.promptSystem = promptSystem;
@@ -42,6 +45,9 @@ public class LlmUpdateRequest {
         this.temperature = temperature;
         this.maxTokens = maxTokens;
         this.modelName = modelName;
+        this.responseCacheEnabled = responseCacheEnabled;
+        this.fallbackModelName = fallbackModelName;
+        this.hedgingEnabled = hedgingEnabled;
     }
 
     public LlmUpdateServiceRequest toServiceRequest() {
@@ -54,6 +60,9 @@ public class LlmUpdateRequest {
                 .temperature(temperature)
                 .maxTokens(maxTokens)
                 .modelName(modelName)
+                .responseCacheEnabled(responseCacheEnabled)
+                .fallbackModelName(fallbackModelName)
+                .hedgingEnabled(hedgingEnabled)
                 .build();
     }
 }
@@ -3,6 +3,7 @@ package com.ssafy.flowstudio.api.controller.node.request.update;
 import com.ssafy.flowstudio.api.controller.node.request.CoordinateRequest;
 import com.ssafy.flowstudio.api.service.node.request.update.QuestionClassifierUpdateServiceRequest;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,17 +16,21 @@ public class QuestionClassifierUpdateRequest {
     private String name;
     @NotNull(message = "좌표를 입력해주세요.")
     private CoordinateRequest coordinate;
+    @PositiveOrZero(message = "투기적 실행 토큰 예산은 0 이상이어야 합니다.")
+    private Integer speculativeTokenBudget;
 
     @Builder
-    private QuestionClassifierUpdateRequest(String name, CoordinateRequest coordinate) {
+    private QuestionClassifierUpdateRequest(String name, CoordinateRequest coordinate, Integer speculativeTokenBudget) {
         this.name = name;
         this.coordinate = coordinate;
+        this.speculativeTokenBudget = speculativeTokenBudget;
     }
 
     public QuestionClassifierUpdateServiceRequest toServiceRequest() {
         return QuestionClassifierUpdateServiceRequest.builder()
                 .name(name)
                 .coordinate(coordinate.toServiceRequest())
+                .speculativeTokenBudget(speculativeTokenBudget)
                 .build();
     }
 }
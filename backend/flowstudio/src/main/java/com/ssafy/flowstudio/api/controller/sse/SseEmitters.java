@@ -2,10 +2,16 @@ package com.ssafy.flowstudio.api.controller.sse;
 
 import com.ssafy.flowstudio.api.controller.sse.response.*;
 import com.ssafy.flowstudio.api.service.chatflowtest.response.ChatFlowTestResponse;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.api.service.node.run.TraceSpan;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
 import com.ssafy.flowstudio.domain.chat.entity.Chat;
-import com.ssafy.flowstudio.domain.node.entity.Node;
 import com.ssafy.flowstudio.domain.user.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -19,9 +25,14 @@ import java.util.concurrent.ConcurrentHashMap;
 @Component
 @Getter
 @Slf4j
+@RequiredArgsConstructor
 public class SseEmitters {
 
+    // SSE 이벤트 전송 시간 (event, outcome)
+    private static final String METRIC = "flow.sse.send";
+
     private final ConcurrentHashMap<Long, SseEmitter> emitters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
 
     public SseEmitter add(User user, SseEmitter emitter) {
         Long userId = user.getId();
@@ -44,15 +55,13 @@ public class SseEmitters {
         return emitter;
     }
 
-    public void send(User user, Node node) {
+    public void send(User user, PlanNode node) {
         SseNodeResponse data = SseNodeResponse.from(node);
 
         SseEmitter emitter = emitters.get(user.getId());
         if (emitter != null) {
             try {
-                emitter.send(SseEmitter.event()
-                        .name("node")
-                        .data(data));
+                emit(emitter, "node", data);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -65,24 +74,33 @@ public class SseEmitters {
         SseEmitter emitter = emitters.get(chat.getUser().getId());
         if (emitter != null) {
             try {
-                emitter.send(SseEmitter.event()
-                        .name("title")
-                        .data(data));
+                emit(emitter, "title", data);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
         }
     }
 
-    public void send(User user, Node node, String message) {
+    public void send(User user, PlanNode node, String message) {
         SseNodeResponse data = SseNodeResponse.of(node, message);
 
         SseEmitter emitter = emitters.get(user.getId());
         if (emitter != null) {
             try {
-                emitter.send(SseEmitter.event()
-                        .name("node")
-                        .data(data));
+                emit(emitter, "node", data);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    public void sendToken(ChatRun run, PlanNode node, int seq, String delta) {
+        SseTokenResponse data = SseTokenResponse.of(run, node, seq, delta);
+
+        SseEmitter emitter = emitters.get(run.getUserId());
+        if (emitter != null) {
+            try {
+                emit(emitter, "token", data);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -95,9 +113,7 @@ public class SseEmitters {
         SseEmitter emitter = emitters.get(chat.getUser().getId());
         if (emitter != null) {
             try {
-                emitter.send(SseEmitter.event()
-                        .name("testCase")
-                        .data(data));
+                emit(emitter, "testCase", data);
                 log.info("테스트케이스 전송 성공: {}", data);
             } catch (IOException e) {
                 log.error("테스트케이스 전송 실패");
@@ -112,9 +128,7 @@ public class SseEmitters {
         SseEmitter emitter = emitters.get(chat.getUser().getId());
         if (emitter != null) {
             try {
-                emitter.send(SseEmitter.event()
-                        .name("testResult")
-                        .data(data));
+                emit(emitter, "testResult", data);
                 log.info("테스트 결과 전송 성공: {}", data);
             } catch (IOException e) {
                 log.error("테스트 결과 전송 실패");
@@ -129,9 +143,7 @@ public class SseEmitters {
         SseEmitter emitter = emitters.get(chat.getUser().getId());
         if (emitter != null) {
             try {
-                emitter.send(SseEmitter.event()
-                        .name("prediction")
-                        .data(data));
+                emit(emitter, "prediction", data);
                 log.info("prediction 전송 성공");
             } catch (IOException e) {
                 log.error("prediction 전송 실패");
@@ -140,13 +152,52 @@ public class SseEmitters {
         }
     }
 
+    public void sendError(ChatRun run, ErrorCode errorCode) {
+        SseErrorResponse data = SseErrorResponse.of(run, errorCode);
+
+        SseEmitter emitter = emitters.get(run.getUserId());
+        if (emitter != null) {
+            try {
+                emit(emitter, "error", data);
+            } catch (IOException e) {
+                log.error("error 이벤트 전송 실패");
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    public void sendCancel(ChatRun run) {
+        SseCancelResponse data = SseCancelResponse.from(run);
+
+        SseEmitter emitter = emitters.get(run.getUserId());
+        if (emitter != null) {
+            try {
+                emit(emitter, "cancel", data);
+            } catch (IOException e) {
+                log.error("cancel 이벤트 전송 실패");
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    public void sendTrace(ChatRun run, TraceSpan span) {
+        SseTraceResponse data = SseTraceResponse.of(run, span);
+
+        SseEmitter emitter = emitters.get(run.getUserId());
+        if (emitter != null) {
+            try {
+                emit(emitter, "trace", data);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
     @Scheduled(fixedRate = 30000)
     public void sendHeartbeat() {
         emitters.forEach((userId, emitter) -> {
             try {
-                emitter.send(SseEmitter.event()
-                        .name("heartbeat")
-                        .data("ping"));
+                emit(emitter, "heartbeat", "ping");
             } catch (IOException e) {
                 log.error("Failed to send heartbeat to user {}: {}", userId, e.getMessage());
                 emitter.complete();
@@ -155,6 +206,19 @@ public class SseEmitters {
         });
     }
 
+    private void emit(SseEmitter emitter, String name, Object data) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean success = false;
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(name)
+                    .data(data));
+            success = true;
+        } finally {
+            sample.stop(meterRegistry.timer(METRIC, "event", name, "outcome", success ? "success" : "error"));
+        }
+    }
+
     public Boolean isConnected(User user) {
         log.info("isConnected: {}", emitters.containsKey(user.getId()));
         return emitters.containsKey(user.getId());
@@ -0,0 +1,32 @@
+package com.ssafy.flowstudio.api.controller.sse.response;
+
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.api.service.node.run.RunCancelReason;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class SseCancelResponse {
+
+    private Long chatId;
+    private String runId;
+    private RunCancelReason reason;
+
+    @Builder
+    private SseCancelResponse(Long chatId, String runId, RunCancelReason reason) {
+        this.chatId = chatId;
+        this.runId = runId;
+        this.reason = reason;
+    }
+
+    public static SseCancelResponse from(ChatRun run) {
+        return SseCancelResponse.builder()
+                .chatId(run.getChatId())
+                .runId(run.getRunId())
+                .reason(run.getCancelReason())
+                .build();
+    }
+
+}
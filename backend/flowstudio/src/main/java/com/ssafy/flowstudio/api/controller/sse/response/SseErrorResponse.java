@@ -0,0 +1,35 @@
+package com.ssafy.flowstudio.api.controller.sse.response;
+
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class SseErrorResponse {
+
+    private Long chatId;
+    private String runId;
+    private int code;
+    private String message;
+
+    @Builder
+    private SseErrorResponse(Long chatId, String runId, int code, String message) {
+        this.chatId = chatId;
+        this.runId = runId;
+        this.code = code;
+        this.message = message;
+    }
+
+    public static SseErrorResponse of(ChatRun run, ErrorCode errorCode) {
+        return SseErrorResponse.builder()
+                .chatId(run.getChatId())
+                .runId(run.getRunId())
+                .code(errorCode.getCode())
+                .message(errorCode.getMessage())
+                .build();
+    }
+
+}
@@ -1,6 +1,6 @@
 package com.ssafy.flowstudio.api.controller.sse.response;
 
-import com.ssafy.flowstudio.domain.node.entity.Node;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
 import com.ssafy.flowstudio.domain.node.entity.NodeType;
 import lombok.Builder;
 import lombok.Getter;
@@ -23,7 +23,7 @@ public class SseNodeResponse {
         this.message = message;
     }
 
-    public static SseNodeResponse from(Node node) {
+    public static SseNodeResponse from(PlanNode node) {
         return SseNodeResponse.builder()
                 .nodeId(node.getId())
                 .type(node.getType())
@@ -31,7 +31,7 @@ public class SseNodeResponse {
                 .build();
     }
 
-    public static SseNodeResponse of(Node node, String message) {
+    public static SseNodeResponse of(PlanNode node, String message) {
         return SseNodeResponse.builder()
                 .nodeId(node.getId())
                 .type(node.getType())
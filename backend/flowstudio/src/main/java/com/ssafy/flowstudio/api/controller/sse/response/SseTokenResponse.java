@@ -0,0 +1,36 @@
+package com.ssafy.flowstudio.api.controller.sse.response;
+
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class SseTokenResponse {
+
+    private final Long chatId;
+    private final String runId;
+    private final Long nodeId;
+    private final int seq;
+    private final String delta;
+
+    @Builder
+    private SseTokenResponse(Long chatId, String runId, Long nodeId, int seq, String delta) {
+        this.chatId = chatId;
+        this.runId = runId;
+        this.nodeId = nodeId;
+        this.seq = seq;
+        this.delta = delta;
+    }
+
+    public static SseTokenResponse of(ChatRun run, PlanNode node, int seq, String delta) {
+        return SseTokenResponse.builder()
+                .chatId(run.getChatId())
+                .runId(run.getRunId())
+                .nodeId(node.getId())
+                .seq(seq)
+                .delta(delta)
+                .build();
+    }
+
+}
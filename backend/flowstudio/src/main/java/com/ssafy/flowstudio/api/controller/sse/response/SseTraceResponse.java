@@ -0,0 +1,31 @@
+package com.ssafy.flowstudio.api.controller.sse.response;
+
+import com.ssafy.flowstudio.api.service.chat.response.TraceSpanResponse;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.api.service.node.run.TraceSpan;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class SseTraceResponse {
+
+    private final Long chatId;
+    private final String runId;
+    private final TraceSpanResponse span;
+
+    @Builder
+    private SseTraceResponse(Long chatId, String runId, TraceSpanResponse span) {
+        this.chatId = chatId;
+        this.runId = runId;
+        this.span = span;
+    }
+
+    public static SseTraceResponse of(ChatRun run, TraceSpan span) {
+        return SseTraceResponse.builder()
+                .chatId(run.getChatId())
+                .runId(run.getRunId())
+                .span(TraceSpanResponse.from(span))
+                .build();
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.ssafy.flowstudio.api.service.chat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import com.ssafy.flowstudio.domain.chat.entity.Chat;
+import com.ssafy.flowstudio.domain.chat.entity.ChatMessage;
+import com.ssafy.flowstudio.domain.chat.repository.ChatMessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 채팅의 질문과 답변을 ChatMessage에 추가하고 조회한다.
+ * 턴마다 한 행만 추가하므로 대화가 길어져도 저장 비용이 늘지 않는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ChatHistoryService {
+
+    // 같은 채팅의 메시지가 동시에 추가되어 순번이 겹치면 다시 시도한다.
+    private static final int MAX_APPEND_ATTEMPTS = 3;
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final LegacyChatHistoryMigrator legacyChatHistoryMigrator;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public ChatMessage append(Chat chat, String runId, Long nodeId, String question, String answer) {
+        migrateIfNeeded(chat);
+
+        for (int attempt = 1; ; attempt++) {
+            int seq = chatMessageRepository.findLastSeq(chat.getId()) + 1;
+            try {
+                return chatMessageRepository.saveAndFlush(ChatMessage.create(chat, seq, question, answer, runId, nodeId));
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_APPEND_ATTEMPTS) {
+                    throw new BaseException(ErrorCode.CHAT_HISTORY_CONFLICT);
+                }
+                log.debug("Seq {} of chat {} already taken, retrying", seq, chat.getId());
+            }
+        }
+    }
+
+    public boolean isEmpty(Chat chat) {
+        return !chat.hasLegacyHistory() && !chatMessageRepository.existsByChatId(chat.getId());
+    }
+
+    /**
+     * 조회한 메시지(오래된 순서)와 조회한 방향으로 메시지가 더 있는지 여부
+     */
+    public record MessageSlice(List<ChatMessage> messages, boolean hasMore) {
+    }
+
+    /**
+     * seq 커서로 메시지를 조회한다. (keyset 페이지네이션)
+     * after가 있으면 after 이후 메시지를, 없으면 before 이전(before도 없으면 최근) 메시지를 limit개 조회한다.
+     * 이전 기록을 옮긴 트랜잭션이 커밋된 뒤의 데이터를 읽도록 호출한 쪽의 트랜잭션에 참여하지 않는다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MessageSlice getMessages(Chat chat, Integer before, Integer after, int limit) {
+        migrateIfNeeded(chat);
+
+        // 한 개를 더 조회해 다음 페이지가 있는지 확인한다.
+        PageRequest page = PageRequest.of(0, limit + 1);
+        if (after != null) {
+            List<ChatMessage> messages = chatMessageRepository.findByChatIdAndSeqGreaterThanOrderBySeqAsc(chat.getId(), after, page);
+            boolean hasMore = messages.size() > limit;
+            return new MessageSlice(hasMore ? messages.subList(0, limit) : messages, hasMore);
+        }
+
+        List<ChatMessage> messages = new ArrayList<>(before == null
+                ? chatMessageRepository.findByChatIdOrderBySeqDesc(chat.getId(), page)
+                : chatMessageRepository.findByChatIdAndSeqLessThanOrderBySeqDesc(chat.getId(), before, page));
+        boolean hasMore = messages.size() > limit;
+        if (hasMore) {
+            messages.remove(limit);
+        }
+        Collections.reverse(messages);
+        return new MessageSlice(messages, hasMore);
+    }
+
+    /**
+     * 이전 기록과 같은 형식의 JSON 배열로 변환한다. ([{"question": ..., "answer": ...}])
+     */
+    public String toMessageList(List<ChatMessage> messages) {
+        ArrayNode arrayNode = objectMapper.createArrayNode();
+        for (ChatMessage message : messages) {
+            arrayNode.addObject()
+                    .put("question", message.getQuestion())
+                    .put("answer", message.getAnswer());
+        }
+
+        try {
+            return objectMapper.writeValueAsString(arrayNode);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Chat history serialization failed", e);
+        }
+    }
+
+    private void migrateIfNeeded(Chat chat) {
+        if (!chat.hasLegacyHistory()) {
+            return;
+        }
+
+        try {
+            legacyChatHistoryMigrator.migrate(chat.getId());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Legacy chat history of chat {} migrated concurrently", chat.getId());
+        }
+        chat.updateHistory("[]");
+    }
+
+}
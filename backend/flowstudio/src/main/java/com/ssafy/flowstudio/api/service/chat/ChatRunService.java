@@ -0,0 +1,99 @@
+package com.ssafy.flowstudio.api.service.chat;
+
+import com.ssafy.flowstudio.api.service.node.executor.AnswerExecutor;
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlan;
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlanService;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.api.service.node.run.RunAnswer;
+import com.ssafy.flowstudio.api.service.node.run.RunContext;
+import com.ssafy.flowstudio.api.service.node.run.RunContextService;
+import com.ssafy.flowstudio.api.service.node.run.RunScheduler;
+import com.ssafy.flowstudio.common.constant.ChatEnvVariable;
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import com.ssafy.flowstudio.domain.chat.entity.Chat;
+import com.ssafy.flowstudio.domain.chat.repository.ChatRepository;
+import com.ssafy.flowstudio.domain.chatflowtest.ChatFlowTestRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@Service
+public class ChatRunService {
+
+    private final RunScheduler runScheduler;
+    private final ChatRepository chatRepository;
+    private final ChatFlowTestRepository chatFlowTestRepository;
+    private final ExecutionPlanService executionPlanService;
+    private final RunContextService runContextService;
+    private final SemanticCacheService semanticCacheService;
+    private final AnswerExecutor answerExecutor;
+
+    /**
+     * 실행 스레드에서 채팅과 실행 계획을 조회한 뒤 챗플로우를 실행한다.
+     * 노드 실행은 컴파일된 실행 계획만 사용하므로 실행 동안 트랜잭션을 유지하지 않는다.
+     * 노드 출력과 환경 변수는 실행 컨텍스트에서 읽고 쓰며, 실행이 끝나면 한 번에 Redis에 기록한다.
+     * @param run
+     */
+    public void execute(ChatRun run) {
+        // 대기열에서 기다리는 동안 중단되었다면 실행하지 않는다.
+        if (run.isCancelled()) {
+            return;
+        }
+
+        Chat chat = chatRepository.findById(run.getChatId())
+                .orElseThrow(() -> new BaseException(ErrorCode.CHAT_NOT_FOUND));
+
+        // 테스트 정보는 @Transient 필드이므로 실행 스레드에서 다시 채운다.
+        if (run.isTest()) {
+            chat.updateTestContext(
+                    chatFlowTestRepository.getReferenceById(run.getChatFlowTestId()),
+                    run.getTestQuestion(),
+                    run.getGroundTruth()
+            );
+        }
+
+        // 발행된 챗플로우는 같은 ID로 secondary DB에 복사되어 있다.
+        ExecutionPlan plan = executionPlanService.getPlan(chat.getChatFlow().getId(), !chat.isPreview());
+        RunContext context = runContextService.load(chat.getId(), plan);
+        run.attach(chat, plan, context);
+
+        // 발행된 챗봇은 비슷한 질문의 이전 답변이 있으면 챗플로우를 실행하지 않고 재전송한다.
+        float[] questionEmbedding = null;
+        if (semanticCacheService.isCacheable(run)) {
+            questionEmbedding = semanticCacheService.embed(run.getMessage());
+            List<RunAnswer> cachedAnswers = questionEmbedding == null ? null : semanticCacheService.lookup(plan, questionEmbedding);
+            if (cachedAnswers != null) {
+                replay(run, cachedAnswers);
+                return;
+            }
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            runScheduler.run(run);
+        } finally {
+            runContextService.flush(context);
+        }
+
+        if (questionEmbedding != null && !run.getState().isCancelled()) {
+            semanticCacheService.store(plan, questionEmbedding, run.getAnswers(), System.nanoTime() - startedAt);
+        }
+    }
+
+    private void replay(ChatRun run, List<RunAnswer> cachedAnswers) {
+        RunContext context = run.getContext();
+        context.put(ChatEnvVariable.INPUT_MESSAGE, run.getMessage());
+
+        try {
+            for (RunAnswer answer : cachedAnswers) {
+                answerExecutor.respond(run.getPlan().getNode(answer.nodeIndex()), run, answer.message());
+            }
+        } finally {
+            runContextService.flush(context);
+        }
+    }
+
+}
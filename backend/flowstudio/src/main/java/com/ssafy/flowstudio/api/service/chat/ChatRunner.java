@@ -0,0 +1,60 @@
+package com.ssafy.flowstudio.api.service.chat;
+
+import com.ssafy.flowstudio.api.controller.sse.SseEmitters;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.api.service.node.run.ChatRunRegistry;
+import com.ssafy.flowstudio.api.service.node.run.RunCancelReason;
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ChatRunner {
+
+    private final ChatRunService chatRunService;
+    private final SseEmitters sseEmitters;
+    private final ChatRunRegistry chatRunRegistry;
+    private final RunTraceService runTraceService;
+    private final RunAdmission runAdmission;
+
+    /**
+     * flowExecutor 스레드에서 챗플로우를 실행한다.
+     * 실행 결과와 오류는 모두 SSE로만 전달된다.
+     * 중단된 실행은 노드에서 발생한 오류 대신 중단 사유를 마지막 이벤트로 전달한다.
+     * @param run
+     */
+    @Async("flowExecutor")
+    public void run(ChatRun run) {
+        try {
+            chatRunService.execute(run);
+        } catch (BaseException e) {
+            if (!run.isCancelled()) {
+                log.warn("Chat run failed. runId: {}, code: {}", run.getRunId(), e.getErrorCode().getCode());
+                sseEmitters.sendError(run, e.getErrorCode());
+            }
+        } catch (Exception e) {
+            if (!run.isCancelled()) {
+                log.error("Chat run failed. runId: {}", run.getRunId(), e);
+                sseEmitters.sendError(run, ErrorCode.CHAT_RUN_FAILED);
+            }
+        } finally {
+            chatRunRegistry.unregister(run);
+            runAdmission.release(run);
+            if (run.getTrace() != null) {
+                runTraceService.flush(run);
+            }
+        }
+
+        if (run.getCancelReason() == RunCancelReason.TIMEOUT) {
+            sseEmitters.sendError(run, ErrorCode.CHAT_RUN_TIMEOUT);
+        } else if (run.isCancelled()) {
+            sseEmitters.sendCancel(run);
+        }
+    }
+
+}
@@ -1,10 +1,18 @@
 package com.ssafy.flowstudio.api.service.chat;
 
+import com.ssafy.flowstudio.api.controller.sse.SseEmitters;
 import com.ssafy.flowstudio.api.service.chat.request.ChatCreateServiceRequest;
 import com.ssafy.flowstudio.api.service.chat.request.ChatMessageServiceRequest;
 import com.ssafy.flowstudio.api.service.chat.response.ChatCreateResponse;
 import com.ssafy.flowstudio.api.service.chat.response.ChatDetailResponse;
 import com.ssafy.flowstudio.api.service.chat.response.ChatListResponse;
+import com.ssafy.flowstudio.api.service.chat.response.ChatMessageListResponse;
+import com.ssafy.flowstudio.api.service.chat.response.ChatRunResponse;
+import com.ssafy.flowstudio.api.service.chat.response.NodeLatencyResponse;
+import com.ssafy.flowstudio.api.service.chat.response.RunTraceResponse;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.api.service.node.run.ChatRunRegistry;
+import com.ssafy.flowstudio.api.service.node.run.RunCancelReason;
 import com.ssafy.flowstudio.common.exception.BaseException;
 import com.ssafy.flowstudio.common.exception.ErrorCode;
 import com.ssafy.flowstudio.common.security.jwt.JWTService;
@@ -13,7 +21,6 @@ import com.ssafy.flowstudio.domain.chat.entity.Chat;
 import com.ssafy.flowstudio.domain.chat.repository.ChatRepository;
 import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
 import com.ssafy.flowstudio.domain.chatflow.repository.ChatFlowRepository;
-import com.ssafy.flowstudio.domain.node.entity.NodeVisitor;
 import com.ssafy.flowstudio.domain.user.entity.User;
 import com.ssafy.flowstudio.domain.user.repository.UserRepository;
 import com.ssafy.flowstudio.publish.PublishService;
@@ -22,11 +29,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -39,27 +47,32 @@ import java.util.UUID;
 @Service
 public class ChatService {
 
-    private final NodeVisitor visitor;
+    // 채팅 상세 조회에 포함할 최근 메시지 수
+    private static final int DETAIL_MESSAGE_LIMIT = 100;
+    // 메시지 목록 조회 한 번에 반환할 최대 메시지 수
+    private static final int MAX_MESSAGE_LIMIT = 100;
+
+    private final ChatRunner chatRunner;
+    private final ChatRunRegistry chatRunRegistry;
+    private final RunAdmission runAdmission;
+    private final RunTraceService runTraceService;
+    private final SseEmitters sseEmitters;
     private final ChatRepository chatRepository;
+    private final ChatHistoryService chatHistoryService;
     private final ChatFlowRepository chatFlowRepository;
     private final UserRepository userRepository;
 
     private final JWTService jwtService;
     private final PublishService publishService;
 
-    @Transactional
-    public void sendMessage(Long chatId, ChatMessageServiceRequest request) {
+    public ChatRunResponse sendMessage(Long chatId, ChatMessageServiceRequest request) {
         Chat chat = chatRepository.findById(chatId)
                 .orElseThrow(() -> new BaseException(ErrorCode.CHAT_NOT_FOUND));
 
-        if (!chat.isPreview()) {
-            ChatFlow publishChatFlow = publishService.getPublishChatFlow(chat.getChatFlow().getPublishUrl());
-            chat.updateChatFlow(publishChatFlow);
-        }
-
-        String message = request.getMessage();
+        ChatRun run = ChatRun.of(chat, request.getMessage());
+        dispatch(run, runAdmission.slotsOf(chat));
 
-        visitor.start(message, chat);
+        return ChatRunResponse.from(run);
     }
 
     @Transactional
@@ -110,7 +123,79 @@ public class ChatService {
             throw new BaseException(ErrorCode.FORBIDDEN);
         }
 
-        return ChatDetailResponse.from(chat);
+        // 최근 메시지만 조회한다.
+        ChatHistoryService.MessageSlice slice = chatHistoryService.getMessages(chat, null, null, DETAIL_MESSAGE_LIMIT);
+        return ChatDetailResponse.of(chat, chatHistoryService.toMessageList(slice.messages()), slice.hasMore());
+    }
+
+    public ChatMessageListResponse getMessages(User user, Long chatFlowId, Long chatId, Integer before, Integer after, int limit) {
+        if (before != null && after != null) {
+            throw new BaseException(ErrorCode.CHAT_MESSAGE_CURSOR_INVALID);
+        }
+
+        Chat chat = chatRepository.findById(chatId)
+                .orElseThrow(() -> new BaseException(ErrorCode.CHAT_NOT_FOUND));
+
+        if (!chat.getUser().equals(user)) {
+            throw new BaseException(ErrorCode.FORBIDDEN);
+        }
+
+        ChatHistoryService.MessageSlice slice = chatHistoryService.getMessages(chat, before, after, Math.min(Math.max(limit, 1), MAX_MESSAGE_LIMIT));
+        return ChatMessageListResponse.of(chat.getId(), slice.messages(), slice.hasMore());
+    }
+
+    /**
+     * 대기 중이거나 실행 중인 run을 중단한다.
+     * 실행 중인 노드는 인터럽트되고, 실행 스레드가 끝나면 SSE로 cancel 이벤트가 전달된다.
+     */
+    public void cancelRun(User user, Long chatId, String runId) {
+        Chat chat = chatRepository.findById(chatId)
+                .orElseThrow(() -> new BaseException(ErrorCode.CHAT_NOT_FOUND));
+
+        if (!chat.getUser().equals(user)) {
+            throw new BaseException(ErrorCode.FORBIDDEN);
+        }
+
+        ChatRun run = chatRunRegistry.find(runId)
+                .filter(activeRun -> activeRun.getChatId().equals(chatId))
+                .orElseThrow(() -> new BaseException(ErrorCode.CHAT_RUN_NOT_FOUND));
+
+        if (run.cancel(RunCancelReason.USER)) {
+            log.info("Chat run cancel requested. runId: {}", runId);
+            runAdmission.withdraw(run);
+        }
+    }
+
+    /**
+     * 실행 트레이스를 조회한다. 실행 중이라면 지금까지 기록된 노드만 반환한다.
+     */
+    public RunTraceResponse getRunTrace(User user, Long chatId, String runId) {
+        Chat chat = chatRepository.findById(chatId)
+                .orElseThrow(() -> new BaseException(ErrorCode.CHAT_NOT_FOUND));
+
+        if (!chat.getUser().equals(user)) {
+            throw new BaseException(ErrorCode.FORBIDDEN);
+        }
+
+        return chatRunRegistry.find(runId)
+                .filter(run -> run.getChatId().equals(chatId) && run.getTrace() != null)
+                .map(run -> RunTraceResponse.of(run, true))
+                .or(() -> runTraceService.find(runId).filter(trace -> trace.getChatId().equals(chatId)))
+                .orElseThrow(() -> new BaseException(ErrorCode.CHAT_RUN_NOT_FOUND));
+    }
+
+    /**
+     * 챗플로우의 노드별 최근 실행 시간 p50, p95를 조회한다.
+     */
+    public List<NodeLatencyResponse> getNodeLatencies(User user, Long chatFlowId) {
+        ChatFlow chatFlow = chatFlowRepository.findById(chatFlowId)
+                .orElseThrow(() -> new BaseException(ErrorCode.CHAT_FLOW_NOT_FOUND));
+
+        if (!chatFlow.getOwner().equals(user)) {
+            throw new BaseException(ErrorCode.FORBIDDEN);
+        }
+
+        return runTraceService.getNodeLatencies(chatFlowId);
     }
 
     @Transactional
@@ -126,4 +211,79 @@ public class ChatService {
         return true;
     }
 
+    /**
+     * 동시 실행 자리는 호출한 트랜잭션 안에서 확인해, 거절되면 커밋 전에 429로 응답한다.
+     * 실행은 커밋된 이후에 시작해야 실행 스레드에서 채팅을 조회할 수 있다.
+     * 대기열에 들어간 실행은 자리가 나면 RunAdmission이 시작하며, 대기열을 거치는 실행은 이미 저장된 채팅의 실행뿐이다.
+     */
+    private void dispatch(ChatRun run, List<RunAdmission.Slot> slots) {
+        chatRunRegistry.register(run);
+        boolean admitted;
+        try {
+            admitted = runAdmission.admit(run, slots, () -> start(run));
+        } catch (BaseException e) {
+            chatRunRegistry.unregister(run);
+            throw e;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (admitted) {
+                start(run);
+            }
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // 한 트랜잭션에서 여러 실행을 제출하면 하나가 실패해도 나머지는 시작해야 하고, 요청은 이미 커밋되었으므로
+            // 오류를 던지지 않고 실행의 SSE로 알린다.
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    abandon(run);
+                    return;
+                }
+                if (!admitted) {
+                    return;
+                }
+
+                try {
+                    start(run);
+                } catch (BaseException e) {
+                    fail(run, e.getErrorCode());
+                } catch (RuntimeException e) {
+                    log.error("Chat run failed to start. runId: {}", run.getRunId(), e);
+                    fail(run, ErrorCode.CHAT_RUN_FAILED);
+                }
+            }
+        });
+    }
+
+    private void start(ChatRun run) {
+        try {
+            chatRunner.run(run);
+        } catch (TaskRejectedException e) {
+            chatRunRegistry.unregister(run);
+            runAdmission.release(run);
+            log.warn("Chat run rejected. chatId: {}", run.getChatId());
+            throw new BaseException(ErrorCode.CHAT_RUN_REJECTED);
+        }
+    }
+
+    // 롤백된 요청의 실행은 응답으로 알려지지 않았으므로 이벤트 없이 자리만 반납한다.
+    private void abandon(ChatRun run) {
+        chatRunRegistry.unregister(run);
+        runAdmission.withdraw(run);
+        runAdmission.release(run);
+    }
+
+    private void fail(ChatRun run, ErrorCode errorCode) {
+        chatRunRegistry.unregister(run);
+        runAdmission.release(run);
+        try {
+            sseEmitters.sendError(run, errorCode);
+        } catch (RuntimeException e) {
+            log.warn("Chat run error not delivered. runId: {}, code: {}", run.getRunId(), errorCode.getCode());
+        }
+    }
+
 }
@@ -0,0 +1,79 @@
+package com.ssafy.flowstudio.api.service.chat;
+
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.ssafy.flowstudio.domain.chat.entity.Chat;
+import com.ssafy.flowstudio.domain.chat.entity.ChatMessage;
+import com.ssafy.flowstudio.domain.chat.repository.ChatMessageRepository;
+import com.ssafy.flowstudio.domain.chat.repository.ChatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chat.messageList에 JSON 배열로 저장된 이전 대화 기록을 ChatMessage로 옮긴다.
+ * 채팅을 처음 읽거나 쓸 때 한 번만 옮기며, 옮긴 뒤에는 기록 컬럼을 빈 배열로 비운다.
+ * 기록 컬럼은 모든 내용을 ChatMessage에 저장한 트랜잭션에서만 비운다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class LegacyChatHistoryMigrator {
+
+    // 직접 만든 테스트 데이터처럼 따옴표가 없는 필드명, 작은따옴표 문자열도 읽는다.
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .enable(JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES)
+            .enable(JsonReadFeature.ALLOW_SINGLE_QUOTES)
+            .build();
+
+    private final ChatRepository chatRepository;
+    private final ChatMessageRepository chatMessageRepository;
+
+    /**
+     * 옮긴 메시지 수를 반환한다. 다른 요청이 먼저 옮겼다면 0
+     * 채팅 행을 잠그고 옮기므로 같은 채팅을 동시에 옮기지 않는다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int migrate(Long chatId) {
+        Chat chat = chatRepository.findByIdForUpdate(chatId).orElse(null);
+        if (chat == null || !chat.hasLegacyHistory()) {
+            return 0;
+        }
+
+        // 옮긴 뒤에 이전 기록이 다시 쓰였다면 지우지 않고 마지막 메시지 뒤에 옮긴다.
+        int lastSeq = chatMessageRepository.findLastSeq(chatId);
+        List<ChatMessage> messages = new ArrayList<>();
+        try {
+            JsonNode entries = OBJECT_MAPPER.readTree(chat.getMessageList());
+            if (!entries.isArray()) {
+                throw new IllegalArgumentException("not a JSON array");
+            }
+            int seq = lastSeq;
+            for (JsonNode entry : entries) {
+                messages.add(ChatMessage.create(chat, ++seq, text(entry, "question"), text(entry, "answer"), null, null));
+            }
+        } catch (Exception e) {
+            // 읽을 수 없는 기록은 원문을 답변 하나로 옮겨 잃지 않고 계속 조회할 수 있게 한다.
+            log.warn("Legacy chat history of chat {} could not be parsed, keeping it as raw text: {}", chatId, e.getMessage());
+            messages = List.of(ChatMessage.create(chat, lastSeq + 1, null, chat.getMessageList(), null, null));
+        }
+
+        chatMessageRepository.saveAll(messages);
+        chat.updateHistory("[]");
+        log.info("Migrated {} legacy messages of chat {}", messages.size(), chatId);
+        return messages.size();
+    }
+
+    private static String text(JsonNode entry, String field) {
+        JsonNode value = entry.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+}
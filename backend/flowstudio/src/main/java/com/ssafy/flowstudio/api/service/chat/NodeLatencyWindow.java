@@ -0,0 +1,56 @@
+package com.ssafy.flowstudio.api.service.chat;
+
+import com.ssafy.flowstudio.api.service.chat.response.NodeLatencyResponse;
+import com.ssafy.flowstudio.domain.node.entity.NodeType;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 노드 하나의 최근 실행 시간
+ * 고정 크기 링 버퍼에 쌓고, 조회할 때 복사해서 정렬한 뒤 백분위수를 계산한다.
+ */
+class NodeLatencyWindow {
+
+    static final int CAPACITY = 512;
+
+    private final NodeType type;
+    private final AtomicLongArray samples = new AtomicLongArray(CAPACITY);
+    private final AtomicLong cursor = new AtomicLong();
+
+    NodeLatencyWindow(NodeType type) {
+        this.type = type;
+    }
+
+    void add(long elapsedMicros) {
+        samples.set((int) (cursor.getAndIncrement() % CAPACITY), elapsedMicros);
+    }
+
+    NodeLatencyResponse toResponse(Long nodeId) {
+        int count = (int) Math.min(cursor.get(), CAPACITY);
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+
+        return NodeLatencyResponse.builder()
+                .nodeId(nodeId)
+                .type(type)
+                .count(count)
+                .p50Millis(percentile(sorted, 0.5))
+                .p95Millis(percentile(sorted, 0.95))
+                .build();
+    }
+
+    // nearest-rank 방식
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1000.0;
+    }
+
+}
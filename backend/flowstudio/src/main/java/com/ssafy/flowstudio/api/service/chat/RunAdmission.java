@@ -0,0 +1,301 @@
+package com.ssafy.flowstudio.api.service.chat;
+
+import com.ssafy.flowstudio.api.controller.sse.SseEmitters;
+import com.ssafy.flowstudio.api.service.node.RedisService;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import com.ssafy.flowstudio.common.exception.RateLimitException;
+import com.ssafy.flowstudio.domain.chat.entity.Chat;
+import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 챗플로우 소유자별, 발행 URL별 동시 실행 수를 제한한다.
+ * 자리가 없으면 인스턴스의 대기열에서 기다리고, 대기열도 가득 차면 429로 바로 거절한다.
+ * REDIS 모드에서는 동시 실행 수를 정렬 집합의 임대(lease)로 세어 모든 인스턴스가 공유한다.
+ * 다른 인스턴스가 반납한 자리는 이 인스턴스에 알려지지 않으므로 대기열을 주기적으로 다시 확인한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class RunAdmission {
+
+    public static final String METRIC = "flow.admission";
+    private static final String REDIS_KEY_PREFIX = "admission:";
+    private static final long LEASE_MARGIN_SECONDS = 60;
+
+    private final FlowExecutionProperties flowExecutionProperties;
+    private final RedisService redisService;
+    private final SseEmitters sseEmitters;
+    private final MeterRegistry meterRegistry;
+
+    // 아래 두 맵은 this로 보호한다.
+    private final Map<String, Integer> localPermits = new HashMap<>();
+    private final Map<String, Deque<Waiting>> waitings = new HashMap<>();
+
+    private final Map<String, List<Slot>> admitted = new ConcurrentHashMap<>();
+
+    /**
+     * 실행이 차지하는 동시 실행 자리
+     * @param key 자리를 공유하는 단위 (owner:{id}, publish:{url})
+     */
+    public record Slot(String key, int maxConcurrent, int maxQueued) {
+    }
+
+    private record Waiting(ChatRun run, List<Slot> slots, Runnable start) {
+    }
+
+    /**
+     * 채팅의 실행이 차지할 자리를 구한다.
+     * 챗플로우 테스트는 커밋 이후 한 번에 제출되고 재시도할 클라이언트가 없으므로 제한하지 않는다.
+     */
+    public List<Slot> slotsOf(Chat chat) {
+        if (chat.isTest()) {
+            return List.of();
+        }
+
+        ChatFlow chatFlow = chat.getChatFlow();
+        List<Slot> slots = new ArrayList<>();
+        if (flowExecutionProperties.getOwnerMaxConcurrentRuns() > 0) {
+            slots.add(new Slot(
+                    "owner:" + chatFlow.getOwner().getId(),
+                    flowExecutionProperties.getOwnerMaxConcurrentRuns(),
+                    flowExecutionProperties.getOwnerMaxQueuedRuns()
+            ));
+        }
+        if (!chat.isPreview() && StringUtils.hasText(chatFlow.getPublishUrl()) && flowExecutionProperties.getPublishMaxConcurrentRuns() > 0) {
+            slots.add(new Slot(
+                    "publish:" + chatFlow.getPublishUrl(),
+                    flowExecutionProperties.getPublishMaxConcurrentRuns(),
+                    flowExecutionProperties.getPublishMaxQueuedRuns()
+            ));
+        }
+        return slots;
+    }
+
+    /**
+     * 실행할 자리를 얻는다. 자리가 없으면 대기열에 넣고, 자리가 나면 start로 실행을 시작한다.
+     * 먼저 기다리는 실행이 있는 자리는 새 실행이 앞지르지 않는다.
+     * @return 바로 실행할 수 있으면 true, 대기열에 들어갔다면 false
+     * @throws RateLimitException 동시 실행 자리와 대기열이 모두 가득 찼을 때
+     */
+    public boolean admit(ChatRun run, List<Slot> slots, Runnable start) {
+        if (slots.isEmpty()) {
+            return true;
+        }
+
+        synchronized (this) {
+            Slot blocked = blockedSlot(run, slots);
+            if (blocked == null) {
+                admitted.put(run.getRunId(), slots);
+                record("admitted");
+                return true;
+            }
+
+            Deque<Waiting> queue = waitings.computeIfAbsent(blocked.key(), key -> new ArrayDeque<>());
+            if (queue.size() >= blocked.maxQueued()) {
+                record("rejected");
+                log.warn("Chat run throttled. key: {}, chatId: {}", blocked.key(), run.getChatId());
+                throw new RateLimitException(ErrorCode.CHAT_RUN_THROTTLED, flowExecutionProperties.getAdmissionRetryAfterSeconds());
+            }
+
+            queue.addLast(new Waiting(run, slots, start));
+            record("queued");
+            return false;
+        }
+    }
+
+    /**
+     * 실행이 끝나면 자리를 반납하고, 반납한 자리를 기다리던 실행을 시작한다.
+     */
+    public void release(ChatRun run) {
+        List<Slot> slots = admitted.remove(run.getRunId());
+        if (slots == null) {
+            return;
+        }
+
+        List<Waiting> ready = new ArrayList<>();
+        synchronized (this) {
+            releaseAll(run, slots);
+            for (Slot slot : slots) {
+                drain(slot.key(), ready);
+            }
+        }
+        ready.forEach(this::start);
+    }
+
+    /**
+     * 실행을 대기열에서 바로 뺀다. 중단된 실행이라면 자리 없이 시작해 ChatRunner가 중단 이벤트를 보내게 한다.
+     * 빠진 실행이 대기열의 맨 앞이었다면 뒤에서 기다리던 실행이 자리를 얻을 수 있다.
+     */
+    public void withdraw(ChatRun run) {
+        List<Waiting> ready = new ArrayList<>();
+        synchronized (this) {
+            for (String key : List.copyOf(waitings.keySet())) {
+                Iterator<Waiting> iterator = waitings.get(key).iterator();
+                while (iterator.hasNext()) {
+                    Waiting waiting = iterator.next();
+                    if (waiting.run() == run) {
+                        iterator.remove();
+                        if (run.isCancelled()) {
+                            ready.add(waiting);
+                        }
+                        drain(key, ready);
+                        break;
+                    }
+                }
+            }
+        }
+        ready.forEach(this::start);
+    }
+
+    /**
+     * 대기 중에 제한 시간이 지났거나 중단된 실행을 대기열에서 빼고, 다른 인스턴스가 반납한 자리로 대기 중인 실행을 시작한다.
+     */
+    @Scheduled(fixedRate = 1000)
+    public void redrain() {
+        List<Waiting> ready = new ArrayList<>();
+        synchronized (this) {
+            for (String key : List.copyOf(waitings.keySet())) {
+                Iterator<Waiting> iterator = waitings.get(key).iterator();
+                while (iterator.hasNext()) {
+                    Waiting waiting = iterator.next();
+                    waiting.run().expire();
+                    if (waiting.run().isCancelled()) {
+                        iterator.remove();
+                        ready.add(waiting);
+                    }
+                }
+                drain(key, ready);
+            }
+        }
+        ready.forEach(this::start);
+    }
+
+    // 대기 중인 실행이 없고 모든 자리를 얻었다면 null, 아니면 기다려야 하는 자리를 반환한다.
+    private Slot blockedSlot(ChatRun run, List<Slot> slots) {
+        for (Slot slot : slots) {
+            Deque<Waiting> queue = waitings.get(slot.key());
+            if (queue != null && !queue.isEmpty()) {
+                return slot;
+            }
+        }
+
+        return acquireAll(run, slots);
+    }
+
+    private void drain(String key, List<Waiting> ready) {
+        Deque<Waiting> queue = waitings.get(key);
+        while (queue != null && !queue.isEmpty()) {
+            Waiting head = queue.peekFirst();
+
+            // 기다리는 동안 중단된 실행은 자리 없이 바로 시작해 중단 이벤트를 보내고 끝나게 한다.
+            if (head.run().isCancelled()) {
+                queue.pollFirst();
+                ready.add(head);
+                continue;
+            }
+
+            if (acquireAll(head.run(), head.slots()) != null) {
+                break;
+            }
+            queue.pollFirst();
+            admitted.put(head.run().getRunId(), head.slots());
+            ready.add(head);
+        }
+
+        if (queue != null && queue.isEmpty()) {
+            waitings.remove(key);
+        }
+    }
+
+    private void start(Waiting waiting) {
+        try {
+            waiting.start().run();
+        } catch (BaseException e) {
+            release(waiting.run());
+            sseEmitters.sendError(waiting.run(), e.getErrorCode());
+        } catch (RuntimeException e) {
+            log.error("Queued chat run failed to start. runId: {}", waiting.run().getRunId(), e);
+            release(waiting.run());
+            sseEmitters.sendError(waiting.run(), ErrorCode.CHAT_RUN_FAILED);
+        }
+    }
+
+    // 모든 자리를 얻었다면 null, 하나라도 얻지 못했다면 얻은 자리를 반납하고 얻지 못한 자리를 반환한다.
+    private Slot acquireAll(ChatRun run, List<Slot> slots) {
+        for (int i = 0; i < slots.size(); i++) {
+            if (!acquire(run, slots.get(i))) {
+                releaseAll(run, slots.subList(0, i));
+                return slots.get(i);
+            }
+        }
+        return null;
+    }
+
+    private boolean acquire(ChatRun run, Slot slot) {
+        if (flowExecutionProperties.getAdmissionMode() == FlowExecutionProperties.AdmissionMode.REDIS) {
+            String key = REDIS_KEY_PREFIX + slot.key();
+            try {
+                if (redisService.acquireLease(key, run.getRunId(), leaseMillis()) < slot.maxConcurrent()) {
+                    return true;
+                }
+                redisService.releaseLease(key, run.getRunId());
+                return false;
+            } catch (RuntimeException e) {
+                // Redis 장애로 실행을 막지 않는다.
+                log.warn("Admission lease unavailable. key: {}, cause: {}", key, e.getMessage());
+                return true;
+            }
+        }
+
+        int running = localPermits.getOrDefault(slot.key(), 0);
+        if (running >= slot.maxConcurrent()) {
+            return false;
+        }
+        localPermits.put(slot.key(), running + 1);
+        return true;
+    }
+
+    private void releaseAll(ChatRun run, List<Slot> slots) {
+        for (Slot slot : slots) {
+            if (flowExecutionProperties.getAdmissionMode() == FlowExecutionProperties.AdmissionMode.REDIS) {
+                try {
+                    redisService.releaseLease(REDIS_KEY_PREFIX + slot.key(), run.getRunId());
+                } catch (RuntimeException e) {
+                    log.warn("Admission lease release failed. key: {}, cause: {}", slot.key(), e.getMessage());
+                }
+                continue;
+            }
+
+            localPermits.computeIfPresent(slot.key(), (key, running) -> running > 1 ? running - 1 : null);
+        }
+    }
+
+    // 인스턴스가 반납하지 못하고 죽어도 실행 제한 시간이 지나면 자리가 풀린다.
+    private long leaseMillis() {
+        return TimeUnit.SECONDS.toMillis(flowExecutionProperties.getRunTimeoutSeconds() + LEASE_MARGIN_SECONDS);
+    }
+
+    private void record(String outcome) {
+        meterRegistry.counter(METRIC, "outcome", outcome).increment();
+    }
+
+}
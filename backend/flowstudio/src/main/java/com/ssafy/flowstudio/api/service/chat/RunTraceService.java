@@ -0,0 +1,82 @@
+package com.ssafy.flowstudio.api.service.chat;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ssafy.flowstudio.api.service.chat.response.NodeLatencyResponse;
+import com.ssafy.flowstudio.api.service.chat.response.RunTraceResponse;
+import com.ssafy.flowstudio.api.service.chat.response.TraceSpanResponse;
+import com.ssafy.flowstudio.api.service.node.RedisService;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 끝난 실행의 트레이스를 Redis에 저장하고, 챗플로우별로 노드 실행 시간 통계를 모은다.
+ * 통계는 인스턴스 메모리에만 유지한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class RunTraceService {
+
+    private static final String KEY_PREFIX = "trace:";
+    private static final long TTL_HOURS = 24;
+
+    private final RedisService redisService;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Map<Long, NodeLatencyWindow>> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * 실행 스레드가 아닌 비동기 스레드에서 트레이스를 저장한다.
+     * 실패한 노드의 실행 시간은 통계에 넣지 않는다.
+     */
+    @Async
+    public void flush(ChatRun run) {
+        RunTraceResponse trace = RunTraceResponse.of(run, false);
+
+        Map<Long, NodeLatencyWindow> chatFlowLatencies = latencies.computeIfAbsent(run.getPlan().getChatFlowId(), id -> new ConcurrentHashMap<>());
+        for (TraceSpanResponse span : trace.getSpans()) {
+            if (span.getErrorCode() == null) {
+                chatFlowLatencies.computeIfAbsent(span.getNodeId(), id -> new NodeLatencyWindow(span.getType()))
+                        .add(span.getElapsedMicros());
+            }
+        }
+
+        try {
+            redisService.save(KEY_PREFIX + run.getRunId(), objectMapper.writeValueAsString(trace), TTL_HOURS, TimeUnit.HOURS);
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to store trace of run {}: {}", run.getRunId(), e.getMessage());
+        }
+    }
+
+    public Optional<RunTraceResponse> find(String runId) {
+        String value = redisService.get(KEY_PREFIX + runId);
+        if (value == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(objectMapper.readValue(value, RunTraceResponse.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to read trace of run {}: {}", runId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public List<NodeLatencyResponse> getNodeLatencies(Long chatFlowId) {
+        return latencies.getOrDefault(chatFlowId, Map.of()).entrySet().stream()
+                .map(entry -> entry.getValue().toResponse(entry.getKey()))
+                .sorted(Comparator.comparing(NodeLatencyResponse::getNodeId))
+                .toList();
+    }
+
+}
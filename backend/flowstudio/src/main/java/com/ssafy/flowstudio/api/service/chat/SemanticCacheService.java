@@ -0,0 +1,147 @@
+package com.ssafy.flowstudio.api.service.chat;
+
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlan;
+import com.ssafy.flowstudio.api.service.node.plan.StartPlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.api.service.node.run.RunAnswer;
+import com.ssafy.flowstudio.api.service.rag.EmbeddingService;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 발행된 챗봇의 시맨틱 응답 캐시
+ * 질문을 임베딩해 챗플로우별 인덱스에서 가장 비슷한 이전 질문을 찾고, 유사도가 기준 이상이면 그때의 답변을 재사용한다.
+ * 인덱스는 발행 버전별로 관리하므로 다시 발행하면 이전 답변은 사용하지 않는다.
+ */
+@Slf4j
+@Service
+public class SemanticCacheService {
+
+    private record Entry(float[] embedding, List<RunAnswer> answers, long elapsedNanos) {
+    }
+
+    private static class FlowIndex {
+
+        private final long version;
+        private final Deque<Entry> entries = new ArrayDeque<>();
+
+        private FlowIndex(long version) {
+            this.version = version;
+        }
+
+    }
+
+    private final EmbeddingService embeddingService;
+    private final FlowExecutionProperties flowExecutionProperties;
+    private final Map<Long, FlowIndex> indexes = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Timer lookupTimer;
+    private final DistributionSummary savedSummary;
+
+    public SemanticCacheService(EmbeddingService embeddingService, FlowExecutionProperties flowExecutionProperties, MeterRegistry meterRegistry) {
+        this.embeddingService = embeddingService;
+        this.flowExecutionProperties = flowExecutionProperties;
+        this.hitCounter = meterRegistry.counter("flow.semantic.cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("flow.semantic.cache", "result", "miss");
+        this.lookupTimer = meterRegistry.timer("flow.semantic.cache.lookup");
+        this.savedSummary = DistributionSummary.builder("flow.semantic.cache.saved")
+                .baseUnit("milliseconds")
+                .description("캐시된 답변을 재사용해 생략한 실행 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 발행된 챗봇의 일반 채팅만 캐시한다.
+     */
+    public boolean isCacheable(ChatRun run) {
+        if (!flowExecutionProperties.isSemanticCacheEnabled() || run.isPreview() || run.isTest() || run.getMessage() == null) {
+            return false;
+        }
+
+        StartPlanNode startNode = (StartPlanNode) run.getPlan().getStartNode();
+        return run.getMessage().length() <= startNode.getMaxLength();
+    }
+
+    /**
+     * 질문을 정규화된 임베딩으로 변환한다. 실패하면 캐시를 사용하지 않도록 null을 반환한다.
+     */
+    public float[] embed(String message) {
+        try {
+            return embeddingService.embed(message);
+        } catch (Exception e) {
+            log.warn("Semantic cache embedding failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public List<RunAnswer> lookup(ExecutionPlan plan, float[] embedding) {
+        long startedAt = System.nanoTime();
+        Entry best = null;
+        double bestScore = -1;
+
+        FlowIndex index = indexes.get(plan.getChatFlowId());
+        if (index != null && index.version == plan.getVersion()) {
+            synchronized (index) {
+                for (Entry entry : index.entries) {
+                    double score = EmbeddingService.cosine(entry.embedding(), embedding);
+                    if (score > bestScore) {
+                        bestScore = score;
+                        best = entry;
+                    }
+                }
+            }
+        }
+        lookupTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+
+        if (best == null || bestScore < flowExecutionProperties.getSemanticCacheThreshold()) {
+            missCounter.increment();
+            return null;
+        }
+
+        hitCounter.increment();
+        savedSummary.record(TimeUnit.NANOSECONDS.toMillis(best.elapsedNanos()));
+        log.debug("Semantic cache hit. chatFlowId: {}, score: {}", plan.getChatFlowId(), bestScore);
+        return best.answers();
+    }
+
+    public void store(ExecutionPlan plan, float[] embedding, Collection<RunAnswer> answers, long elapsedNanos) {
+        if (answers.isEmpty()) {
+            return;
+        }
+
+        FlowIndex index = indexes.compute(plan.getChatFlowId(), (chatFlowId, current) ->
+                current == null || current.version < plan.getVersion() ? new FlowIndex(plan.getVersion()) : current);
+
+        // 실행 중에 다시 발행된 경우 이전 버전의 답변은 저장하지 않는다.
+        if (index.version != plan.getVersion()) {
+            return;
+        }
+
+        synchronized (index) {
+            index.entries.addLast(new Entry(embedding, List.copyOf(answers), elapsedNanos));
+            while (index.entries.size() > flowExecutionProperties.getSemanticCacheMaxEntries()) {
+                index.entries.removeFirst();
+            }
+        }
+    }
+
+    public void invalidate(Long chatFlowId) {
+        indexes.remove(chatFlowId);
+    }
+
+}
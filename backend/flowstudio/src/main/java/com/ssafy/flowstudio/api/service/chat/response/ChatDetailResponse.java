@@ -9,19 +9,23 @@ public class ChatDetailResponse {
     private Long id;
     private String title;
     private String messageList;
+    // messageList보다 이전 메시지가 있는지 여부, 이전 메시지는 메시지 목록 API로 조회한다.
+    private boolean hasMoreMessages;
 
     @Builder
-    private ChatDetailResponse(Long id, String title, String messageList) {
+    private ChatDetailResponse(Long id, String title, String messageList, boolean hasMoreMessages) {
         this.id = id;
         this.title = title;
         this.messageList = messageList;
+        this.hasMoreMessages = hasMoreMessages;
     }
 
-    public static ChatDetailResponse from(Chat chat) {
+    public static ChatDetailResponse of(Chat chat, String messageList, boolean hasMoreMessages) {
         return ChatDetailResponse.builder()
                 .id(chat.getId())
                 .title(chat.getTitle())
-                .messageList(chat.getMessageList())
+                .messageList(messageList)
+                .hasMoreMessages(hasMoreMessages)
                 .build();
     }
 
@@ -0,0 +1,33 @@
+package com.ssafy.flowstudio.api.service.chat.response;
+
+import com.ssafy.flowstudio.domain.chat.entity.ChatMessage;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ChatMessageListResponse {
+    private final Long chatId;
+    // 오래된 순서
+    private final List<ChatMessageResponse> messages;
+    // 조회한 방향(before면 이전, after면 이후)으로 메시지가 더 있는지 여부
+    private final boolean hasMore;
+
+    @Builder
+    private ChatMessageListResponse(Long chatId, List<ChatMessageResponse> messages, boolean hasMore) {
+        this.chatId = chatId;
+        this.messages = messages;
+        this.hasMore = hasMore;
+    }
+
+    public static ChatMessageListResponse of(Long chatId, List<ChatMessage> messages, boolean hasMore) {
+        return ChatMessageListResponse.builder()
+                .chatId(chatId)
+                .messages(messages.stream()
+                        .map(ChatMessageResponse::from)
+                        .toList())
+                .hasMore(hasMore)
+                .build();
+    }
+}
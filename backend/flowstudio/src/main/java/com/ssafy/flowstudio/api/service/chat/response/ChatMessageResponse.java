@@ -0,0 +1,33 @@
+package com.ssafy.flowstudio.api.service.chat.response;
+
+import com.ssafy.flowstudio.domain.chat.entity.ChatMessage;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class ChatMessageResponse {
+    private final int seq;
+    private final String question;
+    private final String answer;
+    private final String runId;
+    private final Long nodeId;
+
+    @Builder
+    private ChatMessageResponse(int seq, String question, String answer, String runId, Long nodeId) {
+        this.seq = seq;
+        this.question = question;
+        this.answer = answer;
+        this.runId = runId;
+        this.nodeId = nodeId;
+    }
+
+    public static ChatMessageResponse from(ChatMessage message) {
+        return ChatMessageResponse.builder()
+                .seq(message.getSeq())
+                .question(message.getQuestion())
+                .answer(message.getAnswer())
+                .runId(message.getRunId())
+                .nodeId(message.getNodeId())
+                .build();
+    }
+}
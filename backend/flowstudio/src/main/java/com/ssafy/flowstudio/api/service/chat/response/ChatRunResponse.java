@@ -0,0 +1,26 @@
+package com.ssafy.flowstudio.api.service.chat.response;
+
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class ChatRunResponse {
+
+    private final Long chatId;
+    private final String runId;
+
+    @Builder
+    private ChatRunResponse(Long chatId, String runId) {
+        this.chatId = chatId;
+        this.runId = runId;
+    }
+
+    public static ChatRunResponse from(ChatRun run) {
+        return ChatRunResponse.builder()
+                .chatId(run.getChatId())
+                .runId(run.getRunId())
+                .build();
+    }
+
+}
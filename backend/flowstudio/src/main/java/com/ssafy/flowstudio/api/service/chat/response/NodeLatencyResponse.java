@@ -0,0 +1,25 @@
+package com.ssafy.flowstudio.api.service.chat.response;
+
+import com.ssafy.flowstudio.domain.node.entity.NodeType;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class NodeLatencyResponse {
+
+    private final Long nodeId;
+    private final NodeType type;
+    private final int count;
+    private final double p50Millis;
+    private final double p95Millis;
+
+    @Builder
+    private NodeLatencyResponse(Long nodeId, NodeType type, int count, double p50Millis, double p95Millis) {
+        this.nodeId = nodeId;
+        this.type = type;
+        this.count = count;
+        this.p50Millis = p50Millis;
+        this.p95Millis = p95Millis;
+    }
+
+}
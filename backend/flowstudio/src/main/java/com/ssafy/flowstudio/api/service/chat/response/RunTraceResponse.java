@@ -0,0 +1,38 @@
+package com.ssafy.flowstudio.api.service.chat.response;
+
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class RunTraceResponse {
+
+    private Long chatId;
+    private String runId;
+    private boolean running;
+    private List<TraceSpanResponse> spans;
+
+    @Builder
+    private RunTraceResponse(Long chatId, String runId, boolean running, List<TraceSpanResponse> spans) {
+        this.chatId = chatId;
+        this.runId = runId;
+        this.running = running;
+        this.spans = spans;
+    }
+
+    public static RunTraceResponse of(ChatRun run, boolean running) {
+        return RunTraceResponse.builder()
+                .chatId(run.getChatId())
+                .runId(run.getRunId())
+                .running(running)
+                .spans(run.getTrace() == null ? List.of() : run.getTrace().snapshot().stream()
+                        .map(TraceSpanResponse::from)
+                        .toList())
+                .build();
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.ssafy.flowstudio.api.service.chat.response;
+
+import com.ssafy.flowstudio.api.service.node.run.TraceSpan;
+import com.ssafy.flowstudio.domain.node.entity.NodeType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class TraceSpanResponse {
+
+    private Long nodeId;
+    private NodeType type;
+    private long startedAt;
+    private long endedAt;
+    private long elapsedMicros;
+    private int tokens;
+    private String cacheHit;
+    private int outputSize;
+    private Integer errorCode;
+
+    @Builder
+    private TraceSpanResponse(Long nodeId, NodeType type, long startedAt, long endedAt, long elapsedMicros, int tokens, String cacheHit, int outputSize, Integer errorCode) {
+        this.nodeId = nodeId;
+        this.type = type;
+        this.startedAt = startedAt;
+        this.endedAt = endedAt;
+        this.elapsedMicros = elapsedMicros;
+        this.tokens = tokens;
+        this.cacheHit = cacheHit;
+        this.outputSize = outputSize;
+        this.errorCode = errorCode;
+    }
+
+    public static TraceSpanResponse from(TraceSpan span) {
+        return TraceSpanResponse.builder()
+                .nodeId(span.nodeId())
+                .type(span.type())
+                .startedAt(span.startedAt())
+                .endedAt(span.endedAt())
+                .elapsedMicros(span.elapsedMicros())
+                .tokens(span.tokens())
+                .cacheHit(span.cacheHit())
+                .outputSize(span.outputSize())
+                .errorCode(span.errorCode())
+                .build();
+    }
+
+}
@@ -3,6 +3,10 @@ package com.ssafy.flowstudio.api.service.chatflow;
 import com.ssafy.flowstudio.api.service.chatflow.request.ChatFlowServiceRequest;
 import com.ssafy.flowstudio.api.service.chatflow.response.*;
 import com.ssafy.flowstudio.api.service.node.NodeCopyFactoryProvider;
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlanCompiler;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.plan.PromptTemplateCache;
+import com.ssafy.flowstudio.api.service.node.response.SimpleNodeResponse;
 import com.ssafy.flowstudio.api.service.rag.VectorStoreService;
 import com.ssafy.flowstudio.api.service.rag.response.KnowledgeResponse;
 import com.ssafy.flowstudio.common.exception.BaseException;
@@ -32,6 +36,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Transactional(readOnly = true)
@@ -50,6 +55,8 @@ public class ChatFlowService {
     private final UserRepository userRepository;
     private final VectorStoreService vectorStoreService;
     private final MessageParseUtil messageParseUtil;
+    private final PromptTemplateCache promptTemplateCache;
+    private final ExecutionPlanCompiler executionPlanCompiler;
 
     public List<ChatFlowListResponse> getEveryoneChatFlows(int page, int limit) {
         PageRequest pageable = PageRequest.of(page, limit, Sort.by("shareCount").descending());
@@ -320,19 +327,23 @@ public class ChatFlowService {
         }
 
         // 복제된 노드들 중 Node ID를 포함한 텍스트를 속성으로 가진 노드가 있다면 전부 교체해준다.
-        for (Node clonedNode : nodeMap.values()) {
+        // 원본 노드의 컴파일된 템플릿을 재사용한다.
+        for (Map.Entry<Long, Node> entry : nodeMap.entrySet()) {
+            Long originalNodeId = entry.getKey();
+            Node clonedNode = entry.getValue();
+
             if (clonedNode.getType() == NodeType.LLM) {
                 // Llm 노드라면 프롬프트 내의 변수에 복제된 노드의 ID를 새로 매핑한다.
                 LLM clonedLLM = (LLM) clonedNode;
                 clonedLLM.updatePrompt(
-                        messageParseUtil.replace(clonedLLM.getPromptSystem(), nodeMap),
-                        messageParseUtil.replace(clonedLLM.getPromptUser(), nodeMap)
+                        messageParseUtil.remap(promptTemplateCache.get(originalNodeId, false, PromptTemplateCache.Field.PROMPT_SYSTEM, clonedLLM.getPromptSystem()), nodeMap),
+                        messageParseUtil.remap(promptTemplateCache.get(originalNodeId, false, PromptTemplateCache.Field.PROMPT_USER, clonedLLM.getPromptUser()), nodeMap)
                 );
             } else if (clonedNode.getType() == NodeType.ANSWER) {
                 // Answer 노드라면 Output Message 내의 변수에 복제된 노드의 ID를 새로 매핑한다.
                 Answer clonedAnswer = (Answer) clonedNode;
                 clonedAnswer.updateOutputMessage(
-                        messageParseUtil.replace(clonedAnswer.getOutputMessage(), nodeMap)
+                        messageParseUtil.remap(promptTemplateCache.get(originalNodeId, false, PromptTemplateCache.Field.OUTPUT_MESSAGE, clonedAnswer.getOutputMessage()), nodeMap)
                 );
             }
         }
@@ -412,6 +423,7 @@ public class ChatFlowService {
         }
 
         HashSet<Long> visited = new HashSet<>();
+        HashMap<Long, Integer> joinArrivals = new HashMap<>();
         ArrayDeque<Node> queue = new ArrayDeque<>();
 
         queue.add(startNode);
@@ -442,6 +454,14 @@ public class ChatFlowService {
             for (Edge currentEdge : currentEdges) {
                 Node nextNode = currentEdge.getTargetNode();
 
+                // Join 노드는 모든 Input Edge를 거친 뒤에 한 번만 방문한다.
+                if (nextNode.getType() == NodeType.JOIN) {
+                    int arrivals = joinArrivals.merge(nextNode.getId(), 1, Integer::sum);
+                    if (arrivals < nextNode.getInputEdges().size()) {
+                        continue;
+                    }
+                }
+
                 // 간선이 이미 방문한 노드를 가리키고 있다면 사이클이 형성된 것이므로 실행될 수 없다.
                 if (visited.contains(nextNode.getId())) {
                     return PreCheckResponse.createFalse(ErrorCode.CHAT_FLOW_CYCLE_DETECTED, nextNode);
@@ -452,7 +472,15 @@ public class ChatFlowService {
             }
         }
 
-        return PreCheckResponse.createTrue();
+        // 실행 계획에서 출력이 참조되지 않아 실행하지 않을 노드를 알려준다.
+        Set<Long> prunedNodeIds = executionPlanCompiler.compile(chatFlow, false, 0L).getPrunedNodes().stream()
+                .map(PlanNode::getId)
+                .collect(Collectors.toSet());
+
+        return PreCheckResponse.createTrue(nodes.stream()
+                .filter(node -> prunedNodeIds.contains(node.getId()))
+                .map(SimpleNodeResponse::from)
+                .toList());
     }
 
     public List<ModelProvider> getUseModelProviders(Long chatFlowId) {
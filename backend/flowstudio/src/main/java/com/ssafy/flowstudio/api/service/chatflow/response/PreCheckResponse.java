@@ -1,21 +1,27 @@
 package com.ssafy.flowstudio.api.service.chatflow.response;
 
+import com.ssafy.flowstudio.api.service.node.response.SimpleNodeResponse;
 import com.ssafy.flowstudio.common.exception.ErrorCode;
 import com.ssafy.flowstudio.domain.node.entity.Node;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.List;
+
 @Getter
 public class PreCheckResponse {
     private final boolean isExecutable;
     private final int errorCode;
     private final String malfunctionCause;
+    // 출력이 어디에서도 참조되지 않아 실행하지 않는 노드
+    private final List<SimpleNodeResponse> prunedNodes;
 
     @Builder
-    public PreCheckResponse(boolean isExecutable, int errorCode, String malfunctionCause) {
+    public PreCheckResponse(boolean isExecutable, int errorCode, String malfunctionCause, List<SimpleNodeResponse> prunedNodes) {
         this.isExecutable = isExecutable;
         this.errorCode = errorCode;
         this.malfunctionCause = malfunctionCause;
+        this.prunedNodes = prunedNodes == null ? List.of() : prunedNodes;
     }
 
     public static PreCheckResponse createTrue() {
@@ -24,6 +30,13 @@ public class PreCheckResponse {
                 .build();
     }
 
+    public static PreCheckResponse createTrue(List<SimpleNodeResponse> prunedNodes) {
+        return PreCheckResponse.builder()
+                .isExecutable(true)
+                .prunedNodes(prunedNodes)
+                .build();
+    }
+
     public static PreCheckResponse createFalse(ErrorCode errorCode) {
         return PreCheckResponse.builder()
                 .isExecutable(false)
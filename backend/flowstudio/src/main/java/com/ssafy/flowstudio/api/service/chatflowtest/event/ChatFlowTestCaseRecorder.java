@@ -0,0 +1,57 @@
+package com.ssafy.flowstudio.api.service.chatflowtest.event;
+
+import com.ssafy.flowstudio.api.service.chatflowtest.response.ChatFlowTestResponse;
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import com.ssafy.flowstudio.common.util.StatisticCalculator;
+import com.ssafy.flowstudio.domain.chat.entity.Chat;
+import com.ssafy.flowstudio.domain.chatflowtest.ChatFlowTestRepository;
+import com.ssafy.flowstudio.domain.chatflowtest.entity.ChatFlowTest;
+import com.ssafy.flowstudio.domain.chatflowtest.entity.ChatFlowTestCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 평가가 끝난 테스트 케이스를 저장한다.
+ * 테스트 케이스들이 동시에 끝나므로 테스트 행을 잠그고 케이스 추가와 successCount 갱신만 짧게 수행한다.
+ */
+@RequiredArgsConstructor
+@Component
+public class ChatFlowTestCaseRecorder {
+
+    private final ChatFlowTestRepository chatFlowTestRepository;
+    private final StatisticCalculator statisticCalculator;
+
+    /**
+     * @return 마지막 테스트 케이스였다면 테스트 전체의 통계, 아니면 null
+     */
+    @Transactional
+    public List<Float> record(Chat chat, String prediction, ChatFlowTestResponse response) {
+        ChatFlowTest chatFlowTest = chatFlowTestRepository.findByIdForUpdate(chat.getChatFlowTest().getId())
+                .orElseThrow(() -> new BaseException(ErrorCode.CHAT_FLOW_TEST_NOT_FOUND));
+
+        ChatFlowTestCase chatFlowTestCase = ChatFlowTestCase.create(
+                chatFlowTest,
+                chat.getTestQuestion(),
+                chat.getGroundTruth(),
+                prediction,
+                response.getEmbeddingDistance(),
+                response.getCrossEncoder(),
+                response.getRougeMetric()
+        );
+        chatFlowTest.addChatFlowTestCase(chatFlowTestCase);
+        chatFlowTest.incrementSuccessCount();
+
+        if (!chatFlowTest.isCompleted()) {
+            return null;
+        }
+
+        List<Float> result = statisticCalculator.calculate(chatFlowTest.getChatFlowTestCases());
+        chatFlowTest.updateResult(result);
+        return result;
+    }
+
+}
@@ -4,6 +4,7 @@ import com.ssafy.flowstudio.api.service.chatflow.ChatFlowService;
 import com.ssafy.flowstudio.api.service.chatflow.response.EdgeResponse;
 import com.ssafy.flowstudio.api.service.edge.request.EdgeServiceRequest;
 import com.ssafy.flowstudio.api.service.node.NodeService;
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlanService;
 import com.ssafy.flowstudio.common.exception.BaseException;
 import com.ssafy.flowstudio.common.exception.ErrorCode;
 import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
@@ -30,6 +31,7 @@ public class EdgeService {
     private final ChatFlowRepository chatFlowRepository;
     private final NodeRepository nodeRepository;
     private final NodeService nodeService;
+    private final ExecutionPlanService executionPlanService;
 
     @Transactional
     public EdgeResponse create(User user, Long chatFlowId, EdgeServiceRequest request) {
@@ -56,6 +58,7 @@ public class EdgeService {
 
         Edge savedEdge = Edge.create(sourceNode, targetNode, request.getSourceConditionId());
         edgeRepository.save(savedEdge);
+        executionPlanService.invalidate(chatFlowId);
 
         return EdgeResponse.from(savedEdge);
     }
@@ -90,6 +93,7 @@ public class EdgeService {
                 targetNode,
                 request.getSourceConditionId()
         );
+        executionPlanService.invalidate(chatFlowId);
 
         return EdgeResponse.from(edge);
     }
@@ -107,6 +111,7 @@ public class EdgeService {
                 .orElseThrow(() -> new BaseException(ErrorCode.EDGE_NOT_FOUND));
 
         edgeRepository.deleteById(edgeId);
+        executionPlanService.invalidate(chatFlowId);
         return true;
     }
 
@@ -115,13 +120,19 @@ public class EdgeService {
     }
 
     public boolean canConnect(Node sourceNode, Node targetNode, Long sourceConditionId) {
-        // Input Edge는 하나만 가질 수 있다.
-        if (!targetNode.getInputEdges().isEmpty()) {
+        // Join 노드가 아니라면 Input Edge는 하나만 가질 수 있다.
+        if (targetNode.getType() != NodeType.JOIN && !targetNode.getInputEdges().isEmpty()) {
             return false;
         }
 
-        // Source Condition을 가진 노드가 아니라면 OutputEdge는 하나만 가질 수 있다.
-        if (sourceConditionId == 0 && !sourceNode.getOutputEdges().isEmpty()) {
+        // 같은 두 노드 사이에는 Edge를 하나만 가질 수 있다.
+        if (sourceNode.getOutputEdges().stream().anyMatch(edge -> edge.getTargetNode().getId().equals(targetNode.getId()))) {
+            return false;
+        }
+
+        // 질문 분류기는 Source Condition을 가진 Edge만 가질 수 있다.
+        // 그 외의 노드는 여러 OutputEdge를 가질 수 있고, 각 갈래는 병렬로 실행된다.
+        if (sourceConditionId == 0 && sourceNode.getType() == NodeType.QUESTION_CLASSIFIER) {
             return false;
         }
 
@@ -15,6 +15,7 @@ public class NodeCopyFactoryProvider {
             case RETRIEVER -> new RetrieverCopyFactory();
             case CONDITIONAL -> null;
             case VARIABLE_ASSIGNER -> null;
+            case JOIN -> new JoinCopyFactory();
         };
     }
 }
@@ -17,6 +17,7 @@ public class NodeFactoryProvider {
             case CONDITIONAL -> new ConditionalFactory();
             case RETRIEVER -> new RetrieverFactory();
             case VARIABLE_ASSIGNER -> new VariableAssignerFactory();
+            case JOIN -> new JoinFactory();
         };
     }
 
@@ -1,5 +1,6 @@
 package com.ssafy.flowstudio.api.service.node;
 
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlanService;
 import com.ssafy.flowstudio.api.service.node.request.NodeCreateServiceRequest;
 import com.ssafy.flowstudio.api.service.node.response.ModelListResponse;
 import com.ssafy.flowstudio.api.service.node.response.NodeCreateResponse;
@@ -39,6 +40,7 @@ public class NodeService {
     private final NodeFactoryProvider nodeFactoryProvider;
     private final NodeDetailResponseMapper nodeDetailResponseMapper;
     private final EdgeRepository edgeRepository;
+    private final ExecutionPlanService executionPlanService;
 
     @Transactional
     public NodeDetailResponse createNode(User user, NodeCreateServiceRequest request) {
@@ -53,6 +55,7 @@ public class NodeService {
         Coordinate coordinate = Coordinate.create(request.getCoordinate().getX(), request.getCoordinate().getY());
 
         Node savedNode = nodeRepository.save(factory.createNode(chatFlow, coordinate));
+        executionPlanService.invalidate(chatFlow.getId());
 
         return nodeDetailResponseMapper.getCorrespondNodeDetailResponse(savedNode, new ArrayList<>());
     }
@@ -67,6 +70,7 @@ public class NodeService {
         }
 
         nodeRepository.delete(node);
+        executionPlanService.invalidate(node.getChatFlow().getId());
         return true;
     }
 
@@ -100,14 +104,22 @@ public class NodeService {
         List<Edge> inputEdges = node.getInputEdges();
         for (Edge edge : inputEdges) {
             Node sourceNode = edge.getSourceNode();
-            precedingNodes.add(sourceNode);
 
             if (nodeVisited.contains(sourceNode.getId())) {
                 throw new BaseException(ErrorCode.CHAT_FLOW_CYCLE_DETECTED);
             }
 
+            // Join 노드로 합쳐지는 갈래들은 같은 선행 노드를 공유하므로 한 번만 추가한다.
+            if (precedingNodes.stream().anyMatch(precedingNode -> precedingNode.getId().equals(sourceNode.getId()))) {
+                continue;
+            }
+
+            precedingNodes.add(sourceNode);
             traceBack(sourceNode, precedingNodes, nodeVisited);
         }
+
+        // 현재 경로에서 벗어나면 방문 표시를 해제한다.
+        nodeVisited.remove(node.getId());
     }
 
     public List<ModelListResponse> getModels() {
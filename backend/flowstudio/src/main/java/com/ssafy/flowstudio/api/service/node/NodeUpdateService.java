@@ -1,5 +1,7 @@
 package com.ssafy.flowstudio.api.service.node;
 
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlanService;
+import com.ssafy.flowstudio.api.service.node.plan.PromptTemplateCache;
 import com.ssafy.flowstudio.api.service.node.request.update.AnswerUpdateServiceRequest;
 import com.ssafy.flowstudio.api.service.node.request.update.RetrieverUpdateServiceRequest;
 import com.ssafy.flowstudio.api.service.node.request.update.LlmUpdateServiceRequest;
@@ -42,6 +44,8 @@ public class NodeUpdateService {
     private final LlmRepository llmRepository;
     private final KnowledgeRepository knowledgeRepository;
     private final AnswerRepository answerRepository;
+    private final ExecutionPlanService executionPlanService;
+    private final PromptTemplateCache promptTemplateCache;
 
     /**
      * 시작 노드 업데이트
@@ -57,6 +61,7 @@ public class NodeUpdateService {
         Coordinate coordinate = Coordinate.create(request.getCoordinate().getX(), request.getCoordinate().getY());
         start.update(request.getName(), coordinate, request.getMaxLength());
 
+        executionPlanService.invalidate(start.getChatFlow().getId());
         return StartResponse.from(start);
     }
 
@@ -72,8 +77,9 @@ public class NodeUpdateService {
         }
 
         Coordinate coordinate = Coordinate.create(request.getCoordinate().getX(), request.getCoordinate().getY());
-        questionClassifier.update(request.getName(), coordinate);
+        questionClassifier.update(request.getName(), coordinate, request.getSpeculativeTokenBudget());
 
+        executionPlanService.invalidate(questionClassifier.getChatFlow().getId());
         return QuestionClassifierResponse.from(questionClassifier);
     }
 
@@ -98,10 +104,14 @@ public class NodeUpdateService {
                 request.getContext(),
                 request.getTemperature(),
                 request.getMaxTokens(),
-                request.getModelName()
+                request.getModelName(),
+                request.getResponseCacheEnabled(),
+                request.getFallbackModelName(),
+                request.getHedgingEnabled()
         );
 
-
+        promptTemplateCache.invalidate(llm.getId());
+        executionPlanService.invalidate(llm.getChatFlow().getId());
         return LlmDetailResponse.from(llm);
     }
 
@@ -127,6 +137,7 @@ public class NodeUpdateService {
                 request.getQuery()
         );
 
+        executionPlanService.invalidate(retriever.getChatFlow().getId());
         return RetrieverResponse.from(retriever);
     }
 
@@ -144,6 +155,8 @@ public class NodeUpdateService {
         Coordinate coordinate = Coordinate.create(request.getCoordinate().getX(), request.getCoordinate().getY());
         answer.update(request.getName(), coordinate, request.getOutputMessage());
 
+        promptTemplateCache.invalidate(answer.getId());
+        executionPlanService.invalidate(answer.getChatFlow().getId());
         return AnswerResponse.from(answer);
     }
 
@@ -1,5 +1,8 @@
 package com.ssafy.flowstudio.api.service.node;
 
+import com.ssafy.flowstudio.api.service.node.executor.ClassificationMemo;
+import com.ssafy.flowstudio.api.service.node.executor.QuestionClassEmbeddingCache;
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlanService;
 import com.ssafy.flowstudio.api.service.node.response.QuestionClassResponse;
 import com.ssafy.flowstudio.api.service.node.request.QuestionClassCreateServiceRequest;
 import com.ssafy.flowstudio.api.service.node.request.QuestionClassUpdateServiceRequest;
@@ -28,6 +31,9 @@ public class QuestionClassService {
     private final QuestionClassRepository questionClassRepository;
     private final EdgeRepository edgeRepository;
     private final QuestionClassifierRepository questionClassifierRepository;
+    private final ExecutionPlanService executionPlanService;
+    private final QuestionClassEmbeddingCache questionClassEmbeddingCache;
+    private final ClassificationMemo classificationMemo;
 
     @Transactional
     public QuestionClassResponse createQuestionClass(Long nodeId) {
@@ -39,6 +45,8 @@ public class QuestionClassService {
         questionClass.updateQuestionClassifier(questionClassifier);
 
         questionClassRepository.save(questionClass);
+        executionPlanService.invalidate(questionClassifier.getChatFlow().getId());
+        classificationMemo.invalidate(questionClassifier.getId());
 
         return QuestionClassResponse.from(questionClass);
     }
@@ -50,6 +58,9 @@ public class QuestionClassService {
         );
 
         questionClass.update(request.getContent());
+        executionPlanService.invalidate(questionClass.getQuestionClassifier().getChatFlow().getId());
+        questionClassEmbeddingCache.warmUp(List.of(questionClass.getContent()));
+        classificationMemo.invalidate(questionClass.getQuestionClassifier().getId());
 
         return QuestionClassResponse.from(questionClass);
     }
@@ -72,6 +83,8 @@ public class QuestionClassService {
         edgeRepository.deleteAll(edge);
 
         questionClassRepository.delete(questionClass);
+        executionPlanService.invalidate(questionClassifier.getChatFlow().getId());
+        classificationMemo.invalidate(questionClassifier.getId());
         return true;
     }
 
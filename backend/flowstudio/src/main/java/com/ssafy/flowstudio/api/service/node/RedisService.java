@@ -5,9 +5,15 @@ import groovy.util.logging.Slf4j;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -18,6 +24,7 @@ public class RedisService {
 
     private static final Logger log = LoggerFactory.getLogger(RedisService.class);
     private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
     private final int EXPIRATION_MINUTES = 5;
 
     public String get(String key) {
@@ -61,6 +68,33 @@ public class RedisService {
         redisTemplate.opsForValue().set(key, value, EXPIRATION_MINUTES, TimeUnit.MINUTES);
     }
 
+    public void save(String key, String value, long timeout, TimeUnit unit) {
+        redisTemplate.opsForValue().set(key, value, timeout, unit);
+    }
+
+    public List<String> getAll(List<String> keys) {
+        List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            return null;
+        }
+        return values.stream()
+                .map(value -> (String) value)
+                .toList();
+    }
+
+    // 여러 키를 하나의 파이프라인으로 저장한다.
+    public void saveAll(Map<String, String> values) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> redisOperations = (RedisOperations<String, Object>) operations;
+                values.forEach((key, value) -> redisOperations.opsForValue().set(key, value, EXPIRATION_MINUTES, TimeUnit.MINUTES));
+                return null;
+            }
+        });
+    }
+
     public void deleteAll(Long chatId) {
         Set<String> keys = redisTemplate.keys(chatId + ":*");
         if (keys != null && !keys.isEmpty()) {
@@ -68,6 +102,36 @@ public class RedisService {
         }
     }
 
+    // 버전 키는 INCR로 증가시키므로 문자열 그대로 읽는다.
+    public long getVersion(String key) {
+        String value = stringRedisTemplate.opsForValue().get(key);
+        return value == null ? 0L : Long.parseLong(value);
+    }
+
+    public long increaseVersion(String key) {
+        Long version = stringRedisTemplate.opsForValue().increment(key);
+        return version == null ? 0L : version;
+    }
+
+    /**
+     * 만료된 멤버를 지우고 멤버를 추가한 뒤, 먼저 들어온 멤버 수(순위)를 반환한다.
+     * 정렬 집합의 점수는 추가한 시각이며, leaseMillis가 지난 멤버는 만료된 것으로 본다.
+     */
+    public long acquireLease(String key, String member, long leaseMillis) {
+        long now = System.currentTimeMillis();
+        ZSetOperations<String, String> zSetOperations = stringRedisTemplate.opsForZSet();
+        zSetOperations.removeRangeByScore(key, Double.NEGATIVE_INFINITY, now - leaseMillis);
+        zSetOperations.add(key, member, now);
+        stringRedisTemplate.expire(key, leaseMillis, TimeUnit.MILLISECONDS);
+
+        Long rank = zSetOperations.rank(key, member);
+        return rank == null ? Long.MAX_VALUE : rank;
+    }
+
+    public void releaseLease(String key, String member) {
+        stringRedisTemplate.opsForZSet().remove(key, member);
+    }
+
     public boolean exists(Long chatId, Long nodeId) {
         String key = chatId + ":" + nodeId;
         return redisTemplate.hasKey(key);
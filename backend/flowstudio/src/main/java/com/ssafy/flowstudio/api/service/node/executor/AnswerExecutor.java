@@ -1,24 +1,22 @@
 package com.ssafy.flowstudio.api.service.node.executor;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.ssafy.flowstudio.api.controller.sse.SseEmitters;
+import com.ssafy.flowstudio.api.service.chat.ChatHistoryService;
 import com.ssafy.flowstudio.api.service.chatflowtest.event.ChatFlowTestEvent;
+import com.ssafy.flowstudio.api.service.node.plan.AnswerPlanNode;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
 import com.ssafy.flowstudio.common.constant.ChatEnvVariable;
 import com.ssafy.flowstudio.common.exception.BaseException;
 import com.ssafy.flowstudio.common.exception.ErrorCode;
 import com.ssafy.flowstudio.common.secret.SecretKeyProperties;
-import com.ssafy.flowstudio.common.util.MessageParseUtil;
 import com.ssafy.flowstudio.domain.chat.entity.Chat;
 import com.ssafy.flowstudio.api.service.node.RedisService;
-import com.ssafy.flowstudio.domain.chat.repository.ChatRepository;
-import com.ssafy.flowstudio.domain.node.entity.Answer;
 import com.ssafy.flowstudio.domain.node.entity.ModelName;
-import com.ssafy.flowstudio.domain.node.entity.Node;
+import com.ssafy.flowstudio.domain.node.entity.ModelProvider;
 import com.ssafy.flowstudio.domain.node.entity.NodeType;
 import dev.langchain4j.model.chat.ChatLanguageModel;
-import dev.langchain4j.model.openai.OpenAiChatModel;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
@@ -26,84 +24,77 @@ import org.springframework.stereotype.Component;
 @Component
 public class AnswerExecutor extends NodeExecutor {
 
-    private final MessageParseUtil messageParseUtil;
-    private final ChatRepository chatRepository;
+    private final ChatHistoryService chatHistoryService;
     private final ChatTitleMaker chatTitleMaker;
     private final SecretKeyProperties secretKeyProperties;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ChatModelFactory chatModelFactory;
+    private final FlowExecutionProperties flowExecutionProperties;
 
-    public AnswerExecutor(RedisService redisService, ApplicationEventPublisher eventPublisher, MessageParseUtil messageParseUtil, SseEmitters sseEmitters, ChatRepository chatRepository, ChatTitleMaker chatTitleMaker, SecretKeyProperties secretKeyProperties) {
+    public AnswerExecutor(RedisService redisService, ApplicationEventPublisher eventPublisher, SseEmitters sseEmitters, ChatHistoryService chatHistoryService, ChatTitleMaker chatTitleMaker, SecretKeyProperties secretKeyProperties, ChatModelFactory chatModelFactory, FlowExecutionProperties flowExecutionProperties) {
         super(redisService, eventPublisher, sseEmitters);
-        this.messageParseUtil = messageParseUtil;
-        this.chatRepository = chatRepository;
+        this.chatHistoryService = chatHistoryService;
         this.chatTitleMaker = chatTitleMaker;
         this.secretKeyProperties = secretKeyProperties;
+        this.chatModelFactory = chatModelFactory;
+        this.flowExecutionProperties = flowExecutionProperties;
     }
 
     @Override
-    public void execute(Node node, Chat chat) {
-        Answer answerNode = (Answer) node;
-
-        // 사용자가 변수와 함께 등록한 Output Message를 파싱한다.
-        String outputMessage = answerNode.getOutputMessage();
+    public void execute(PlanNode node, ChatRun run) {
+        AnswerPlanNode answerNode = (AnswerPlanNode) node;
 
         // Answer 노드는 Output Message를 필수로 필요로 한다.
         if (!answerNode.hasRequiredResources()) {
             throw new BaseException(ErrorCode.REQUIRED_NODE_VALUE_NOT_EXIST);
         }
 
-        String answerOutput = messageParseUtil.replace(outputMessage, chat.getId());
-
-        // 완성된 메시지를 SSE를 통해 클라이언트에게 전송한다.
-        sseEmitters.send(chat.getUser(), answerNode, answerOutput);
-
-        String inputMessage = redisService.get(chat.getId() + ":" + ChatEnvVariable.INPUT_MESSAGE);
-
-        if (chat.getMessageList().equals("[]") && !chat.isPreview()) {
-            ChatLanguageModel chatModel = OpenAiChatModel.builder()
-                    .apiKey(secretKeyProperties.getOpenAi())
-                    .modelName(ModelName.GPT_4_O_MINI.getName())
-                    .temperature(0.3)
-                    .maxTokens(512)
-                    .build();
-
-            chatTitleMaker.makeTitle(chat, chatModel, inputMessage);
-        }
-
-        updateChatHistory(chat, inputMessage, answerOutput);
-
-        if(chat.isTest()) {
-            redisService.saveTestValue(chat.getId(), answerOutput);
-            sseEmitters.sendChatFlowTestLlm(chat, answerOutput);
-            ChatFlowTestEvent event = ChatFlowTestEvent.of(this, chat);
-            publishEvent(event);
-        }
+        // 사용자가 변수와 함께 등록한 Output Message를 파싱한다.
+        String answerOutput = answerNode.getOutputTemplate().render(run.getContext()::get);
+        run.addAnswer(answerNode, answerOutput);
 
+        respond(answerNode, run, answerOutput);
     }
 
-    private void updateChatHistory(Chat chat, String promptUser, String LlmOutputMessage) {
-        try {
-            String chatHistory = chat.getMessageList();
-            // 문자열을 JSON 객체로 변환
-            ArrayNode arrayNode = (ArrayNode) objectMapper.readTree(chatHistory);
-
-            // 새 JSON 객체 생성
-            ObjectNode newObject = objectMapper.createObjectNode();
-            newObject.put("question", promptUser);
-            newObject.put("answer", LlmOutputMessage);
+    /**
+     * 완성된 답변을 전송하고 채팅 기록에 추가한다.
+     * 시맨틱 캐시에 저장된 답변을 재전송할 때도 사용한다.
+     */
+    public void respond(PlanNode answerNode, ChatRun run, String answerOutput) {
+        Chat chat = run.getChat();
 
-            // 새 객체를 JSON 배열에 추가
-            arrayNode.add(newObject);
-
-            // JSON 배열을 문자열로 변환
-            String updatedChatHistory = objectMapper.writeValueAsString(arrayNode);
-
-            // 채팅 기록 업데이트
-            chat.updateHistory(updatedChatHistory);
-            chatRepository.save(chat);
+        // 완성된 메시지를 SSE를 통해 클라이언트에게 전송한다.
+        sseEmitters.send(chat.getUser(), answerNode, answerOutput);
 
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Chat history update failed");
+        // 병렬 갈래의 Answer 노드들이 같은 채팅 기록을 동시에 수정하지 않도록 한다.
+        synchronized (run) {
+            String inputMessage = run.getContext().get(ChatEnvVariable.INPUT_MESSAGE);
+
+            if (!chat.isPreview() && chatHistoryService.isEmpty(chat)) {
+                // 제목은 모델을 호출하지 않고 질문에서 추출하며, 설정한 경우에만 LLM 제목으로 바꾼다.
+                chatTitleMaker.makeLocalTitle(chat, inputMessage, flowExecutionProperties.getChatTitleMaxLength());
+
+                if (flowExecutionProperties.getChatTitleMode() == FlowExecutionProperties.ChatTitleMode.LLM) {
+                    ChatLanguageModel chatModel = chatModelFactory.getChatModel(
+                            ModelProvider.OPENAI,
+                            secretKeyProperties.getOpenAi(),
+                            ModelName.GPT_4_O_MINI.getName(),
+                            0.3,
+                            512
+                    );
+
+                    chatTitleMaker.makeTitle(chat, chatModel, inputMessage);
+                }
+            }
+
+            // 대화 기록은 턴마다 한 행씩 추가한다.
+            chatHistoryService.append(chat, run.getRunId(), answerNode.getId(), inputMessage, answerOutput);
+
+            if(chat.isTest()) {
+                redisService.saveTestValue(chat.getId(), answerOutput);
+                sseEmitters.sendChatFlowTestLlm(chat, answerOutput);
+                ChatFlowTestEvent event = ChatFlowTestEvent.of(this, chat);
+                publishEvent(event);
+            }
         }
     }
 
@@ -0,0 +1,277 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.api.service.node.plan.LlmPlanNode;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.plan.PlanQuestionClass;
+import com.ssafy.flowstudio.api.service.node.plan.QuestionClassifierPlanNode;
+import com.ssafy.flowstudio.api.service.node.plan.RetrieverPlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.api.service.node.run.Speculation;
+import com.ssafy.flowstudio.api.service.rag.VectorStoreService;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import com.ssafy.flowstudio.common.constant.ChatEnvVariable;
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import com.ssafy.flowstudio.common.util.PromptTemplate;
+import com.ssafy.flowstudio.domain.node.entity.ModelName;
+import com.ssafy.flowstudio.domain.user.entity.TokenUsageLog;
+import com.ssafy.flowstudio.domain.user.entity.TokenUsageLogRepository;
+import com.ssafy.flowstudio.domain.user.entity.User;
+import com.ssafy.flowstudio.domain.user.repository.UserRepository;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 질문 분류기의 투기적 실행
+ * 분류 LLM을 호출하는 동안 각 분류 갈래의 첫 노드(Retriever, LLM)를 SSE 전송 없이 미리 실행한다.
+ * 분류가 끝나면 선택된 갈래의 노드는 미리 실행한 결과를 사용하고, 나머지 갈래의 실행은 취소한다.
+ * LLM 노드는 분류기 노드에 설정한 토큰 예산 안에서만 미리 실행한다.
+ */
+@Slf4j
+@Component
+public class BranchSpeculator {
+
+    private static final String METRIC = "flow.speculation";
+
+    private final ChatModelFactory chatModelFactory;
+    private final VectorStoreService vectorStoreService;
+    private final TokenUsageLogRepository tokenUsageLogRepository;
+    private final UserRepository userRepository;
+    private final TaskExecutor speculationExecutor;
+    private final FlowExecutionProperties flowExecutionProperties;
+    private final MeterRegistry meterRegistry;
+    private final ModelCallMetrics modelCallMetrics;
+    private final LlmRateLimiter llmRateLimiter;
+    private final ModelCircuitBreaker modelCircuitBreaker;
+
+    public BranchSpeculator(ChatModelFactory chatModelFactory, VectorStoreService vectorStoreService, TokenUsageLogRepository tokenUsageLogRepository, UserRepository userRepository, @Qualifier("speculationExecutor") TaskExecutor speculationExecutor, FlowExecutionProperties flowExecutionProperties, MeterRegistry meterRegistry, ModelCallMetrics modelCallMetrics, LlmRateLimiter llmRateLimiter, ModelCircuitBreaker modelCircuitBreaker) {
+        this.chatModelFactory = chatModelFactory;
+        this.vectorStoreService = vectorStoreService;
+        this.tokenUsageLogRepository = tokenUsageLogRepository;
+        this.userRepository = userRepository;
+        this.speculationExecutor = speculationExecutor;
+        this.flowExecutionProperties = flowExecutionProperties;
+        this.meterRegistry = meterRegistry;
+        this.modelCallMetrics = modelCallMetrics;
+        this.llmRateLimiter = llmRateLimiter;
+        this.modelCircuitBreaker = modelCircuitBreaker;
+    }
+
+    public static String fingerprint(String promptSystem, String promptUser) {
+        return (promptSystem == null ? "" : promptSystem) + '\u0000' + promptUser;
+    }
+
+    /**
+     * 각 분류 갈래의 첫 노드를 미리 실행한다.
+     * 호출한 스레드에서만 노드를 실행하는 스레드 모델에서는 동시에 실행할 수 없으므로 하지 않는다.
+     */
+    public void speculate(QuestionClassifierPlanNode questionClassifierNode, ChatRun run) {
+        if (questionClassifierNode.getSpeculativeTokenBudget() <= 0
+                || flowExecutionProperties.getThreadModel() == FlowExecutionProperties.ThreadModel.CALLER) {
+            return;
+        }
+
+        for (PlanQuestionClass questionClass : questionClassifierNode.getQuestionClasses()) {
+            if (questionClass.getTargetIndexes().length != 1) {
+                continue;
+            }
+
+            PlanNode target = run.getPlan().getNode(questionClass.getTargetIndexes()[0]);
+            if (run.getPlan().isPruned(target.getIndex())) {
+                continue;
+            }
+
+            Speculation speculation = null;
+            if (target instanceof RetrieverPlanNode retrieverNode) {
+                speculation = speculateRetriever(retrieverNode, run);
+            } else if (target instanceof LlmPlanNode llmNode) {
+                speculation = speculateLlm(llmNode, questionClassifierNode, run);
+            }
+
+            if (speculation == null) {
+                continue;
+            }
+
+            run.addSpeculation(speculation);
+            try {
+                speculationExecutor.execute(speculation.getTask());
+                meterRegistry.counter(METRIC, "outcome", "started").increment();
+            } catch (TaskRejectedException e) {
+                // 자리가 없으면 미리 실행하지 않고, 갈래가 선택되면 노드가 직접 실행한다.
+                run.takeSpeculation(target.getIndex());
+                speculation.cancel();
+                meterRegistry.counter(METRIC, "outcome", "rejected").increment();
+            }
+        }
+    }
+
+    /**
+     * 선택되지 않은 갈래의 미리 실행한 노드를 취소한다.
+     */
+    public void resolve(QuestionClassifierPlanNode questionClassifierNode, PlanQuestionClass chosenQuestionClass, ChatRun run) {
+        for (PlanQuestionClass questionClass : questionClassifierNode.getQuestionClasses()) {
+            for (int targetIndex : questionClass.getTargetIndexes()) {
+                if (isTarget(chosenQuestionClass, targetIndex)) {
+                    continue;
+                }
+
+                Speculation speculation = run.takeSpeculation(targetIndex);
+                if (speculation != null) {
+                    speculation.cancel();
+                    meterRegistry.counter(METRIC, "outcome", "discarded").increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * 미리 실행한 결과를 가져온다.
+     * 입력이 달라졌거나 미리 실행에 실패했다면 빈 값을 반환하고, 노드를 처음부터 실행한다.
+     */
+    public Optional<String> take(PlanNode node, ChatRun run, String fingerprint) {
+        Speculation speculation = run.takeSpeculation(node.getIndex());
+        if (speculation == null) {
+            return Optional.empty();
+        }
+
+        if (!speculation.getFingerprint().equals(fingerprint)) {
+            speculation.cancel();
+            meterRegistry.counter(METRIC, "outcome", "mismatch").increment();
+            return Optional.empty();
+        }
+
+        try {
+            long timeoutMillis = run.timeoutMillis(TimeUnit.SECONDS.toMillis(flowExecutionProperties.getStreamTimeoutSeconds()));
+            String output = speculation.getTask().get(timeoutMillis, TimeUnit.MILLISECONDS);
+            meterRegistry.counter(METRIC, "outcome", "used").increment();
+            return Optional.ofNullable(output);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            speculation.cancel();
+            return Optional.empty();
+        } catch (ExecutionException | TimeoutException | CancellationException e) {
+            log.warn("Speculative execution of node {} failed: {}", node.getId(), e.getMessage());
+            speculation.cancel();
+            meterRegistry.counter(METRIC, "outcome", "failed").increment();
+            return Optional.empty();
+        }
+    }
+
+    private Speculation speculateRetriever(RetrieverPlanNode retrieverNode, ChatRun run) {
+        if (!retrieverNode.hasRequiredResources()) {
+            return null;
+        }
+
+        String inputMessageValue = String.valueOf(run.getContext().get(ChatEnvVariable.INPUT_MESSAGE));
+        return new Speculation(retrieverNode.getIndex(), inputMessageValue,
+                () -> vectorStoreService.searchVector(RetrieverExecutor.searchRequest(retrieverNode, inputMessageValue, run, flowExecutionProperties)).toString());
+    }
+
+    private Speculation speculateLlm(LlmPlanNode llmNode, QuestionClassifierPlanNode questionClassifierNode, ChatRun run) {
+        // 분류 결과를 참조하는 프롬프트는 분류가 끝나기 전에 만들 수 없다.
+        String classifierId = String.valueOf(questionClassifierNode.getId());
+        if (!llmNode.hasRequiredResources()
+                || references(llmNode.getPromptUserTemplate(), classifierId)
+                || (llmNode.hasPromptSystem() && references(llmNode.getPromptSystemTemplate(), classifierId))) {
+            return null;
+        }
+
+        String promptUser = llmNode.getPromptUserTemplate().render(run.getContext()::get);
+        String promptSystem = llmNode.hasPromptSystem() ? llmNode.getPromptSystemTemplate().render(run.getContext()::get) : null;
+
+        // 토큰을 세지 않고, 응답 최대 토큰에 프롬프트 글자 수를 더해 넉넉하게 예약한다.
+        int reservedTokens = llmNode.getMaxTokens() + promptUser.length() + (promptSystem == null ? 0 : promptSystem.length());
+        if (!run.reserveSpeculativeTokens(reservedTokens, questionClassifierNode.getSpeculativeTokenBudget())) {
+            meterRegistry.counter(METRIC, "outcome", "over_budget").increment();
+            return null;
+        }
+
+        List<ChatMessage> messageList = new ArrayList<>();
+        messageList.add(new UserMessage(promptUser));
+        if (promptSystem != null) {
+            messageList.add(new SystemMessage(promptSystem));
+        }
+
+        return new Speculation(llmNode.getIndex(), fingerprint(promptSystem, promptUser), () -> {
+            // 서킷이 열린 모델은 미리 호출하지 않고, 노드가 직접 실행할 때 대체 모델을 사용한다.
+            ModelName modelName = llmNode.getModelName();
+            if (!modelCircuitBreaker.tryAcquire(modelName)) {
+                throw new BaseException(ErrorCode.AI_PROVIDER_UNAVAILABLE);
+            }
+
+            Timer.Sample sample = modelCallMetrics.start();
+            boolean success = false;
+            Response<AiMessage> response;
+            try {
+                // 미리 실행은 요청 한도가 바로 남아 있을 때만 호출하고, 한도가 없으면 실패해 노드가 직접 실행한다.
+                String apiKey = chatModelFactory.getApiKey(run, modelName.getProvider());
+                ChatLanguageModel chatModel = chatModelFactory.createChatModel(llmNode, apiKey);
+                response = llmRateLimiter.callIfAvailable(run, modelName, apiKey, messageList, llmNode.getMaxTokens(),
+                        () -> chatModel.generate(messageList));
+                success = true;
+                // 스트리밍하지 않으므로 첫 토큰 시간은 알 수 없어 지연 시간 표본에는 넣지 않는다.
+                modelCircuitBreaker.onSuccess(modelName, -1);
+            } catch (RuntimeException e) {
+                // 선택되지 않아 취소된 호출은 제공자 장애가 아니다.
+                if (Thread.currentThread().isInterrupted() || run.isCancelled()) {
+                    modelCircuitBreaker.onIgnored(modelName);
+                } else {
+                    modelCircuitBreaker.onError(modelName, e);
+                }
+                throw e;
+            } finally {
+                modelCallMetrics.recordCall(sample, run, modelName, "speculation", success);
+            }
+            modelCallMetrics.recordTokens(run, modelName, response.tokenUsage());
+
+            // 선택되지 않은 갈래라도 사용한 토큰은 기록한다.
+            if (response.tokenUsage() != null) {
+                Integer tokenUsage = response.tokenUsage().totalTokenCount();
+                meterRegistry.counter(METRIC + ".tokens").increment(tokenUsage);
+                if (!run.isPreview()) {
+                    User owner = userRepository.getReferenceById(run.getPlan().getOwnerId());
+                    tokenUsageLogRepository.save(TokenUsageLog.create(owner, tokenUsage));
+                }
+            }
+            return response.content().text();
+        });
+    }
+
+    private boolean references(PromptTemplate template, String variable) {
+        for (String name : template.getVariables()) {
+            if (name.trim().equals(variable)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isTarget(PlanQuestionClass questionClass, int targetIndex) {
+        for (int index : questionClass.getTargetIndexes()) {
+            if (index == targetIndex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
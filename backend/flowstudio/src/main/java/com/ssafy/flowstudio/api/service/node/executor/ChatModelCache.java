@@ -0,0 +1,131 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import com.ssafy.flowstudio.domain.node.entity.ModelProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 생성한 챗 모델 클라이언트를 재사용하기 위한 캐시
+ * 모델마다 HTTP 클라이언트와 커넥션 풀을 가지므로, 같은 설정의 모델을 재사용해 커넥션과 TLS 세션을 유지한다.
+ * 키에는 API 키 원문 대신 해시를 사용한다.
+ */
+@Slf4j
+@Component
+public class ChatModelCache {
+
+    public record Key(ModelProvider provider, String apiKeyHash, String modelName, Double temperature, Integer maxTokens, boolean streaming) {
+    }
+
+    private static class Entry {
+
+        private final Object model;
+        private volatile long lastAccessedAt;
+
+        private Entry(Object model) {
+            this.model = model;
+            this.lastAccessedAt = System.nanoTime();
+        }
+
+    }
+
+    private final Map<Key, Entry> models = new ConcurrentHashMap<>();
+    private final FlowExecutionProperties flowExecutionProperties;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    public ChatModelCache(FlowExecutionProperties flowExecutionProperties, MeterRegistry meterRegistry) {
+        this.flowExecutionProperties = flowExecutionProperties;
+        this.hitCounter = meterRegistry.counter("flow.llm.model.cache", "result", "hit");
+        this.missCounter = meterRegistry.counter("flow.llm.model.cache", "result", "miss");
+        this.evictionCounter = meterRegistry.counter("flow.llm.model.cache.evictions");
+        Gauge.builder("flow.llm.model.cache.size", models, Map::size)
+                .register(meterRegistry);
+    }
+
+    public static Key key(ModelProvider provider, String apiKey, String modelName, Double temperature, Integer maxTokens, boolean streaming) {
+        return new Key(provider, hash(apiKey), modelName, temperature, maxTokens, streaming);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> factory) {
+        Entry entry = models.get(key);
+        if (entry != null) {
+            hitCounter.increment();
+            entry.lastAccessedAt = System.nanoTime();
+            return (T) entry.model;
+        }
+
+        missCounter.increment();
+        entry = models.computeIfAbsent(key, k -> new Entry(factory.get()));
+        entry.lastAccessedAt = System.nanoTime();
+
+        if (models.size() > flowExecutionProperties.getModelCacheMaxSize()) {
+            evictLeastRecentlyUsed();
+        }
+        return (T) entry.model;
+    }
+
+    /**
+     * 일정 시간 사용되지 않은 모델을 제거한다.
+     */
+    @Scheduled(fixedRate = 60000)
+    public void evictIdle() {
+        long idleNanos = TimeUnit.MINUTES.toNanos(flowExecutionProperties.getModelCacheIdleMinutes());
+        long now = System.nanoTime();
+
+        models.entrySet().removeIf(entry -> {
+            boolean idle = now - entry.getValue().lastAccessedAt > idleNanos;
+            if (idle) {
+                evictionCounter.increment();
+            }
+            return idle;
+        });
+    }
+
+    private void evictLeastRecentlyUsed() {
+        while (models.size() > flowExecutionProperties.getModelCacheMaxSize()) {
+            Key oldest = null;
+            long oldestAccessedAt = Long.MAX_VALUE;
+            for (Map.Entry<Key, Entry> entry : models.entrySet()) {
+                if (entry.getValue().lastAccessedAt < oldestAccessedAt) {
+                    oldest = entry.getKey();
+                    oldestAccessedAt = entry.getValue().lastAccessedAt;
+                }
+            }
+
+            if (oldest == null || models.remove(oldest) == null) {
+                return;
+            }
+            evictionCounter.increment();
+        }
+    }
+
+    static String hash(String apiKey) {
+        if (apiKey == null) {
+            return null;
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(apiKey.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
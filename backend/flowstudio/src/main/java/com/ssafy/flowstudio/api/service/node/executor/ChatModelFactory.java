@@ -1,60 +1,122 @@
 package com.ssafy.flowstudio.api.service.node.executor;
 
+import com.ssafy.flowstudio.api.service.node.plan.LlmPlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
 import com.ssafy.flowstudio.api.service.user.ApiKeyService;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
 import com.ssafy.flowstudio.common.secret.SecretKeyProperties;
-import com.ssafy.flowstudio.domain.chat.entity.Chat;
-import com.ssafy.flowstudio.domain.node.entity.LLM;
+import com.ssafy.flowstudio.domain.node.entity.ModelName;
 import com.ssafy.flowstudio.domain.node.entity.ModelProvider;
 import dev.langchain4j.model.anthropic.AnthropicChatModel;
+import dev.langchain4j.model.anthropic.AnthropicStreamingChatModel;
 import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
 import dev.langchain4j.model.openai.OpenAiChatModel;
+import dev.langchain4j.model.openai.OpenAiStreamingChatModel;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @RequiredArgsConstructor
 @Component
 public class ChatModelFactory {
 
     private final SecretKeyProperties secretKeyProperties;
     private final ApiKeyService apiKeyService;
+    private final ChatModelCache chatModelCache;
+    private final FlowExecutionProperties flowExecutionProperties;
+
+    /**
+     * 같은 제공자, API 키, 모델 설정이면 캐시된 모델을 반환한다.
+     */
+    public ChatLanguageModel createChatModel(ChatRun run, LlmPlanNode node) {
+        return createChatModel(node, getApiKey(run, node.getModelName().getProvider()));
+    }
 
-    public ChatLanguageModel createChatModel(Chat chat, LLM node) {
-        String apiKey = getApiKey(chat, node);
-        String modelName = node.getModelName().getName();
-        double temperature = node.getTemperature();
-        int maxTokens = node.getMaxTokens();
+    public ChatLanguageModel createChatModel(LlmPlanNode node, String apiKey) {
+        return getChatModel(node.getModelName().getProvider(), apiKey, node.getModelName().getName(), node.getTemperature(), node.getMaxTokens());
+    }
 
-        return switch (node.getModelName().getProvider()) {
+    public StreamingChatLanguageModel createStreamingChatModel(ChatRun run, LlmPlanNode node) {
+        return createStreamingChatModel(node, getApiKey(run, node.getModelName().getProvider()));
+    }
+
+    /**
+     * 요청량 제한에 API 키가 필요한 호출자는 키를 한 번만 조회해 전달한다.
+     */
+    public StreamingChatLanguageModel createStreamingChatModel(LlmPlanNode node, String apiKey) {
+        return createStreamingChatModel(node.getModelName(), apiKey, node.getTemperature(), node.getMaxTokens());
+    }
+
+    /**
+     * 대체 모델처럼 노드의 모델과 다른 모델로 같은 노드를 실행할 때 사용한다.
+     */
+    public StreamingChatLanguageModel createStreamingChatModel(ModelName model, String apiKey, double temperature, int maxTokens) {
+        ModelProvider provider = model.getProvider();
+        String modelName = model.getName();
+
+        ChatModelCache.Key key = ChatModelCache.key(provider, apiKey, modelName, temperature, maxTokens, true);
+        return chatModelCache.get(key, () -> switch (provider) {
+            case OPENAI -> OpenAiStreamingChatModel.builder()
+                    .apiKey(apiKey)
+                    .modelName(modelName)
+                    .temperature(temperature)
+                    .maxTokens(maxTokens)
+                    .timeout(nodeTimeout())
+                    .build();
+            case ANTHROPIC -> AnthropicStreamingChatModel.builder()
+                    .apiKey(apiKey)
+                    .modelName(modelName)
+                    .temperature(temperature)
+                    .maxTokens(maxTokens)
+                    .timeout(nodeTimeout())
+                    .build();
+        });
+    }
+
+    /**
+     * 질문 분류, 채팅 제목 생성처럼 노드 설정 없이 사용하는 모델
+     * temperature, maxTokens가 null이면 제공자의 기본값을 사용한다.
+     * 429 재시도는 LlmRateLimiter가 버킷을 조정하면서 수행하므로 클라이언트 자체 재시도는 끈다.
+     */
+    public ChatLanguageModel getChatModel(ModelProvider provider, String apiKey, String modelName, Double temperature, Integer maxTokens) {
+        ChatModelCache.Key key = ChatModelCache.key(provider, apiKey, modelName, temperature, maxTokens, false);
+        return chatModelCache.get(key, () -> switch (provider) {
             case OPENAI -> OpenAiChatModel.builder()
                     .apiKey(apiKey)
                     .modelName(modelName)
                     .temperature(temperature)
                     .maxTokens(maxTokens)
+                    .timeout(nodeTimeout())
+                    .maxRetries(1)
                     .build();
             case ANTHROPIC -> AnthropicChatModel.builder()
                     .apiKey(apiKey)
                     .modelName(modelName)
                     .temperature(temperature)
                     .maxTokens(maxTokens)
+                    .timeout(nodeTimeout())
+                    .maxRetries(1)
                     .build();
-        };
+        });
     }
 
-    public String getApiKey(Chat chat, LLM node) {
-        boolean isPreview = chat.isPreview();
-        ModelProvider provider = node.getModelName().getProvider();
+    // 제공자 HTTP 요청 제한 시간, 스트리밍 응답은 LlmExecutor에서 실행의 남은 시간까지만 기다린다.
+    private Duration nodeTimeout() {
+        return Duration.ofSeconds(flowExecutionProperties.getNodeTimeoutSeconds());
+    }
 
-        if (isPreview) {
+    public String getApiKey(ChatRun run, ModelProvider provider) {
+        if (run.isPreview()) {
             return switch (provider) {
                 case OPENAI -> secretKeyProperties.getOpenAi();
                 case ANTHROPIC -> secretKeyProperties.getClaude();
             };
-        } else {
-            return switch (provider) {
-                case OPENAI -> apiKeyService.decrypt(chat.getChatFlow().getOwner().getApiKey().getOpenAiKey());
-                case ANTHROPIC -> apiKeyService.decrypt(chat.getChatFlow().getOwner().getApiKey().getClaudeKey());
-            };
         }
+
+        // 실행 계획에는 소유자 ID만 있으므로 소유자의 API 키를 조회한다.
+        return apiKeyService.getDecryptedApiKey(run.getPlan().getOwnerId(), provider);
     }
 
 }
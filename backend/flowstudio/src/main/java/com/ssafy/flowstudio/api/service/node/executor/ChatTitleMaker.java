@@ -12,7 +12,6 @@ import dev.langchain4j.model.output.Response;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -23,9 +22,23 @@ public class ChatTitleMaker {
 
     private final SseEmitters sseEmitters;
     private final ChatRepository chatRepository;
+    private final LocalTitleExtractor localTitleExtractor;
 
+    /**
+     * 첫 질문에서 추출한 제목을 저장하고 전송한다.
+     */
+    public String makeLocalTitle(Chat chat, String promptUser, int maxLength) {
+        String title = localTitleExtractor.extract(promptUser, maxLength);
+        chat.updateTitle(title);
+        chatRepository.updateTitle(chat.getId(), title);
+        sseEmitters.sendTitle(chat, title);
+        return title;
+    }
+
+    /**
+     * LLM이 요약한 제목으로 바꾼다.
+     */
     @Async
-    @Transactional
     public void makeTitle(Chat chat, ChatLanguageModel chatModel, String promptUser) {
         List<ChatMessage> titleMessage = new ArrayList<>();
         String systemMessage = "입력된 문장을 요약해서 제목을 만들거야. 반드시 10글자 이하로 핵심만 간단하고 간결하게 요약해";
@@ -36,7 +49,7 @@ public class ChatTitleMaker {
         String title = titleResponse.content().text();
 
         chat.updateTitle(title);
-        chatRepository.save(chat);
+        chatRepository.updateTitle(chat.getId(), title);
 
         sseEmitters.sendTitle(chat, title);
     }
@@ -0,0 +1,144 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.api.service.node.RedisService;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 질문 분류 결과 메모
+ * 분류기 노드 ID, 분류 구성 버전, 정규화한 입력 메시지의 해시를 키로 선택된 질문 분류 ID를 저장한다.
+ * 인스턴스 메모리(L1)를 먼저 확인하고, 없으면 Redis(L2)를 확인한다.
+ */
+@Slf4j
+@Component
+public class ClassificationMemo {
+
+    private static final String KEY_PREFIX = "classifier:memo:";
+
+    private record Entry(Long questionClassId, long expiresAt) {
+    }
+
+    private final Map<String, Entry> localResults = new ConcurrentHashMap<>();
+    private final RedisService redisService;
+    private final FlowExecutionProperties flowExecutionProperties;
+    private final Counter localHitCounter;
+    private final Counter redisHitCounter;
+    private final Counter missCounter;
+
+    public ClassificationMemo(RedisService redisService, FlowExecutionProperties flowExecutionProperties, MeterRegistry meterRegistry) {
+        this.redisService = redisService;
+        this.flowExecutionProperties = flowExecutionProperties;
+        this.localHitCounter = meterRegistry.counter("flow.classifier.memo", "result", "hit", "tier", "local");
+        this.redisHitCounter = meterRegistry.counter("flow.classifier.memo", "result", "hit", "tier", "redis");
+        this.missCounter = meterRegistry.counter("flow.classifier.memo", "result", "miss", "tier", "none");
+    }
+
+    public static String key(Long classifierNodeId, String classSetVersion, String inputMessage) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String inputHash = HexFormat.of().formatHex(digest.digest(normalize(inputMessage).getBytes(StandardCharsets.UTF_8)));
+            return classifierNodeId + ":" + classSetVersion + ":" + inputHash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 전각/반각, 대소문자, 앞뒤 및 연속 공백 차이는 같은 질문으로 본다.
+     */
+    static String normalize(String inputMessage) {
+        if (inputMessage == null) {
+            return "";
+        }
+
+        String normalized = Normalizer.normalize(inputMessage, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder builder = new StringBuilder(normalized.length());
+        boolean whitespace = false;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isWhitespace(c)) {
+                whitespace = true;
+                continue;
+            }
+
+            if (whitespace && !builder.isEmpty()) {
+                builder.append(' ');
+            }
+            whitespace = false;
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    public Long get(String key) {
+        long now = System.currentTimeMillis();
+
+        Entry entry = localResults.get(key);
+        if (entry != null) {
+            if (entry.expiresAt() > now) {
+                localHitCounter.increment();
+                return entry.questionClassId();
+            }
+            localResults.remove(key, entry);
+        }
+
+        try {
+            String value = redisService.get(KEY_PREFIX + key);
+            if (value != null) {
+                Long questionClassId = Long.valueOf(value);
+                redisHitCounter.increment();
+                putLocal(key, questionClassId, now);
+                return questionClassId;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Classification memo read failed: {}", e.getMessage());
+        }
+
+        missCounter.increment();
+        return null;
+    }
+
+    public void put(String key, Long questionClassId) {
+        putLocal(key, questionClassId, System.currentTimeMillis());
+        try {
+            redisService.save(KEY_PREFIX + key, String.valueOf(questionClassId), flowExecutionProperties.getClassifierMemoTtlMinutes(), TimeUnit.MINUTES);
+        } catch (RuntimeException e) {
+            log.warn("Classification memo write failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 질문 분류가 추가, 수정, 삭제되면 해당 분류기의 메모를 비운다.
+     * Redis의 메모는 분류 구성 버전이 키에 포함되어 있어 다시 조회되지 않고 TTL로 만료된다.
+     */
+    public void invalidate(Long classifierNodeId) {
+        String prefix = classifierNodeId + ":";
+        localResults.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private void putLocal(String key, Long questionClassId, long now) {
+        if (localResults.size() >= flowExecutionProperties.getClassifierMemoMaxSize()) {
+            localResults.values().removeIf(entry -> entry.expiresAt() <= now);
+        }
+
+        // 만료된 항목을 지워도 가득 차 있으면 L1에는 저장하지 않고 L2만 사용한다.
+        if (localResults.size() < flowExecutionProperties.getClassifierMemoMaxSize()) {
+            long ttlMillis = TimeUnit.MINUTES.toMillis(flowExecutionProperties.getClassifierMemoTtlMinutes());
+            localResults.put(key, new Entry(questionClassId, now + ttlMillis));
+        }
+    }
+
+}
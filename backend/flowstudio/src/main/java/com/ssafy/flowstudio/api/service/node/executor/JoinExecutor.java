@@ -0,0 +1,31 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.api.controller.sse.SseEmitters;
+import com.ssafy.flowstudio.api.service.node.RedisService;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.domain.node.entity.NodeType;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+public class JoinExecutor extends NodeExecutor {
+
+    public JoinExecutor(RedisService redisService, ApplicationEventPublisher eventPublisher, SseEmitters sseEmitters) {
+        super(redisService, eventPublisher, sseEmitters);
+    }
+
+    // 모든 갈래가 도착한 뒤에 호출되므로 이전 노드들의 결과는 이미 실행 컨텍스트(RunContext)에 있다.
+    @Override
+    public void execute(PlanNode node, ChatRun run) {
+        sseEmitters.send(run.getChat().getUser(), node);
+
+        proceed(node, run);
+    }
+
+    @Override
+    public NodeType getNodeType() {
+        return NodeType.JOIN;
+    }
+
+}
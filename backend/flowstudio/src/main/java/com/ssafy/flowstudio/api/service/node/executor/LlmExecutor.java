@@ -5,23 +5,21 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.ssafy.flowstudio.api.controller.sse.SseEmitters;
 import com.ssafy.flowstudio.api.service.node.RedisService;
-import com.ssafy.flowstudio.api.service.node.event.NodeEvent;
+import com.ssafy.flowstudio.api.service.node.plan.LlmPlanNode;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
 import com.ssafy.flowstudio.common.exception.BaseException;
 import com.ssafy.flowstudio.common.exception.ErrorCode;
-import com.ssafy.flowstudio.common.util.MessageParseUtil;
-import com.ssafy.flowstudio.domain.chat.entity.Chat;
-import com.ssafy.flowstudio.domain.chat.repository.ChatRepository;
-import com.ssafy.flowstudio.domain.node.entity.LLM;
-import com.ssafy.flowstudio.domain.node.entity.Node;
+import com.ssafy.flowstudio.common.util.TokenizerService;
 import com.ssafy.flowstudio.domain.node.entity.NodeType;
 import com.ssafy.flowstudio.domain.user.entity.TokenUsageLog;
 import com.ssafy.flowstudio.domain.user.entity.TokenUsageLogRepository;
-import dev.ai4j.openai4j.OpenAiHttpException;
+import com.ssafy.flowstudio.domain.user.entity.User;
+import com.ssafy.flowstudio.domain.user.repository.UserRepository;
 import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.SystemMessage;
 import dev.langchain4j.data.message.UserMessage;
-import dev.langchain4j.model.chat.ChatLanguageModel;
 import dev.langchain4j.model.output.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,21 +34,29 @@ public class LlmExecutor extends NodeExecutor {
 
     private final RedisService redisService;
     private final TokenUsageLogRepository tokenUsageLogRepository;
-    private final ChatModelFactory chatModelFactory;
-    private final MessageParseUtil messageParseUtil;
+    private final UserRepository userRepository;
+    private final LlmResponseCache llmResponseCache;
+    private final BranchSpeculator branchSpeculator;
+    private final ModelCallMetrics modelCallMetrics;
+    private final LlmFailover llmFailover;
+    private final TokenizerService tokenizerService;
     private static final Logger log = LoggerFactory.getLogger(LlmExecutor.class);
 
-    public LlmExecutor(RedisService redisService, ApplicationEventPublisher eventPublisher, TokenUsageLogRepository tokenUsageLogRepository, ChatRepository chatRepository, ChatModelFactory chatModelFactory, MessageParseUtil messageParseUtil, SseEmitters sseEmitters) {
+    public LlmExecutor(RedisService redisService, ApplicationEventPublisher eventPublisher, TokenUsageLogRepository tokenUsageLogRepository, UserRepository userRepository, SseEmitters sseEmitters, LlmResponseCache llmResponseCache, BranchSpeculator branchSpeculator, ModelCallMetrics modelCallMetrics, LlmFailover llmFailover, TokenizerService tokenizerService) {
         super(redisService, eventPublisher, sseEmitters);
         this.tokenUsageLogRepository = tokenUsageLogRepository;
+        this.userRepository = userRepository;
         this.redisService = redisService;
-        this.chatModelFactory = chatModelFactory;
-        this.messageParseUtil = messageParseUtil;
+        this.llmResponseCache = llmResponseCache;
+        this.branchSpeculator = branchSpeculator;
+        this.modelCallMetrics = modelCallMetrics;
+        this.llmFailover = llmFailover;
+        this.tokenizerService = tokenizerService;
     }
 
     @Override
-    public void execute(Node node, Chat chat) {
-        LLM llmNode = (LLM) node;
+    public void execute(PlanNode node, ChatRun run) {
+        LlmPlanNode llmNode = (LlmPlanNode) node;
 
         // 유저 프롬프트가 비어있으면 예외 발생
         if (!llmNode.hasRequiredResources()) {
@@ -58,49 +64,100 @@ public class LlmExecutor extends NodeExecutor {
         }
 
         // 유저 프롬프트 파싱
-        String promptUser = messageParseUtil.replace(llmNode.getPromptUser(), chat.getId());
+        String promptUser = llmNode.getPromptUserTemplate().render(run.getContext()::get);
 
         // 모델에게 보낼 메시지 생성
         List<ChatMessage> messageList = new ArrayList<>();
         messageList.add(new UserMessage(promptUser));
 
         // 시스템 프롬프트가 빈 값이 아닐때만 파싱 후 추가
-        if (llmNode.getPromptSystem() != null && !llmNode.getPromptSystem().trim().isEmpty()) {
-            String promptSystem = messageParseUtil.replace(llmNode.getPromptSystem(), chat.getId());
+        String promptSystem = null;
+        if (llmNode.hasPromptSystem()) {
+            promptSystem = llmNode.getPromptSystemTemplate().render(run.getContext()::get);
             messageList.add(new SystemMessage(promptSystem));
         }
 
-        try {
-            // 챗 모델 생성
-            ChatLanguageModel chatModel = chatModelFactory.createChatModel(chat, llmNode);
+        // 응답 캐시를 사용하는 노드라면 같은 프롬프트의 이전 응답을 재사용한다.
+        String cacheKey = null;
+        if (llmNode.isResponseCacheEnabled()) {
+            cacheKey = LlmResponseCache.key(
+                    run.getPlan().getOwnerId(),
+                    llmNode.getModelName().getName(),
+                    llmNode.getTemperature(),
+                    llmNode.getMaxTokens(),
+                    promptSystem,
+                    promptUser
+            );
+
+            String cachedResponse = llmResponseCache.get(cacheKey);
+            if (cachedResponse != null) {
+                // 스트리밍 응답과 같은 이벤트로 전송하고, 모델을 호출하지 않았으므로 토큰 사용로그는 기록하지 않는다.
+                run.getTrace().markCacheHit(llmNode, "response");
+                sendCachedToken(run, llmNode, cachedResponse);
+                complete(llmNode, run, cachedResponse);
+                return;
+            }
+        }
 
-            // 결과 반환
-            Response<AiMessage> response = chatModel.generate(messageList);
-            String llmOutputMessage = response.content().text();
+        // 질문 분류 중에 같은 프롬프트로 미리 실행한 결과가 있으면 사용한다. 토큰 사용로그는 미리 실행할 때 기록했다.
+        String speculatedResponse = branchSpeculator.take(llmNode, run, BranchSpeculator.fingerprint(promptSystem, promptUser)).orElse(null);
+        if (speculatedResponse != null) {
+            run.getTrace().markCacheHit(llmNode, "speculation");
+            sendCachedToken(run, llmNode, speculatedResponse);
+            if (cacheKey != null) {
+                llmResponseCache.put(cacheKey, speculatedResponse);
+            }
+            complete(llmNode, run, speculatedResponse);
+            return;
+        }
 
-            // 레디스에 결과 저장
-            redisService.save(chat.getId(), node.getId(), llmOutputMessage);
+        // 모델 입력 한도를 넘는 프롬프트는 호출하기 전에 실패시킨다.
+        int promptTokens = tokenizerService.countTokens(llmNode.getModelName(), messageList);
+        if (promptTokens > llmNode.getModelName().promptBudget(llmNode.getMaxTokens())) {
+            log.warn("Prompt of node {} exceeds the budget of {}: {} tokens", llmNode.getId(), llmNode.getModelName().getName(), promptTokens);
+            throw new BaseException(ErrorCode.PROMPT_TOO_LONG);
+        }
 
-            // 결과 SSE로 전송
-            sseEmitters.send(chat.getUser(), llmNode, llmOutputMessage);
+        // 서킷 브레이커, 대체 모델, 헤징을 적용해 스트리밍으로 호출하고 토큰 단위로 SSE 전송
+        LlmFailover.Answer answer = llmFailover.generate(run, llmNode, messageList);
+        Response<AiMessage> response = answer.response();
+        modelCallMetrics.recordTokens(run, answer.modelName(), response.tokenUsage());
+        if (response.tokenUsage() != null && response.tokenUsage().totalTokenCount() != null) {
+            run.getTrace().addTokens(llmNode, response.tokenUsage().totalTokenCount());
+        }
+        String llmOutputMessage = response.content().text();
 
-            if (!chat.isPreview()) {
-                // 토큰 사용로그 기록
-                Integer tokenUsage = response.tokenUsage().totalTokenCount();
-                tokenUsageLogRepository.save(TokenUsageLog.create(chat.getChatFlow().getOwner(), tokenUsage));
-            }
-        } catch (OpenAiHttpException e) {
-            log.error("API_KEY_INVALID: ", e);
-            throw new BaseException(ErrorCode.API_KEY_INVALID);
+        if (cacheKey != null) {
+            llmResponseCache.put(cacheKey, llmOutputMessage);
         }
 
-        // 다음 노드가 있으면 실행
-        if (!node.getOutputEdges().isEmpty()) {
-            Node targetNode = node.getOutputEdges().get(0).getTargetNode();
-            publishEvent(NodeEvent.of(this, targetNode, chat));
+        if (!run.isPreview() && response.tokenUsage() != null) {
+            // 토큰 사용로그 기록
+            Integer tokenUsage = response.tokenUsage().totalTokenCount();
+            User owner = userRepository.getReferenceById(run.getPlan().getOwnerId());
+            tokenUsageLogRepository.save(TokenUsageLog.create(owner, tokenUsage));
         }
+
+        complete(llmNode, run, llmOutputMessage);
+    }
+
+    private void complete(LlmPlanNode llmNode, ChatRun run, String llmOutputMessage) {
+        // 레디스에 결과 저장
+        run.getContext().put(llmNode.getId(), llmOutputMessage);
+
+        // 결과 SSE로 전송
+        sseEmitters.send(run.getChat().getUser(), llmNode, llmOutputMessage);
+
+        proceed(llmNode, run);
     }
 
+    private void sendCachedToken(ChatRun run, LlmPlanNode llmNode, String cachedResponse) {
+        try {
+            sseEmitters.sendToken(run, llmNode, 0, cachedResponse);
+        } catch (RuntimeException e) {
+            log.warn("Token stream of node {} detached: {}", llmNode.getId(), e.getMessage());
+        }
+    }
 
     @Override
     public NodeType getNodeType() {
@@ -0,0 +1,312 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.api.controller.sse.SseEmitters;
+import com.ssafy.flowstudio.api.service.node.plan.LlmPlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import com.ssafy.flowstudio.common.util.TokenizerService;
+import com.ssafy.flowstudio.domain.node.entity.ModelName;
+import com.ssafy.flowstudio.domain.user.entity.TokenUsageLog;
+import com.ssafy.flowstudio.domain.user.entity.TokenUsageLogRepository;
+import com.ssafy.flowstudio.domain.user.entity.User;
+import com.ssafy.flowstudio.domain.user.repository.UserRepository;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.StreamingChatLanguageModel;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * LLM 노드의 스트리밍 호출에 모델별 서킷 브레이커, 대체 모델, 헤징을 적용한다.
+ * 기본 모델의 서킷이 열려 있거나 호출이 실패하면 대체 모델로 한 번 다시 실행한다. 이미 토큰을 전송했다면 대체하지 않는다.
+ * 헤징을 사용하면 첫 토큰이 모델의 최근 첫 토큰 시간 p95 안에 오지 않을 때 대체 모델(없으면 같은 모델)로 한 번 더 요청하고,
+ * 먼저 첫 토큰을 받은 스트림의 응답을 사용한다. 진 스트림은 제공자 요청을 끊을 수 없으므로 끝까지 받고 사용한 토큰만 기록한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class LlmFailover {
+
+    public static final String FAILOVER_METRIC = "flow.llm.failover";
+    public static final String HEDGE_METRIC = "flow.llm.hedge";
+
+    private final ChatModelFactory chatModelFactory;
+    private final LlmRateLimiter llmRateLimiter;
+    private final ModelCircuitBreaker modelCircuitBreaker;
+    private final ModelCallMetrics modelCallMetrics;
+    private final SseEmitters sseEmitters;
+    private final FlowExecutionProperties flowExecutionProperties;
+    private final TokenUsageLogRepository tokenUsageLogRepository;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final TokenizerService tokenizerService;
+
+    /**
+     * 응답과 응답한 모델
+     */
+    public record Answer(ModelName modelName, Response<AiMessage> response) {
+    }
+
+    // 한 번의 노드 실행에서 시작한 스트림들
+    private static class Attempts {
+
+        private final List<TokenStreamHandler> handlers = new CopyOnWriteArrayList<>();
+        private volatile boolean fallbackTried;
+
+        private boolean emitted() {
+            return handlers.stream().anyMatch(TokenStreamHandler::hasEmitted);
+        }
+
+    }
+
+    public Answer generate(ChatRun run, LlmPlanNode node, List<ChatMessage> messages) {
+        ModelName primary = node.getModelName();
+        ModelName fallback = fallbackOf(node, messages);
+        Attempts attempts = new Attempts();
+
+        BaseException primaryError;
+        if (modelCircuitBreaker.tryAcquire(primary)) {
+            try {
+                return node.isHedgingEnabled()
+                        ? hedge(run, node, messages, attempts)
+                        : new Answer(primary, stream(run, node, primary, messages, "llm", attempts));
+            } catch (BaseException e) {
+                if (fallback == null || attempts.fallbackTried || attempts.emitted()
+                        || run.isCancelled() || e.getErrorCode() == ErrorCode.CHAT_RUN_CANCELLED) {
+                    throw e;
+                }
+                primaryError = e;
+            }
+        } else {
+            primaryError = new BaseException(ErrorCode.AI_PROVIDER_UNAVAILABLE);
+            if (fallback == null) {
+                throw primaryError;
+            }
+        }
+
+        if (!modelCircuitBreaker.tryAcquire(fallback)) {
+            throw primaryError;
+        }
+
+        log.warn("Failing over node {} from {} to {}. code: {}", node.getId(), primary.getName(), fallback.getName(), primaryError.getErrorCode().getCode());
+        meterRegistry.counter(FAILOVER_METRIC, "from", primary.getName(), "to", fallback.getName()).increment();
+        return new Answer(fallback, stream(run, node, fallback, messages, "failover", attempts));
+    }
+
+    // 서킷을 통과한 모델 하나로 호출한다. 429는 LlmRateLimiter가 다시 시도한다.
+    private Response<AiMessage> stream(ChatRun run, LlmPlanNode node, ModelName model, List<ChatMessage> messages, String caller, Attempts attempts) {
+        Timer.Sample sample = modelCallMetrics.start();
+        boolean success = false;
+        try {
+            String apiKey = chatModelFactory.getApiKey(run, model.getProvider());
+            int maxTokens = maxTokens(node, model);
+            StreamingChatLanguageModel chatModel = chatModelFactory.createStreamingChatModel(model, apiKey, node.getTemperature(), maxTokens);
+
+            AtomicReference<TokenStreamHandler> last = new AtomicReference<>();
+            Response<AiMessage> response = llmRateLimiter.call(run, model, apiKey, messages, maxTokens, () -> {
+                TokenStreamHandler handler = newHandler(run, node, null, attempts);
+                last.set(handler);
+                chatModel.generate(messages, handler);
+                return awaitResponse(run, handler.getResult());
+            });
+            success = true;
+            modelCircuitBreaker.onSuccess(model, last.get().getFirstTokenNanos());
+            return response;
+        } catch (BaseException e) {
+            modelCircuitBreaker.onError(model, e);
+            throw e;
+        } catch (RuntimeException e) {
+            modelCircuitBreaker.onError(model, e);
+            log.error("LLM call failed. node: {}, model: {}", node.getId(), model.getName(), e);
+            throw ProviderErrors.translate(e);
+        } finally {
+            modelCallMetrics.recordCall(sample, run, model, caller, success);
+        }
+    }
+
+    private Answer hedge(ChatRun run, LlmPlanNode node, List<ChatMessage> messages, Attempts attempts) {
+        ModelName primary = node.getModelName();
+        AtomicReference<TokenStreamHandler> race = new AtomicReference<>();
+        CompletableFuture<Answer> answer = new CompletableFuture<>();
+        AtomicInteger inFlight = new AtomicInteger();
+
+        TokenStreamHandler first;
+        try {
+            first = start(run, node, primary, messages, true, "llm", race, answer, inFlight, attempts);
+        } catch (BaseException e) {
+            modelCircuitBreaker.onError(primary, e);
+            throw e;
+        }
+
+        // 첫 토큰이 p95 안에 오지 않으면 한 번 더 요청한다.
+        long delayMillis = Math.min(modelCircuitBreaker.hedgeDelayMillis(primary), TimeUnit.NANOSECONDS.toMillis(run.remainingNanos()));
+        try {
+            first.getFirstToken().get(delayMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            startHedge(run, node, messages, race, answer, inFlight, attempts);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BaseException(ErrorCode.CHAT_RUN_CANCELLED);
+        } catch (ExecutionException e) {
+            // 첫 토큰 신호는 예외로 끝나지 않는다.
+        }
+
+        // 서킷에는 스트림이 끝날 때 이미 기록했다.
+        try {
+            return awaitResponse(run, answer);
+        } catch (BaseException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Hedged LLM call failed. node: {}", node.getId(), e);
+            throw ProviderErrors.translate(e);
+        }
+    }
+
+    private void startHedge(ChatRun run, LlmPlanNode node, List<ChatMessage> messages, AtomicReference<TokenStreamHandler> race,
+                            CompletableFuture<Answer> answer, AtomicInteger inFlight, Attempts attempts) {
+        if (answer.isDone() || run.isCancelled()) {
+            return;
+        }
+
+        ModelName fallback = fallbackOf(node, messages);
+        ModelName hedgeModel = fallback != null && modelCircuitBreaker.tryAcquire(fallback) ? fallback
+                : modelCircuitBreaker.tryAcquire(node.getModelName()) ? node.getModelName()
+                : null;
+        if (hedgeModel == null) {
+            return;
+        }
+
+        try {
+            if (start(run, node, hedgeModel, messages, false, "hedge", race, answer, inFlight, attempts) == null) {
+                modelCircuitBreaker.onIgnored(hedgeModel);
+                return;
+            }
+        } catch (BaseException e) {
+            // 대체 모델 제공자의 API 키가 없는 경우처럼 헤징할 수 없으면 기본 모델의 응답만 기다린다.
+            modelCircuitBreaker.onIgnored(hedgeModel);
+            log.debug("Hedge of node {} skipped: {}", node.getId(), e.getErrorCode());
+            return;
+        }
+
+        attempts.fallbackTried = hedgeModel == fallback;
+        meterRegistry.counter(HEDGE_METRIC, "model", hedgeModel.getName()).increment();
+    }
+
+    /**
+     * 스트림을 시작하고 완료 시 경쟁 결과를 answer에 반영한다.
+     * @param wait 요청 한도가 남을 때까지 기다릴지 여부, false면 한도가 없을 때 시작하지 않고 null을 반환한다.
+     */
+    private TokenStreamHandler start(ChatRun run, LlmPlanNode node, ModelName model, List<ChatMessage> messages, boolean wait, String caller,
+                                     AtomicReference<TokenStreamHandler> race, CompletableFuture<Answer> answer, AtomicInteger inFlight, Attempts attempts) {
+        String apiKey = chatModelFactory.getApiKey(run, model.getProvider());
+        int maxTokens = maxTokens(node, model);
+        if (!llmRateLimiter.reserve(run, model, apiKey, messages, maxTokens, wait)) {
+            return null;
+        }
+
+        StreamingChatLanguageModel chatModel = chatModelFactory.createStreamingChatModel(model, apiKey, node.getTemperature(), maxTokens);
+        TokenStreamHandler handler = newHandler(run, node, race, attempts);
+        Timer.Sample sample = modelCallMetrics.start();
+        inFlight.incrementAndGet();
+
+        handler.getResult().whenComplete((response, error) -> {
+            modelCallMetrics.recordCall(sample, run, model, caller, error == null);
+            if (error == null) {
+                modelCircuitBreaker.onSuccess(model, handler.getFirstTokenNanos());
+                if (handler.claim()) {
+                    answer.complete(new Answer(model, response));
+                } else {
+                    recordLoser(run, model, response);
+                }
+                return;
+            }
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (ProviderErrors.isRateLimited(cause)) {
+                llmRateLimiter.onRateLimited(model, apiKey, cause);
+            }
+            modelCircuitBreaker.onError(model, cause);
+            if (inFlight.decrementAndGet() == 0 || race.get() == handler) {
+                answer.completeExceptionally(cause);
+            }
+        });
+
+        chatModel.generate(messages, handler);
+        return handler;
+    }
+
+    // 경쟁에서 진 스트림도 사용한 토큰은 기록한다.
+    private void recordLoser(ChatRun run, ModelName model, Response<AiMessage> response) {
+        modelCallMetrics.recordTokens(run, model, response.tokenUsage());
+        if (!run.isPreview() && response.tokenUsage() != null && response.tokenUsage().totalTokenCount() != null) {
+            User owner = userRepository.getReferenceById(run.getPlan().getOwnerId());
+            tokenUsageLogRepository.save(TokenUsageLog.create(owner, response.tokenUsage().totalTokenCount()));
+        }
+    }
+
+    private TokenStreamHandler newHandler(ChatRun run, LlmPlanNode node, AtomicReference<TokenStreamHandler> race, Attempts attempts) {
+        TokenStreamHandler handler = new TokenStreamHandler(
+                sseEmitters,
+                run,
+                node,
+                flowExecutionProperties.getStreamFlushChars(),
+                flowExecutionProperties.getStreamFlushIntervalMillis(),
+                race
+        );
+        attempts.handlers.add(handler);
+        return handler;
+    }
+
+    // 입력 한도가 작아 프롬프트가 들어가지 않는 대체 모델은 사용하지 않는다.
+    private ModelName fallbackOf(LlmPlanNode node, List<ChatMessage> messages) {
+        ModelName fallback = node.getFallbackModelName();
+        if (fallback == null || tokenizerService.countTokens(fallback, messages) > fallback.promptBudget(node.getMaxTokens())) {
+            return null;
+        }
+        return fallback;
+    }
+
+    // 대체 모델의 최대 출력 토큰이 노드 설정보다 작으면 모델 한도에 맞춘다.
+    private int maxTokens(LlmPlanNode node, ModelName model) {
+        return Math.min(node.getMaxTokens(), model.getMaxTokens());
+    }
+
+    // 스트리밍 응답 제한 시간과 실행의 남은 시간 중 먼저 끝나는 시각까지만 기다린다.
+    // 제공자 오류는 LlmRateLimiter가 429 여부를 판단할 수 있도록 그대로 던진다.
+    private <T> T awaitResponse(ChatRun run, CompletableFuture<T> result) {
+        try {
+            long timeoutMillis = run.timeoutMillis(TimeUnit.SECONDS.toMillis(flowExecutionProperties.getStreamTimeoutSeconds()));
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (run.expire() || run.isCancelled()) {
+                throw new BaseException(ErrorCode.CHAT_RUN_CANCELLED);
+            }
+            throw new BaseException(ErrorCode.AI_RESPONSE_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BaseException(ErrorCode.CHAT_RUN_CANCELLED);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,302 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import com.ssafy.flowstudio.common.exception.RateLimitException;
+import com.ssafy.flowstudio.common.util.TokenizerService;
+import com.ssafy.flowstudio.domain.node.entity.ModelName;
+import com.ssafy.flowstudio.domain.node.entity.ModelProvider;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.output.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 모델 제공자의 분당 요청 수(RPM), 분당 토큰 수(TPM) 한도를 넘기 전에 LLM 호출을 기다리게 하거나 거절한다.
+ * API 키와 모델마다 요청 버킷과 토큰 버킷을 두고, 토큰은 프롬프트를 jtokkit으로 센 값에 최대 출력 토큰을 더해 예약한다.
+ * 응답을 받으면 실제 사용량으로 정산하고, 429를 받으면 버킷 속도를 줄인 뒤 제한된 횟수만큼 다시 시도한다.
+ */
+@Slf4j
+@Component
+public class LlmRateLimiter {
+
+    public static final String METRIC = "flow.llm.ratelimit";
+
+    private static final long MIN_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final FlowExecutionProperties flowExecutionProperties;
+    private final MeterRegistry meterRegistry;
+    private final TokenizerService tokenizerService;
+    private final Map<Key, Limit> limits = new ConcurrentHashMap<>();
+
+    public LlmRateLimiter(FlowExecutionProperties flowExecutionProperties, MeterRegistry meterRegistry, TokenizerService tokenizerService) {
+        this.flowExecutionProperties = flowExecutionProperties;
+        this.meterRegistry = meterRegistry;
+        this.tokenizerService = tokenizerService;
+    }
+
+    private record Key(String apiKeyHash, ModelName modelName) {
+    }
+
+    /**
+     * 한도가 남을 때까지 기다렸다가 호출한다. 429를 받으면 제한된 횟수만큼 다시 시도한다.
+     * @throws RateLimitException 기다릴 수 있는 시간 안에 한도가 남지 않거나 재시도 후에도 429를 받았을 때
+     */
+    public Response<AiMessage> call(ChatRun run, ModelName modelName, String apiKey, List<ChatMessage> messages, int maxOutputTokens, Supplier<Response<AiMessage>> call) {
+        return call(run, modelName, apiKey, messages, maxOutputTokens, true, call);
+    }
+
+    /**
+     * 한도가 바로 남아 있을 때만 한 번 호출한다. 미리 실행처럼 실패해도 되는 호출에 사용한다.
+     */
+    public Response<AiMessage> callIfAvailable(ChatRun run, ModelName modelName, String apiKey, List<ChatMessage> messages, int maxOutputTokens, Supplier<Response<AiMessage>> call) {
+        return call(run, modelName, apiKey, messages, maxOutputTokens, false, call);
+    }
+
+    /**
+     * 호출 결과를 직접 기다리는 헤징 요청처럼 call로 감쌀 수 없는 호출의 한도를 예약한다. 사용량은 정산하지 않는다.
+     * @param wait false면 한도가 바로 남아 있을 때만 예약한다.
+     * @return 예약했다면 true, 기다리지 않는 예약에서 한도가 없다면 false
+     * @throws RateLimitException 기다릴 수 있는 시간 안에 한도가 남지 않을 때
+     */
+    public boolean reserve(ChatRun run, ModelName modelName, String apiKey, List<ChatMessage> messages, int maxOutputTokens, boolean wait) {
+        try {
+            acquire(run, modelName, limit(modelName, apiKey), tokenizerService.countTokens(modelName, messages) + maxOutputTokens, wait);
+            return true;
+        } catch (RateLimitException e) {
+            if (wait) {
+                throw e;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 직접 관리하는 호출이 429를 받았을 때 버킷 속도를 줄인다.
+     */
+    public void onRateLimited(ModelName modelName, String apiKey, Throwable error) {
+        long backoffMillis = backoffMillis(error, 0);
+        limit(modelName, apiKey).penalize(TimeUnit.MILLISECONDS.toNanos(backoffMillis));
+        record(modelName, "provider_429");
+    }
+
+    Limit limit(ModelName modelName, String apiKey) {
+        return limits.computeIfAbsent(new Key(ChatModelCache.hash(apiKey), modelName), key -> new Limit(
+                requestsPerMinute(modelName.getProvider()),
+                tokensPerMinute(modelName.getProvider())
+        ));
+    }
+
+    private Response<AiMessage> call(ChatRun run, ModelName modelName, String apiKey, List<ChatMessage> messages, int maxOutputTokens, boolean wait, Supplier<Response<AiMessage>> call) {
+        Limit limit = limit(modelName, apiKey);
+        long reservedTokens = tokenizerService.countTokens(modelName, messages) + maxOutputTokens;
+        int maxRetries = wait ? flowExecutionProperties.getLlmMaxRetries() : 0;
+
+        for (int attempt = 0; ; attempt++) {
+            acquire(run, modelName, limit, reservedTokens, wait);
+
+            Response<AiMessage> response;
+            try {
+                response = call.get();
+            } catch (RuntimeException e) {
+                if (!ProviderErrors.isRateLimited(e)) {
+                    limit.refund(reservedTokens);
+                    throw e;
+                }
+
+                // 거절된 호출은 토큰을 쓰지 않았으므로 재시도하거나 포기하기 전에 예약한 토큰을 돌려준다.
+                limit.refund(reservedTokens);
+                long backoffMillis = backoffMillis(e, attempt);
+                limit.penalize(TimeUnit.MILLISECONDS.toNanos(backoffMillis));
+                record(modelName, "provider_429");
+                log.warn("Provider rate limited. model: {}, attempt: {}, backoff: {} ms", modelName.getName(), attempt + 1, backoffMillis);
+
+                if (attempt >= maxRetries || TimeUnit.MILLISECONDS.toNanos(backoffMillis) >= run.remainingNanos()) {
+                    throw new RateLimitException(ErrorCode.AI_RATE_LIMITED, toRetryAfterSeconds(backoffMillis));
+                }
+                continue;
+            }
+
+            if (response.tokenUsage() != null && response.tokenUsage().totalTokenCount() != null) {
+                limit.refund(reservedTokens - response.tokenUsage().totalTokenCount());
+            }
+            limit.recover();
+            return response;
+        }
+    }
+
+    // 예약할 수 없으면 기다릴 수 있는 시간 안에서 한도가 찰 때까지 잠든다.
+    private void acquire(ChatRun run, ModelName modelName, Limit limit, long tokens, boolean wait) {
+        long maxWaitNanos = wait
+                ? Math.min(TimeUnit.MILLISECONDS.toNanos(flowExecutionProperties.getLlmRateLimitMaxWaitMillis()), run.remainingNanos())
+                : 0;
+
+        long waitNanos = limit.reserve(tokens, System.nanoTime(), maxWaitNanos);
+        if (waitNanos < 0) {
+            record(modelName, "shed");
+            throw new RateLimitException(ErrorCode.AI_RATE_LIMITED, toRetryAfterSeconds(TimeUnit.NANOSECONDS.toMillis(-waitNanos)));
+        }
+        if (waitNanos < MIN_WAIT_NANOS) {
+            record(modelName, "passed");
+            return;
+        }
+
+        record(modelName, "queued");
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            limit.refund(tokens);
+            throw new BaseException(ErrorCode.CHAT_RUN_CANCELLED);
+        }
+    }
+
+    private long backoffMillis(Throwable error, int attempt) {
+        long retryAfterMillis = ProviderErrors.retryAfterMillis(error);
+        if (retryAfterMillis >= 0) {
+            return retryAfterMillis;
+        }
+
+        // 대기 시간을 알려주지 않으면 지수 백오프에 지터를 더한다.
+        long backoffMillis = flowExecutionProperties.getLlmRetryBackoffMillis() << Math.min(attempt, 5);
+        return backoffMillis + ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1);
+    }
+
+    private static long toRetryAfterSeconds(long millis) {
+        return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(millis + 999));
+    }
+
+    private int requestsPerMinute(ModelProvider provider) {
+        return switch (provider) {
+            case OPENAI -> flowExecutionProperties.getOpenAiRequestsPerMinute();
+            case ANTHROPIC -> flowExecutionProperties.getAnthropicRequestsPerMinute();
+        };
+    }
+
+    private int tokensPerMinute(ModelProvider provider) {
+        return switch (provider) {
+            case OPENAI -> flowExecutionProperties.getOpenAiTokensPerMinute();
+            case ANTHROPIC -> flowExecutionProperties.getAnthropicTokensPerMinute();
+        };
+    }
+
+    private void record(ModelName modelName, String outcome) {
+        meterRegistry.counter(METRIC, "model", modelName.getName(), "outcome", outcome).increment();
+    }
+
+    /**
+     * 한동안 호출하지 않아 가득 찬 버킷은 처음 상태와 같으므로 제거한다.
+     */
+    @Scheduled(fixedRate = 60000)
+    public void evictIdle() {
+        long now = System.nanoTime();
+        limits.values().removeIf(limit -> limit.isIdle(now));
+    }
+
+    /**
+     * 요청 버킷과 토큰 버킷을 함께 예약한다.
+     * 버킷은 1분 동안의 한도만큼 담을 수 있고, 예약량만큼 미리 빼서 음수가 되면 다시 찰 때까지 기다린다.
+     * 429를 받으면 채우는 속도를 절반으로 줄이고, 성공할 때마다 설정값까지 조금씩 회복한다.
+     */
+    static class Limit {
+
+        private static final long MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+        private static final double MIN_RATE_FACTOR = 0.1;
+        private static final double RECOVERY_STEP = 0.05;
+
+        private final double requestCapacity;
+        private final double tokenCapacity;
+        private double requests;
+        private double tokens;
+        private double rateFactor = 1.0;
+        private long refilledAt;
+        private long blockedUntil;
+
+        Limit(int requestsPerMinute, int tokensPerMinute) {
+            this.requestCapacity = Math.max(1, requestsPerMinute);
+            this.tokenCapacity = Math.max(1, tokensPerMinute);
+            this.requests = requestCapacity;
+            this.tokens = tokenCapacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        /**
+         * @return 호출 전에 기다려야 하는 시간(ns), maxWaitNanos보다 오래 기다려야 하면 예약하지 않고 필요한 대기 시간의 음수
+         */
+        synchronized long reserve(long amount, long now, long maxWaitNanos) {
+            refill(now);
+
+            // 버킷보다 큰 요청도 버킷이 가득 차면 호출할 수 있게 한다.
+            double tokenAmount = Math.min(amount, tokenCapacity);
+            long waitNanos = Math.max(
+                    Math.max(waitNanos(requests, 1, requestCapacity), waitNanos(tokens, tokenAmount, tokenCapacity)),
+                    blockedUntil - now
+            );
+            if (waitNanos > maxWaitNanos) {
+                return -Math.max(1, waitNanos);
+            }
+
+            requests -= 1;
+            tokens -= tokenAmount;
+            return Math.max(0, waitNanos);
+        }
+
+        synchronized void refund(long amount) {
+            tokens = Math.min(tokenCapacity, tokens + Math.min(amount, tokenCapacity));
+        }
+
+        synchronized double availableTokens(long now) {
+            refill(now);
+            return tokens;
+        }
+
+        synchronized void penalize(long cooldownNanos) {
+            long now = System.nanoTime();
+            refill(now);
+            rateFactor = Math.max(MIN_RATE_FACTOR, rateFactor / 2);
+            blockedUntil = Math.max(blockedUntil, now + cooldownNanos);
+            requests = Math.min(requests, 0);
+        }
+
+        synchronized void recover() {
+            rateFactor = Math.min(1.0, rateFactor + RECOVERY_STEP);
+        }
+
+        synchronized boolean isIdle(long now) {
+            refill(now);
+            return rateFactor == 1.0 && requests >= requestCapacity && tokens >= tokenCapacity && blockedUntil <= now;
+        }
+
+        private void refill(long now) {
+            long elapsed = now - refilledAt;
+            if (elapsed <= 0) {
+                return;
+            }
+            double minutes = (double) elapsed / MINUTE_NANOS * rateFactor;
+            requests = Math.min(requestCapacity, requests + requestCapacity * minutes);
+            tokens = Math.min(tokenCapacity, tokens + tokenCapacity * minutes);
+            refilledAt = now;
+        }
+
+        private long waitNanos(double available, double amount, double capacity) {
+            if (available >= amount) {
+                return 0;
+            }
+            return (long) Math.ceil((amount - available) / (capacity * rateFactor) * MINUTE_NANOS);
+        }
+
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.api.service.node.RedisService;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LLM 노드의 응답 캐시
+ * 같은 소유자, 모델, 파라미터, 렌더링된 프롬프트로 호출하면 이전 응답을 재사용한다.
+ * 인스턴스 메모리(L1)를 먼저 확인하고, 없으면 Redis(L2)를 확인한다.
+ */
+@Slf4j
+@Component
+public class LlmResponseCache {
+
+    private static final String KEY_PREFIX = "llm:response:";
+
+    private record Entry(String response, long expiresAt) {
+    }
+
+    private final Map<String, Entry> localResponses = new ConcurrentHashMap<>();
+    private final RedisService redisService;
+    private final FlowExecutionProperties flowExecutionProperties;
+    private final Counter localHitCounter;
+    private final Counter redisHitCounter;
+    private final Counter missCounter;
+
+    public LlmResponseCache(RedisService redisService, FlowExecutionProperties flowExecutionProperties, MeterRegistry meterRegistry) {
+        this.redisService = redisService;
+        this.flowExecutionProperties = flowExecutionProperties;
+        this.localHitCounter = meterRegistry.counter("flow.llm.response.cache", "result", "hit", "tier", "local");
+        this.redisHitCounter = meterRegistry.counter("flow.llm.response.cache", "result", "hit", "tier", "redis");
+        this.missCounter = meterRegistry.counter("flow.llm.response.cache", "result", "miss", "tier", "none");
+    }
+
+    public static String key(Long ownerId, String modelName, double temperature, int maxTokens, String promptSystem, String promptUser) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, String.valueOf(ownerId));
+            update(digest, modelName);
+            update(digest, String.valueOf(temperature));
+            update(digest, String.valueOf(maxTokens));
+            update(digest, promptSystem);
+            update(digest, promptUser);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public String get(String key) {
+        long now = System.currentTimeMillis();
+
+        Entry entry = localResponses.get(key);
+        if (entry != null) {
+            if (entry.expiresAt() > now) {
+                localHitCounter.increment();
+                return entry.response();
+            }
+            localResponses.remove(key, entry);
+        }
+
+        String response = redisService.get(KEY_PREFIX + key);
+        if (response != null) {
+            redisHitCounter.increment();
+            putLocal(key, response, now);
+            return response;
+        }
+
+        missCounter.increment();
+        return null;
+    }
+
+    public void put(String key, String response) {
+        if (response == null || response.isEmpty()) {
+            return;
+        }
+
+        putLocal(key, response, System.currentTimeMillis());
+        try {
+            redisService.save(KEY_PREFIX + key, response, flowExecutionProperties.getResponseCacheTtlMinutes(), TimeUnit.MINUTES);
+        } catch (RuntimeException e) {
+            log.warn("LLM response cache write failed: {}", e.getMessage());
+        }
+    }
+
+    private void putLocal(String key, String response, long now) {
+        if (localResponses.size() >= flowExecutionProperties.getResponseCacheMaxSize()) {
+            localResponses.values().removeIf(entry -> entry.expiresAt() <= now);
+        }
+
+        // 만료된 항목을 지워도 가득 차 있으면 L1에는 저장하지 않고 L2만 사용한다.
+        if (localResponses.size() < flowExecutionProperties.getResponseCacheMaxSize()) {
+            long ttlMillis = TimeUnit.MINUTES.toMillis(flowExecutionProperties.getResponseCacheTtlMinutes());
+            localResponses.put(key, new Entry(response, now + ttlMillis));
+        }
+    }
+
+    // 필드 경계가 섞이지 않도록 길이를 함께 넣는다.
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(value == null ? -1 : bytes.length).array());
+        digest.update(bytes);
+    }
+
+}
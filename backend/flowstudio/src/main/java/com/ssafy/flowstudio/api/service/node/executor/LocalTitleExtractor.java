@@ -0,0 +1,118 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openkoreantext.processor.KoreanPosJava;
+import org.openkoreantext.processor.KoreanTokenJava;
+import org.openkoreantext.processor.OpenKoreanTextProcessorJava;
+import org.openkoreantext.processor.phrase_extractor.KoreanPhraseExtractor.KoreanPhrase;
+import org.openkoreantext.processor.tokenizer.KoreanTokenizer.KoreanToken;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import scala.collection.Seq;
+
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 첫 질문에서 명사구를 뽑아 채팅 제목을 만든다. (OKT)
+ * 제목 길이 안에 들어가는 가장 긴 명사구를 사용하고, 명사구가 없으면 명사를 나온 순서대로 잇고,
+ * 명사도 없으면 질문 앞부분을 자른다.
+ */
+@Slf4j
+@Component
+public class LocalTitleExtractor {
+
+    public static final String DEFAULT_TITLE = "새 채팅";
+    private static final String ELLIPSIS = "…";
+    private static final Set<KoreanPosJava> NOUNS = EnumSet.of(KoreanPosJava.Noun, KoreanPosJava.ProperNoun, KoreanPosJava.Alpha, KoreanPosJava.Number);
+
+    /**
+     * OKT 사전은 처음 사용할 때 읽으므로 첫 채팅이 기다리지 않도록 미리 읽어둔다.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long startedAt = System.nanoTime();
+        OpenKoreanTextProcessorJava.loadResources();
+        log.info("OKT resources loaded in {} ms", (System.nanoTime() - startedAt) / 1_000_000L);
+    }
+
+    public String extract(String text, int maxLength) {
+        if (text == null || text.isBlank()) {
+            return DEFAULT_TITLE;
+        }
+
+        String normalized = OpenKoreanTextProcessorJava.normalize(text).toString().strip().replaceAll("\\s+", " ");
+        Seq<KoreanToken> tokens = OpenKoreanTextProcessorJava.tokenize(normalized);
+
+        String phrase = longestPhrase(tokens, maxLength);
+        if (phrase != null) {
+            return phrase;
+        }
+
+        String nouns = joinNouns(tokens, maxLength);
+        if (!nouns.isEmpty()) {
+            return nouns;
+        }
+
+        return truncate(normalized, maxLength);
+    }
+
+    // 길이가 같으면 먼저 나온 명사구를 사용한다.
+    private String longestPhrase(Seq<KoreanToken> tokens, int maxLength) {
+        String best = null;
+        int bestOffset = Integer.MAX_VALUE;
+        for (KoreanPhrase phrase : OpenKoreanTextProcessorJava.extractPhrases(tokens, true, false)) {
+            String candidate = phrase.text().strip();
+            int length = length(candidate);
+            if (length == 0 || length > maxLength) {
+                continue;
+            }
+
+            int bestLength = best == null ? 0 : length(best);
+            if (length > bestLength || (length == bestLength && phrase.offset() < bestOffset)) {
+                best = candidate;
+                bestOffset = phrase.offset();
+            }
+        }
+        return best;
+    }
+
+    private String joinNouns(Seq<KoreanToken> tokens, int maxLength) {
+        Set<String> nouns = new LinkedHashSet<>();
+        for (KoreanTokenJava token : OpenKoreanTextProcessorJava.tokensToJavaKoreanTokenList(tokens)) {
+            if (NOUNS.contains(token.getPos())) {
+                nouns.add(token.getText());
+            }
+        }
+
+        StringBuilder title = new StringBuilder();
+        for (String noun : nouns) {
+            int nextLength = length(title) + (title.isEmpty() ? 0 : 1) + length(noun);
+            if (nextLength > maxLength) {
+                break;
+            }
+            if (!title.isEmpty()) {
+                title.append(' ');
+            }
+            title.append(noun);
+        }
+        return title.toString();
+    }
+
+    private String truncate(String text, int maxLength) {
+        if (length(text) <= maxLength) {
+            return text;
+        }
+        int end = text.offsetByCodePoints(0, Math.max(1, maxLength - 1));
+        return text.substring(0, end).strip() + ELLIPSIS;
+    }
+
+    private int length(CharSequence text) {
+        return Character.codePointCount(text, 0, text.length());
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.api.service.node.run.RunMetricTags;
+import com.ssafy.flowstudio.domain.node.entity.ModelName;
+import dev.langchain4j.model.output.TokenUsage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 모델 제공자(OpenAI, Anthropic) 호출 메트릭
+ * flow.llm.request: 제공자 호출 시간 (provider, model, caller, outcome, chatFlow, mode)
+ * flow.llm.tokens: 사용한 토큰 수 (provider, model, kind, chatFlow, mode)
+ */
+@RequiredArgsConstructor
+@Component
+public class ModelCallMetrics {
+
+    static final String REQUEST_METRIC = "flow.llm.request";
+    static final String TOKEN_METRIC = "flow.llm.tokens";
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * @param caller 호출한 곳 (llm, classifier, speculation)
+     */
+    public void recordCall(Timer.Sample sample, ChatRun run, ModelName modelName, String caller, boolean success) {
+        sample.stop(meterRegistry.timer(REQUEST_METRIC, tags(run, modelName)
+                .and("caller", caller)
+                .and("outcome", success ? "success" : "error")));
+    }
+
+    public void recordTokens(ChatRun run, ModelName modelName, TokenUsage tokenUsage) {
+        if (tokenUsage == null) {
+            return;
+        }
+
+        Tags tags = tags(run, modelName);
+        if (tokenUsage.inputTokenCount() != null) {
+            meterRegistry.counter(TOKEN_METRIC, tags.and("kind", "input")).increment(tokenUsage.inputTokenCount());
+        }
+        if (tokenUsage.outputTokenCount() != null) {
+            meterRegistry.counter(TOKEN_METRIC, tags.and("kind", "output")).increment(tokenUsage.outputTokenCount());
+        }
+    }
+
+    private Tags tags(ChatRun run, ModelName modelName) {
+        return RunMetricTags.of(run)
+                .and("provider", modelName.getProvider().name())
+                .and("model", modelName.getName());
+    }
+
+}
@@ -0,0 +1,211 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.domain.node.entity.ModelName;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모델 제공자 장애가 번지지 않도록 모델마다 서킷을 둔다.
+ * 최근 호출의 실패율(느린 첫 토큰 포함)이 기준을 넘으면 일정 시간 호출하지 않고, 이후 시험 호출 한 번으로 회복을 확인한다.
+ * 성공한 호출의 첫 토큰 시간을 모아 헤징 지연 시간(p95)으로 사용한다.
+ * 요청 한도 초과, 인증 오류, 실행 중단처럼 호출자에게 원인이 있는 실패는 세지 않는다.
+ */
+@Slf4j
+@Component
+public class ModelCircuitBreaker {
+
+    public static final String METRIC = "flow.llm.circuit";
+    private static final int LATENCY_SAMPLES = 128;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final FlowExecutionProperties flowExecutionProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<ModelName, Circuit> circuits = new ConcurrentHashMap<>();
+
+    public ModelCircuitBreaker(FlowExecutionProperties flowExecutionProperties, MeterRegistry meterRegistry) {
+        this.flowExecutionProperties = flowExecutionProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 호출할 수 있으면 true, 열린 서킷이거나 다른 시험 호출이 진행 중이면 false
+     * true를 받은 호출은 결과를 onSuccess, onFailure, onIgnored 중 하나로 알려야 한다.
+     */
+    public boolean tryAcquire(ModelName modelName) {
+        return circuit(modelName).tryAcquire(System.nanoTime());
+    }
+
+    public void onSuccess(ModelName modelName, long firstTokenNanos) {
+        boolean slow = firstTokenNanos > TimeUnit.MILLISECONDS.toNanos(flowExecutionProperties.getCircuitSlowCallMillis());
+        circuit(modelName).record(!slow, firstTokenNanos, System.nanoTime());
+    }
+
+    public void onFailure(ModelName modelName) {
+        circuit(modelName).record(false, -1, System.nanoTime());
+    }
+
+    public void onIgnored(ModelName modelName) {
+        circuit(modelName).ignore();
+    }
+
+    /**
+     * 호출 결과를 서킷에 기록한다. 제공자 장애로 볼 수 없는 실패는 세지 않는다.
+     */
+    public void onError(ModelName modelName, Throwable error) {
+        if (isProviderFailure(error)) {
+            onFailure(modelName);
+        } else {
+            onIgnored(modelName);
+        }
+    }
+
+    public State getState(ModelName modelName) {
+        return circuit(modelName).state;
+    }
+
+    /**
+     * 헤징 요청을 보내기 전에 기다릴 시간, 최근 첫 토큰 시간의 p95
+     */
+    public long hedgeDelayMillis(ModelName modelName) {
+        long p95Nanos = circuit(modelName).firstTokenP95();
+        long delayMillis = p95Nanos < 0 ? flowExecutionProperties.getHedgeDefaultDelayMillis() : TimeUnit.NANOSECONDS.toMillis(p95Nanos);
+        return Math.max(flowExecutionProperties.getHedgeMinDelayMillis(), delayMillis);
+    }
+
+    static boolean isProviderFailure(Throwable error) {
+        if (error instanceof BaseException baseException) {
+            return switch (baseException.getErrorCode()) {
+                case AI_RESPONSE_TIMEOUT, AI_PROVIDER_ERROR -> true;
+                default -> false;
+            };
+        }
+
+        // 상태 코드가 없으면 연결 실패, 읽기 시간 초과 같은 네트워크 오류다.
+        Integer status = ProviderErrors.statusOf(error);
+        return status == null || status >= 500 || status == 408;
+    }
+
+    private Circuit circuit(ModelName modelName) {
+        return circuits.computeIfAbsent(modelName, Circuit::new);
+    }
+
+    private class Circuit {
+
+        private final ModelName modelName;
+        private final boolean[] outcomes = new boolean[Math.max(1, flowExecutionProperties.getCircuitWindowSize())];
+        private final long[] latencies = new long[LATENCY_SAMPLES];
+        private int outcomeCount;
+        private int outcomeCursor;
+        private int failures;
+        private int latencyCount;
+        private int latencyCursor;
+        private volatile State state = State.CLOSED;
+        private long openedUntil;
+        private boolean trialInFlight;
+
+        private Circuit(ModelName modelName) {
+            this.modelName = modelName;
+        }
+
+        private synchronized boolean tryAcquire(long now) {
+            if (state == State.OPEN) {
+                if (now < openedUntil) {
+                    meterRegistry.counter(METRIC + ".rejected", "model", modelName.getName()).increment();
+                    return false;
+                }
+                transition(State.HALF_OPEN);
+            }
+
+            if (state == State.HALF_OPEN) {
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+            }
+            return true;
+        }
+
+        private synchronized void record(boolean success, long firstTokenNanos, long now) {
+            if (success && firstTokenNanos >= 0) {
+                latencies[latencyCursor] = firstTokenNanos;
+                latencyCursor = (latencyCursor + 1) % latencies.length;
+                latencyCount = Math.min(latencyCount + 1, latencies.length);
+            }
+
+            if (state == State.HALF_OPEN) {
+                trialInFlight = false;
+                if (success) {
+                    reset();
+                    transition(State.CLOSED);
+                } else {
+                    open(now);
+                }
+                return;
+            }
+
+            if (outcomeCount == outcomes.length && !outcomes[outcomeCursor]) {
+                failures--;
+            }
+            outcomes[outcomeCursor] = success;
+            outcomeCursor = (outcomeCursor + 1) % outcomes.length;
+            outcomeCount = Math.min(outcomeCount + 1, outcomes.length);
+            if (!success) {
+                failures++;
+            }
+
+            if (state == State.CLOSED
+                    && outcomeCount >= flowExecutionProperties.getCircuitMinimumCalls()
+                    && (double) failures / outcomeCount >= flowExecutionProperties.getCircuitFailureRateThreshold()) {
+                open(now);
+            }
+        }
+
+        private synchronized void ignore() {
+            trialInFlight = false;
+        }
+
+        private synchronized long firstTokenP95() {
+            if (latencyCount < MIN_LATENCY_SAMPLES) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(0.95 * sorted.length) - 1];
+        }
+
+        private void open(long now) {
+            openedUntil = now + TimeUnit.SECONDS.toNanos(flowExecutionProperties.getCircuitOpenSeconds());
+            reset();
+            transition(State.OPEN);
+        }
+
+        private void reset() {
+            Arrays.fill(outcomes, false);
+            outcomeCount = 0;
+            outcomeCursor = 0;
+            failures = 0;
+        }
+
+        private void transition(State next) {
+            if (state != next) {
+                log.warn("Circuit of model {} changed: {} -> {}", modelName.getName(), state, next);
+                state = next;
+                meterRegistry.counter(METRIC + ".transitions", "model", modelName.getName(), "state", next.name()).increment();
+            }
+        }
+
+    }
+
+}
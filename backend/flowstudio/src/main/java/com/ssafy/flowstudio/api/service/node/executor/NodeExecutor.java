@@ -2,10 +2,9 @@ package com.ssafy.flowstudio.api.service.node.executor;
 
 import com.ssafy.flowstudio.api.controller.sse.SseEmitters;
 import com.ssafy.flowstudio.api.service.chatflowtest.event.ChatFlowTestEvent;
-import com.ssafy.flowstudio.api.service.node.event.NodeEvent;
-import com.ssafy.flowstudio.domain.chat.entity.Chat;
 import com.ssafy.flowstudio.api.service.node.RedisService;
-import com.ssafy.flowstudio.domain.node.entity.Node;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
 import com.ssafy.flowstudio.domain.node.entity.NodeType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
@@ -20,11 +19,13 @@ public abstract class NodeExecutor {
     private final ApplicationEventPublisher eventPublisher;
     protected final SseEmitters sseEmitters;
 
-    public abstract void execute(Node node, Chat chat);
+    public abstract void execute(PlanNode node, ChatRun run);
     public abstract NodeType getNodeType();
 
-    protected void publishEvent(NodeEvent event) {
-        eventPublisher.publishEvent(event);
+    // 다음 노드가 있으면 RunScheduler의 큐에 쌓는다.
+    // 갈래가 여러 개라면 스레드 모델에 따라 병렬로 실행된다.
+    protected void proceed(PlanNode node, ChatRun run) {
+        run.getState().proceed(node);
     }
 
     protected void publishEvent(ChatFlowTestEvent event) {
@@ -0,0 +1,81 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import dev.ai4j.openai4j.OpenAiHttpException;
+import dev.langchain4j.model.anthropic.internal.client.AnthropicHttpException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 모델 제공자 HTTP 오류를 해석한다.
+ * 재시도, 비동기 응답 대기 과정에서 감싸진 예외도 원인까지 따라가서 확인한다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ProviderErrors {
+
+    public static final int TOO_MANY_REQUESTS = 429;
+
+    // OpenAI 요청 한도 오류 메시지: "... Please try again in 1.2s." 또는 "... in 350ms."
+    private static final Pattern RETRY_AFTER = Pattern.compile("try again in (\\d+(?:\\.\\d+)?)(ms|s)");
+
+    /**
+     * 제공자 HTTP 오류의 상태 코드, 제공자 오류가 아니면 null
+     */
+    public static Integer statusOf(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OpenAiHttpException openAiHttpException) {
+                return openAiHttpException.code();
+            }
+            if (cause instanceof AnthropicHttpException anthropicHttpException) {
+                return anthropicHttpException.statusCode();
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    public static boolean isRateLimited(Throwable error) {
+        Integer status = statusOf(error);
+        return status != null && status == TOO_MANY_REQUESTS;
+    }
+
+    /**
+     * 오류 메시지에 담긴 재시도 대기 시간(ms), 없으면 -1
+     */
+    public static long retryAfterMillis(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null) {
+                Matcher matcher = RETRY_AFTER.matcher(cause.getMessage());
+                if (matcher.find()) {
+                    double amount = Double.parseDouble(matcher.group(1));
+                    return (long) Math.ceil(matcher.group(2).equals("ms") ? amount : amount * 1000);
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 재시도하지 않을 제공자 오류를 응답 코드로 바꾼다. 인증 오류만 API 키 오류로 본다.
+     */
+    public static BaseException translate(Throwable error) {
+        Integer status = statusOf(error);
+        if (status != null && (status == 401 || status == 403)) {
+            return new BaseException(ErrorCode.API_KEY_INVALID, error);
+        }
+        if (status != null && status == TOO_MANY_REQUESTS) {
+            return new BaseException(ErrorCode.AI_RATE_LIMITED, error);
+        }
+        return new BaseException(ErrorCode.AI_PROVIDER_ERROR, error);
+    }
+
+}
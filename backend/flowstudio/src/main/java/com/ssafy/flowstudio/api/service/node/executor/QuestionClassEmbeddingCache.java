@@ -0,0 +1,97 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.api.service.node.plan.PlanQuestionClass;
+import com.ssafy.flowstudio.api.service.rag.EmbeddingService;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 질문 분류(QuestionClass) 내용의 임베딩 캐시
+ * 질문 분류가 저장되거나 챗플로우가 발행될 때 미리 계산해두고,
+ * 실행 시에는 입력 메시지의 임베딩과 가장 가까운 분류를 메모리에서 찾는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class QuestionClassEmbeddingCache {
+
+    private static final int MAX_SIZE = 10_000;
+
+    private final EmbeddingService embeddingService;
+    private final FlowExecutionProperties flowExecutionProperties;
+
+    // 같은 내용이면 같은 임베딩이므로 내용을 키로 사용한다.
+    private final Map<String, float[]> embeddings = new ConcurrentHashMap<>();
+
+    @Async
+    public void warmUp(Collection<String> contents) {
+        for (String content : contents) {
+            if (content == null || content.isBlank()) {
+                continue;
+            }
+
+            try {
+                get(content);
+            } catch (Exception e) {
+                log.warn("Question class embedding failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 입력 메시지와 가장 가까운 분류를 찾는다.
+     * 1순위와 2순위의 유사도 차이가 기준보다 작거나 임베딩에 실패하면 빈 값을 반환한다.
+     */
+    public Optional<PlanQuestionClass> classify(List<PlanQuestionClass> questionClasses, String inputMessage) {
+        try {
+            float[] input = embeddingService.embed(inputMessage);
+
+            PlanQuestionClass best = null;
+            double bestScore = -1;
+            double secondScore = -1;
+            for (PlanQuestionClass questionClass : questionClasses) {
+                double score = EmbeddingService.cosine(get(questionClass.getContent()), input);
+                if (score > bestScore) {
+                    secondScore = bestScore;
+                    bestScore = score;
+                    best = questionClass;
+                } else if (score > secondScore) {
+                    secondScore = score;
+                }
+            }
+
+            if (best == null || bestScore - secondScore < flowExecutionProperties.getClassifierMargin()) {
+                log.debug("Question classifier margin too small. best: {}, second: {}", bestScore, secondScore);
+                return Optional.empty();
+            }
+            return Optional.of(best);
+        } catch (Exception e) {
+            log.warn("Question classification by embedding failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private float[] get(String content) {
+        float[] embedding = embeddings.get(content);
+        if (embedding != null) {
+            return embedding;
+        }
+
+        embedding = embeddingService.embed(content);
+        if (embeddings.size() >= MAX_SIZE) {
+            embeddings.clear();
+        }
+        embeddings.put(content, embedding);
+        return embedding;
+    }
+
+}
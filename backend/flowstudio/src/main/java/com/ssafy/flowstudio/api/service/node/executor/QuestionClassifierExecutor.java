@@ -1,28 +1,29 @@
 package com.ssafy.flowstudio.api.service.node.executor;
 
 import com.ssafy.flowstudio.api.controller.sse.SseEmitters;
-import com.ssafy.flowstudio.api.service.edge.EdgeService;
 import com.ssafy.flowstudio.api.service.node.RedisService;
-import com.ssafy.flowstudio.api.service.node.event.NodeEvent;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.plan.PlanQuestionClass;
+import com.ssafy.flowstudio.api.service.node.plan.QuestionClassifierPlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
 import com.ssafy.flowstudio.api.service.node.executor.prompt.QuestionClassifierPrompt;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
 import com.ssafy.flowstudio.common.constant.ChatEnvVariable;
 import com.ssafy.flowstudio.common.exception.BaseException;
 import com.ssafy.flowstudio.common.exception.ErrorCode;
 import com.ssafy.flowstudio.common.secret.SecretKeyProperties;
-import com.ssafy.flowstudio.domain.chat.entity.Chat;
-import com.ssafy.flowstudio.domain.edge.entity.Edge;
-import com.ssafy.flowstudio.domain.node.entity.Node;
+import com.ssafy.flowstudio.domain.node.entity.ModelName;
+import com.ssafy.flowstudio.domain.node.entity.ModelProvider;
 import com.ssafy.flowstudio.domain.node.entity.NodeType;
-import com.ssafy.flowstudio.domain.node.entity.QuestionClass;
-import com.ssafy.flowstudio.domain.node.entity.QuestionClassifier;
 import dev.langchain4j.data.message.AiMessage;
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.SystemMessage;
 import dev.langchain4j.data.message.UserMessage;
 import dev.langchain4j.model.chat.ChatLanguageModel;
-import dev.langchain4j.model.openai.OpenAiChatModel;
 import dev.langchain4j.model.output.Response;
 import groovy.util.logging.Slf4j;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.Builder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,6 +32,9 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static dev.langchain4j.model.openai.OpenAiChatModelName.GPT_4_O;
 
@@ -39,41 +43,115 @@ import static dev.langchain4j.model.openai.OpenAiChatModelName.GPT_4_O;
 public class QuestionClassifierExecutor extends NodeExecutor {
 
     private static final Logger log = LoggerFactory.getLogger(QuestionClassifierExecutor.class);
+    private static final Pattern ID_PATTERN = Pattern.compile("[0-9]+");
+    private static final String ROUTE_METRIC = "flow.classifier.route";
+    // 분류 응답은 질문 분류 ID 하나이므로 출력 토큰을 작게 예약한다.
+    private static final int CLASSIFICATION_MAX_OUTPUT_TOKENS = 16;
     private final SecretKeyProperties secretKeyProperties;
-    private final EdgeService edgeService;
-
-    public QuestionClassifierExecutor(RedisService redisService, SecretKeyProperties secretKeyProperties, ApplicationEventPublisher eventPublisher, SseEmitters sseEmitters, EdgeService edgeService) {
+    private final ChatModelFactory chatModelFactory;
+    private final FlowExecutionProperties flowExecutionProperties;
+    private final QuestionClassEmbeddingCache questionClassEmbeddingCache;
+    private final ClassificationMemo classificationMemo;
+    private final BranchSpeculator branchSpeculator;
+    private final MeterRegistry meterRegistry;
+    private final ModelCallMetrics modelCallMetrics;
+    private final LlmRateLimiter llmRateLimiter;
+
+    public QuestionClassifierExecutor(RedisService redisService, SecretKeyProperties secretKeyProperties, ApplicationEventPublisher eventPublisher, SseEmitters sseEmitters, ChatModelFactory chatModelFactory, FlowExecutionProperties flowExecutionProperties, QuestionClassEmbeddingCache questionClassEmbeddingCache, ClassificationMemo classificationMemo, BranchSpeculator branchSpeculator, MeterRegistry meterRegistry, ModelCallMetrics modelCallMetrics, LlmRateLimiter llmRateLimiter) {
         super(redisService, eventPublisher, sseEmitters);
         this.secretKeyProperties = secretKeyProperties;
-        this.edgeService = edgeService;
+        this.chatModelFactory = chatModelFactory;
+        this.flowExecutionProperties = flowExecutionProperties;
+        this.questionClassEmbeddingCache = questionClassEmbeddingCache;
+        this.classificationMemo = classificationMemo;
+        this.branchSpeculator = branchSpeculator;
+        this.meterRegistry = meterRegistry;
+        this.modelCallMetrics = modelCallMetrics;
+        this.llmRateLimiter = llmRateLimiter;
     }
 
     @Override
-    public void execute(Node node, Chat chat) {
+    public void execute(PlanNode node, ChatRun run) {
         // 질문 분류기 노드를 참조하는 질문 분류(QuestionClass)들의 리스트를 불러온다.
-        QuestionClassifier questionClassifierNode = (QuestionClassifier) node;
-        List<QuestionClass> questionClasses = questionClassifierNode.getQuestionClasses();
+        QuestionClassifierPlanNode questionClassifierNode = (QuestionClassifierPlanNode) node;
+        List<PlanQuestionClass> questionClasses = questionClassifierNode.getQuestionClasses();
 
         // 실행에 필요한 자원이 충분하지 않다면 예외를 반환한다.
         if (!questionClassifierNode.hasRequiredResources()) {
             throw new BaseException(ErrorCode.REQUIRED_NODE_VALUE_NOT_EXIST);
         }
 
-        // GPT 모델을 빌드한다.
-        ChatLanguageModel model = OpenAiChatModel.builder()
-                .apiKey(secretKeyProperties.getOpenAi())
-                .modelName(GPT_4_O)
-                .build();
-
         // Redis로부터 해당 chat의 유저 입력 메시지를 가져온다.
-        String inputMessageValue = String.valueOf(redisService.get(chat.getId(), ChatEnvVariable.INPUT_MESSAGE));
+        String inputMessageValue = String.valueOf(run.getContext().get(ChatEnvVariable.INPUT_MESSAGE));
+
+        PlanQuestionClass chosenQuestionClass = classify(questionClassifierNode, run, inputMessageValue);
+
+        // Redis에 Output을 업데이트한다.
+        run.getContext().put(questionClassifierNode.getId(), chosenQuestionClass.getContent());
+
+        // SSE를 통해 클라이언트에게 실행되었음을 알린다.
+        sseEmitters.send(run.getChat().getUser(), questionClassifierNode, chosenQuestionClass.getContent());
+
+        // 실행 계획에 저장된 QuestionClass의 타겟 노드를 가져온다.
+        int[] targetIndexes = chosenQuestionClass.getTargetIndexes();
+
+        if (targetIndexes.length > 1) {
+            throw new BaseException(ErrorCode.MULTIPLE_EDGE_FOUND);
+        }
+
+        // Join 노드가 기다리지 않도록 선택되지 않은 분류의 갈래는 건너뛴다.
+        skipUnchosen(questionClasses, chosenQuestionClass, run);
+
+        // 연결된 간선이 있을 시 다음 노드를 실행 큐에 쌓는다.
+        if (targetIndexes.length == 1) {
+            run.getState().reach(run.getPlan().getNode(targetIndexes[0]));
+        }
+    }
+
+    private PlanQuestionClass classify(QuestionClassifierPlanNode questionClassifierNode, ChatRun run, String inputMessageValue) {
+        // 같은 분류 구성에서 같은 질문을 이미 분류했다면 결과를 재사용한다.
+        String memoKey = ClassificationMemo.key(questionClassifierNode.getId(), questionClassifierNode.getClassSetVersion(), inputMessageValue);
+        Long memoizedId = classificationMemo.get(memoKey);
+        if (memoizedId != null) {
+            Optional<PlanQuestionClass> memoized = questionClassifierNode.findQuestionClass(memoizedId);
+            if (memoized.isPresent()) {
+                meterRegistry.counter(ROUTE_METRIC, "route", "memo").increment();
+                run.getTrace().markCacheHit(questionClassifierNode, "memo");
+                return memoized.get();
+            }
+        }
+
+        // 임베딩으로 분류가 확실히 구분되면 LLM을 호출하지 않는다.
+        PlanQuestionClass chosenQuestionClass = null;
+        if (flowExecutionProperties.getClassifierMode() == FlowExecutionProperties.ClassifierMode.EMBEDDING) {
+            chosenQuestionClass = questionClassEmbeddingCache.classify(questionClassifierNode.getQuestionClasses(), inputMessageValue).orElse(null);
+        }
+
+        if (chosenQuestionClass != null) {
+            meterRegistry.counter(ROUTE_METRIC, "route", "embedding").increment();
+            run.getTrace().markCacheHit(questionClassifierNode, "embedding");
+        } else {
+            // LLM으로 분류하는 동안 각 갈래의 첫 노드를 미리 실행한다.
+            meterRegistry.counter(ROUTE_METRIC, "route", "llm").increment();
+            branchSpeculator.speculate(questionClassifierNode, run);
+            chosenQuestionClass = classifyByLlm(questionClassifierNode, run, inputMessageValue);
+            branchSpeculator.resolve(questionClassifierNode, chosenQuestionClass, run);
+        }
+
+        classificationMemo.put(memoKey, chosenQuestionClass.getId());
+        return chosenQuestionClass;
+    }
+
+    private PlanQuestionClass classifyByLlm(QuestionClassifierPlanNode questionClassifierNode, ChatRun run, String inputMessageValue) {
+        // GPT 모델을 빌드한다.
+        ChatLanguageModel model = chatModelFactory.getChatModel(ModelProvider.OPENAI, secretKeyProperties.getOpenAi(), GPT_4_O.toString(), null, null);
 
         // System Message와 User Message를 빌드한다.
         SystemMessage systemMessage = new SystemMessage(QuestionClassifierPrompt.systemMessage);
 
         String customUserMessage = CustomUserMessage.builder()
                 .inputText(inputMessageValue)
-                .questionClasses(questionClasses)
+                .questionClasses(questionClassifierNode.getQuestionClasses())
                 .classificationInstruction(QuestionClassifierPrompt.classificationInstruction)
                 .build()
                 .toString();
@@ -87,47 +165,65 @@ public class QuestionClassifierExecutor extends NodeExecutor {
         messageList.add(userMessage);
 
         // 메시지의 List를 넣어서 AI로 요청을 보낸 후 응답을 받는다.
-        Response<AiMessage> response = model.generate(messageList);
-        String responseText = response.content().text();
-
+        Timer.Sample sample = modelCallMetrics.start();
+        boolean success = false;
+        Response<AiMessage> response;
         try {
-            // AI의 답변을 QuestionClass의 ID로 변환한다.
-            Long foundId = Long.parseLong(responseText);
-
-            log.info("AI response: {}, found ID: {}", responseText, foundId);
-
-            // AI가 반환한 ID로 QuestionClass를 찾는다.
-            QuestionClass chosenQuestionClass = questionClasses.stream()
-                    .filter(qc -> qc.getId().longValue() == foundId.longValue())
-                    .findFirst()
-                    .orElseThrow(() -> new BaseException(ErrorCode.AI_RESPONSE_NOT_MATCH_GIVEN_CONDITION));
+            response = llmRateLimiter.call(run, ModelName.GPT_4_O, secretKeyProperties.getOpenAi(), messageList, CLASSIFICATION_MAX_OUTPUT_TOKENS,
+                    () -> model.generate(messageList));
+            success = true;
+        } catch (BaseException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.error("Question classification call failed. node: {}", questionClassifierNode.getId(), e);
+            throw ProviderErrors.translate(e);
+        } finally {
+            modelCallMetrics.recordCall(sample, run, ModelName.GPT_4_O, "classifier", success);
+        }
+        modelCallMetrics.recordTokens(run, ModelName.GPT_4_O, response.tokenUsage());
+        if (response.tokenUsage() != null && response.tokenUsage().totalTokenCount() != null) {
+            run.getTrace().addTokens(questionClassifierNode, response.tokenUsage().totalTokenCount());
+        }
+        String responseText = response.content().text();
 
-            // Redis에 Output을 업데이트한다.
-            redisService.save(chat.getId(), questionClassifierNode.getId(), chosenQuestionClass.getContent());
+        // AI의 답변을 QuestionClass의 ID로 변환한다.
+        Long foundId = parseId(responseText);
 
-            // SSE를 통해 클라이언트에게 실행되었음을 알린다.
-            sseEmitters.send(chat.getUser(), questionClassifierNode, chosenQuestionClass.getContent());
+        log.info("AI response: {}, found ID: {}", responseText, foundId);
 
-            // QuestionClass와 연결된 간선과 타겟 노드를 가져온다.
-            List<Edge> edgeList = edgeService.getEdgeBySourceConditionId(chosenQuestionClass.getId());
+        // AI가 반환한 ID로 QuestionClass를 찾는다.
+        return questionClassifierNode.findQuestionClass(foundId)
+                .orElseThrow(() -> new BaseException(ErrorCode.AI_RESPONSE_NOT_MATCH_GIVEN_CONDITION));
+    }
 
-            if (edgeList.size() > 1) {
-                throw new BaseException(ErrorCode.MULTIPLE_EDGE_FOUND);
+    /**
+     * AI 응답에서 처음 나오는 숫자를 ID로 읽는다.
+     * "ID: 3", "3." 처럼 숫자 외의 문자가 섞여도 분류할 수 있도록 한다.
+     */
+    static Long parseId(String responseText) {
+        if (responseText != null) {
+            Matcher matcher = ID_PATTERN.matcher(responseText);
+            if (matcher.find()) {
+                try {
+                    return Long.parseLong(matcher.group());
+                } catch (NumberFormatException e) {
+                    log.error("AI_RESPONSE_NOT_MATCH_GIVEN_SCHEMA: ", e);
+                }
             }
+        }
 
-            // 연결된 간선이 있을 시 다음 노드를 실행하는 Event를 발행한다.
-            if (!edgeList.isEmpty()) {
-                Node targetNode = edgeList.get(0).getTargetNode();
+        throw new BaseException(ErrorCode.AI_RESPONSE_NOT_MATCH_GIVEN_SCHEMA);
+    }
 
-                // 타겟 노드와 chat 정보를 담은 Event를 생성한다.
-                NodeEvent event = NodeEvent.of(this, targetNode, chat);
+    private void skipUnchosen(List<PlanQuestionClass> questionClasses, PlanQuestionClass chosenQuestionClass, ChatRun run) {
+        for (PlanQuestionClass questionClass : questionClasses) {
+            if (questionClass == chosenQuestionClass) {
+                continue;
+            }
 
-                // Event를 발행한다.
-                publishEvent(event);
+            for (int targetIndex : questionClass.getTargetIndexes()) {
+                run.getState().skip(run.getPlan().getNode(targetIndex));
             }
-        } catch (NumberFormatException e) {
-            log.error("AI_RESPONSE_NOT_MATCH_GIVEN_SCHEMA: ", e);
-            throw new BaseException(ErrorCode.AI_RESPONSE_NOT_MATCH_GIVEN_SCHEMA);
         }
     }
 
@@ -139,7 +235,7 @@ public class QuestionClassifierExecutor extends NodeExecutor {
     @Builder
     static class CustomUserMessage {
         private final String inputText;
-        private final List<QuestionClass> questionClasses;
+        private final List<PlanQuestionClass> questionClasses;
         private final String classificationInstruction;
 
         @Override
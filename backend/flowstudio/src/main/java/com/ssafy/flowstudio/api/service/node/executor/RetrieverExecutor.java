@@ -2,66 +2,75 @@ package com.ssafy.flowstudio.api.service.node.executor;
 
 import com.ssafy.flowstudio.api.controller.sse.SseEmitters;
 import com.ssafy.flowstudio.api.service.node.RedisService;
-import com.ssafy.flowstudio.api.service.node.event.NodeEvent;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.plan.RetrieverPlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
 import com.ssafy.flowstudio.api.service.rag.VectorStoreService;
 import com.ssafy.flowstudio.api.service.rag.request.KnowledgeSearchServiceRequest;
-import com.ssafy.flowstudio.api.service.rag.response.KnowledgeSearchResponse;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
 import com.ssafy.flowstudio.common.constant.ChatEnvVariable;
 import com.ssafy.flowstudio.common.exception.BaseException;
 import com.ssafy.flowstudio.common.exception.ErrorCode;
-import com.ssafy.flowstudio.domain.chat.entity.Chat;
-import com.ssafy.flowstudio.domain.node.entity.Node;
 import com.ssafy.flowstudio.domain.node.entity.NodeType;
-import com.ssafy.flowstudio.domain.node.entity.Retriever;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class RetrieverExecutor extends NodeExecutor {
 
     private final VectorStoreService vectorStoreService;
+    private final BranchSpeculator branchSpeculator;
+    private final FlowExecutionProperties flowExecutionProperties;
 
-    public RetrieverExecutor(RedisService redisService, ApplicationEventPublisher eventPublisher, VectorStoreService vectorStoreService, SseEmitters sseEmitters) {
+    public RetrieverExecutor(RedisService redisService, ApplicationEventPublisher eventPublisher, VectorStoreService vectorStoreService, SseEmitters sseEmitters, BranchSpeculator branchSpeculator, FlowExecutionProperties flowExecutionProperties) {
         super(redisService, eventPublisher, sseEmitters);
         this.vectorStoreService = vectorStoreService;
+        this.branchSpeculator = branchSpeculator;
+        this.flowExecutionProperties = flowExecutionProperties;
     }
 
     @Override
-    public void execute(Node node, Chat chat) {
-        Retriever retrieverNode = (Retriever) node;
+    public void execute(PlanNode node, ChatRun run) {
+        RetrieverPlanNode retrieverNode = (RetrieverPlanNode) node;
 
         if (!retrieverNode.hasRequiredResources()) {
             throw new BaseException(ErrorCode.REQUIRED_NODE_VALUE_NOT_EXIST);
         }
 
-        String inputMessageValue = String.valueOf(redisService.get(chat.getId(), ChatEnvVariable.INPUT_MESSAGE));
+        String inputMessageValue = String.valueOf(run.getContext().get(ChatEnvVariable.INPUT_MESSAGE));
 
-        // vector 유사도 검색
-        List<String> chunks = vectorStoreService.searchVector(KnowledgeSearchServiceRequest.builder()
-                .knowledge(KnowledgeSearchResponse.from(retrieverNode.getKnowledge()))
-                .interval(retrieverNode.getIntervalTime())
-                .topK(retrieverNode.getTopK())
-                .scoreThreshold(retrieverNode.getScoreThreshold())
-                .query(inputMessageValue)
-                .build());
+        // 질문 분류 중에 미리 검색한 결과가 있으면 사용하고, 없으면 vector 유사도 검색
+        String output = branchSpeculator.take(retrieverNode, run, inputMessageValue)
+                .map(speculated -> {
+                    run.getTrace().markCacheHit(retrieverNode, "speculation");
+                    return speculated;
+                })
+                .orElseGet(() -> vectorStoreService.searchVector(searchRequest(retrieverNode, inputMessageValue, run, flowExecutionProperties)).toString());
 
         // Redis에 Output을 업데이트한다.
-        redisService.save(chat.getId(), retrieverNode.getId(), chunks.toString());
+        run.getContext().put(retrieverNode.getId(), output);
 
-        sseEmitters.send(chat.getUser(), retrieverNode, chunks.toString());
+        sseEmitters.send(run.getChat().getUser(), retrieverNode, output);
 
-        // 연결된 간선과 타겟 노드를 가져온다.
-        if (!retrieverNode.getOutputEdges().isEmpty()) {
-            Node targetNode = node.getOutputEdges().get(0).getTargetNode();
+        proceed(retrieverNode, run);
+    }
 
-            // 타겟 노드와 chat 정보를 담은 Event를 생성한다.
-            NodeEvent event = NodeEvent.of(this, targetNode, chat);
+    static KnowledgeSearchServiceRequest searchRequest(RetrieverPlanNode retrieverNode, String query, ChatRun run, FlowExecutionProperties flowExecutionProperties) {
+        return KnowledgeSearchServiceRequest.builder()
+                .knowledge(retrieverNode.getKnowledge())
+                .interval(retrieverNode.getIntervalTime())
+                .topK(retrieverNode.getTopK())
+                .scoreThreshold(retrieverNode.getScoreThreshold())
+                .query(query)
+                .deadlineNanos(nodeDeadlineNanos(run, flowExecutionProperties))
+                .maxContextTokens(flowExecutionProperties.getRetrieverMaxContextTokens())
+                .build();
+    }
 
-            // event를 발행한다.
-            publishEvent(event);
-        }
+    private static long nodeDeadlineNanos(ChatRun run, FlowExecutionProperties flowExecutionProperties) {
+        return run.nodeDeadlineNanos(TimeUnit.SECONDS.toMillis(flowExecutionProperties.getNodeTimeoutSeconds()));
     }
 
     @Override
@@ -2,9 +2,12 @@ package com.ssafy.flowstudio.api.service.node.executor;
 
 import com.ssafy.flowstudio.api.controller.sse.SseEmitters;
 import com.ssafy.flowstudio.api.service.node.RedisService;
-import com.ssafy.flowstudio.api.service.node.event.NodeEvent;
-import com.ssafy.flowstudio.domain.chat.entity.Chat;
-import com.ssafy.flowstudio.domain.node.entity.Node;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.plan.StartPlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.common.constant.ChatEnvVariable;
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
 import com.ssafy.flowstudio.domain.node.entity.NodeType;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
@@ -17,14 +20,18 @@ public class StartExecutor extends NodeExecutor {
     }
 
     @Override
-    public void execute(Node node, Chat chat) {
-        sseEmitters.send(chat.getUser(), node);
+    public void execute(PlanNode node, ChatRun run) {
+        StartPlanNode startNode = (StartPlanNode) node;
 
-        // 다음 노드가 있으면 실행
-        if (!node.getOutputEdges().isEmpty()) {
-            Node targetNode = node.getOutputEdges().get(0).getTargetNode();
-            publishEvent(NodeEvent.of(this, targetNode, chat));
+        if (startNode.getMaxLength() < run.getMessage().length()) {
+            throw new BaseException(ErrorCode.MESSAGE_TOO_LONG);
         }
+
+        run.getContext().put(ChatEnvVariable.INPUT_MESSAGE, run.getMessage());
+
+        sseEmitters.send(run.getChat().getUser(), node);
+
+        proceed(node, run);
     }
 
     @Override
@@ -0,0 +1,141 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.api.controller.sse.SseEmitters;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.StreamingResponseHandler;
+import dev.langchain4j.model.output.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * LLM 스트리밍 응답을 받아 작은 토큰 조각을 프레임 단위로 묶어 SSE로 전달한다.
+ * 첫 토큰은 바로 전송하고, 이후에는 글자 수 또는 시간 간격이 채워질 때마다 전송한다.
+ * 헤징 요청처럼 여러 스트림이 경쟁하면 race를 공유하고, 첫 토큰을 먼저 받은 스트림만 전송한다.
+ */
+@Slf4j
+public class TokenStreamHandler implements StreamingResponseHandler<AiMessage> {
+
+    private final SseEmitters sseEmitters;
+    private final ChatRun run;
+    private final PlanNode node;
+    private final int flushChars;
+    private final long flushIntervalNanos;
+    private final AtomicReference<TokenStreamHandler> race;
+
+    private final CompletableFuture<Response<AiMessage>> result = new CompletableFuture<>();
+    private final CompletableFuture<Void> firstToken = new CompletableFuture<>();
+    private final StringBuilder pending = new StringBuilder();
+    private final long startedAt = System.nanoTime();
+    private long lastFlushedAt;
+    private volatile long firstTokenNanos = -1;
+    private int seq;
+    private boolean emitting = true;
+
+    public TokenStreamHandler(SseEmitters sseEmitters, ChatRun run, PlanNode node, int flushChars, long flushIntervalMillis) {
+        this(sseEmitters, run, node, flushChars, flushIntervalMillis, null);
+    }
+
+    public TokenStreamHandler(SseEmitters sseEmitters, ChatRun run, PlanNode node, int flushChars, long flushIntervalMillis, AtomicReference<TokenStreamHandler> race) {
+        this.sseEmitters = sseEmitters;
+        this.run = run;
+        this.node = node;
+        this.flushChars = flushChars;
+        this.flushIntervalNanos = flushIntervalMillis * 1_000_000L;
+        this.race = race;
+    }
+
+    @Override
+    public synchronized void onNext(String token) {
+        if (token == null || token.isEmpty()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (firstTokenNanos < 0) {
+            firstTokenNanos = now - startedAt;
+            firstToken.complete(null);
+            log.debug("First token of node {} in {} ms", node.getId(), firstTokenNanos / 1_000_000L);
+        }
+
+        // 경쟁에서 진 스트림은 끝까지 받되 전송하지 않는다.
+        if (!claim()) {
+            return;
+        }
+
+        pending.append(token);
+
+        if (seq == 0 || pending.length() >= flushChars || now - lastFlushedAt >= flushIntervalNanos) {
+            flush(now);
+        }
+    }
+
+    @Override
+    public synchronized void onComplete(Response<AiMessage> response) {
+        flush(System.nanoTime());
+        firstToken.complete(null);
+        result.complete(response);
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        firstToken.complete(null);
+        result.completeExceptionally(error);
+    }
+
+    public CompletableFuture<Response<AiMessage>> getResult() {
+        return result;
+    }
+
+    /**
+     * 첫 토큰을 받거나 스트림이 끝나면 완료된다.
+     */
+    public CompletableFuture<Void> getFirstToken() {
+        return firstToken;
+    }
+
+    /**
+     * 요청부터 첫 토큰까지 걸린 시간(ns), 아직 받지 못했다면 -1
+     */
+    public long getFirstTokenNanos() {
+        return firstTokenNanos;
+    }
+
+    public synchronized boolean hasEmitted() {
+        return seq > 0;
+    }
+
+    /**
+     * 경쟁하는 스트림 중 이 스트림의 응답을 사용하도록 선점한다. 이미 다른 스트림이 선점했다면 false
+     */
+    public boolean claim() {
+        return race == null || race.compareAndSet(null, this) || race.get() == this;
+    }
+
+    private void flush(long now) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        String delta = pending.toString();
+        pending.setLength(0);
+        lastFlushedAt = now;
+
+        // 중단된 실행의 응답은 제공자 요청을 끊을 수 없으므로 끝까지 받되 전송하지 않는다.
+        if (!emitting || run.isCancelled()) {
+            return;
+        }
+
+        // 클라이언트 연결이 끊겨도 생성은 끝까지 받아 결과를 저장한다.
+        try {
+            sseEmitters.sendToken(run, node, seq++, delta);
+        } catch (RuntimeException e) {
+            log.warn("Token stream of node {} detached: {}", node.getId(), e.getMessage());
+            emitting = false;
+        }
+    }
+
+}
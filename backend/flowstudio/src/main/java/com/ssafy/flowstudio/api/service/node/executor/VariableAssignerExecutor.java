@@ -3,8 +3,8 @@ package com.ssafy.flowstudio.api.service.node.executor;
 
 import com.ssafy.flowstudio.api.controller.sse.SseEmitters;
 import com.ssafy.flowstudio.api.service.node.RedisService;
-import com.ssafy.flowstudio.domain.chat.entity.Chat;
-import com.ssafy.flowstudio.domain.node.entity.Node;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
 import com.ssafy.flowstudio.domain.node.entity.NodeType;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
@@ -17,7 +17,7 @@ public class VariableAssignerExecutor extends NodeExecutor {
     }
 
     @Override
-    public void execute(Node node, Chat chat) {
+    public void execute(PlanNode node, ChatRun run) {
         System.out.println("VariableAssignerExecutor");
     }
 
@@ -0,0 +1,23 @@
+package com.ssafy.flowstudio.api.service.node.plan;
+
+import com.ssafy.flowstudio.common.util.PromptTemplate;
+import com.ssafy.flowstudio.domain.node.entity.Answer;
+import lombok.Getter;
+
+@Getter
+public class AnswerPlanNode extends PlanNode {
+
+    private final String outputMessage;
+    private final PromptTemplate outputTemplate;
+
+    private AnswerPlanNode(int index, Answer answer, PromptTemplate outputTemplate) {
+        super(index, answer, answer.getOutputMessage() != null && !answer.getOutputMessage().trim().isEmpty());
+        this.outputMessage = answer.getOutputMessage();
+        this.outputTemplate = outputTemplate;
+    }
+
+    public static AnswerPlanNode of(int index, Answer answer, PromptTemplate outputTemplate) {
+        return new AnswerPlanNode(index, answer, outputTemplate);
+    }
+
+}
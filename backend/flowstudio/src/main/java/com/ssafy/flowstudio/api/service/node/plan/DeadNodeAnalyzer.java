@@ -0,0 +1,91 @@
+package com.ssafy.flowstudio.api.service.node.plan;
+
+import com.ssafy.flowstudio.common.util.PromptTemplate;
+import com.ssafy.flowstudio.domain.node.entity.NodeType;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 실행 계획의 프롬프트와 답변 템플릿이 참조하는 {{노드ID}}를 따라가며 출력이 쓰이는(live) 노드를 찾는다.
+ * Answer 노드의 출력 템플릿에서 시작해, 출력이 쓰이는 LLM 노드의 프롬프트가 참조하는 노드까지 반복해서 표시한다.
+ * 부수 효과 없이 출력만 만드는 LLM, Retriever 노드 중 표시되지 않은 노드는 실행하지 않아도 된다.
+ */
+final class DeadNodeAnalyzer {
+
+    private DeadNodeAnalyzer() {
+    }
+
+    /**
+     * @return 실행하지 않아도 되는 노드의 인덱스에 true를 표시한 배열
+     */
+    static boolean[] analyze(PlanNode[] nodes) {
+        boolean[] pruned = new boolean[nodes.length];
+
+        Map<Long, Integer> indexes = new HashMap<>();
+        for (PlanNode node : nodes) {
+            switch (node.getType()) {
+                case START, LLM, RETRIEVER, QUESTION_CLASSIFIER, ANSWER, JOIN -> indexes.put(node.getId(), node.getIndex());
+                default -> {
+                    // 참조 방식을 알 수 없는 노드가 있으면 어떤 노드의 출력도 버리지 않는다.
+                    return pruned;
+                }
+            }
+        }
+
+        boolean[] live = new boolean[nodes.length];
+        ArrayDeque<PlanNode> queue = new ArrayDeque<>();
+        for (PlanNode node : nodes) {
+            if (node instanceof AnswerPlanNode answerNode) {
+                markReferences(answerNode.getOutputTemplate(), nodes, indexes, live, queue);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            PlanNode node = queue.poll();
+            if (node instanceof LlmPlanNode llmNode) {
+                markReferences(llmNode.getPromptUserTemplate(), nodes, indexes, live, queue);
+                markReferences(llmNode.getPromptSystemTemplate(), nodes, indexes, live, queue);
+            }
+        }
+
+        for (PlanNode node : nodes) {
+            if ((node.getType() == NodeType.LLM || node.getType() == NodeType.RETRIEVER) && !live[node.getIndex()]) {
+                pruned[node.getIndex()] = true;
+            }
+        }
+        return pruned;
+    }
+
+    private static void markReferences(PromptTemplate template, PlanNode[] nodes, Map<Long, Integer> indexes, boolean[] live, ArrayDeque<PlanNode> queue) {
+        if (template == null) {
+            return;
+        }
+
+        for (String variable : template.getVariables()) {
+            Long nodeId = parseNodeId(variable.trim());
+            Integer index = nodeId == null ? null : indexes.get(nodeId);
+            if (index != null && !live[index]) {
+                live[index] = true;
+                queue.add(nodes[index]);
+            }
+        }
+    }
+
+    // 환경 변수(INPUT_MESSAGE 등)는 노드 ID가 아니므로 건너뛴다.
+    private static Long parseNodeId(String variable) {
+        if (variable.isEmpty() || variable.length() > 18) {
+            return null;
+        }
+
+        for (int i = 0; i < variable.length(); i++) {
+            char c = variable.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+        }
+        return Long.parseLong(variable);
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.ssafy.flowstudio.api.service.node.plan;
+
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 챗플로우를 컴파일한 불변 실행 계획(DAG)
+ * 간선은 CSR(successorOffsets, successors) 형태의 원시 배열로 보관한다.
+ * 질문 분류기의 분류별 간선(sourceConditionId != 0)은 PlanQuestionClass가 따로 보관한다.
+ * 노드별 Input 간선 수(predecessorCounts)는 Join 노드가 모든 갈래를 기다리는 데 사용한다.
+ * 출력이 어디에서도 참조되지 않는 노드(pruned)는 실행하지 않고 다음 노드로 진행한다.
+ * 미리보기 실행은 빌더가 모든 노드의 결과를 확인할 수 있도록 발행된 챗플로우에서만 노드를 건너뛴다.
+ */
+@Getter
+public class ExecutionPlan {
+
+    private final Long chatFlowId;
+    private final Long ownerId;
+    private final boolean isPublished;
+    private final long version;
+    private final int startIndex;
+
+    @Getter(AccessLevel.NONE)
+    private final boolean hasJoin;
+
+    @Getter(AccessLevel.NONE)
+    private final PlanNode[] nodes;
+
+    @Getter(AccessLevel.NONE)
+    private final int[] successorOffsets;
+
+    @Getter(AccessLevel.NONE)
+    private final int[] successors;
+
+    @Getter(AccessLevel.NONE)
+    private final int[] predecessorCounts;
+
+    @Getter(AccessLevel.NONE)
+    private final boolean[] pruned;
+
+    ExecutionPlan(Long chatFlowId, Long ownerId, boolean isPublished, long version, int startIndex, boolean hasJoin, PlanNode[] nodes, int[] successorOffsets, int[] successors, int[] predecessorCounts, boolean[] pruned) {
+        this.chatFlowId = chatFlowId;
+        this.ownerId = ownerId;
+        this.isPublished = isPublished;
+        this.version = version;
+        this.startIndex = startIndex;
+        this.hasJoin = hasJoin;
+        this.nodes = nodes;
+        this.successorOffsets = successorOffsets;
+        this.successors = successors;
+        this.predecessorCounts = predecessorCounts;
+        this.pruned = pruned;
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    public PlanNode getNode(int index) {
+        return nodes[index];
+    }
+
+    public PlanNode getStartNode() {
+        if (startIndex < 0) {
+            throw new BaseException(ErrorCode.START_NODE_NOT_FOUND);
+        }
+        return nodes[startIndex];
+    }
+
+    public int getSuccessorCount(int index) {
+        return successorOffsets[index + 1] - successorOffsets[index];
+    }
+
+    public PlanNode getSuccessor(int index, int order) {
+        return nodes[successors[successorOffsets[index] + order]];
+    }
+
+    public boolean hasJoin() {
+        return hasJoin;
+    }
+
+    public int getPredecessorCount(int index) {
+        return predecessorCounts[index];
+    }
+
+    public boolean isPruned(int index) {
+        return isPublished && pruned[index];
+    }
+
+    /**
+     * 발행하면 실행하지 않을 노드, 미리보기 계획에서도 사전 점검에서 알려주기 위해 분석 결과를 그대로 반환한다.
+     */
+
+    public List<PlanNode> getPrunedNodes() {
+        List<PlanNode> prunedNodes = new ArrayList<>();
+        for (int i = 0; i < nodes.length; i++) {
+            if (pruned[i]) {
+                prunedNodes.add(nodes[i]);
+            }
+        }
+        return prunedNodes;
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.ssafy.flowstudio.api.service.node.plan;
+
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
+import com.ssafy.flowstudio.domain.chatflow.repository.ChatFlowRepository;
+import com.ssafy.flowstudio.domain.edge.entity.Edge;
+import com.ssafy.flowstudio.domain.node.entity.Answer;
+import com.ssafy.flowstudio.domain.node.entity.LLM;
+import com.ssafy.flowstudio.domain.node.entity.Node;
+import com.ssafy.flowstudio.domain.node.entity.NodeType;
+import com.ssafy.flowstudio.domain.node.entity.QuestionClassifier;
+import com.ssafy.flowstudio.domain.node.entity.Retriever;
+import com.ssafy.flowstudio.domain.node.entity.Start;
+import com.ssafy.flowstudio.publish.repository.PublishChatFlowRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+@Component
+public class ExecutionPlanCompiler {
+
+    private final ChatFlowRepository chatFlowRepository;
+    private final PublishChatFlowRepository publishChatFlowRepository;
+    private final PromptTemplateCache promptTemplateCache;
+
+    @Transactional(readOnly = true)
+    public ExecutionPlan compileDraft(Long chatFlowId, long version) {
+        ChatFlow chatFlow = chatFlowRepository.findById(chatFlowId)
+                .orElseThrow(() -> new BaseException(ErrorCode.CHAT_FLOW_NOT_FOUND));
+
+        return compile(chatFlow, false, version);
+    }
+
+    @Transactional(transactionManager = "secondaryTransactionManager", readOnly = true)
+    public ExecutionPlan compilePublished(Long chatFlowId, long version) {
+        ChatFlow chatFlow = publishChatFlowRepository.findById(chatFlowId)
+                .orElseThrow(() -> new BaseException(ErrorCode.CHAT_FLOW_NOT_FOUND));
+
+        return compile(chatFlow, true, version);
+    }
+
+    /**
+     * 영속 상태의 ChatFlow를 불변 실행 계획으로 변환한다.
+     * 지연 로딩이 필요하므로 트랜잭션 안에서 호출해야 한다.
+     */
+    public ExecutionPlan compile(ChatFlow chatFlow, boolean isPublished, long version) {
+        List<Node> nodes = chatFlow.getNodes();
+        int size = nodes.size();
+
+        Map<Long, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            indexes.put(nodes.get(i).getId(), i);
+        }
+
+        // 일반 간선(sourceConditionId == 0)만 CSR 배열로 만든다.
+        int[] successorOffsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            int count = 0;
+            for (Edge edge : nodes.get(i).getOutputEdges()) {
+                if (isDefaultEdge(edge) && indexes.containsKey(edge.getTargetNode().getId())) {
+                    count++;
+                }
+            }
+            successorOffsets[i + 1] = successorOffsets[i] + count;
+        }
+
+        int[] successors = new int[successorOffsets[size]];
+        int[] predecessorCounts = new int[size];
+        int startIndex = -1;
+        boolean hasJoin = false;
+        PlanNode[] planNodes = new PlanNode[size];
+
+        for (int i = 0; i < size; i++) {
+            Node node = nodes.get(i);
+
+            int cursor = successorOffsets[i];
+            for (Edge edge : node.getOutputEdges()) {
+                Integer targetIndex = indexes.get(edge.getTargetNode().getId());
+                if (targetIndex == null) {
+                    continue;
+                }
+
+                predecessorCounts[targetIndex]++;
+                if (isDefaultEdge(edge)) {
+                    successors[cursor++] = targetIndex;
+                }
+            }
+
+            if (node.getType() == NodeType.START && startIndex < 0) {
+                startIndex = i;
+            }
+
+            if (node.getType() == NodeType.JOIN) {
+                hasJoin = true;
+            }
+
+            planNodes[i] = toPlanNode(i, node, isPublished, indexes);
+        }
+
+        return new ExecutionPlan(
+                chatFlow.getId(),
+                chatFlow.getOwner().getId(),
+                isPublished,
+                version,
+                startIndex,
+                hasJoin,
+                planNodes,
+                successorOffsets,
+                successors,
+                predecessorCounts,
+                DeadNodeAnalyzer.analyze(planNodes)
+        );
+    }
+
+    private PlanNode toPlanNode(int index, Node node, boolean isPublished, Map<Long, Integer> indexes) {
+        return switch (node.getType()) {
+            case START -> StartPlanNode.of(index, (Start) node);
+            case LLM -> {
+                LLM llm = (LLM) node;
+                yield LlmPlanNode.of(
+                        index,
+                        llm,
+                        promptTemplateCache.get(llm.getId(), isPublished, PromptTemplateCache.Field.PROMPT_SYSTEM, llm.getPromptSystem()),
+                        promptTemplateCache.get(llm.getId(), isPublished, PromptTemplateCache.Field.PROMPT_USER, llm.getPromptUser())
+                );
+            }
+            case ANSWER -> {
+                Answer answer = (Answer) node;
+                yield AnswerPlanNode.of(
+                        index,
+                        answer,
+                        promptTemplateCache.get(answer.getId(), isPublished, PromptTemplateCache.Field.OUTPUT_MESSAGE, answer.getOutputMessage())
+                );
+            }
+            case RETRIEVER -> RetrieverPlanNode.of(index, (Retriever) node);
+            case QUESTION_CLASSIFIER -> {
+                QuestionClassifier questionClassifier = (QuestionClassifier) node;
+                List<PlanQuestionClass> questionClasses = questionClassifier.getQuestionClasses().stream()
+                        .map(questionClass -> PlanQuestionClass.of(questionClass, conditionTargets(node, questionClass.getId(), indexes)))
+                        .toList();
+                yield QuestionClassifierPlanNode.of(index, questionClassifier, questionClasses);
+            }
+            default -> PlanNode.of(index, node);
+        };
+    }
+
+    private int[] conditionTargets(Node node, Long questionClassId, Map<Long, Integer> indexes) {
+        return node.getOutputEdges().stream()
+                .filter(edge -> questionClassId.equals(edge.getSourceConditionId()))
+                .map(edge -> indexes.get(edge.getTargetNode().getId()))
+                .filter(targetIndex -> targetIndex != null)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private boolean isDefaultEdge(Edge edge) {
+        return edge.getSourceConditionId() == null || edge.getSourceConditionId() == 0L;
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.ssafy.flowstudio.api.service.node.plan;
+
+import com.ssafy.flowstudio.api.service.node.RedisService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 챗플로우별 실행 계획 캐시
+ * 버전은 Redis 카운터로 관리하므로 다른 인스턴스에서 수정된 챗플로우도 다음 실행에서 다시 컴파일된다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ExecutionPlanService {
+
+    private static final String DRAFT_VERSION_KEY = "plan:version:draft:";
+    private static final String PUBLISHED_VERSION_KEY = "plan:version:published:";
+
+    private final ExecutionPlanCompiler executionPlanCompiler;
+    private final RedisService redisService;
+
+    private final Map<Long, ExecutionPlan> draftPlans = new ConcurrentHashMap<>();
+    private final Map<Long, ExecutionPlan> publishedPlans = new ConcurrentHashMap<>();
+
+    public ExecutionPlan getPlan(Long chatFlowId, boolean isPublished) {
+        Map<Long, ExecutionPlan> plans = isPublished ? publishedPlans : draftPlans;
+        long version = redisService.getVersion(versionKey(chatFlowId, isPublished));
+
+        ExecutionPlan plan = plans.get(chatFlowId);
+        if (plan != null && plan.getVersion() == version) {
+            return plan;
+        }
+
+        log.debug("Compile execution plan. chatFlowId: {}, published: {}, version: {}", chatFlowId, isPublished, version);
+        ExecutionPlan compiled = isPublished
+                ? executionPlanCompiler.compilePublished(chatFlowId, version)
+                : executionPlanCompiler.compileDraft(chatFlowId, version);
+
+        // 동시에 컴파일된 경우 더 최신 버전을 남긴다.
+        plans.merge(chatFlowId, compiled, (current, candidate) -> current.getVersion() > candidate.getVersion() ? current : candidate);
+        return compiled;
+    }
+
+    /**
+     * 편집 중인 챗플로우의 실행 계획을 무효화한다.
+     * 커밋 전에 다시 컴파일되는 것을 막기 위해 트랜잭션 커밋 이후에 버전을 올린다.
+     */
+    public void invalidate(Long chatFlowId) {
+        afterCommit(() -> {
+            redisService.increaseVersion(versionKey(chatFlowId, false));
+            draftPlans.remove(chatFlowId);
+        });
+    }
+
+    public void invalidatePublished(Long chatFlowId) {
+        afterCommit(() -> {
+            redisService.increaseVersion(versionKey(chatFlowId, true));
+            publishedPlans.remove(chatFlowId);
+        });
+    }
+
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    private String versionKey(Long chatFlowId, boolean isPublished) {
+        return (isPublished ? PUBLISHED_VERSION_KEY : DRAFT_VERSION_KEY) + chatFlowId;
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.ssafy.flowstudio.api.service.node.plan;
+
+import com.ssafy.flowstudio.common.util.PromptTemplate;
+import com.ssafy.flowstudio.domain.node.entity.LLM;
+import com.ssafy.flowstudio.domain.node.entity.ModelName;
+import lombok.Getter;
+
+@Getter
+public class LlmPlanNode extends PlanNode {
+
+    private final String promptSystem;
+    private final String promptUser;
+    private final String context;
+    private final double temperature;
+    private final int maxTokens;
+    private final ModelName modelName;
+    private final boolean responseCacheEnabled;
+    private final ModelName fallbackModelName;
+    private final boolean hedgingEnabled;
+    private final PromptTemplate promptSystemTemplate;
+    private final PromptTemplate promptUserTemplate;
+
+    private LlmPlanNode(int index, LLM llm, PromptTemplate promptSystemTemplate, PromptTemplate promptUserTemplate) {
+        super(index, llm, llm.getPromptSystem() != null && llm.getPromptUser() != null && !llm.getPromptUser().trim().isEmpty());
+        this.promptSystem = llm.getPromptSystem();
+        this.promptUser = llm.getPromptUser();
+        this.context = llm.getContext();
+        this.temperature = llm.getTemperature();
+        this.maxTokens = llm.getMaxTokens();
+        this.modelName = llm.getModelName();
+        this.responseCacheEnabled = llm.isResponseCacheEnabled();
+        this.fallbackModelName = llm.getFallbackModelName();
+        this.hedgingEnabled = llm.isHedgingEnabled();
+        this.promptSystemTemplate = promptSystemTemplate;
+        this.promptUserTemplate = promptUserTemplate;
+    }
+
+    public static LlmPlanNode of(int index, LLM llm, PromptTemplate promptSystemTemplate, PromptTemplate promptUserTemplate) {
+        return new LlmPlanNode(index, llm, promptSystemTemplate, promptUserTemplate);
+    }
+
+    public boolean hasPromptSystem() {
+        return promptSystem != null && !promptSystem.trim().isEmpty();
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.ssafy.flowstudio.api.service.node.plan;
+
+import com.ssafy.flowstudio.domain.node.entity.Node;
+import com.ssafy.flowstudio.domain.node.entity.NodeType;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * 실행 계획에 포함되는 불변 노드
+ * 엔티티의 실행에 필요한 값만 복사해 두므로 실행 중 지연 로딩이 발생하지 않는다.
+ */
+@Getter
+public class PlanNode {
+
+    private final int index;
+    private final Long id;
+    private final NodeType type;
+    private final String name;
+    @Getter(AccessLevel.NONE)
+    private final boolean hasRequiredResources;
+
+    protected PlanNode(int index, Node node, boolean hasRequiredResources) {
+        this.index = index;
+        this.id = node.getId();
+        this.type = node.getType();
+        this.name = node.getName();
+        this.hasRequiredResources = hasRequiredResources;
+    }
+
+    public static PlanNode of(int index, Node node) {
+        return new PlanNode(index, node, node.hasRequiredResources());
+    }
+
+    public boolean hasRequiredResources() {
+        return hasRequiredResources;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.ssafy.flowstudio.api.service.node.plan;
+
+import com.ssafy.flowstudio.domain.node.entity.QuestionClass;
+import lombok.Getter;
+
+@Getter
+public class PlanQuestionClass {
+
+    private final Long id;
+    private final String content;
+    // 해당 분류와 연결된 간선의 타겟 노드 인덱스
+    private final int[] targetIndexes;
+
+    private PlanQuestionClass(Long id, String content, int[] targetIndexes) {
+        this.id = id;
+        this.content = content;
+        this.targetIndexes = targetIndexes;
+    }
+
+    public static PlanQuestionClass of(QuestionClass questionClass, int[] targetIndexes) {
+        return new PlanQuestionClass(questionClass.getId(), questionClass.getContent(), targetIndexes);
+    }
+
+    // 분류 프롬프트에 그대로 사용되므로 QuestionClass와 같은 형식을 유지한다.
+    @Override
+    public String toString() {
+        return "QuestionClass{" +
+                "id=" + id +
+                ", content='" + content + '\'' +
+                '}';
+    }
+}
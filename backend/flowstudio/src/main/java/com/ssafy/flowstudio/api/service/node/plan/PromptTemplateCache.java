@@ -0,0 +1,50 @@
+package com.ssafy.flowstudio.api.service.node.plan;
+
+import com.ssafy.flowstudio.common.util.PromptTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 노드별로 컴파일된 프롬프트 템플릿 캐시
+ * 다른 노드가 수정되어 실행 계획이 다시 컴파일되어도 프롬프트가 바뀌지 않은 노드의 템플릿은 재사용한다.
+ * 발행된 노드는 편집 중인 노드와 같은 ID를 사용하므로 발행 여부를 키에 포함한다.
+ */
+@Component
+public class PromptTemplateCache {
+
+    public enum Field {
+        PROMPT_SYSTEM, PROMPT_USER, OUTPUT_MESSAGE
+    }
+
+    private record Key(Long nodeId, boolean isPublished, Field field) {
+    }
+
+    private final Map<Key, PromptTemplate> templates = new ConcurrentHashMap<>();
+
+    public PromptTemplate get(Long nodeId, boolean isPublished, Field field, String source) {
+        Key key = new Key(nodeId, isPublished, field);
+
+        // 원문이 같을 때만 재사용하므로 무효화가 늦어져도 오래된 템플릿으로 렌더링하지 않는다.
+        PromptTemplate template = templates.get(key);
+        if (template != null && Objects.equals(template.getSource(), source)) {
+            return template;
+        }
+
+        PromptTemplate compiled = PromptTemplate.compile(source);
+        templates.put(key, compiled);
+        return compiled;
+    }
+
+    /**
+     * 편집 중인 노드의 템플릿을 무효화한다.
+     */
+    public void invalidate(Long nodeId) {
+        for (Field field : Field.values()) {
+            templates.remove(new Key(nodeId, false, field));
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.ssafy.flowstudio.api.service.node.plan;
+
+import com.ssafy.flowstudio.domain.node.entity.QuestionClassifier;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+@Getter
+public class QuestionClassifierPlanNode extends PlanNode {
+
+    private final List<PlanQuestionClass> questionClasses;
+    // 분류 구성(ID, 내용)이 바뀌면 달라지는 값으로, 분류 결과 메모의 키로 사용한다.
+    private final String classSetVersion;
+    // 분류하는 동안 갈래의 첫 노드를 미리 실행할 때 사용할 수 있는 토큰 수
+    private final int speculativeTokenBudget;
+
+    private QuestionClassifierPlanNode(int index, QuestionClassifier questionClassifier, List<PlanQuestionClass> questionClasses) {
+        super(index, questionClassifier, questionClasses.size() >= 2 && questionClasses.stream()
+                .noneMatch(questionClass -> questionClass.getContent() == null || questionClass.getContent().trim().isEmpty()));
+        this.questionClasses = List.copyOf(questionClasses);
+        this.classSetVersion = versionOf(this.questionClasses);
+        this.speculativeTokenBudget = questionClassifier.getSpeculativeTokenBudget();
+    }
+
+    public static QuestionClassifierPlanNode of(int index, QuestionClassifier questionClassifier, List<PlanQuestionClass> questionClasses) {
+        return new QuestionClassifierPlanNode(index, questionClassifier, questionClasses);
+    }
+
+    public Optional<PlanQuestionClass> findQuestionClass(long questionClassId) {
+        for (PlanQuestionClass questionClass : questionClasses) {
+            if (questionClass.getId() == questionClassId) {
+                return Optional.of(questionClass);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String versionOf(List<PlanQuestionClass> questionClasses) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (PlanQuestionClass questionClass : questionClasses) {
+                byte[] content = questionClass.getContent() == null ? new byte[0] : questionClass.getContent().getBytes(StandardCharsets.UTF_8);
+                digest.update(ByteBuffer.allocate(Long.BYTES + Integer.BYTES)
+                        .putLong(questionClass.getId() == null ? -1L : questionClass.getId())
+                        .putInt(content.length)
+                        .array());
+                digest.update(content);
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
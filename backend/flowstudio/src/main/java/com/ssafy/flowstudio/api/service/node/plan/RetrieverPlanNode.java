@@ -0,0 +1,29 @@
+package com.ssafy.flowstudio.api.service.node.plan;
+
+import com.ssafy.flowstudio.api.service.rag.response.KnowledgeSearchResponse;
+import com.ssafy.flowstudio.domain.node.entity.Retriever;
+import lombok.Getter;
+
+@Getter
+public class RetrieverPlanNode extends PlanNode {
+
+    private final KnowledgeSearchResponse knowledge;
+    private final Integer intervalTime;
+    private final Integer topK;
+    private final Float scoreThreshold;
+    private final String query;
+
+    private RetrieverPlanNode(int index, Retriever retriever) {
+        super(index, retriever, retriever.getKnowledge() != null);
+        this.knowledge = retriever.getKnowledge() == null ? null : KnowledgeSearchResponse.from(retriever.getKnowledge());
+        this.intervalTime = retriever.getIntervalTime();
+        this.topK = retriever.getTopK();
+        this.scoreThreshold = retriever.getScoreThreshold();
+        this.query = retriever.getQuery();
+    }
+
+    public static RetrieverPlanNode of(int index, Retriever retriever) {
+        return new RetrieverPlanNode(index, retriever);
+    }
+
+}
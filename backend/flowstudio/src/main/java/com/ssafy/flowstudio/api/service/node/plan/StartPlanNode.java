@@ -0,0 +1,20 @@
+package com.ssafy.flowstudio.api.service.node.plan;
+
+import com.ssafy.flowstudio.domain.node.entity.Start;
+import lombok.Getter;
+
+@Getter
+public class StartPlanNode extends PlanNode {
+
+    private final int maxLength;
+
+    private StartPlanNode(int index, Start start) {
+        super(index, start, true);
+        this.maxLength = start.getMaxLength();
+    }
+
+    public static StartPlanNode of(int index, Start start) {
+        return new StartPlanNode(index, start);
+    }
+
+}
@@ -15,9 +15,12 @@ public class LlmUpdateServiceRequest {
     private final Double temperature;
     private final Integer maxTokens;
     private final ModelName modelName;
+    private final Boolean responseCacheEnabled;
+    private final ModelName fallbackModelName;
+    private final Boolean hedgingEnabled;
 
     @Builder
-    private LlmUpdateServiceRequest(String name, CoordinateServiceRequest coordinate, String promptSystem, String promptUser, String context, Double temperature, Integer maxTokens, ModelName modelName) {
+    private LlmUpdateServiceRequest(String name, CoordinateServiceRequest coordinate, String promptSystem, String promptUser, String context, Double temperature, Integer maxTokens, ModelName modelName, Boolean responseCacheEnabled, ModelName fallbackModelName, Boolean hedgingEnabled) {
         this.name = name;
         this.coordinate = coordinate;
         this.promptSystem = promptSystem;
@@ -26,6 +29,9 @@ public class LlmUpdateServiceRequest {
         this.temperature = temperature;
         this.maxTokens = maxTokens;
         this.modelName = modelName;
+        this.responseCacheEnabled = responseCacheEnabled;
+        this.fallbackModelName = fallbackModelName;
+        this.hedgingEnabled = hedgingEnabled;
     }
 
 }
@@ -8,10 +8,12 @@ import lombok.Getter;
 public class QuestionClassifierUpdateServiceRequest {
     private final String name;
     private final CoordinateServiceRequest coordinate;
+    private final Integer speculativeTokenBudget;
 
     @Builder
-    private QuestionClassifierUpdateServiceRequest(String name, CoordinateServiceRequest coordinate) {
+    private QuestionClassifierUpdateServiceRequest(String name, CoordinateServiceRequest coordinate, Integer speculativeTokenBudget) {
         this.name = name;
         this.coordinate = coordinate;
+        this.speculativeTokenBudget = speculativeTokenBudget;
     }
 }
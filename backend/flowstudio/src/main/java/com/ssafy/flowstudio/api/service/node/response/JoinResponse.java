@@ -0,0 +1,31 @@
+package com.ssafy.flowstudio.api.service.node.response;
+
+import com.ssafy.flowstudio.api.service.chatflow.response.CoordinateResponse;
+import com.ssafy.flowstudio.api.service.chatflow.response.EdgeResponse;
+import com.ssafy.flowstudio.domain.node.entity.Join;
+import com.ssafy.flowstudio.domain.node.entity.NodeType;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class JoinResponse extends NodeResponse {
+
+    @Builder
+    private JoinResponse(Long nodeId, String name, NodeType type, CoordinateResponse coordinate, List<EdgeResponse> outputEdges, List<EdgeResponse> inputEdges) {
+        super(nodeId, name, type, coordinate, outputEdges, inputEdges);
+    }
+
+    public static JoinResponse from(Join join) {
+        return JoinResponse.builder()
+                .nodeId(join.getId())
+                .name(join.getName())
+                .type(join.getType())
+                .coordinate(CoordinateResponse.from(join.getCoordinate()))
+                .outputEdges(join.getOutputEdges().stream().map(EdgeResponse::from).toList())
+                .inputEdges(join.getInputEdges().stream().map(EdgeResponse::from).toList())
+                .build();
+    }
+
+}
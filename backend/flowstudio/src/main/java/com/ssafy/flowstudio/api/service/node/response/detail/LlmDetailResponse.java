@@ -19,9 +19,12 @@ public class LlmDetailResponse extends NodeDetailResponse {
     private final ModelProvider modelProvider;
     private final ModelName modelName;
     private final int modelMaxTokens;
+    private final boolean responseCacheEnabled;
+    private final ModelName fallbackModelName;
+    private final boolean hedgingEnabled;
 
     @Builder
-    public LlmDetailResponse(Long nodeId, String name, NodeType type, CoordinateResponse coordinate, List<EdgeResponse> outputEdges, List<EdgeResponse> inputEdges, String promptSystem, String promptUser, List<SimpleNodeResponse> precedingNodes, String context, double temperature, int maxTokens, ModelProvider modelProvider, ModelName modelName, int modelMaxTokens) {
+    public LlmDetailResponse(Long nodeId, String name, NodeType type, CoordinateResponse coordinate, List<EdgeResponse> outputEdges, List<EdgeResponse> inputEdges, String promptSystem, String promptUser, List<SimpleNodeResponse> precedingNodes, String context, double temperature, int maxTokens, ModelProvider modelProvider, ModelName modelName, int modelMaxTokens, boolean responseCacheEnabled, ModelName fallbackModelName, boolean hedgingEnabled) {
         super(nodeId, name, type, coordinate, outputEdges, inputEdges, precedingNodes);
         this.promptSystem = promptSystem;
         this.promptUser = promptUser;
@@ -31,6 +34,9 @@ public class LlmDetailResponse extends NodeDetailResponse {
         this.modelProvider = modelProvider;
         this.modelName = modelName;
         this.modelMaxTokens = modelMaxTokens;
+        this.responseCacheEnabled = responseCacheEnabled;
+        this.fallbackModelName = fallbackModelName;
+        this.hedgingEnabled = hedgingEnabled;
     }
 
     public static LlmDetailResponse of(LLM llm, List<Node> precedingNodes) {
@@ -50,6 +56,9 @@ public class LlmDetailResponse extends NodeDetailResponse {
                 .modelProvider(llm.getModelName().getProvider())
                 .modelName(llm.getModelName())
                 .modelMaxTokens(llm.getModelName().getMaxTokens())
+                .responseCacheEnabled(llm.isResponseCacheEnabled())
+                .fallbackModelName(llm.getFallbackModelName())
+                .hedgingEnabled(llm.isHedgingEnabled())
                 .build();
     }
 
@@ -67,6 +76,9 @@ public class LlmDetailResponse extends NodeDetailResponse {
                 .modelProvider(llm.getModelName().getProvider())
                 .modelName(llm.getModelName())
                 .modelMaxTokens(llm.getModelName().getMaxTokens())
+                .responseCacheEnabled(llm.isResponseCacheEnabled())
+                .fallbackModelName(llm.getFallbackModelName())
+                .hedgingEnabled(llm.isHedgingEnabled())
                 .build();
     }
 
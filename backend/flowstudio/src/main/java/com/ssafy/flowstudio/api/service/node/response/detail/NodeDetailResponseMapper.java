@@ -18,6 +18,7 @@ public class NodeDetailResponseMapper {
             case RETRIEVER -> RetrieverDetailResponse.of((Retriever) node, precedingNodes);
             case CONDITIONAL -> null;
             case VARIABLE_ASSIGNER -> null;
+            case JOIN -> null;
         };
     }
 
@@ -18,11 +18,13 @@ import java.util.List;
 public class QuestionClassifierDetailResponse extends NodeDetailResponse {
 
     private final List<QuestionClassResponse> questionClasses;
+    private final int speculativeTokenBudget;
 
     @Builder
-    private QuestionClassifierDetailResponse(Long nodeId, String name, NodeType type, CoordinateResponse coordinate, List<EdgeResponse> outputEdges, List<EdgeResponse> inputEdges, List<QuestionClassResponse> questionClasses, List<SimpleNodeResponse> precedingNodes) {
+    private QuestionClassifierDetailResponse(Long nodeId, String name, NodeType type, CoordinateResponse coordinate, List<EdgeResponse> outputEdges, List<EdgeResponse> inputEdges, List<QuestionClassResponse> questionClasses, List<SimpleNodeResponse> precedingNodes, int speculativeTokenBudget) {
         super(nodeId, name, type, coordinate, outputEdges, inputEdges, precedingNodes);
         this.questionClasses = questionClasses;
+        this.speculativeTokenBudget = speculativeTokenBudget;
     }
 
     public static QuestionClassifierDetailResponse of(QuestionClassifier questionClassifier, List<Node> precedingNodes) {
@@ -35,6 +37,7 @@ public class QuestionClassifierDetailResponse extends NodeDetailResponse {
                 .inputEdges(questionClassifier.getInputEdges().stream().map(EdgeResponse::from).toList())
                 .precedingNodes(precedingNodes.stream().map(SimpleNodeResponse::from).toList())
                 .questionClasses(questionClassifier.getQuestionClasses().stream().map(QuestionClassResponse::from).toList())
+                .speculativeTokenBudget(questionClassifier.getSpeculativeTokenBudget())
                 .build();
     }
 }
@@ -0,0 +1,13 @@
+package com.ssafy.flowstudio.api.service.node.response.factory;
+
+import com.ssafy.flowstudio.api.service.node.response.JoinResponse;
+import com.ssafy.flowstudio.api.service.node.response.NodeResponse;
+import com.ssafy.flowstudio.domain.node.entity.Join;
+import com.ssafy.flowstudio.domain.node.entity.Node;
+
+public class JoinResponseFactory extends NodeResponseFactory {
+    @Override
+    public NodeResponse createNodeResponse(Node node) {
+        return JoinResponse.from((Join) node);
+    }
+}
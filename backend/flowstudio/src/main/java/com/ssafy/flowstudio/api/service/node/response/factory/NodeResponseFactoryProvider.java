@@ -13,6 +13,7 @@ public class NodeResponseFactoryProvider {
             case CONDITIONAL -> new ConditionalResponseFactory();
             case RETRIEVER -> new RetrieverResponseFactory();
             case VARIABLE_ASSIGNER -> new VariableAssignerResponseFactory();
+            case JOIN -> new JoinResponseFactory();
         };
     }
 
@@ -0,0 +1,223 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlan;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.domain.chat.entity.Chat;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 하나의 채팅 메시지 실행(run) 단위
+ * 요청 스레드에서 생성되어 실행 스레드로 전달되므로 엔티티 대신 식별자만 보관한다.
+ */
+@Getter
+public class ChatRun {
+
+    private final String runId;
+    private final Long chatId;
+    private final Long userId;
+    private final String message;
+    private final boolean isTest;
+    private final Long chatFlowTestId;
+    private final String testQuestion;
+    private final String groundTruth;
+
+    // 실행 스레드에서 채워지는 값
+    private Chat chat;
+    private ExecutionPlan plan;
+    private RunState state;
+    private RunContext context;
+    private RunTrace trace;
+    private final Queue<RunAnswer> answers = new ConcurrentLinkedQueue<>();
+    // 질문 분류 중에 미리 실행한 노드의 결과와 그에 예약한 토큰 수
+    @Getter(AccessLevel.NONE)
+    private final Map<Integer, Speculation> speculations = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger speculativeTokens = new AtomicInteger();
+    // 실행 제한 시각(System.nanoTime 기준)과 중단 사유, 지금 노드를 실행 중인 스레드
+    @Getter(AccessLevel.NONE)
+    private volatile long deadlineNanos;
+    @Getter(AccessLevel.NONE)
+    private volatile boolean clockStarted;
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<RunCancelReason> cancelReason = new AtomicReference<>();
+    @Getter(AccessLevel.NONE)
+    private final Set<Thread> workers = new HashSet<>();
+
+    @Builder
+    private ChatRun(String runId, Long chatId, Long userId, String message, boolean isTest, Long chatFlowTestId, String testQuestion, String groundTruth) {
+        this.runId = runId;
+        this.chatId = chatId;
+        this.userId = userId;
+        this.message = message;
+        this.isTest = isTest;
+        this.chatFlowTestId = chatFlowTestId;
+        this.testQuestion = testQuestion;
+        this.groundTruth = groundTruth;
+    }
+
+    public static ChatRun of(Chat chat, String message) {
+        return ChatRun.builder()
+                .runId(UUID.randomUUID().toString())
+                .chatId(chat.getId())
+                .userId(chat.getUser().getId())
+                .message(message)
+                .isTest(chat.isTest())
+                .chatFlowTestId(chat.isTest() ? chat.getChatFlowTest().getId() : null)
+                .testQuestion(chat.getTestQuestion())
+                .groundTruth(chat.getGroundTruth())
+                .build();
+    }
+
+    public void attach(Chat chat, ExecutionPlan plan) {
+        attach(chat, plan, RunContext.empty(chatId));
+    }
+
+    public void attach(Chat chat, ExecutionPlan plan, RunContext context) {
+        this.chat = chat;
+        this.plan = plan;
+        this.context = context;
+        this.trace = new RunTrace(plan.size());
+
+        synchronized (workers) {
+            this.state = new RunState(plan);
+            if (isCancelled()) {
+                state.cancel();
+            }
+        }
+    }
+
+    /**
+     * 실행 제한 시간을 잰다. 실행이 대기열에 들어간 시점부터 센다.
+     */
+    public void startClock(long timeoutNanos) {
+        this.deadlineNanos = System.nanoTime() + timeoutNanos;
+        this.clockStarted = true;
+    }
+
+    public long remainingNanos() {
+        return clockStarted ? deadlineNanos - System.nanoTime() : Long.MAX_VALUE;
+    }
+
+    /**
+     * 노드의 외부 호출에 사용할 제한 시간, 노드 제한 시간과 실행의 남은 시간 중 짧은 값
+     */
+    public long timeoutMillis(long nodeTimeoutMillis) {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(remainingNanos());
+        return Math.max(0, Math.min(nodeTimeoutMillis, remainingMillis));
+    }
+
+    /**
+     * 노드의 외부 호출을 끝내야 하는 시각(System.nanoTime 기준)
+     */
+    public long nodeDeadlineNanos(long nodeTimeoutMillis) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis(nodeTimeoutMillis));
+    }
+
+    /**
+     * 실행 제한 시간이 지났다면 실행을 중단한다.
+     * @return 이번 호출로 중단되었는지 여부
+     */
+    public boolean expire() {
+        return remainingNanos() <= 0 && cancel(RunCancelReason.TIMEOUT);
+    }
+
+    /**
+     * 실행을 중단한다. 다음 노드부터 실행되지 않고, 노드를 실행 중인 스레드는 인터럽트된다.
+     * 처음 중단한 사유만 기록된다.
+     * @return 이번 호출로 중단되었는지 여부
+     */
+    public boolean cancel(RunCancelReason reason) {
+        if (!cancelReason.compareAndSet(null, reason)) {
+            return false;
+        }
+
+        synchronized (workers) {
+            if (state != null) {
+                state.cancel();
+            }
+            workers.forEach(Thread::interrupt);
+        }
+        return true;
+    }
+
+    /**
+     * 노드를 실행 중인 스레드를 인터럽트한다. 한 갈래가 실패했을 때 다른 갈래의 외부 호출을 멈추는 데 사용한다.
+     */
+    void interruptWorkers() {
+        synchronized (workers) {
+            workers.forEach(Thread::interrupt);
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelReason.get() != null;
+    }
+
+    public RunCancelReason getCancelReason() {
+        return cancelReason.get();
+    }
+
+    void enterNode() {
+        synchronized (workers) {
+            workers.add(Thread.currentThread());
+        }
+    }
+
+    // 노드 실행이 끝난 스레드는 다른 실행에 재사용되므로 중단 때 받은 인터럽트를 지운다.
+    void exitNode() {
+        synchronized (workers) {
+            workers.remove(Thread.currentThread());
+            Thread.interrupted();
+        }
+    }
+
+    public void addAnswer(PlanNode node, String message) {
+        answers.add(new RunAnswer(node.getIndex(), message));
+    }
+
+    /**
+     * 예산을 넘지 않는 경우에만 미리 실행할 노드의 토큰을 예약한다.
+     */
+    public boolean reserveSpeculativeTokens(int tokens, int budget) {
+        int reserved;
+        do {
+            reserved = speculativeTokens.get();
+            if (reserved + tokens > budget) {
+                return false;
+            }
+        } while (!speculativeTokens.compareAndSet(reserved, reserved + tokens));
+        return true;
+    }
+
+    public void addSpeculation(Speculation speculation) {
+        speculations.put(speculation.getNodeIndex(), speculation);
+    }
+
+    public Speculation takeSpeculation(int nodeIndex) {
+        return speculations.remove(nodeIndex);
+    }
+
+    // 실행이 끝날 때까지 사용되지 않은 결과는 버린다.
+    public void discardSpeculations() {
+        speculations.values().forEach(Speculation::cancel);
+        speculations.clear();
+    }
+
+    public boolean isPreview() {
+        return chat.isPreview();
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대기 중이거나 실행 중인 run 목록
+ * 중단 API로 run을 찾고, 실행 제한 시간이 지난 run을 주기적으로 중단한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ChatRunRegistry {
+
+    private final Map<String, ChatRun> runs = new ConcurrentHashMap<>();
+    private final FlowExecutionProperties flowExecutionProperties;
+
+    public void register(ChatRun run) {
+        run.startClock(TimeUnit.SECONDS.toNanos(flowExecutionProperties.getRunTimeoutSeconds()));
+        runs.put(run.getRunId(), run);
+    }
+
+    public void unregister(ChatRun run) {
+        runs.remove(run.getRunId(), run);
+    }
+
+    public Optional<ChatRun> find(String runId) {
+        return Optional.ofNullable(runs.get(runId));
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void expireOverdueRuns() {
+        for (ChatRun run : runs.values()) {
+            if (run.expire()) {
+                log.warn("Chat run timed out. runId: {}", run.getRunId());
+            }
+        }
+    }
+
+}
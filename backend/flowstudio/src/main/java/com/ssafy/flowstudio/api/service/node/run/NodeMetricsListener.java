@@ -0,0 +1,45 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.common.exception.BaseException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 노드 타입별 실행 시간과 오류 수를 기록한다.
+ * flow.node.duration: 노드 실행 시간 (type, chatFlow, mode)
+ * flow.node.errors: 노드 실행 오류 수 (type, chatFlow, mode, code)
+ */
+@RequiredArgsConstructor
+@Component
+public class NodeMetricsListener implements RunStepListener {
+
+    static final String DURATION_METRIC = "flow.node.duration";
+    static final String ERROR_METRIC = "flow.node.errors";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void afterStep(ChatRun run, PlanNode node, long elapsedNanos) {
+        meterRegistry.timer(DURATION_METRIC, tags(run, node))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onStepError(ChatRun run, PlanNode node, Exception e) {
+        String code = e instanceof BaseException baseException
+                ? String.valueOf(baseException.getErrorCode().getCode())
+                : e.getClass().getSimpleName();
+
+        meterRegistry.counter(ERROR_METRIC, tags(run, node).and("code", code)).increment();
+    }
+
+    private Tags tags(ChatRun run, PlanNode node) {
+        return RunMetricTags.of(run).and("type", node.getType().name());
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+/**
+ * 실행 중 Answer 노드가 전송한 답변
+ * @param nodeIndex 실행 계획에서 Answer 노드의 인덱스
+ * @param message 전송한 답변
+ */
+public record RunAnswer(int nodeIndex, String message) {
+}
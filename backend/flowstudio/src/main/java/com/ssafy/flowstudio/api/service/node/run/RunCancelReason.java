@@ -0,0 +1,10 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+/**
+ * 실행(run)이 중단된 사유
+ * USER: 사용자가 중단 API를 호출했다.
+ * TIMEOUT: 실행 제한 시간이 지났다.
+ */
+public enum RunCancelReason {
+    USER, TIMEOUT
+}
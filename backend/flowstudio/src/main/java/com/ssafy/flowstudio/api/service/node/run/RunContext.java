@@ -0,0 +1,104 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import com.ssafy.flowstudio.common.constant.ChatEnvVariable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 하나의 실행(run) 동안 노드 출력과 환경 변수를 메모리에 보관하는 컨텍스트
+ * 실행 시작 시 Redis에서 한 번에 읽어 채우고, 실행 중 기록한 값은 실행이 끝난 뒤 한 번에 Redis에 기록한다.
+ * 값의 이름은 Redis 키의 "chatId:" 뒷부분(노드 ID 또는 환경 변수 이름)과 같다.
+ */
+public class RunContext {
+
+    private final Long chatId;
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final Set<String> missingNames = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> dirtyValues = new ConcurrentHashMap<>();
+
+    // 미리 읽지 않은 이름을 조회할 때 사용하는 Redis 조회 함수 (key -> value)
+    private final Function<String, String> fallback;
+
+    RunContext(Long chatId, List<String> names, List<String> seedValues, Function<String, String> fallback) {
+        this.chatId = chatId;
+        this.fallback = fallback;
+
+        for (int i = 0; i < names.size(); i++) {
+            String value = seedValues == null ? null : seedValues.get(i);
+            if (value == null) {
+                missingNames.add(names.get(i));
+            } else {
+                values.put(names.get(i), value);
+            }
+        }
+    }
+
+    public static RunContext empty(Long chatId) {
+        return new RunContext(chatId, List.of(), List.of(), null);
+    }
+
+    public String get(String name) {
+        String value = values.get(name);
+        if (value != null || missingNames.contains(name)) {
+            return value;
+        }
+
+        value = fallback == null ? null : fallback.apply(key(name));
+        if (value == null) {
+            missingNames.add(name);
+        } else {
+            values.putIfAbsent(name, value);
+        }
+        return value;
+    }
+
+    public String get(Long nodeId) {
+        return get(String.valueOf(nodeId));
+    }
+
+    public String get(ChatEnvVariable varName) {
+        return get(varName.toString());
+    }
+
+    public void put(Long nodeId, String value) {
+        put(String.valueOf(nodeId), value);
+    }
+
+    public void put(ChatEnvVariable varName, String value) {
+        put(varName.toString(), value);
+    }
+
+    /**
+     * 아직 Redis에 기록하지 않은 값들을 꺼낸다. (key -> value)
+     */
+    Map<String, String> drainDirtyValues() {
+        Map<String, String> drained = new HashMap<>();
+        for (String key : dirtyValues.keySet()) {
+            String value = dirtyValues.remove(key);
+            if (value != null) {
+                drained.put(key, value);
+            }
+        }
+        return drained;
+    }
+
+    private void put(String name, String value) {
+        if (value == null) {
+            return;
+        }
+
+        values.put(name, value);
+        missingNames.remove(name);
+        dirtyValues.put(key(name), value);
+    }
+
+    private String key(String name) {
+        return chatId + ":" + name;
+    }
+
+}
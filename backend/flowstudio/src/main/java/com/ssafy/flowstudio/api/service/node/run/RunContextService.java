@@ -0,0 +1,59 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import com.ssafy.flowstudio.api.service.node.RedisService;
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlan;
+import com.ssafy.flowstudio.common.constant.ChatEnvVariable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class RunContextService {
+
+    private final RedisService redisService;
+
+    /**
+     * 실행 계획의 모든 노드 출력과 환경 변수를 한 번의 MGET으로 읽어 컨텍스트를 만든다.
+     * 이전 메시지에서 실행된 노드의 출력도 프롬프트에서 참조할 수 있으므로 함께 읽는다.
+     */
+    public RunContext load(Long chatId, ExecutionPlan plan) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < plan.size(); i++) {
+            names.add(String.valueOf(plan.getNode(i).getId()));
+        }
+        for (ChatEnvVariable varName : ChatEnvVariable.values()) {
+            names.add(varName.toString());
+        }
+
+        List<String> keys = names.stream()
+                .map(name -> chatId + ":" + name)
+                .toList();
+
+        return new RunContext(chatId, names, redisService.getAll(keys), redisService::get);
+    }
+
+    /**
+     * 실행 중 기록된 값들을 하나의 파이프라인으로 Redis에 기록한다.
+     */
+    @Async
+    public void flush(RunContext context) {
+        Map<String, String> dirtyValues = context.drainDirtyValues();
+        if (dirtyValues.isEmpty()) {
+            return;
+        }
+
+        try {
+            redisService.saveAll(dirtyValues);
+        } catch (Exception e) {
+            log.error("Run context flush failed. keys: {}", dirtyValues.keySet(), e);
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * 실행(run)에서 기록하는 메트릭의 공통 태그
+ * chatFlow: 챗플로우 ID, 발행된 챗플로우는 같은 ID로 복사되므로 mode로 구분한다.
+ * mode: published, preview, test
+ */
+public final class RunMetricTags {
+
+    private RunMetricTags() {
+    }
+
+    public static Tags of(ChatRun run) {
+        return Tags.of(
+                "chatFlow", String.valueOf(run.getPlan().getChatFlowId()),
+                "mode", mode(run)
+        );
+    }
+
+    private static String mode(ChatRun run) {
+        if (run.isTest()) {
+            return "test";
+        }
+        return run.getPlan().isPublished() ? "published" : "preview";
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import com.ssafy.flowstudio.api.service.node.executor.NodeExecutor;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import com.ssafy.flowstudio.domain.node.entity.NodeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실행 계획을 반복문으로 실행하는 스케줄러
+ * 호출한 스레드가 RunState의 readyQueue에서 노드를 꺼내고, 스레드 모델에 따라 직접 실행하거나 stepExecutor에 넘긴다.
+ * 다른 노드가 대기 중이지 않으면 스레드 전환 없이 호출한 스레드에서 바로 실행한다.
+ */
+@Slf4j
+@Component
+public class RunScheduler {
+
+    private final Map<NodeType, NodeExecutor> executors = new EnumMap<>(NodeType.class);
+    private final TaskExecutor stepExecutor;
+    private final List<RunStepListener> stepListeners;
+    private final boolean callerThreadOnly;
+    private final long drainTimeoutNanos;
+
+    public RunScheduler(List<NodeExecutor> executorList, @Qualifier("flowStepExecutor") TaskExecutor stepExecutor, ObjectProvider<RunStepListener> stepListeners, FlowExecutionProperties flowExecutionProperties) {
+        for (NodeExecutor executor : executorList) {
+            executors.put(executor.getNodeType(), executor);
+        }
+        this.stepExecutor = stepExecutor;
+        this.stepListeners = stepListeners.orderedStream().toList();
+        this.callerThreadOnly = flowExecutionProperties.getThreadModel() == FlowExecutionProperties.ThreadModel.CALLER;
+        this.drainTimeoutNanos = TimeUnit.SECONDS.toNanos(flowExecutionProperties.getRunDrainTimeoutSeconds());
+    }
+
+    /**
+     * 시작 노드부터 더 이상 실행할 노드가 없을 때까지 실행한다.
+     * 노드에서 발생한 첫 번째 예외를 그대로 던진다.
+     * 실패하거나 중단되어도 다른 갈래에서 실행 중인 노드가 끝난 뒤에 반환한다.
+     * @param run 실행 계획이 연결된 실행 단위
+     */
+    public void run(ChatRun run) {
+        RunState state = run.getState();
+
+        try {
+            state.enqueue(run.getPlan().getStartNode());
+
+            PlanNode node;
+            while ((node = state.take()) != null) {
+                dispatch(node, run);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state.cancel();
+        } finally {
+            awaitInFlight(run);
+            run.discardSpeculations();
+        }
+
+        if (state.isCancelled()) {
+            log.info("Chat run cancelled. runId: {}", run.getRunId());
+            return;
+        }
+
+        Exception failure = state.getFailure();
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure != null) {
+            throw new BaseException(ErrorCode.CHAT_RUN_FAILED);
+        }
+    }
+
+    /**
+     * 반환한 뒤에는 컨텍스트 기록, 실행 등록 해제, 동시 실행 슬롯 반환이 이어지므로
+     * 남은 갈래가 Redis, SSE에 쓰거나 모델을 호출하지 않도록 끝날 때까지 기다린다.
+     * 실패한 경우에는 다른 갈래의 외부 호출을 인터럽트하고, 제한 시간이 지나면 기다리지 않는다.
+     */
+    private void awaitInFlight(ChatRun run) {
+        RunState state = run.getState();
+        if (state.isIdle()) {
+            return;
+        }
+
+        run.interruptWorkers();
+        boolean interrupted = Thread.interrupted();
+        try {
+            if (!state.awaitIdle(drainTimeoutNanos)) {
+                log.warn("Chat run {} finished while nodes are still running", run.getRunId());
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void dispatch(PlanNode node, ChatRun run) {
+        if (callerThreadOnly || run.getState().isSequential()) {
+            step(node, run);
+            return;
+        }
+
+        stepExecutor.execute(() -> step(node, run));
+    }
+
+    private void step(PlanNode node, ChatRun run) {
+        RunState state = run.getState();
+
+        try {
+            // 중단되었거나 다른 갈래가 실패했다면 더 이상 실행하지 않는다.
+            if (state.isCancelled() || state.getFailure() != null) {
+                return;
+            }
+
+            // 출력이 참조되지 않는 노드는 실행하지 않고 다음 노드로 진행한다.
+            if (run.getPlan().isPruned(node.getIndex())) {
+                log.debug("Skip pruned {} node {}", node.getType(), node.getId());
+                state.proceed(node);
+                return;
+            }
+
+            log.debug("Visit {} node", node.getType());
+            for (RunStepListener listener : stepListeners) {
+                listener.beforeStep(run, node);
+            }
+
+            // 실행 중에 중단되면 이 스레드가 인터럽트되어 모델 제공자, 벡터저장소 대기를 멈춘다.
+            long startedAt = System.nanoTime();
+            run.enterNode();
+            try {
+                executors.get(node.getType()).execute(node, run);
+            } finally {
+                run.exitNode();
+            }
+            long elapsedNanos = System.nanoTime() - startedAt;
+
+            for (RunStepListener listener : stepListeners) {
+                listener.afterStep(run, node, elapsedNanos);
+            }
+        } catch (Exception e) {
+            for (RunStepListener listener : stepListeners) {
+                listener.onStepError(run, node, e);
+            }
+            state.fail(e);
+        } finally {
+            state.complete();
+        }
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlan;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.plan.PlanQuestionClass;
+import com.ssafy.flowstudio.api.service.node.plan.QuestionClassifierPlanNode;
+import com.ssafy.flowstudio.domain.node.entity.NodeType;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 하나의 실행(run)이 가진 스케줄링 상태
+ * 실행할 준비가 된 노드의 인덱스를 readyQueue에 쌓고, RunScheduler가 이를 하나씩 꺼내 실행한다.
+ * 큐에 쌓였지만 실행이 끝나지 않은 노드 수(pending)가 0이 되면 실행이 끝난 것으로 본다.
+ * 실패하거나 중단되어도 실행 중인 노드가 모두 끝나 pending이 0이 될 때까지는 실행이 끝나지 않은 것으로 본다.
+ */
+public class RunState {
+
+    // 스케줄러를 깨우기 위한 종료 신호
+    private static final int END = -1;
+
+    private final ExecutionPlan plan;
+    private final LinkedBlockingQueue<Integer> readyQueue = new LinkedBlockingQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+    private volatile boolean cancelled;
+
+    // Join 노드별로 도착한 갈래 수와 그중 실제로 실행된 갈래 수
+    private final AtomicIntegerArray arrivals;
+    private final AtomicIntegerArray takenArrivals;
+
+    RunState(ExecutionPlan plan) {
+        this.plan = plan;
+        this.arrivals = plan.hasJoin() ? new AtomicIntegerArray(plan.size()) : null;
+        this.takenArrivals = plan.hasJoin() ? new AtomicIntegerArray(plan.size()) : null;
+    }
+
+    /**
+     * 노드의 모든 일반 간선을 따라 다음 노드로 진행한다.
+     */
+    public void proceed(PlanNode node) {
+        for (int order = 0; order < plan.getSuccessorCount(node.getIndex()); order++) {
+            reach(plan.getSuccessor(node.getIndex(), order));
+        }
+    }
+
+    /**
+     * 다음 노드에 도착한다. Join 노드는 마지막 갈래가 도착했을 때만 큐에 쌓인다.
+     */
+    public void reach(PlanNode node) {
+        if (arrive(node, true)) {
+            enqueue(node);
+        }
+    }
+
+    /**
+     * 실행되지 않는 갈래를 따라가며 Join 노드에 도착을 알린다.
+     * 실행된 갈래가 하나라도 도착한 Join 노드는 마지막 갈래가 도착할 때 큐에 쌓인다.
+     */
+    public void skip(PlanNode node) {
+        if (!plan.hasJoin() || !arrive(node, false)) {
+            return;
+        }
+
+        if (node.getType() == NodeType.JOIN && takenArrivals.get(node.getIndex()) > 0) {
+            enqueue(node);
+            return;
+        }
+
+        for (int order = 0; order < plan.getSuccessorCount(node.getIndex()); order++) {
+            skip(plan.getSuccessor(node.getIndex(), order));
+        }
+
+        if (node instanceof QuestionClassifierPlanNode questionClassifierNode) {
+            for (PlanQuestionClass questionClass : questionClassifierNode.getQuestionClasses()) {
+                for (int targetIndex : questionClass.getTargetIndexes()) {
+                    skip(plan.getNode(targetIndex));
+                }
+            }
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+        readyQueue.offer(END);
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public Exception getFailure() {
+        return failure.get();
+    }
+
+    void enqueue(PlanNode node) {
+        pending.incrementAndGet();
+        readyQueue.offer(node.getIndex());
+    }
+
+    /**
+     * 다음에 실행할 노드를 기다린다. 실행이 끝났거나 중단되었다면 null을 반환한다.
+     */
+    PlanNode take() throws InterruptedException {
+        int index = readyQueue.take();
+        if (index == END) {
+            return null;
+        }
+        if (isStopped()) {
+            discard();
+            return null;
+        }
+        return plan.getNode(index);
+    }
+
+    /**
+     * 실패하거나 중단된 뒤 이미 실행 중인 노드가 끝날 때까지 기다린다. 큐에 남은 노드는 실행하지 않고 버린다.
+     * @return 제한 시간 안에 모든 노드가 끝났는지 여부
+     */
+    boolean awaitIdle(long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (pending.get() > 0) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+
+            Integer index = readyQueue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (index != null && index != END) {
+                discard();
+            }
+        }
+        return true;
+    }
+
+    boolean isIdle() {
+        return pending.get() == 0;
+    }
+
+    private boolean isStopped() {
+        return cancelled || failure.get() != null;
+    }
+
+    private void discard() {
+        pending.decrementAndGet();
+    }
+
+    // 지금 실행할 노드 외에 대기 중이거나 실행 중인 노드가 없는지 여부
+    boolean isSequential() {
+        return pending.get() == 1 && readyQueue.isEmpty();
+    }
+
+    void complete() {
+        if (pending.decrementAndGet() == 0) {
+            readyQueue.offer(END);
+        }
+    }
+
+    void fail(Exception e) {
+        failure.compareAndSet(null, e);
+        readyQueue.offer(END);
+    }
+
+    private boolean arrive(PlanNode node, boolean taken) {
+        if (node.getType() != NodeType.JOIN) {
+            return true;
+        }
+
+        int index = node.getIndex();
+        if (taken) {
+            takenArrivals.incrementAndGet(index);
+        }
+        return arrivals.incrementAndGet(index) == plan.getPredecessorCount(index);
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+
+/**
+ * RunScheduler가 노드를 하나 실행할 때마다 호출되는 훅
+ * 빈으로 등록하면 모든 실행에 적용된다.
+ */
+public interface RunStepListener {
+
+    default void beforeStep(ChatRun run, PlanNode node) {
+    }
+
+    default void afterStep(ChatRun run, PlanNode node, long elapsedNanos) {
+    }
+
+    default void onStepError(ChatRun run, PlanNode node, Exception e) {
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 하나의 실행(run)에서 노드가 실행된 기록
+ * 병렬 갈래의 노드들이 동시에 기록하므로 락 없이 고정 크기 링 버퍼에 쌓고, 가득 차면 오래된 기록부터 덮어쓴다.
+ * 실행 중인 노드의 시작 시각, 토큰 수, 캐시 적중 여부는 노드 인덱스별 배열에 모았다가 노드가 끝날 때 하나의 기록으로 만든다.
+ */
+public class RunTrace {
+
+    static final int CAPACITY = 256;
+
+    private final AtomicReferenceArray<TraceSpan> spans = new AtomicReferenceArray<>(CAPACITY);
+    private final AtomicLong cursor = new AtomicLong();
+
+    private final AtomicLongArray startedAt;
+    private final AtomicIntegerArray tokens;
+    private final AtomicReferenceArray<String> cacheHits;
+
+    RunTrace(int nodeCount) {
+        this.startedAt = new AtomicLongArray(nodeCount);
+        this.tokens = new AtomicIntegerArray(nodeCount);
+        this.cacheHits = new AtomicReferenceArray<>(nodeCount);
+    }
+
+    public void start(PlanNode node) {
+        int index = node.getIndex();
+        startedAt.set(index, System.currentTimeMillis());
+        tokens.set(index, 0);
+        cacheHits.set(index, null);
+    }
+
+    public void addTokens(PlanNode node, int count) {
+        tokens.addAndGet(node.getIndex(), count);
+    }
+
+    /**
+     * 노드가 모델이나 벡터저장소를 호출하지 않고 이전 결과를 재사용했음을 기록한다.
+     * @param source 재사용한 결과의 출처 (response, speculation, memo, embedding)
+     */
+    public void markCacheHit(PlanNode node, String source) {
+        cacheHits.set(node.getIndex(), source);
+    }
+
+    /**
+     * 노드 실행을 마치고 기록을 링 버퍼에 추가한다.
+     * @param elapsedNanos 실행 시간, 알 수 없다면 시작 시각부터 지금까지로 계산한다.
+     */
+    public TraceSpan end(PlanNode node, long elapsedNanos, int outputSize, Integer errorCode) {
+        int index = node.getIndex();
+        long start = startedAt.get(index);
+        long now = System.currentTimeMillis();
+        long elapsedMicros = elapsedNanos >= 0
+                ? TimeUnit.NANOSECONDS.toMicros(elapsedNanos)
+                : TimeUnit.MILLISECONDS.toMicros(now - start);
+
+        TraceSpan span = new TraceSpan(
+                node.getId(),
+                node.getType(),
+                start,
+                now,
+                elapsedMicros,
+                tokens.get(index),
+                cacheHits.get(index),
+                outputSize,
+                errorCode
+        );
+
+        long sequence = cursor.getAndIncrement();
+        spans.set((int) (sequence % CAPACITY), span);
+        return span;
+    }
+
+    /**
+     * 기록된 순서대로 복사한다. 기록 중인 칸은 건너뛴다.
+     */
+    public List<TraceSpan> snapshot() {
+        long end = cursor.get();
+        long begin = Math.max(0, end - CAPACITY);
+
+        List<TraceSpan> result = new ArrayList<>((int) (end - begin));
+        for (long sequence = begin; sequence < end; sequence++) {
+            TraceSpan span = spans.get((int) (sequence % CAPACITY));
+            if (span != null) {
+                result.add(span);
+            }
+        }
+        return result;
+    }
+
+}
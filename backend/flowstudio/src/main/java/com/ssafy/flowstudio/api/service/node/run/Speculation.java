@@ -0,0 +1,29 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import lombok.Getter;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+/**
+ * 질문 분류 중에 미리 실행한 갈래 첫 노드의 결과
+ * 실행 당시의 입력(fingerprint)과 실제 실행 시점의 입력이 같을 때만 결과를 사용한다.
+ */
+@Getter
+public class Speculation {
+
+    private final int nodeIndex;
+    private final String fingerprint;
+    private final FutureTask<String> task;
+
+    public Speculation(int nodeIndex, String fingerprint, Callable<String> callable) {
+        this.nodeIndex = nodeIndex;
+        this.fingerprint = fingerprint;
+        this.task = new FutureTask<>(callable);
+    }
+
+    public void cancel() {
+        task.cancel(true);
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import com.ssafy.flowstudio.api.controller.sse.SseEmitters;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.common.exception.BaseException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 노드 실행을 실행 트레이스에 기록한다.
+ * 미리보기 실행은 노드가 끝날 때마다 기록을 SSE trace 이벤트로 전송한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class TraceListener implements RunStepListener {
+
+    private final SseEmitters sseEmitters;
+
+    @Override
+    public void beforeStep(ChatRun run, PlanNode node) {
+        run.getTrace().start(node);
+    }
+
+    @Override
+    public void afterStep(ChatRun run, PlanNode node, long elapsedNanos) {
+        String output = run.getContext().get(node.getId());
+        TraceSpan span = run.getTrace().end(node, elapsedNanos, output == null ? 0 : output.length(), null);
+        send(run, span);
+    }
+
+    @Override
+    public void onStepError(ChatRun run, PlanNode node, Exception e) {
+        Integer errorCode = e instanceof BaseException baseException ? baseException.getErrorCode().getCode() : null;
+        TraceSpan span = run.getTrace().end(node, -1, 0, errorCode);
+        send(run, span);
+    }
+
+    private void send(ChatRun run, TraceSpan span) {
+        if (!run.isPreview()) {
+            return;
+        }
+
+        // 트레이스 전송 실패로 노드 실행이 실패하지 않도록 한다.
+        try {
+            sseEmitters.sendTrace(run, span);
+        } catch (RuntimeException e) {
+            log.warn("Trace of node {} detached: {}", span.nodeId(), e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import com.ssafy.flowstudio.domain.node.entity.NodeType;
+
+/**
+ * 실행 트레이스에 기록되는 노드 실행 한 번
+ * @param nodeId 노드 ID
+ * @param type 노드 타입
+ * @param startedAt 실행 시작 시각 (epoch millis)
+ * @param endedAt 실행 종료 시각 (epoch millis)
+ * @param elapsedMicros 실행 시간
+ * @param tokens 노드에서 사용한 토큰 수
+ * @param cacheHit 결과를 재사용했다면 그 출처 (response, speculation, memo, embedding), 아니면 null
+ * @param outputSize 노드 출력 글자 수
+ * @param errorCode 실패했다면 오류 코드, 아니면 null
+ */
+public record TraceSpan(
+        Long nodeId,
+        NodeType type,
+        long startedAt,
+        long endedAt,
+        long elapsedMicros,
+        int tokens,
+        String cacheHit,
+        int outputSize,
+        Integer errorCode
+) {
+}
@@ -0,0 +1,71 @@
+package com.ssafy.flowstudio.api.service.rag;
+
+import com.ssafy.flowstudio.common.util.MilvusUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.stereotype.Service;
+
+/**
+ * 지식 검색과 같은 임베딩 모델로 짧은 텍스트를 임베딩한다.
+ * 반환하는 벡터는 길이가 1로 정규화되어 있어 내적이 곧 코사인 유사도다.
+ */
+@RequiredArgsConstructor
+@Service
+public class EmbeddingService {
+
+    // 임베딩 모델 호출 시간 (source: flow는 챗플로우 실행 중 분류, 캐시용, search는 지식 검색용)
+    public static final String METRIC = "flow.embedding.request";
+
+    private final MilvusUtils milvusUtils;
+    private final MeterRegistry meterRegistry;
+    private volatile EmbeddingModel embeddingModel;
+
+    public float[] embed(String text) {
+        float[] vector = meterRegistry.timer(METRIC, "source", "flow")
+                .record(() -> getEmbeddingModel().embed(text));
+        return normalize(vector);
+    }
+
+    public static double cosine(float[] a, float[] b) {
+        if (a.length != b.length) {
+            return -1;
+        }
+
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private EmbeddingModel getEmbeddingModel() {
+        if (embeddingModel == null) {
+            synchronized (this) {
+                if (embeddingModel == null) {
+                    embeddingModel = milvusUtils.generateEmbeddingModel();
+                }
+            }
+        }
+        return embeddingModel;
+    }
+
+    private static float[] normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        norm = Math.sqrt(norm);
+
+        if (norm == 0) {
+            return vector;
+        }
+
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = (float) (vector[i] / norm);
+        }
+        return normalized;
+    }
+
+}
@@ -11,6 +11,7 @@ import com.ssafy.flowstudio.api.service.rag.response.KnowledgeResponse;
 import com.ssafy.flowstudio.common.exception.BaseException;
 import com.ssafy.flowstudio.common.exception.ErrorCode;
 import com.ssafy.flowstudio.common.util.MilvusUtils;
+import com.ssafy.flowstudio.common.util.TokenizerService;
 import com.ssafy.flowstudio.domain.knowledge.entity.Knowledge;
 import com.ssafy.flowstudio.domain.knowledge.entity.KnowledgeRepository;
 import com.ssafy.flowstudio.domain.user.entity.User;
@@ -29,6 +30,8 @@ import io.milvus.v2.service.vector.request.*;
 import io.milvus.v2.service.vector.request.data.BaseVector;
 import io.milvus.v2.service.vector.request.data.FloatVec;
 import io.milvus.v2.service.vector.response.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +43,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -47,10 +52,17 @@ import java.util.stream.IntStream;
 @RequiredArgsConstructor
 public class VectorStoreService {
     private static final Logger log = LoggerFactory.getLogger(VectorStoreService.class);
+    // 파티션 적재 상태 조회 간격, 짧게 시작해 최대 간격까지 늘린다.
+    private static final long LOAD_POLL_MIN_MILLIS = 50;
+    private static final long LOAD_POLL_MAX_MILLIS = 500;
+    // Milvus 호출 시간 (operation: search, get, upsert, load, release)
+    private static final String MILVUS_METRIC = "flow.milvus.request";
     private final MilvusClientV2 milvusClient;
     private final LangchainService langchainService;
     private final MilvusUtils milvusUtils;
+    private final TokenizerService tokenizerService;
     private final KnowledgeRepository knowledgeRepository;
+    private final MeterRegistry meterRegistry;
 
     public void createCollection(String collectionName) {
         if (!hasCollection(collectionName)) {
@@ -142,7 +154,7 @@ public class VectorStoreService {
                 .ids(ids)
                 .build();
 
-        GetResp getResp = milvusClient.get(getReq);
+        GetResp getResp = timed("get", () -> milvusClient.get(getReq));
 
 
         List<JsonObject> data = new ArrayList<>();
@@ -156,9 +168,9 @@ public class VectorStoreService {
                 .partitionName(partitionName)
                 .data(data)
                 .build();
-        milvusClient.upsert(upsertReq);
+        timed("upsert", () -> milvusClient.upsert(upsertReq));
 
-        UpsertResp upsertResp = milvusClient.upsert(upsertReq);
+        UpsertResp upsertResp = timed("upsert", () -> milvusClient.upsert(upsertReq));
         if (upsertResp.getUpsertCnt() != chunkList.size()) throw new BaseException(ErrorCode.FAIL_COPY_VECTOR_STORE);
 
         return KnowledgeResponse.from(copyKnowledge);
@@ -176,7 +188,7 @@ public class VectorStoreService {
                 .partitionName(partitionName)
                 .data(data)
                 .build();
-        UpsertResp upsertResp = milvusClient.upsert(upsertReq);
+        UpsertResp upsertResp = timed("upsert", () -> milvusClient.upsert(upsertReq));
 
         return upsertResp.getUpsertCnt() > 0;
     }
@@ -196,13 +208,13 @@ public class VectorStoreService {
                 .partitionName(partitionName)
                 .data(data)
                 .build();
-        milvusClient.upsert(upsertReq);
+        timed("upsert", () -> milvusClient.upsert(upsertReq));
 
-        UpsertResp upsertResp = milvusClient.upsert(upsertReq);
+        UpsertResp upsertResp = timed("upsert", () -> milvusClient.upsert(upsertReq));
 
         return KnowledgeCreateServiceResponse.builder()
                 .isComplete(upsertResp.getUpsertCnt() > 0)
-                .totalToken(milvusUtils.getTokenCount(splitterContent))
+                .totalToken(tokenizerService.countEmbeddingTokens(splitterContent))
                 .build();
     }
 
@@ -260,24 +272,14 @@ public class VectorStoreService {
         String partitionName = milvusUtils.generateName(request.getKnowledge().getKnowledgeId());
 
         if (loadPartition(collectionName, List.of(partitionName))) {
-            try {
-                int count = 0;
-                while (!getLoadState(collectionName, partitionName) && count < request.getInterval() * 2) {
-                    Thread.sleep(500);
-                    count++;
-                }
-                if (!getLoadState(collectionName, partitionName)) {
-                    throw new BaseException(ErrorCode.PARTITION_NOT_AVAILABLE);
-                }
-            } catch (InterruptedException e) {
-                log.error("Vector Search Interrupted", e);
-            }
+            awaitLoaded(collectionName, partitionName, request);
         }
 
         List<BaseVector> vectors = new ArrayList<>();
         EmbeddingModel embeddingModel = milvusUtils.generateEmbeddingModel();
 
-        BaseVector baseVector = new FloatVec(embeddingModel.embed(request.getQuery()));
+        BaseVector baseVector = new FloatVec(meterRegistry.timer(EmbeddingService.METRIC, "source", "search")
+                .record(() -> embeddingModel.embed(request.getQuery())));
         vectors.add(baseVector);
         SearchReq searchReq = SearchReq.builder()
                 .collectionName(collectionName)
@@ -286,7 +288,7 @@ public class VectorStoreService {
                 .topK(request.getTopK())
                 .searchParams(Map.of("radius", request.getScoreThreshold()))
                 .build();
-        SearchResp searchResp = milvusClient.search(searchReq);
+        SearchResp searchResp = timed("search", () -> milvusClient.search(searchReq));
 
 
         List<Object> ids = new ArrayList<>();
@@ -306,15 +308,57 @@ public class VectorStoreService {
                 .ids(ids)
                 .build();
 
-        GetResp getResp = milvusClient.get(getReq);
+        GetResp getResp = timed("get", () -> milvusClient.get(getReq));
 
         if (!releasePartition(collectionName, List.of(partitionName))) {
             releasePartition(collectionName, List.of(partitionName));
         }
 
-        return getResp.getGetResults().stream()
+        List<String> contents = getResp.getGetResults().stream()
                 .map(result -> result.getEntity().getOrDefault("content", "").toString())
                 .toList();
+
+        // 챗플로우 실행 중 검색이라면 다음 노드의 프롬프트가 넘치지 않도록 토큰 한도에 맞춰 자른다.
+        return request.getMaxContextTokens() == null ? contents : tokenizerService.fit(contents, request.getMaxContextTokens());
+    }
+
+    /**
+     * 파티션이 메모리에 올라올 때까지 기다린다.
+     * 노드에 설정한 대기 시간(interval)과 실행 제한 시각 중 먼저 오는 시각까지만 기다리고, 실행이 중단되어 인터럽트되면 바로 멈춘다.
+     */
+    private void awaitLoaded(String collectionName, String partitionName, KnowledgeSearchServiceRequest request) {
+        long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(request.getInterval());
+        if (request.getDeadlineNanos() != null && request.getDeadlineNanos() - deadlineNanos < 0) {
+            deadlineNanos = request.getDeadlineNanos();
+        }
+
+        long backoffMillis = LOAD_POLL_MIN_MILLIS;
+        try {
+            while (!getLoadState(collectionName, partitionName)) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    throw new BaseException(ErrorCode.PARTITION_NOT_AVAILABLE);
+                }
+
+                Thread.sleep(Math.min(backoffMillis, remainingMillis));
+                backoffMillis = Math.min(backoffMillis * 2, LOAD_POLL_MAX_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BaseException(ErrorCode.CHAT_RUN_CANCELLED);
+        }
+    }
+
+    private <T> T timed(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean success = false;
+        try {
+            T result = call.get();
+            success = true;
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer(MILVUS_METRIC, "operation", operation, "outcome", success ? "success" : "error"));
+        }
     }
 
     public Boolean loadPartition(String collectionName, List<String> partitionNames) {
@@ -335,7 +379,10 @@ public class VectorStoreService {
                 .partitionNames(partitionNames)
                 .build();
 
-        milvusClient.loadPartitions(loadPartitionsReq);
+        timed("load", () -> {
+            milvusClient.loadPartitions(loadPartitionsReq);
+            return null;
+        });
 
         return true;
     }
@@ -358,7 +405,10 @@ public class VectorStoreService {
                 .partitionNames(partitionNames)
                 .build();
 
-        milvusClient.releasePartitions(releasePartitionsReq);
+        timed("release", () -> {
+            milvusClient.releasePartitions(releasePartitionsReq);
+            return null;
+        });
 
         return true;
     }
@@ -14,14 +14,20 @@ public class KnowledgeSearchServiceRequest {
     private final int topK;
     private final float scoreThreshold;
     private final String query;
+    // 챗플로우 실행 중 검색이라면 파티션 대기를 끝내야 하는 시각(System.nanoTime 기준), 없으면 interval만큼 기다린다.
+    private final Long deadlineNanos;
+    // 검색 결과의 최대 토큰 수, 없으면 자르지 않는다.
+    private final Integer maxContextTokens;
 
     @Builder
-    public KnowledgeSearchServiceRequest(KnowledgeSearchResponse knowledge, int interval, int topK, float scoreThreshold, String query) {
+    public KnowledgeSearchServiceRequest(KnowledgeSearchResponse knowledge, int interval, int topK, float scoreThreshold, String query, Long deadlineNanos, Integer maxContextTokens) {
         this.knowledge = knowledge;
         this.query = query;
         this.interval = interval;
         this.topK = topK;
         this.scoreThreshold = scoreThreshold;
+        this.deadlineNanos = deadlineNanos;
+        this.maxContextTokens = maxContextTokens;
     }
 
     public static KnowledgeSearchServiceRequest from(KnowledgeSearchRequest request, KnowledgeSearchResponse knowledge) {
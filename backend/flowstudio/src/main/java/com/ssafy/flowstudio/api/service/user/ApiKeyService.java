@@ -4,24 +4,57 @@ import com.ssafy.flowstudio.api.service.user.request.ApiKeyServiceRequest;
 import com.ssafy.flowstudio.api.service.user.response.ApiKeyResponse;
 import com.ssafy.flowstudio.common.exception.BaseException;
 import com.ssafy.flowstudio.common.exception.ErrorCode;
+import com.ssafy.flowstudio.domain.node.entity.ModelProvider;
 import com.ssafy.flowstudio.domain.user.entity.ApiKey;
 import com.ssafy.flowstudio.domain.user.entity.User;
+import com.ssafy.flowstudio.domain.user.repository.ApiKeyRepository;
 import com.ssafy.flowstudio.domain.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.encrypt.AesBytesEncryptor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Service
 public class ApiKeyService {
 
+    // 새 형식은 접두사와 Base64로 저장하고, 접두사가 없으면 이전 형식(공백으로 구분한 10진수 바이트)으로 읽는다.
+    private static final String BASE64_PREFIX = "b64:";
+
+    private static final long DECRYPTED_KEY_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final int DECRYPTED_KEY_MAX_SIZE = 10_000;
+
     private final AesBytesEncryptor encryptor;
     private final UserRepository userRepository;
+    private final ApiKeyRepository apiKeyRepository;
+
+    // 소유자별로 복호화된 API 키를 잠시 보관한다.
+    private final Map<Long, DecryptedApiKey> decryptedApiKeys = new ConcurrentHashMap<>();
+    // 키가 바뀔 때마다 올린다. 바뀌기 전에 읽은 키로 캐시를 다시 채우지 않도록 읽기 전과 값이 같을 때만 캐시한다.
+    private final AtomicLong keyVersion = new AtomicLong();
+
+    private record DecryptedApiKey(String openAiKey, String claudeKey, long expiresAt) {
+
+        private String get(ModelProvider provider) {
+            return switch (provider) {
+                case OPENAI -> openAiKey;
+                case ANTHROPIC -> claudeKey;
+            };
+        }
+
+    }
 
     @Transactional
     public void updateApiKey(Long userId, ApiKeyServiceRequest request) {
@@ -37,6 +70,46 @@ public class ApiKeyService {
                 encrypt(request.getGeminiKey()),
                 encrypt(request.getClovaKey())
         );
+
+        afterCommit(() -> {
+            keyVersion.incrementAndGet();
+            decryptedApiKeys.remove(userId);
+        });
+    }
+
+    /**
+     * 챗플로우 실행에 사용할 소유자의 복호화된 API 키를 반환한다.
+     * 복호화 결과는 잠시 캐시하고, 이전 형식으로 저장된 키는 이 시점에 새 형식으로 다시 저장한다.
+     * 실행 스레드에서는 트랜잭션 없이 호출되므로 캐시를 사용할 때 DB 커넥션을 잡지 않는다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String getDecryptedApiKey(Long userId, ModelProvider provider) {
+        DecryptedApiKey cached = decryptedApiKeys.get(userId);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return cached.get(provider);
+        }
+
+        long version = keyVersion.get();
+        User user = userRepository.findByIdWithApiKey(userId)
+                .orElseThrow(() -> new BaseException(ErrorCode.NOT_FOUND_USER));
+        ApiKey apiKey = user.getApiKey();
+
+        String openAiKey = decrypt(apiKey.getOpenAiKey());
+        String claudeKey = decrypt(apiKey.getClaudeKey());
+
+        if (isLegacyFormat(apiKey)) {
+            migrateLegacyKeys(apiKey);
+        }
+
+        if (decryptedApiKeys.size() >= DECRYPTED_KEY_MAX_SIZE) {
+            evictExpired();
+        }
+
+        DecryptedApiKey decrypted = new DecryptedApiKey(openAiKey, claudeKey, System.currentTimeMillis() + DECRYPTED_KEY_TTL_MILLIS);
+        if (decryptedApiKeys.size() < DECRYPTED_KEY_MAX_SIZE) {
+            decryptedApiKeys.compute(userId, (id, current) -> keyVersion.get() == version ? decrypted : current);
+        }
+        return decrypted.get(provider);
     }
 
     public ApiKeyResponse getApiKey(Long userId) {
@@ -56,14 +129,64 @@ public class ApiKeyService {
 
     public String encrypt(String rawApiKey) {
         if (rawApiKey == null) return null;
-        return byteArrayToString(encryptor.encrypt(rawApiKey.getBytes(StandardCharsets.UTF_8)));
+        return BASE64_PREFIX + Base64.getEncoder().encodeToString(encryptor.encrypt(rawApiKey.getBytes(StandardCharsets.UTF_8)));
     }
 
     public String decrypt(String encryptedApiKey) {
         if (encryptedApiKey == null) return null;
-        return new String(encryptor.decrypt(stringToByteArray(encryptedApiKey)), StandardCharsets.UTF_8);
+
+        byte[] encrypted = encryptedApiKey.startsWith(BASE64_PREFIX)
+                ? Base64.getDecoder().decode(encryptedApiKey.substring(BASE64_PREFIX.length()))
+                : stringToByteArray(encryptedApiKey);
+        return new String(encryptor.decrypt(encrypted), StandardCharsets.UTF_8);
+    }
+
+    // 읽어온 엔티티를 병합하지 않고, 읽은 값이 그대로 남아 있는 이전 형식 컬럼만 바꾼다.
+    private void migrateLegacyKeys(ApiKey apiKey) {
+        apiKeyRepository.migrateLegacyKeys(
+                apiKey.getId(),
+                apiKey.getOpenAiKey(), reencrypt(apiKey.getOpenAiKey()),
+                apiKey.getClaudeKey(), reencrypt(apiKey.getClaudeKey()),
+                apiKey.getGeminiKey(), reencrypt(apiKey.getGeminiKey()),
+                apiKey.getClovaKey(), reencrypt(apiKey.getClovaKey())
+        );
+    }
+
+    private String reencrypt(String encryptedApiKey) {
+        return isLegacyFormat(encryptedApiKey) ? encrypt(decrypt(encryptedApiKey)) : encryptedApiKey;
+    }
+
+    private boolean isLegacyFormat(ApiKey apiKey) {
+        return isLegacyFormat(apiKey.getOpenAiKey())
+                || isLegacyFormat(apiKey.getClaudeKey())
+                || isLegacyFormat(apiKey.getGeminiKey())
+                || isLegacyFormat(apiKey.getClovaKey());
+    }
+
+    private boolean isLegacyFormat(String encryptedApiKey) {
+        return encryptedApiKey != null && !encryptedApiKey.startsWith(BASE64_PREFIX);
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        decryptedApiKeys.values().removeIf(decrypted -> decrypted.expiresAt() <= now);
+    }
+
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
     }
 
+    // 이전 저장 형식
     public String byteArrayToString(byte[] bytes) {
         StringBuilder sb = new StringBuilder();
         for (byte abyte : bytes) {
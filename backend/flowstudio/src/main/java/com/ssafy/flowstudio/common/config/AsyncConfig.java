@@ -1,16 +1,24 @@
 package com.ssafy.flowstudio.common.config;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @EnableAsync
+@RequiredArgsConstructor
 @Configuration
 public class AsyncConfig implements AsyncConfigurer {
 
+    private final FlowExecutionProperties flowExecutionProperties;
+
     @Override
     public Executor getAsyncExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -23,4 +31,61 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
-}
\ No newline at end of file
+    /**
+     * 챗플로우 실행 전용 Executor
+     * 큐가 가득 차면 TaskRejectedException을 던져 요청 스레드에서 바로 거절한다.
+     */
+    @Bean(name = "flowExecutor")
+    public ThreadPoolTaskExecutor flowExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(flowExecutionProperties.getCorePoolSize());
+        executor.setMaxPoolSize(flowExecutionProperties.getMaxPoolSize());
+        executor.setQueueCapacity(flowExecutionProperties.getQueueCapacity());
+        executor.setKeepAliveSeconds(flowExecutionProperties.getKeepAliveSeconds());
+        executor.setThreadNamePrefix("flow-executor-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * 노드 실행 전용 Executor
+     * RunScheduler가 병렬 갈래의 노드를 넘길 때 사용하며, 스레드 모델에 따라 구현이 달라진다.
+     */
+    @Bean(name = "flowStepExecutor")
+    public TaskExecutor flowStepExecutor() {
+        return switch (flowExecutionProperties.getThreadModel()) {
+            case CALLER -> new SyncTaskExecutor();
+            case PLATFORM -> {
+                ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+                executor.setCorePoolSize(flowExecutionProperties.getStepPoolSize());
+                executor.setMaxPoolSize(flowExecutionProperties.getStepPoolSize());
+                executor.setQueueCapacity(flowExecutionProperties.getStepQueueCapacity());
+                executor.setKeepAliveSeconds(flowExecutionProperties.getKeepAliveSeconds());
+                executor.setThreadNamePrefix("flow-step-");
+                executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+                executor.setWaitForTasksToCompleteOnShutdown(true);
+                executor.setAwaitTerminationSeconds(30);
+                yield executor;
+            }
+        };
+    }
+
+    /**
+     * 질문 분류기 갈래의 미리 실행 전용 Executor
+     * 미리 실행은 분류를 기다리는 시간을 줄이기 위한 것이므로, 자리가 없으면 호출한 스레드에서 실행하지 않고 거절한다.
+     */
+    @Bean(name = "speculationExecutor")
+    public ThreadPoolTaskExecutor speculationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(flowExecutionProperties.getSpeculationPoolSize());
+        executor.setMaxPoolSize(flowExecutionProperties.getSpeculationPoolSize());
+        executor.setQueueCapacity(flowExecutionProperties.getSpeculationQueueCapacity());
+        executor.setKeepAliveSeconds(flowExecutionProperties.getKeepAliveSeconds());
+        executor.setThreadNamePrefix("flow-speculation-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.ssafy.flowstudio.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "flow.execution")
+public class FlowExecutionProperties {
+
+    // 챗플로우 실행 스레드 수는 DB 커넥션 풀(Hikari 기본 10)보다 작게 유지한다.
+    private int corePoolSize = 4;
+    private int maxPoolSize = 8;
+    private int queueCapacity = 200;
+    private int keepAliveSeconds = 60;
+
+    // 노드 실행 스레드 모델
+    // CALLER: 실행 스레드에서 모든 노드를 순차로 실행한다.
+    // PLATFORM: 병렬 갈래를 노드 실행 스레드 풀에서 실행한다.
+    private ThreadModel threadModel = ThreadModel.PLATFORM;
+
+    // 노드 실행 스레드 풀 크기, 큐가 가득 차면 호출한 스레드에서 실행한다.
+    private int stepPoolSize = 8;
+    private int stepQueueCapacity = 100;
+
+    // 질문 분류기 갈래의 미리 실행 스레드 풀 크기, 자리가 없으면 미리 실행하지 않는다.
+    private int speculationPoolSize = 4;
+    private int speculationQueueCapacity = 16;
+
+    // LLM 스트리밍 토큰은 일정 글자 수 또는 시간 간격마다 묶어서 전송한다.
+    private int streamFlushChars = 24;
+    private long streamFlushIntervalMillis = 50;
+    private long streamTimeoutSeconds = 120;
+
+    // 실행 제한 시간
+    // runTimeoutSeconds: 하나의 실행(run) 전체, 넘으면 실행을 중단한다.
+    // nodeTimeoutSeconds: 모델 제공자 호출과 벡터저장소 대기 등 노드 하나의 외부 호출
+    private long runTimeoutSeconds = 180;
+    private long nodeTimeoutSeconds = 60;
+    // 실패하거나 중단된 실행이 다른 갈래에서 실행 중인 노드가 끝나기를 기다리는 최대 시간
+    private long runDrainTimeoutSeconds = 10;
+
+    // 지식 검색 노드 출력의 최대 토큰 수, 넘으면 뒤쪽 청크부터 잘라낸다.
+    private int retrieverMaxContextTokens = 6000;
+
+    // 챗 모델 클라이언트 캐시 크기와 유휴 제거 시간
+    private int modelCacheMaxSize = 256;
+    private long modelCacheIdleMinutes = 30;
+
+    // LLM 응답 캐시 (L1: 인스턴스 메모리, L2: Redis)
+    private int responseCacheMaxSize = 1000;
+    private long responseCacheTtlMinutes = 60;
+
+    // 발행된 챗봇의 시맨틱 캐시, 질문 임베딩의 코사인 유사도가 기준 이상이면 이전 답변을 재사용한다.
+    private boolean semanticCacheEnabled = false;
+    private double semanticCacheThreshold = 0.95;
+    private int semanticCacheMaxEntries = 500;
+
+    // 질문 분류 방식
+    // LLM: 모든 분류를 LLM으로 수행한다.
+    // EMBEDDING: 임베딩이 가장 가까운 분류를 선택하고, 1, 2순위의 유사도 차이가 classifierMargin보다 작을 때만 LLM을 호출한다.
+    private ClassifierMode classifierMode = ClassifierMode.EMBEDDING;
+    private double classifierMargin = 0.05;
+
+    // 질문 분류 결과 메모
+    // 같은 분류기, 같은 분류 구성에 같은 질문(정규화 후)이 들어오면 이전 분류 결과를 재사용한다.
+    private int classifierMemoMaxSize = 10000;
+    private long classifierMemoTtlMinutes = 1440;
+
+    // 실행 허용 제어
+    // 챗플로우 소유자별, 발행 URL별 동시 실행 수와 대기 수를 제한한다. 0 이하면 제한하지 않는다.
+    // LOCAL: 인스턴스별로 센다. REDIS: 모든 인스턴스가 동시 실행 수를 공유한다. 대기열은 인스턴스별로 유지한다.
+    private AdmissionMode admissionMode = AdmissionMode.LOCAL;
+    private int ownerMaxConcurrentRuns = 4;
+    private int ownerMaxQueuedRuns = 20;
+    private int publishMaxConcurrentRuns = 3;
+    private int publishMaxQueuedRuns = 20;
+    private long admissionRetryAfterSeconds = 5;
+
+    // LLM 호출 요청량 제한 (API 키, 모델별 토큰 버킷)
+    // 분당 요청 수와 분당 토큰 수(프롬프트 추정 토큰 + 최대 출력 토큰)가 모두 남아 있어야 호출한다.
+    // 한도가 찰 때까지 최대 llmRateLimitMaxWaitMillis 기다리고, 더 기다려야 하면 호출하지 않고 실패한다.
+    // 제공자가 429를 반환하면 버킷 속도를 줄이고 llmMaxRetries번까지 다시 시도한다. 성공할 때마다 설정값까지 회복한다.
+    private int openAiRequestsPerMinute = 500;
+    private int openAiTokensPerMinute = 200000;
+    private int anthropicRequestsPerMinute = 50;
+    private int anthropicTokensPerMinute = 40000;
+    private long llmRateLimitMaxWaitMillis = 10000;
+    private int llmMaxRetries = 2;
+    private long llmRetryBackoffMillis = 1000;
+
+    // 모델별 서킷 브레이커
+    // 최근 circuitWindowSize번의 호출 중 circuitMinimumCalls번 이상 호출했고, 실패하거나 첫 토큰이 circuitSlowCallMillis보다 늦은 호출의
+    // 비율이 circuitFailureRateThreshold 이상이면 circuitOpenSeconds 동안 호출하지 않는다. 이후 시험 호출 한 번이 성공하면 다시 연다.
+    private int circuitWindowSize = 20;
+    private int circuitMinimumCalls = 10;
+    private double circuitFailureRateThreshold = 0.5;
+    private long circuitSlowCallMillis = 15000;
+    private long circuitOpenSeconds = 30;
+
+    // 헤징을 사용하는 LLM 노드는 첫 토큰이 모델의 최근 첫 토큰 시간 p95 안에 오지 않으면 한 번 더 요청한다.
+    // 첫 토큰 시간 표본이 충분하지 않으면 hedgeDefaultDelayMillis를 사용한다.
+    private long hedgeMinDelayMillis = 300;
+    private long hedgeDefaultDelayMillis = 2000;
+
+    // 새 채팅 제목 생성
+    // LOCAL: 첫 질문에서 명사구를 추출해 제목으로 사용한다.
+    // LLM: 추출한 제목을 먼저 보내고, 서버 키로 LLM이 요약한 제목으로 다시 바꾼다.
+    private ChatTitleMode chatTitleMode = ChatTitleMode.LOCAL;
+    private int chatTitleMaxLength = 20;
+
+    public enum ThreadModel {
+        CALLER, PLATFORM
+    }
+
+    public enum ClassifierMode {
+        LLM, EMBEDDING
+    }
+
+    public enum AdmissionMode {
+        LOCAL, REDIS
+    }
+
+    public enum ChatTitleMode {
+        LOCAL, LLM
+    }
+
+}
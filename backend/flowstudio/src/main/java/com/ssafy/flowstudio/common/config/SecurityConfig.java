@@ -12,13 +12,17 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.crypto.encrypt.AesBytesEncryptor;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 
 import java.util.Collections;
@@ -39,6 +43,10 @@ public class SecurityConfig {
     @Value("${spring.aes.symmetric.key}")
     private String symmetrickey;
 
+    // 메트릭을 수집할 수 있는 네트워크(CIDR), 서비스 사용자에게는 공개하지 않는다.
+    @Value("${management.prometheus.allowed-networks}")
+    private List<String> prometheusAllowedNetworks;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity httpSecurity) throws Exception {
         return httpSecurity
@@ -63,13 +71,14 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/",
                                 "/api/v1/auth/**",
-                                "/actuator/**",
+                                "/actuator/health",
                                 "/login/**",
                                 "/oauth2/**",
                                 "/api/v1/chats/{chatId}",
                                 "/api/v1/chat-flows/{chatFlowId}/chats",
                                 "/api/v1/sse/connect"
                         ).permitAll()
+                        .requestMatchers("/actuator/prometheus").access(prometheusNetworks())
                         .anyRequest().authenticated())
                 .oauth2Login((oauth2) -> oauth2
                         .authorizationEndpoint(authorization ->
@@ -84,6 +93,15 @@ public class SecurityConfig {
                 .build();
     }
 
+    private AuthorizationManager<RequestAuthorizationContext> prometheusNetworks() {
+        List<IpAddressMatcher> matchers = prometheusAllowedNetworks.stream()
+                .map(IpAddressMatcher::new)
+                .toList();
+        return (authentication, context) -> new AuthorizationDecision(
+                matchers.stream().anyMatch(matcher -> matcher.matches(context.getRequest()))
+        );
+    }
+
     @Bean
     public AesBytesEncryptor aesBytesEncryptor() {
         return new AesBytesEncryptor(symmetrickey, "2345436820457230");
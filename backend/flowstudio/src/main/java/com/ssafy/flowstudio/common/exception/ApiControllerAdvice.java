@@ -2,7 +2,9 @@ package com.ssafy.flowstudio.common.exception;
 
 import com.ssafy.flowstudio.common.payload.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -45,4 +47,16 @@ public class ApiControllerAdvice {
         );
     }
 
+    @ExceptionHandler(RateLimitException.class)
+    public ResponseEntity<ApiResponse<Object>> rateLimitException(RateLimitException e) {
+        log.warn("RateLimitException: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResponse.of(
+                        e.getErrorCode().getStatus(),
+                        e.getMessage(),
+                        null
+                ));
+    }
+
 }
@@ -52,6 +52,14 @@ public enum ErrorCode {
     START_NODE_NOT_FOUND(6001, HttpStatus.NOT_FOUND, "시작 노드를 찾을 수 없습니다."),
     MESSAGE_TOO_LONG(6002, HttpStatus.BAD_REQUEST, "메시지 길이가 너무 깁니다."),
     ANSWER_NODE_NOT_FOUND(6003, HttpStatus.BAD_REQUEST, "답변 노드를 찾을 수 없습니다."),
+    CHAT_RUN_REJECTED(6004, HttpStatus.SERVICE_UNAVAILABLE, "실행 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."),
+    CHAT_RUN_FAILED(6005, HttpStatus.INTERNAL_SERVER_ERROR, "챗플로우 실행 중 오류가 발생했습니다."),
+    CHAT_RUN_CANCELLED(6006, HttpStatus.CONFLICT, "챗플로우 실행이 중단되었습니다."),
+    CHAT_RUN_NOT_FOUND(6007, HttpStatus.NOT_FOUND, "실행 중인 채팅을 찾을 수 없습니다."),
+    CHAT_RUN_TIMEOUT(6008, HttpStatus.GATEWAY_TIMEOUT, "챗플로우 실행 시간이 초과되었습니다."),
+    CHAT_RUN_THROTTLED(6009, HttpStatus.TOO_MANY_REQUESTS, "실행 요청이 많습니다. 잠시 후 다시 시도해주세요."),
+    CHAT_HISTORY_CONFLICT(6010, HttpStatus.CONFLICT, "채팅 기록 저장 중 충돌이 발생했습니다. 다시 시도해주세요."),
+    CHAT_MESSAGE_CURSOR_INVALID(6011, HttpStatus.BAD_REQUEST, "before와 after는 함께 사용할 수 없습니다."),
 
     // Knowledge
     KNOWLEDGE_NOT_FOUND(7000, HttpStatus.NOT_FOUND, "지식베이스를 찾을 수 없습니다."),
@@ -75,6 +83,11 @@ public enum ErrorCode {
     AI_RESPONSE_NOT_MATCH_GIVEN_CONDITION(8001, HttpStatus.INTERNAL_SERVER_ERROR, "AI가 주어진 정보 외의 답변을 반환했습니다."),
     API_KEY_INVALID(8002, HttpStatus.BAD_REQUEST, "API 키가 유효하지 않습니다."),
     API_KEY_NOT_REGISTERED(8003, HttpStatus.BAD_REQUEST, "API 키를 등록하세요."),
+    AI_RATE_LIMITED(8010, HttpStatus.TOO_MANY_REQUESTS, "모델 제공자의 요청 한도를 초과했습니다. 잠시 후 다시 시도해주세요."),
+    AI_PROVIDER_ERROR(8011, HttpStatus.BAD_GATEWAY, "모델 제공자 호출에 실패했습니다."),
+    AI_PROVIDER_UNAVAILABLE(8012, HttpStatus.SERVICE_UNAVAILABLE, "모델 제공자를 일시적으로 사용할 수 없습니다. 잠시 후 다시 시도해주세요."),
+    PROMPT_TOO_LONG(8013, HttpStatus.BAD_REQUEST, "프롬프트가 모델의 입력 한도를 초과했습니다."),
+    AI_RESPONSE_TIMEOUT(8014, HttpStatus.GATEWAY_TIMEOUT, "AI 응답 시간이 초과되었습니다."),
 
     // Redis
     REDIS_KEY_NOT_EXIST(10000, HttpStatus.BAD_REQUEST, "해당 키 값을 가진 산출물이 존재하지 않습니다."),
@@ -0,0 +1,19 @@
+package com.ssafy.flowstudio.common.exception;
+
+import lombok.Getter;
+
+/**
+ * 요청량 제한으로 거절된 요청
+ * 응답의 Retry-After 헤더로 다시 시도할 때까지 기다릴 시간을 알려준다.
+ */
+@Getter
+public class RateLimitException extends BaseException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitException(ErrorCode errorCode, long retryAfterSeconds) {
+        super(errorCode);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
@@ -2,10 +2,6 @@ package com.ssafy.flowstudio.common.util;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import com.knuddels.jtokkit.Encodings;
-import com.knuddels.jtokkit.api.Encoding;
-import com.knuddels.jtokkit.api.EncodingRegistry;
-import com.knuddels.jtokkit.api.ModelType;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.document.MetadataMode;
 import org.springframework.ai.embedding.EmbeddingModel;
@@ -81,16 +77,4 @@ public class MilvusUtils {
                         .build())
                 .toList();
     }
-
-    public int getTokenCount(List<String> messages) {
-        EncodingRegistry registry = Encodings.newDefaultEncodingRegistry();
-        ModelType model = ModelType.TEXT_EMBEDDING_3_LARGE;
-        Encoding encoding = registry.getEncodingForModel(model);
-        int sum = 0;
-        for (String message : messages) {
-            sum += encoding.countTokens(message);
-        }
-
-        return sum;
-    }
 }
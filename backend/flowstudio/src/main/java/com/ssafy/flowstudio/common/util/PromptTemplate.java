@@ -0,0 +1,116 @@
+package com.ssafy.flowstudio.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * {{변수}}를 포함한 프롬프트를 리터럴과 변수 참조 조각으로 미리 나눠둔 템플릿
+ * 한 번 컴파일하면 정규식 없이 조각을 이어붙이는 것만으로 렌더링한다.
+ */
+public final class PromptTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String source;
+
+    // literals.length == variables.length + 1
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+
+    private PromptTemplate(String source, String[] literals, String[] variables) {
+        this.source = source;
+        this.literals = literals;
+        this.variables = variables;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static PromptTemplate compile(String source) {
+        if (source == null) {
+            return new PromptTemplate(null, new String[]{""}, new String[0]);
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+
+        int lastEnd = 0;
+        int from = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, from);
+            if (open < 0) {
+                break;
+            }
+
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                break;
+            }
+
+            // 변수 이름은 한 줄 안에 있어야 한다. (기존 정규식 "\{\{(.*?)\}\}"과 같은 규칙)
+            if (containsLineTerminator(source, open + OPEN.length(), close)) {
+                from = open + 1;
+                continue;
+            }
+
+            literals.add(source.substring(lastEnd, open));
+            variables.add(source.substring(open + OPEN.length(), close));
+            lastEnd = close + CLOSE.length();
+            from = lastEnd;
+        }
+        literals.add(source.substring(lastEnd));
+
+        return new PromptTemplate(source, literals.toArray(String[]::new), variables.toArray(String[]::new));
+    }
+
+    /**
+     * 변수 참조를 resolver가 반환한 값으로 치환한다.
+     * resolver가 null을 반환하면 {{변수}}를 그대로 남긴다.
+     */
+    public String render(Function<String, String> resolver) {
+        if (source == null || variables.length == 0) {
+            return source;
+        }
+
+        String[] values = new String[variables.length];
+        int length = literalLength;
+        for (int i = 0; i < variables.length; i++) {
+            String value = resolver.apply(variables[i]);
+            values[i] = value != null ? value : OPEN + variables[i] + CLOSE;
+            length += values[i].length();
+        }
+
+        StringBuilder result = new StringBuilder(length);
+        for (int i = 0; i < variables.length; i++) {
+            result.append(literals[i]).append(values[i]);
+        }
+        result.append(literals[variables.length]);
+
+        return result.toString();
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public List<String> getVariables() {
+        return List.of(variables);
+    }
+
+    private static boolean containsLineTerminator(String source, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = source.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.ssafy.flowstudio.common.util;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingRegistry;
+import com.knuddels.jtokkit.api.EncodingResult;
+import com.knuddels.jtokkit.api.EncodingType;
+import com.knuddels.jtokkit.api.ModelType;
+import com.ssafy.flowstudio.domain.node.entity.ModelName;
+import com.ssafy.flowstudio.domain.node.entity.ModelProvider;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 모델별 토큰 수를 세고 토큰 한도에 맞게 텍스트를 자른다.
+ * 인코딩 레지스트리는 만들 때 BPE 파일을 읽으므로 애플리케이션에서 하나만 만들고, 모델별 인코딩을 미리 찾아둔다.
+ * Claude 토크나이저는 공개되어 있지 않으므로 o200k로 센 값에 여유 비율을 곱해 근사한다.
+ */
+@Component
+public class TokenizerService {
+
+    // 메시지마다 붙는 역할 구분 토큰
+    private static final int MESSAGE_OVERHEAD_TOKENS = 4;
+    // o200k 대비 Claude 토큰 수 근사 비율, 한도를 넘지 않도록 크게 잡는다.
+    private static final double CLAUDE_TOKEN_RATIO = 1.2;
+
+    private final EncodingRegistry registry = Encodings.newLazyEncodingRegistry();
+    private final Map<ModelName, Encoding> encodings = new EnumMap<>(ModelName.class);
+    private final Encoding defaultEncoding = registry.getEncoding(EncodingType.O200K_BASE);
+    private final Encoding embeddingEncoding = registry.getEncodingForModel(ModelType.TEXT_EMBEDDING_3_LARGE);
+
+    public TokenizerService() {
+        for (ModelName modelName : ModelName.values()) {
+            encodings.put(modelName, registry.getEncodingForModel(modelName.getName())
+                    .orElse(defaultEncoding));
+        }
+    }
+
+    public int countTokens(ModelName modelName, String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return scale(modelName, encodings.get(modelName).countTokensOrdinary(text));
+    }
+
+    public int countTokens(ModelName modelName, List<ChatMessage> messages) {
+        int tokens = 0;
+        for (ChatMessage message : messages) {
+            tokens += MESSAGE_OVERHEAD_TOKENS + countTokens(modelName, textOf(message));
+        }
+        return tokens;
+    }
+
+    /**
+     * 임베딩 모델 기준 토큰 수, 청크마다 병렬로 센다.
+     */
+    public int countEmbeddingTokens(List<String> chunks) {
+        return chunks.parallelStream()
+                .mapToInt(embeddingEncoding::countTokensOrdinary)
+                .sum();
+    }
+
+    /**
+     * 사용할 모델을 알 수 없는 텍스트를 앞에서부터 한도만큼 남긴다. 청크가 한도에 걸치면 청크를 잘라서 남긴다.
+     */
+    public List<String> fit(List<String> chunks, int maxTokens) {
+        List<String> fitted = new ArrayList<>();
+        int remaining = maxTokens;
+        for (String chunk : chunks) {
+            if (remaining <= 0) {
+                break;
+            }
+
+            EncodingResult result = defaultEncoding.encodeOrdinary(chunk, remaining);
+            if (!result.isTruncated()) {
+                fitted.add(chunk);
+                remaining -= result.getTokens().size();
+                continue;
+            }
+
+            String truncated = defaultEncoding.decode(result.getTokens());
+            if (!truncated.isBlank()) {
+                fitted.add(truncated);
+            }
+            break;
+        }
+        return fitted;
+    }
+
+    private int scale(ModelName modelName, int tokens) {
+        return modelName.getProvider() == ModelProvider.ANTHROPIC ? (int) Math.ceil(tokens * CLAUDE_TOKEN_RATIO) : tokens;
+    }
+
+    private static String textOf(ChatMessage message) {
+        if (message instanceof SystemMessage systemMessage) {
+            return systemMessage.text();
+        }
+        if (message instanceof UserMessage userMessage && userMessage.hasSingleText()) {
+            return userMessage.singleText();
+        }
+        if (message instanceof AiMessage aiMessage) {
+            return aiMessage.text();
+        }
+        return null;
+    }
+
+}
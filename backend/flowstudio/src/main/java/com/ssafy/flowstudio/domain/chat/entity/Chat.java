@@ -34,6 +34,7 @@ public class Chat extends BaseEntity {
     @Column
     private boolean isPreview;
 
+    // 이전 방식의 대화 기록(JSON 배열), 대화는 ChatMessage에 추가하며 이 기록은 처음 읽거나 쓸 때 ChatMessage로 옮긴다.
     @Lob
     private String messageList;
 
@@ -89,6 +90,10 @@ public class Chat extends BaseEntity {
         this.messageList = updatedChatHistory;
     }
 
+    public boolean hasLegacyHistory() {
+        return messageList != null && !messageList.isBlank() && !messageList.equals("[]");
+    }
+
     public void updateChatFlow(ChatFlow publishChatFlow) {
         this.chatFlow = publishChatFlow;
     }
@@ -97,4 +102,11 @@ public class Chat extends BaseEntity {
         this.title = title;
     }
 
+    public void updateTestContext(ChatFlowTest chatFlowTest, String testQuestion, String groundTruth) {
+        this.chatFlowTest = chatFlowTest;
+        this.testQuestion = testQuestion;
+        this.groundTruth = groundTruth;
+        this.isTest = true;
+    }
+
 }
@@ -0,0 +1,74 @@
+package com.ssafy.flowstudio.domain.chat.entity;
+
+import com.ssafy.flowstudio.domain.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * 채팅의 질문과 답변 한 쌍, 추가만 하고 수정하지 않는다.
+ * seq는 채팅 안에서 1부터 증가하는 순번이며, (chat_id, seq) 유일 인덱스로 순서 보장과 커서 조회를 함께 처리한다.
+ */
+@Entity
+@Table(
+        name = "chat_message",
+        uniqueConstraints = {@UniqueConstraint(name = "uk_chat_message_chat_seq", columnNames = {"chat_id", "seq"})}
+)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class ChatMessage extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "chat_message_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "chat_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Chat chat;
+
+    @Column(nullable = false)
+    private int seq;
+
+    @Lob
+    private String question;
+
+    @Lob
+    private String answer;
+
+    // 답변을 만든 실행의 아이디, 실행 기록(trace) 조회에 사용한다. 이전 기록에서 옮긴 메시지는 없다.
+    @Column
+    private String runId;
+
+    // 답변을 보낸 Answer 노드의 아이디
+    @Column
+    private Long nodeId;
+
+    @Builder
+    private ChatMessage(Long id, Chat chat, int seq, String question, String answer, String runId, Long nodeId) {
+        this.id = id;
+        this.chat = chat;
+        this.seq = seq;
+        this.question = question;
+        this.answer = answer;
+        this.runId = runId;
+        this.nodeId = nodeId;
+    }
+
+    public static ChatMessage create(Chat chat, int seq, String question, String answer, String runId, Long nodeId) {
+        return ChatMessage.builder()
+                .chat(chat)
+                .seq(seq)
+                .question(question)
+                .answer(answer)
+                .runId(runId)
+                .nodeId(nodeId)
+                .build();
+    }
+
+}
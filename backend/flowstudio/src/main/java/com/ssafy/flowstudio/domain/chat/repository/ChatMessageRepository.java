@@ -0,0 +1,28 @@
+package com.ssafy.flowstudio.domain.chat.repository;
+
+import com.ssafy.flowstudio.domain.chat.entity.ChatMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
+
+    @Query("SELECT COALESCE(MAX(m.seq), 0) FROM ChatMessage m WHERE m.chat.id = :chatId")
+    int findLastSeq(@Param("chatId") Long chatId);
+
+    boolean existsByChatId(Long chatId);
+
+    // 아래 조회는 모두 (chat_id, seq) 인덱스의 범위 조회이므로 대화 길이와 관계없이 limit만큼만 읽는다.
+
+    // 최근 메시지부터 조회한다.
+    List<ChatMessage> findByChatIdOrderBySeqDesc(Long chatId, Pageable pageable);
+
+    // seq 이전 메시지를 가까운 순서로 조회한다.
+    List<ChatMessage> findByChatIdAndSeqLessThanOrderBySeqDesc(Long chatId, int seq, Pageable pageable);
+
+    // seq 이후 메시지를 가까운 순서로 조회한다.
+    List<ChatMessage> findByChatIdAndSeqGreaterThanOrderBySeqAsc(Long chatId, int seq, Pageable pageable);
+}
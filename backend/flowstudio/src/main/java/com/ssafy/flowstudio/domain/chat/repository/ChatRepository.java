@@ -3,17 +3,34 @@ package com.ssafy.flowstudio.domain.chat.repository;
 import com.ssafy.flowstudio.domain.chat.entity.Chat;
 import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
 import com.ssafy.flowstudio.domain.user.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ChatRepository extends JpaRepository<Chat, Long> {
 
+    // 이전 대화 기록을 옮기는 동안 같은 채팅을 다른 요청이 옮기지 않도록 행을 잠근다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Chat c WHERE c.id = :chatId")
+    Optional<Chat> findByIdForUpdate(@Param("chatId") Long chatId);
+
     @Query("SELECT c FROM Chat c WHERE c.chatFlow = :chatFlow AND c.user = :user AND c.isPreview = false")
     List<Chat> findByChatFlowAndUser(ChatFlow chatFlow, User user, PageRequest pageable);
 
     @Query("SELECT count(c) FROM Chat c WHERE c.chatFlow = :chatFlow AND c.user = :user AND c.isPreview = false")
     int findChatCountByChatFlowAndUser(ChatFlow chatFlow, User user);
+
+    // 채팅 전체를 병합하면 이전 기록 컬럼까지 다시 쓰므로 제목만 수정한다.
+    @Transactional
+    @Modifying
+    @Query("UPDATE Chat c SET c.title = :title WHERE c.id = :chatId")
+    void updateTitle(@Param("chatId") Long chatId, @Param("title") String title);
 }
@@ -1,7 +1,9 @@
 package com.ssafy.flowstudio.domain.chatflowtest;
 
 import com.ssafy.flowstudio.domain.chatflowtest.entity.ChatFlowTest;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
@@ -10,4 +12,9 @@ public interface ChatFlowTestRepository extends JpaRepository<ChatFlowTest, Long
 
     @Query("SELECT c FROM ChatFlowTest c JOIN FETCH c.chatFlowTestCases WHERE c.id = :chatFlowTestId")
     Optional<ChatFlowTest> findByIdWithTestCase(Long chatFlowTestId);
+
+    // 테스트 케이스들이 동시에 실행되므로 successCount 갱신은 행 잠금 후 수행한다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ChatFlowTest c WHERE c.id = :chatFlowTestId")
+    Optional<ChatFlowTest> findByIdForUpdate(Long chatFlowTestId);
 }
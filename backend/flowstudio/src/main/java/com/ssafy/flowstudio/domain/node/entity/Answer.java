@@ -1,6 +1,5 @@
 package com.ssafy.flowstudio.domain.node.entity;
 
-import com.ssafy.flowstudio.domain.chat.entity.Chat;
 import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Lob;
@@ -41,11 +40,6 @@ public class Answer extends Node {
             .build();
     }
 
-    @Override
-    public void accept(NodeVisitor visitor, Chat chat) {
-        visitor.visit(this, chat);
-    }
-
     public void update(String name, Coordinate coordinate, String outputMessage) {
         this.name = name;
         this.coordinate = coordinate;
@@ -1,7 +1,6 @@
 package com.ssafy.flowstudio.domain.node.entity;
 
 
-import com.ssafy.flowstudio.domain.chat.entity.Chat;
 import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Lob;
@@ -33,11 +32,6 @@ public class Conditional extends Node {
             .build();
     }
 
-    @Override
-    public void accept(NodeVisitor visitor, Chat chat) {
-        visitor.visit(this, chat);
-    }
-
     @Override
     public boolean hasRequiredResources() {
         return true;
@@ -0,0 +1,39 @@
+package com.ssafy.flowstudio.domain.node.entity;
+
+import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 병렬로 실행된 여러 갈래를 하나로 모으는 노드
+ * 연결된 모든 이전 노드의 실행이 끝난 뒤에 다음 노드를 실행한다.
+ */
+@Entity(name = "JoinNode")
+@Table(name = "join_node")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+public class Join extends Node {
+
+    @Builder
+    private Join(Long id, ChatFlow chatFlow, String name, NodeType type, Coordinate coordinate) {
+        super(id, chatFlow, name, type, coordinate);
+    }
+
+    public static Join create(ChatFlow chatFlow, Coordinate coordinate) {
+        return Join.builder()
+            .chatFlow(chatFlow)
+            .name("병합")
+            .type(NodeType.JOIN)
+            .coordinate(coordinate)
+            .build();
+    }
+
+    @Override
+    public boolean hasRequiredResources() {
+        return !getInputEdges().isEmpty();
+    }
+}
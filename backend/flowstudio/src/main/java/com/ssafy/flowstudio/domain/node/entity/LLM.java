@@ -1,6 +1,5 @@
 package com.ssafy.flowstudio.domain.node.entity;
 
-import com.ssafy.flowstudio.domain.chat.entity.Chat;
 import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
@@ -32,8 +31,21 @@ public class LLM extends Node {
     @Enumerated(EnumType.STRING)
     private ModelName modelName;
 
+    // 같은 프롬프트와 모델 설정의 응답을 재사용할지 여부
+    @Column
+    private boolean responseCacheEnabled;
+
+    // 모델 호출이 실패하거나 서킷이 열렸을 때 대신 호출할 모델, 없으면 대체하지 않는다.
+    @Column
+    @Enumerated(EnumType.STRING)
+    private ModelName fallbackModelName;
+
+    // 첫 토큰이 늦으면 대체 모델(없으면 같은 모델)로 한 번 더 요청하고 먼저 응답한 쪽을 사용할지 여부
+    @Column
+    private boolean hedgingEnabled;
+
     @Builder
-    private LLM(Long id, ChatFlow chatFlow, String name, NodeType type, Coordinate coordinate, String promptSystem, String promptUser, String context, double temperature, int maxTokens, ModelName modelName) {
+    private LLM(Long id, ChatFlow chatFlow, String name, NodeType type, Coordinate coordinate, String promptSystem, String promptUser, String context, double temperature, int maxTokens, ModelName modelName, boolean responseCacheEnabled, ModelName fallbackModelName, boolean hedgingEnabled) {
         super(id, chatFlow, name, type, coordinate);
         this.promptSystem = promptSystem;
         this.promptUser = promptUser;
@@ -41,6 +53,9 @@ public class LLM extends Node {
         this.temperature = temperature;
         this.maxTokens = maxTokens;
         this.modelName = modelName;
+        this.responseCacheEnabled = responseCacheEnabled;
+        this.fallbackModelName = fallbackModelName;
+        this.hedgingEnabled = hedgingEnabled;
     }
 
     public static LLM create(ChatFlow chatFlow, Coordinate coordinate) {
@@ -71,12 +86,7 @@ public class LLM extends Node {
                 .build();
     }
 
-    @Override
-    public void accept(NodeVisitor visitor, Chat chat) {
-        visitor.visit(this, chat);
-    }
-
-    public void update(String name, Coordinate coordinate, String promptSystem, String promptUser, String context, Double temperature, Integer maxTokens, ModelName modelName) {
+    public void update(String name, Coordinate coordinate, String promptSystem, String promptUser, String context, Double temperature, Integer maxTokens, ModelName modelName, Boolean responseCacheEnabled, ModelName fallbackModelName, Boolean hedgingEnabled) {
         this.name = name;
         this.coordinate = coordinate;
         this.promptSystem = promptSystem;
@@ -85,6 +95,14 @@ public class LLM extends Node {
         this.temperature = temperature;
         this.maxTokens = maxTokens;
         this.modelName = modelName;
+        if (responseCacheEnabled != null) {
+            this.responseCacheEnabled = responseCacheEnabled;
+        }
+        // 대체 모델은 요청 값으로 덮어쓰고, 기본 모델과 같으면 대체하지 않는다.
+        this.fallbackModelName = fallbackModelName == modelName ? null : fallbackModelName;
+        if (hedgingEnabled != null) {
+            this.hedgingEnabled = hedgingEnabled;
+        }
     }
 
     public void updatePrompt(String systemPrompt, String userPrompt) {
@@ -8,15 +8,25 @@ import lombok.Getter;
 @AllArgsConstructor
 public enum ModelName {
     // OpenAI
-    GPT_4_O("gpt-4o", ModelProvider.OPENAI, 16384),
-    GPT_4_O_MINI("gpt-4o-mini", ModelProvider.OPENAI,16384),
-    GPT_3_5_TURBO("gpt-3.5-turbo", ModelProvider.OPENAI,4096),
+    GPT_4_O("gpt-4o", ModelProvider.OPENAI, 16384, 128000),
+    GPT_4_O_MINI("gpt-4o-mini", ModelProvider.OPENAI,16384, 128000),
+    GPT_3_5_TURBO("gpt-3.5-turbo", ModelProvider.OPENAI,4096, 16385),
 
-    CLAUDE_3_5_SONNET("claude-3-5-sonnet-latest", ModelProvider.ANTHROPIC,8192),
-    CLAUDE_3_5_HAIKU("claude-3-5-haiku-latest", ModelProvider.ANTHROPIC,8192),
+    CLAUDE_3_5_SONNET("claude-3-5-sonnet-latest", ModelProvider.ANTHROPIC,8192, 200000),
+    CLAUDE_3_5_HAIKU("claude-3-5-haiku-latest", ModelProvider.ANTHROPIC,8192, 200000),
     ;
 
     private final String name;
     private final ModelProvider provider;
+    // 최대 출력 토큰
     private final int maxTokens;
+    // 입력과 출력을 합한 컨텍스트 크기
+    private final int contextWindow;
+
+    /**
+     * 최대 출력 토큰을 남겨두고 프롬프트에 쓸 수 있는 토큰 수
+     */
+    public int promptBudget(int maxOutputTokens) {
+        return contextWindow - Math.min(maxOutputTokens, maxTokens);
+    }
 }
@@ -1,5 +1,5 @@
 package com.ssafy.flowstudio.domain.node.entity;
 
 public enum NodeType {
-    START, LLM, ANSWER, QUESTION_CLASSIFIER, CONDITIONAL, RETRIEVER, VARIABLE_ASSIGNER,
+    START, LLM, ANSWER, QUESTION_CLASSIFIER, CONDITIONAL, RETRIEVER, VARIABLE_ASSIGNER, JOIN,
 }
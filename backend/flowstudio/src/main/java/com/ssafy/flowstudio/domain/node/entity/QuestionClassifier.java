@@ -1,6 +1,5 @@
 package com.ssafy.flowstudio.domain.node.entity;
 
-import com.ssafy.flowstudio.domain.chat.entity.Chat;
 import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
@@ -19,9 +18,14 @@ public class QuestionClassifier extends Node {
     @OneToMany(mappedBy = "questionClassifier", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private List<QuestionClass> questionClasses = new ArrayList<>();
 
+    // 분류하는 동안 각 갈래의 첫 노드를 미리 실행할 때 사용할 수 있는 토큰 수 (0이면 사용하지 않음)
+    @Column
+    private int speculativeTokenBudget;
+
     @Builder
-    private QuestionClassifier(Long id, ChatFlow chatFlow, String name, NodeType type, Coordinate coordinate) {
+    private QuestionClassifier(Long id, ChatFlow chatFlow, String name, NodeType type, Coordinate coordinate, int speculativeTokenBudget) {
         super(id, chatFlow, name, type, coordinate);
+        this.speculativeTokenBudget = speculativeTokenBudget;
     }
 
     public static QuestionClassifier create(ChatFlow chatFlow, Coordinate coordinate) {
@@ -33,11 +37,6 @@ public class QuestionClassifier extends Node {
             .build();
     }
 
-    @Override
-    public void accept(NodeVisitor visitor, Chat chat) {
-        visitor.visit(this, chat);
-    }
-
     @Override
     public boolean hasRequiredResources() {
         if (getQuestionClasses().size() < 2) {
@@ -60,4 +59,11 @@ public class QuestionClassifier extends Node {
         this.name = name;
         this.coordinate = coordinate;
     }
+
+    public void update(String name, Coordinate coordinate, Integer speculativeTokenBudget) {
+        update(name, coordinate);
+        if (speculativeTokenBudget != null) {
+            this.speculativeTokenBudget = speculativeTokenBudget;
+        }
+    }
 }
@@ -1,6 +1,5 @@
 package com.ssafy.flowstudio.domain.node.entity;
 
-import com.ssafy.flowstudio.domain.chat.entity.Chat;
 import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
 import com.ssafy.flowstudio.domain.knowledge.entity.Knowledge;
 import jakarta.persistence.*;
@@ -68,11 +67,6 @@ public class Retriever extends Node {
         this.knowledge = knowledge;
     }
 
-    @Override
-    public void accept(NodeVisitor visitor, Chat chat) {
-        visitor.visit(this, chat);
-    }
-
     @Override
     public boolean hasRequiredResources() {
         return getKnowledge() != null;
@@ -1,6 +1,5 @@
 package com.ssafy.flowstudio.domain.node.entity;
 
-import com.ssafy.flowstudio.domain.chat.entity.Chat;
 import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -33,11 +32,6 @@ public class Start extends Node {
                 .build();
     }
 
-    @Override
-    public void accept(NodeVisitor visitor, Chat chat) {
-        visitor.visit(this, chat);
-    }
-
     public void update(String name, Coordinate coordinate, Long maxLength) {
         this.name = name;
         this.coordinate = coordinate;
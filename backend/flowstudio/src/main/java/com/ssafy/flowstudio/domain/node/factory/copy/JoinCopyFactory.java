@@ -0,0 +1,24 @@
+package com.ssafy.flowstudio.domain.node.factory.copy;
+
+import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
+import com.ssafy.flowstudio.domain.node.entity.Coordinate;
+import com.ssafy.flowstudio.domain.node.entity.Join;
+import com.ssafy.flowstudio.domain.node.entity.Node;
+import com.ssafy.flowstudio.domain.node.entity.NodeType;
+
+public class JoinCopyFactory extends NodeCopyFactory {
+    @Override
+    public Join copyNode(Node node, ChatFlow clonedChatFlow) {
+        Join originalJoin = (Join) node;
+        return Join.builder()
+                .chatFlow(clonedChatFlow)
+                .name(originalJoin.getName())
+                .type(NodeType.JOIN)
+                .coordinate(
+                        Coordinate.builder().x(originalJoin.getCoordinate().getX())
+                                .y(originalJoin.getCoordinate().getY())
+                                .build()
+                )
+                .build();
+    }
+}
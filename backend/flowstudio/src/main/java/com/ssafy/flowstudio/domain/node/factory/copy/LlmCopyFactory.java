@@ -25,6 +25,9 @@ public class LlmCopyFactory extends NodeCopyFactory {
                 .modelName(originalLlm.getModelName())
                 .promptSystem(originalLlm.getPromptSystem())
                 .promptUser(originalLlm.getPromptUser())
+                .responseCacheEnabled(originalLlm.isResponseCacheEnabled())
+                .fallbackModelName(originalLlm.getFallbackModelName())
+                .hedgingEnabled(originalLlm.isHedgingEnabled())
                 .build();
     }
 }
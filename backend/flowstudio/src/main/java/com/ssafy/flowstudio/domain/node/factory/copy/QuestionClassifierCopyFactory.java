@@ -19,6 +19,7 @@ public class QuestionClassifierCopyFactory extends NodeCopyFactory {
                                 .y(originalQuestionClassifier.getCoordinate().getY())
                                 .build()
                 )
+                .speculativeTokenBudget(originalQuestionClassifier.getSpeculativeTokenBudget())
                 .build();
     }
 }
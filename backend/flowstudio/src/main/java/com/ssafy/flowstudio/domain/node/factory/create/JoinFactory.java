@@ -0,0 +1,15 @@
+package com.ssafy.flowstudio.domain.node.factory.create;
+
+import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
+import com.ssafy.flowstudio.domain.node.entity.Coordinate;
+import com.ssafy.flowstudio.domain.node.entity.Join;
+import com.ssafy.flowstudio.domain.node.entity.Node;
+
+public class JoinFactory extends NodeFactory {
+
+    @Override
+    public Node createNode(ChatFlow chatFlow, Coordinate coordinate) {
+        return Join.create(chatFlow, coordinate);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.ssafy.flowstudio.domain.user.repository;
+
+import com.ssafy.flowstudio.domain.user.entity.ApiKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ApiKeyRepository extends JpaRepository<ApiKey, Long> {
+
+    // 이전 형식의 키를 새 형식으로 바꾼다. 읽은 뒤 다른 요청이 바꾼 컬럼은 이전 값과 다르므로 그대로 둔다.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE ApiKey a SET
+                a.openAiKey = CASE WHEN a.openAiKey = :legacyOpenAiKey THEN :openAiKey ELSE a.openAiKey END,
+                a.claudeKey = CASE WHEN a.claudeKey = :legacyClaudeKey THEN :claudeKey ELSE a.claudeKey END,
+                a.geminiKey = CASE WHEN a.geminiKey = :legacyGeminiKey THEN :geminiKey ELSE a.geminiKey END,
+                a.clovaKey = CASE WHEN a.clovaKey = :legacyClovaKey THEN :clovaKey ELSE a.clovaKey END
+            WHERE a.id = :apiKeyId
+            """)
+    int migrateLegacyKeys(
+            @Param("apiKeyId") Long apiKeyId,
+            @Param("legacyOpenAiKey") String legacyOpenAiKey, @Param("openAiKey") String openAiKey,
+            @Param("legacyClaudeKey") String legacyClaudeKey, @Param("claudeKey") String claudeKey,
+            @Param("legacyGeminiKey") String legacyGeminiKey, @Param("geminiKey") String geminiKey,
+            @Param("legacyClovaKey") String legacyClovaKey, @Param("clovaKey") String clovaKey
+    );
+}
@@ -1,7 +1,10 @@
 package com.ssafy.flowstudio.publish;
 
+import com.ssafy.flowstudio.api.service.chat.SemanticCacheService;
 import com.ssafy.flowstudio.api.service.chatflow.response.ChatFlowListResponse;
 import com.ssafy.flowstudio.api.service.chatflow.ChatFlowService;
+import com.ssafy.flowstudio.api.service.node.executor.QuestionClassEmbeddingCache;
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlanService;
 import com.ssafy.flowstudio.api.service.user.ApiKeyService;
 import com.ssafy.flowstudio.common.exception.BaseException;
 import com.ssafy.flowstudio.common.exception.ErrorCode;
@@ -31,6 +34,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -57,6 +61,9 @@ public class PublishService {
 
     private final ChatFlowService chatFlowService;
     private final ApiKeyService apiKeyService;
+    private final ExecutionPlanService executionPlanService;
+    private final SemanticCacheService semanticCacheService;
+    private final QuestionClassEmbeddingCache questionClassEmbeddingCache;
 
     @Transactional(transactionManager = "multiTransactionManager")
     public List<ChatFlowListResponse> getPublishChatFlows(User user) {
@@ -115,6 +122,9 @@ public class PublishService {
         publishEdgeRepository.deleteAll(edges);
         publishChatFlowRepository.delete(chatFlow);
 
+        executionPlanService.invalidatePublished(chatFlow.getId());
+        semanticCacheService.invalidate(chatFlow.getId());
+
         return true;
     }
 
@@ -246,6 +256,8 @@ public class PublishService {
         log.info("uuid : {}", chatFlow.getPublishUrl());
 
 
+        // 발행 후 질문 분류 임베딩을 미리 계산할 분류 내용
+        List<String> questionClassContents = new ArrayList<>();
         for (Node node : nodes) {
             // 공통 Node 필드 추가
             em.createNativeQuery(
@@ -278,11 +290,12 @@ public class PublishService {
                 case LLM -> {
                     LLM llmNode = (LLM) node;
                     em.createNativeQuery(
-                                    "INSERT INTO llm (node_id, prompt_system, prompt_user, context, temperature, max_tokens, model_name) " +
-                                            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+                                    "INSERT INTO llm (node_id, prompt_system, prompt_user, context, temperature, max_tokens, model_name, response_cache_enabled, fallback_model_name, hedging_enabled) " +
+                                            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
                                             "ON DUPLICATE KEY UPDATE prompt_system = VALUES(prompt_system), prompt_user = VALUES(prompt_user), " +
                                             "context = VALUES(context), temperature = VALUES(temperature), max_tokens = VALUES(max_tokens), " +
-                                            "model_name = VALUES(model_name)"
+                                            "model_name = VALUES(model_name), response_cache_enabled = VALUES(response_cache_enabled), " +
+                                            "fallback_model_name = VALUES(fallback_model_name), hedging_enabled = VALUES(hedging_enabled)"
                             )
                             .setParameter(1, llmNode.getId())
                             .setParameter(2, llmNode.getPromptSystem())
@@ -291,6 +304,9 @@ public class PublishService {
                             .setParameter(5, llmNode.getTemperature())
                             .setParameter(6, llmNode.getMaxTokens())
                             .setParameter(7, llmNode.getModelName().name())
+                            .setParameter(8, llmNode.isResponseCacheEnabled())
+                            .setParameter(9, llmNode.getFallbackModelName() == null ? null : llmNode.getFallbackModelName().name())
+                            .setParameter(10, llmNode.isHedgingEnabled())
                             .executeUpdate();
                 }
                 case RETRIEVER -> {
@@ -331,10 +347,11 @@ public class PublishService {
                     QuestionClassifier questionClassifierNode = (QuestionClassifier) node;
 
                     em.createNativeQuery(
-                                    "INSERT INTO question_classifier (node_id) VALUES (?) " +
-                                            "ON DUPLICATE KEY UPDATE node_id = VALUES(node_id)"
+                                    "INSERT INTO question_classifier (node_id, speculative_token_budget) VALUES (?, ?) " +
+                                            "ON DUPLICATE KEY UPDATE speculative_token_budget = VALUES(speculative_token_budget)"
                             )
                             .setParameter(1, questionClassifierNode.getId())
+                            .setParameter(2, questionClassifierNode.getSpeculativeTokenBudget())
                             .executeUpdate();
                     // QuestionClass
                     for (QuestionClass questionClass : questionClassifierNode.getQuestionClasses()) {
@@ -347,6 +364,7 @@ public class PublishService {
                                 .setParameter(2, questionClass.getContent())
                                 .setParameter(3, questionClassifierNode.getId())
                                 .executeUpdate();
+                        questionClassContents.add(questionClass.getContent());
                     }
 
                 }
@@ -360,6 +378,14 @@ public class PublishService {
                             .setParameter(2, answerNode.getOutputMessage())
                             .executeUpdate();
                 }
+                case JOIN -> {
+                    em.createNativeQuery(
+                                    "INSERT INTO join_node (node_id) VALUES (?) " +
+                                            "ON DUPLICATE KEY UPDATE node_id = VALUES(node_id)"
+                            )
+                            .setParameter(1, node.getId())
+                            .executeUpdate();
+                }
                 default -> throw new IllegalArgumentException("Unknown node type: " + node.getType());
             }
         }
@@ -384,6 +410,9 @@ public class PublishService {
         em.getTransaction().commit();
         em.close();
 
+        executionPlanService.invalidatePublished(chatFlow.getId());
+        semanticCacheService.invalidate(chatFlow.getId());
+        questionClassEmbeddingCache.warmUp(questionClassContents);
 
         return PublishChatFlowResponse.builder()
                 .chatFlowId(chatFlow.getId())
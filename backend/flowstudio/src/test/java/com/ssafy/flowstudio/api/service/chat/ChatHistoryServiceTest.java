@@ -0,0 +1,160 @@
+package com.ssafy.flowstudio.api.service.chat;
+
+import com.ssafy.flowstudio.domain.chat.entity.Chat;
+import com.ssafy.flowstudio.domain.chat.entity.ChatMessage;
+import com.ssafy.flowstudio.domain.chat.repository.ChatMessageRepository;
+import com.ssafy.flowstudio.domain.chat.repository.ChatRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ChatHistoryServiceTest {
+
+    private final ChatRepository chatRepository = mock(ChatRepository.class);
+    private final ChatMessageRepository chatMessageRepository = mock(ChatMessageRepository.class);
+    private final LegacyChatHistoryMigrator legacyChatHistoryMigrator = new LegacyChatHistoryMigrator(chatRepository, chatMessageRepository);
+    private final ChatHistoryService chatHistoryService = new ChatHistoryService(chatMessageRepository, legacyChatHistoryMigrator);
+
+    @DisplayName("다른 요청이 같은 순번을 먼저 사용했으면 다음 순번으로 다시 추가한다.")
+    @Test
+    void appendRetriesOnSeqConflict() {
+        // given
+        Chat chat = Chat.builder().id(1L).messageList("[]").build();
+        given(chatMessageRepository.findLastSeq(1L)).willReturn(3, 4);
+        given(chatMessageRepository.saveAndFlush(any(ChatMessage.class)))
+                .willThrow(new DataIntegrityViolationException("duplicate"))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        ChatMessage message = chatHistoryService.append(chat, "run-1", 10L, "질문", "답변");
+
+        // then
+        assertThat(message.getSeq()).isEqualTo(5);
+        assertThat(message)
+                .extracting("question", "answer", "runId", "nodeId")
+                .containsExactly("질문", "답변", "run-1", 10L);
+    }
+
+    @DisplayName("before 커서로 이전 메시지를 한 개 더 조회해 남은 메시지가 있는지 확인하고, 오래된 순서로 반환한다.")
+    @Test
+    void getMessagesBefore() {
+        // given
+        Chat chat = Chat.builder().id(1L).messageList("[]").build();
+        given(chatMessageRepository.findByChatIdAndSeqLessThanOrderBySeqDesc(1L, 10, PageRequest.of(0, 3)))
+                .willReturn(List.of(message(chat, 9), message(chat, 8), message(chat, 7)));
+
+        // when
+        ChatHistoryService.MessageSlice slice = chatHistoryService.getMessages(chat, 10, null, 2);
+
+        // then
+        assertThat(slice.messages()).extracting("seq").containsExactly(8, 9);
+        assertThat(slice.hasMore()).isTrue();
+    }
+
+    @DisplayName("after 커서로 이후 메시지를 조회하며, limit보다 적으면 남은 메시지가 없다.")
+    @Test
+    void getMessagesAfter() {
+        // given
+        Chat chat = Chat.builder().id(1L).messageList("[]").build();
+        given(chatMessageRepository.findByChatIdAndSeqGreaterThanOrderBySeqAsc(1L, 10, PageRequest.of(0, 3)))
+                .willReturn(List.of(message(chat, 11)));
+
+        // when
+        ChatHistoryService.MessageSlice slice = chatHistoryService.getMessages(chat, null, 10, 2);
+
+        // then
+        assertThat(slice.messages()).extracting("seq").containsExactly(11);
+        assertThat(slice.hasMore()).isFalse();
+    }
+
+    @DisplayName("이전 방식의 대화 기록은 처음 추가할 때 순서대로 옮기고 기록 컬럼을 비운다.")
+    @Test
+    void migrateLegacyHistory() {
+        // given
+        String legacy = "[{question: 'q1', answer: 'a1'}, {\"question\": \"q2\", \"answer\": \"a2\"}]";
+        Chat chat = Chat.builder().id(1L).messageList(legacy).build();
+        Chat stored = Chat.builder().id(1L).messageList(legacy).build();
+        given(chatRepository.findByIdForUpdate(1L)).willReturn(Optional.of(stored));
+        given(chatMessageRepository.findLastSeq(1L)).willReturn(0, 2);
+        given(chatMessageRepository.saveAndFlush(any(ChatMessage.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        ChatMessage message = chatHistoryService.append(chat, "run-1", 10L, "q3", "a3");
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ChatMessage>> migrated = ArgumentCaptor.forClass(List.class);
+        verify(chatMessageRepository).saveAll(migrated.capture());
+        assertThat(migrated.getValue())
+                .extracting("seq", "question", "answer")
+                .containsExactly(
+                        tuple(1, "q1", "a1"),
+                        tuple(2, "q2", "a2")
+                );
+        assertThat(stored.hasLegacyHistory()).isFalse();
+        assertThat(chat.hasLegacyHistory()).isFalse();
+        assertThat(message.getSeq()).isEqualTo(3);
+    }
+
+    private ChatMessage message(Chat chat, int seq) {
+        return ChatMessage.create(chat, seq, "질문" + seq, "답변" + seq, null, null);
+    }
+
+    @DisplayName("옮긴 뒤에 이전 기록이 다시 쓰였다면 지우지 않고 마지막 메시지 뒤에 옮긴다.")
+    @Test
+    void migrateAfterExistingMessages() {
+        // given
+        Chat stored = Chat.builder().id(1L).messageList("[{\"question\": \"q1\", \"answer\": \"a1\"}]").build();
+        given(chatRepository.findByIdForUpdate(1L)).willReturn(Optional.of(stored));
+        given(chatMessageRepository.findLastSeq(1L)).willReturn(4);
+
+        // when
+        int migrated = legacyChatHistoryMigrator.migrate(1L);
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ChatMessage>> saved = ArgumentCaptor.forClass(List.class);
+        verify(chatMessageRepository).saveAll(saved.capture());
+        assertThat(saved.getValue())
+                .extracting("seq", "question", "answer")
+                .containsExactly(tuple(5, "q1", "a1"));
+        assertThat(migrated).isEqualTo(1);
+        assertThat(stored.hasLegacyHistory()).isFalse();
+    }
+
+    @DisplayName("읽을 수 없는 이전 기록은 원문을 답변 하나로 옮기고 나서 기록 컬럼을 비운다.")
+    @Test
+    void migrateUnparsableHistoryAsRawText() {
+        // given
+        String legacy = "[{question: 'q1', answer: ";
+        Chat stored = Chat.builder().id(1L).messageList(legacy).build();
+        given(chatRepository.findByIdForUpdate(1L)).willReturn(Optional.of(stored));
+        given(chatMessageRepository.findLastSeq(1L)).willReturn(0);
+
+        // when
+        int migrated = legacyChatHistoryMigrator.migrate(1L);
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ChatMessage>> saved = ArgumentCaptor.forClass(List.class);
+        verify(chatMessageRepository).saveAll(saved.capture());
+        assertThat(saved.getValue())
+                .extracting("seq", "question", "answer")
+                .containsExactly(tuple(1, null, legacy));
+        assertThat(migrated).isEqualTo(1);
+        assertThat(stored.hasLegacyHistory()).isFalse();
+    }
+
+}
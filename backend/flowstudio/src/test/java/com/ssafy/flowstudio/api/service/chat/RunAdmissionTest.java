@@ -0,0 +1,167 @@
+package com.ssafy.flowstudio.api.service.chat;
+
+import com.ssafy.flowstudio.api.controller.sse.SseEmitters;
+import com.ssafy.flowstudio.api.service.node.RedisService;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.api.service.node.run.RunCancelReason;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import com.ssafy.flowstudio.common.exception.RateLimitException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class RunAdmissionTest {
+
+    private static final List<RunAdmission.Slot> OWNER = List.of(new RunAdmission.Slot("owner:1", 1, 1));
+
+    @DisplayName("동시 실행 자리가 없으면 대기열에 넣고, 대기열도 가득 차면 다시 시도할 시간과 함께 거절한다.")
+    @Test
+    void queueThenReject() {
+        // given
+        RunAdmission admission = admission();
+        List<String> started = new ArrayList<>();
+
+        // when
+        boolean first = admission.admit(run("first"), OWNER, () -> started.add("first"));
+        boolean second = admission.admit(run("second"), OWNER, () -> started.add("second"));
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(started).isEmpty();
+        assertThatThrownBy(() -> admission.admit(run("third"), OWNER, () -> started.add("third")))
+                .isInstanceOf(RateLimitException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.CHAT_RUN_THROTTLED)
+                .hasFieldOrPropertyWithValue("retryAfterSeconds", 7L);
+    }
+
+    @DisplayName("실행이 끝나 자리를 반납하면 대기 중인 실행이 순서대로 시작된다.")
+    @Test
+    void startWaitingRunOnRelease() {
+        // given
+        RunAdmission admission = admission();
+        List<String> started = new ArrayList<>();
+        ChatRun first = run("first");
+        ChatRun second = run("second");
+        admission.admit(first, OWNER, () -> started.add("first"));
+        admission.admit(second, OWNER, () -> started.add("second"));
+
+        // when
+        admission.release(first);
+
+        // then
+        assertThat(started).containsExactly("second");
+        assertThat(admission.admit(run("third"), OWNER, () -> started.add("third"))).isFalse();
+
+        admission.release(second);
+        assertThat(started).containsExactly("second", "third");
+    }
+
+    @DisplayName("기다리는 동안 중단된 실행은 자리를 차지하지 않고 시작되어 바로 끝난다.")
+    @Test
+    void skipCancelledWaitingRun() {
+        // given
+        RunAdmission admission = admission();
+        List<String> started = new ArrayList<>();
+        ChatRun first = run("first");
+        ChatRun cancelled = run("cancelled");
+        admission.admit(first, OWNER, () -> started.add("first"));
+        admission.admit(cancelled, OWNER, () -> started.add("cancelled"));
+        cancelled.cancel(RunCancelReason.USER);
+
+        // when
+        admission.release(first);
+
+        // then
+        assertThat(started).containsExactly("cancelled");
+        assertThat(admission.admit(run("next"), OWNER, () -> started.add("next"))).isTrue();
+    }
+
+    @DisplayName("대기 중에 중단한 실행은 바로 대기열에서 빠져 중단 이벤트를 보내고, 대기열 자리를 비운다.")
+    @Test
+    void withdrawCancelledWaitingRun() {
+        // given
+        RunAdmission admission = admission();
+        List<String> started = new ArrayList<>();
+        ChatRun cancelled = run("cancelled");
+        admission.admit(run("first"), OWNER, () -> started.add("first"));
+        admission.admit(cancelled, OWNER, () -> started.add("cancelled"));
+
+        // when
+        cancelled.cancel(RunCancelReason.USER);
+        admission.withdraw(cancelled);
+
+        // then
+        assertThat(started).containsExactly("cancelled");
+        assertThat(admission.admit(run("next"), OWNER, () -> started.add("next"))).isFalse();
+    }
+
+    @DisplayName("대기 중에 제한 시간이 지난 실행은 주기적인 확인에서 중단되어 대기열에서 빠진다.")
+    @Test
+    void expireWaitingRunOnRedrain() {
+        // given
+        RunAdmission admission = admission();
+        List<String> started = new ArrayList<>();
+        ChatRun overdue = run("overdue");
+        overdue.startClock(0);
+        admission.admit(run("first"), OWNER, () -> started.add("first"));
+        admission.admit(overdue, OWNER, () -> started.add("overdue"));
+
+        // when
+        admission.redrain();
+
+        // then
+        assertThat(overdue.getCancelReason()).isEqualTo(RunCancelReason.TIMEOUT);
+        assertThat(started).containsExactly("overdue");
+        assertThat(admission.admit(run("next"), OWNER, () -> started.add("next"))).isFalse();
+    }
+
+    @DisplayName("REDIS 모드에서는 다른 인스턴스가 반납한 자리를 주기적으로 확인해 대기 중인 실행을 시작한다.")
+    @Test
+    void startWaitingRunOnRedrainWithRedis() {
+        // given
+        RedisService redisService = mock(RedisService.class);
+        given(redisService.acquireLease(eq("admission:owner:1"), eq("waiting"), anyLong())).willReturn(1L, 0L);
+        RunAdmission admission = admission(redisService, FlowExecutionProperties.AdmissionMode.REDIS);
+        List<String> started = new ArrayList<>();
+        admission.admit(run("waiting"), OWNER, () -> started.add("waiting"));
+
+        // when
+        admission.redrain();
+
+        // then
+        assertThat(started).containsExactly("waiting");
+    }
+
+    private RunAdmission admission() {
+        return admission(mock(RedisService.class), FlowExecutionProperties.AdmissionMode.LOCAL);
+    }
+
+    private RunAdmission admission(RedisService redisService, FlowExecutionProperties.AdmissionMode mode) {
+        FlowExecutionProperties properties = new FlowExecutionProperties();
+        properties.setAdmissionRetryAfterSeconds(7);
+        properties.setAdmissionMode(mode);
+        return new RunAdmission(properties, redisService, mock(SseEmitters.class), new SimpleMeterRegistry());
+    }
+
+    private ChatRun run(String runId) {
+        return ChatRun.builder()
+                .runId(runId)
+                .chatId(1L)
+                .userId(1L)
+                .message("message")
+                .build();
+    }
+
+}
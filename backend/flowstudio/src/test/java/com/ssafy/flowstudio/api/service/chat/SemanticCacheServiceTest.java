@@ -0,0 +1,68 @@
+package com.ssafy.flowstudio.api.service.chat;
+
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlan;
+import com.ssafy.flowstudio.api.service.node.run.RunAnswer;
+import com.ssafy.flowstudio.api.service.rag.EmbeddingService;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class SemanticCacheServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SemanticCacheService semanticCacheService = new SemanticCacheService(mock(EmbeddingService.class), new FlowExecutionProperties(), meterRegistry);
+
+    @DisplayName("유사도가 기준 이상인 이전 질문의 답변을 반환한다.")
+    @Test
+    void lookup() {
+        // given
+        ExecutionPlan plan = plan(1L, 1L);
+        List<RunAnswer> answers = List.of(new RunAnswer(3, "answer"));
+        semanticCacheService.store(plan, new float[]{1f, 0f}, answers, 1_000_000L);
+
+        // when & then
+        assertThat(semanticCacheService.lookup(plan, new float[]{0.99f, 0.1f})).isEqualTo(answers);
+        assertThat(semanticCacheService.lookup(plan, new float[]{0f, 1f})).isNull();
+        assertThat(meterRegistry.counter("flow.semantic.cache", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("flow.semantic.cache", "result", "miss").count()).isEqualTo(1);
+    }
+
+    @DisplayName("다시 발행된 챗플로우에서는 이전 버전의 답변을 사용하지 않는다.")
+    @Test
+    void ignoreOtherVersion() {
+        // given
+        semanticCacheService.store(plan(1L, 1L), new float[]{1f, 0f}, List.of(new RunAnswer(3, "answer")), 0L);
+
+        // when & then
+        assertThat(semanticCacheService.lookup(plan(1L, 2L), new float[]{1f, 0f})).isNull();
+    }
+
+    @DisplayName("발행 시 챗플로우의 캐시를 비운다.")
+    @Test
+    void invalidate() {
+        // given
+        ExecutionPlan plan = plan(1L, 1L);
+        semanticCacheService.store(plan, new float[]{1f, 0f}, List.of(new RunAnswer(3, "answer")), 0L);
+
+        // when
+        semanticCacheService.invalidate(1L);
+
+        // then
+        assertThat(semanticCacheService.lookup(plan, new float[]{1f, 0f})).isNull();
+    }
+
+    private ExecutionPlan plan(Long chatFlowId, long version) {
+        ExecutionPlan plan = mock(ExecutionPlan.class);
+        given(plan.getChatFlowId()).willReturn(chatFlowId);
+        given(plan.getVersion()).willReturn(version);
+        return plan;
+    }
+
+}
@@ -272,6 +272,62 @@ class EdgeServiceTest extends IntegrationTestSupport {
                 .hasMessageContaining(ErrorCode.MULTIPLE_EDGE_FORBIDDEN.getMessage());
     }
 
+    @DisplayName("여러 갈래로 나눈 간선들을 Join 노드로 다시 모을 수 있다.")
+    @Test
+    void createFanOutAndJoinEdges() {
+        // given
+        User user = User.builder()
+                .username("test")
+                .apiKey(ApiKey.empty())
+                .build();
+
+        ChatFlow chatFlow = ChatFlow.builder()
+                .author(user)
+                .owner(user)
+                .title("test")
+                .build();
+
+        Coordinate coordinate = Coordinate.builder()
+                .x(1)
+                .y(1)
+                .build();
+
+        Start start = Start.create(chatFlow, coordinate);
+        LLM llm = LLM.create(chatFlow, coordinate);
+        Retriever retriever = Retriever.create(chatFlow, coordinate, 1, 3, 0.5f);
+        Join join = Join.create(chatFlow, coordinate);
+
+        userRepository.save(user);
+        chatFlowRepository.save(chatFlow);
+        nodeRepository.saveAll(List.of(start, llm, retriever, join));
+
+        edgeService.create(user, chatFlow.getId(), edgeRequest(start, llm));
+        entityManager.flush();
+        entityManager.clear();
+        edgeService.create(user, chatFlow.getId(), edgeRequest(start, retriever));
+        entityManager.flush();
+        entityManager.clear();
+        edgeService.create(user, chatFlow.getId(), edgeRequest(llm, join));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        EdgeResponse edgeResponse = edgeService.create(user, chatFlow.getId(), edgeRequest(retriever, join));
+
+        // then
+        assertThat(edgeResponse).isNotNull()
+                .extracting("sourceNodeId", "targetNodeId")
+                .containsExactly(retriever.getId(), join.getId());
+    }
+
+    private EdgeServiceRequest edgeRequest(Node sourceNode, Node targetNode) {
+        return EdgeServiceRequest.builder()
+                .sourceNodeId(sourceNode.getId())
+                .targetNodeId(targetNode.getId())
+                .sourceConditionId(0L)
+                .build();
+    }
+
     @DisplayName("질문분류기에 질문 분류 갯수 이상의 간선을 연결하면 예외가 발생한다.")
     @Test
     void createMultipleEdgesToQuestionClassifier() {
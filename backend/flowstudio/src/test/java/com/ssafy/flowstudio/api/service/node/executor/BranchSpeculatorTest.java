@@ -0,0 +1,97 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.api.service.node.run.Speculation;
+import com.ssafy.flowstudio.api.service.rag.VectorStoreService;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import com.ssafy.flowstudio.common.util.TokenizerService;
+import com.ssafy.flowstudio.domain.node.entity.Coordinate;
+import com.ssafy.flowstudio.domain.node.entity.LLM;
+import com.ssafy.flowstudio.domain.user.entity.TokenUsageLogRepository;
+import com.ssafy.flowstudio.domain.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class BranchSpeculatorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BranchSpeculator branchSpeculator = new BranchSpeculator(
+            mock(ChatModelFactory.class),
+            mock(VectorStoreService.class),
+            mock(TokenUsageLogRepository.class),
+            mock(UserRepository.class),
+            new SyncTaskExecutor(),
+            new FlowExecutionProperties(),
+            meterRegistry,
+            new ModelCallMetrics(meterRegistry),
+            new LlmRateLimiter(new FlowExecutionProperties(), meterRegistry, new TokenizerService()),
+            new ModelCircuitBreaker(new FlowExecutionProperties(), meterRegistry)
+    );
+
+    private final PlanNode node = PlanNode.of(1, LLM.builder()
+            .id(10L)
+            .coordinate(Coordinate.builder().x(1).y(1).build())
+            .build());
+
+    @DisplayName("같은 입력으로 미리 실행한 결과는 한 번만 사용한다.")
+    @Test
+    void take() {
+        // given
+        ChatRun run = ChatRun.builder().build();
+        Speculation speculation = new Speculation(node.getIndex(), BranchSpeculator.fingerprint(null, "질문"), () -> "답변");
+        speculation.getTask().run();
+        run.addSpeculation(speculation);
+
+        // when
+        Optional<String> first = branchSpeculator.take(node, run, BranchSpeculator.fingerprint(null, "질문"));
+        Optional<String> second = branchSpeculator.take(node, run, BranchSpeculator.fingerprint(null, "질문"));
+
+        // then
+        assertThat(first).contains("답변");
+        assertThat(second).isEmpty();
+        assertThat(meterRegistry.counter("flow.speculation", "outcome", "used").count()).isEqualTo(1);
+    }
+
+    @DisplayName("미리 실행할 때와 입력이 달라졌다면 결과를 버린다.")
+    @Test
+    void takeMismatch() {
+        // given
+        ChatRun run = ChatRun.builder().build();
+        Speculation speculation = new Speculation(node.getIndex(), BranchSpeculator.fingerprint(null, "질문"), () -> "답변");
+        run.addSpeculation(speculation);
+
+        // when
+        Optional<String> result = branchSpeculator.take(node, run, BranchSpeculator.fingerprint("시스템", "질문"));
+
+        // then
+        assertThat(result).isEmpty();
+        assertThat(speculation.getTask().isCancelled()).isTrue();
+        assertThat(meterRegistry.counter("flow.speculation", "outcome", "mismatch").count()).isEqualTo(1);
+    }
+
+    @DisplayName("토큰 예산을 넘는 예약은 거절한다.")
+    @Test
+    void reserveSpeculativeTokens() {
+        // given
+        ChatRun run = ChatRun.builder().build();
+
+        // when
+        boolean first = run.reserveSpeculativeTokens(600, 1000);
+        boolean second = run.reserveSpeculativeTokens(600, 1000);
+        boolean third = run.reserveSpeculativeTokens(400, 1000);
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(third).isTrue();
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import com.ssafy.flowstudio.domain.node.entity.ModelProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatModelCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @DisplayName("같은 제공자, API 키, 모델 설정이면 생성한 모델을 재사용한다.")
+    @Test
+    void reuseModel() {
+        // given
+        ChatModelCache cache = new ChatModelCache(new FlowExecutionProperties(), meterRegistry);
+        ChatModelCache.Key key = ChatModelCache.key(ModelProvider.OPENAI, "api-key", "gpt-4o", 0.7, 512, false);
+
+        // when
+        Object first = cache.get(key, Object::new);
+        Object second = cache.get(ChatModelCache.key(ModelProvider.OPENAI, "api-key", "gpt-4o", 0.7, 512, false), Object::new);
+        Object other = cache.get(ChatModelCache.key(ModelProvider.OPENAI, "other-key", "gpt-4o", 0.7, 512, false), Object::new);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(key.apiKeyHash()).doesNotContain("api-key");
+        assertThat(meterRegistry.counter("flow.llm.model.cache", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("flow.llm.model.cache", "result", "miss").count()).isEqualTo(2);
+    }
+
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용하지 않은 모델을 제거한다.")
+    @Test
+    void evictLeastRecentlyUsed() {
+        // given
+        FlowExecutionProperties properties = new FlowExecutionProperties();
+        properties.setModelCacheMaxSize(1);
+        ChatModelCache cache = new ChatModelCache(properties, meterRegistry);
+
+        ChatModelCache.Key firstKey = ChatModelCache.key(ModelProvider.OPENAI, "api-key", "gpt-4o", null, null, false);
+        ChatModelCache.Key secondKey = ChatModelCache.key(ModelProvider.ANTHROPIC, "api-key", "claude", null, null, false);
+
+        // when
+        Object first = cache.get(firstKey, Object::new);
+        cache.get(secondKey, Object::new);
+
+        // then
+        assertThat(cache.get(firstKey, Object::new)).isNotSameAs(first);
+        assertThat(meterRegistry.counter("flow.llm.model.cache.evictions").count()).isGreaterThanOrEqualTo(1);
+    }
+
+}
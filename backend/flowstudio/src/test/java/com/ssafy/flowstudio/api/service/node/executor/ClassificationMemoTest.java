@@ -0,0 +1,88 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.api.service.node.RedisService;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ClassificationMemoTest {
+
+    private final RedisService redisService = mock(RedisService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ClassificationMemo memo = new ClassificationMemo(redisService, new FlowExecutionProperties(), meterRegistry);
+
+    @DisplayName("공백, 대소문자, 전각 문자만 다른 질문은 같은 키를 사용한다.")
+    @Test
+    void keyNormalizesInput() {
+        // when
+        String key = ClassificationMemo.key(1L, "v1", "  What is   ＡＩ?\n");
+        String sameKey = ClassificationMemo.key(1L, "v1", "what is ai?");
+        String otherVersionKey = ClassificationMemo.key(1L, "v2", "what is ai?");
+
+        // then
+        assertThat(key).isEqualTo(sameKey)
+                .isNotEqualTo(otherVersionKey)
+                .startsWith("1:v1:");
+    }
+
+    @DisplayName("저장한 분류 결과는 Redis를 조회하지 않고 인스턴스 메모리에서 반환한다.")
+    @Test
+    void getFromLocal() {
+        // given
+        String key = ClassificationMemo.key(1L, "v1", "질문");
+        memo.put(key, 10L);
+
+        // when
+        Long questionClassId = memo.get(key);
+
+        // then
+        assertThat(questionClassId).isEqualTo(10L);
+        verify(redisService).save("classifier:memo:" + key, "10", 1440, TimeUnit.MINUTES);
+        verify(redisService, never()).get(anyString());
+        assertThat(meterRegistry.counter("flow.classifier.memo", "result", "hit", "tier", "local").count()).isEqualTo(1);
+    }
+
+    @DisplayName("질문 분류가 수정되면 해당 분류기의 메모만 비우고 Redis를 다시 확인한다.")
+    @Test
+    void invalidate() {
+        // given
+        String key = ClassificationMemo.key(1L, "v1", "질문");
+        String otherKey = ClassificationMemo.key(2L, "v1", "질문");
+        memo.put(key, 10L);
+        memo.put(otherKey, 20L);
+
+        // when
+        memo.invalidate(1L);
+
+        // then
+        assertThat(memo.get(key)).isNull();
+        assertThat(memo.get(otherKey)).isEqualTo(20L);
+        verify(redisService).get("classifier:memo:" + key);
+    }
+
+    @DisplayName("인스턴스 메모리에 없으면 Redis의 분류 결과를 사용한다.")
+    @Test
+    void getFromRedis() {
+        // given
+        String key = ClassificationMemo.key(1L, "v1", "질문");
+        given(redisService.get("classifier:memo:" + key)).willReturn("10");
+
+        // when
+        Long questionClassId = memo.get(key);
+
+        // then
+        assertThat(questionClassId).isEqualTo(10L);
+        assertThat(meterRegistry.counter("flow.classifier.memo", "result", "hit", "tier", "redis").count()).isEqualTo(1);
+    }
+
+}
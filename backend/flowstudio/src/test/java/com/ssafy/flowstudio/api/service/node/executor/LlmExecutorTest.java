@@ -1,5 +1,8 @@
 package com.ssafy.flowstudio.api.service.node.executor;
 
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlan;
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlanCompiler;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
 import com.ssafy.flowstudio.domain.chat.entity.Chat;
 import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
 import com.ssafy.flowstudio.domain.chatflow.repository.ChatFlowRepository;
@@ -27,6 +30,9 @@ class LlmExecutorTest extends IntegrationTestSupport {
     @Autowired
     private ChatFlowRepository chatFlowRepository;
 
+    @Autowired
+    private ExecutionPlanCompiler executionPlanCompiler;
+
     @DisplayName("LLM 노드 실행")
     @Test
     void execute() {
@@ -88,8 +94,14 @@ class LlmExecutorTest extends IntegrationTestSupport {
         userRepository.save(user);
         chatFlowRepository.save(chatFlow);
 
+        // 실행 계획에만 포함시키기 위해 저장 이후에 노드를 추가한다.
+        chatFlow.addNode(llmNode);
+        ExecutionPlan plan = executionPlanCompiler.compile(chatFlow, false, 0L);
+        ChatRun run = ChatRun.of(chat, promptUser);
+        run.attach(chat, plan);
+
         // when
-        llmExecutor.execute(llmNode, chat);
+        llmExecutor.execute(plan.getNode(0), run);
 
         // then
 
@@ -0,0 +1,134 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import com.ssafy.flowstudio.common.exception.RateLimitException;
+import com.ssafy.flowstudio.common.util.TokenizerService;
+import com.ssafy.flowstudio.domain.node.entity.ModelName;
+import dev.ai4j.openai4j.OpenAiHttpException;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmRateLimiterTest {
+
+    private final List<ChatMessage> messages = List.of(new UserMessage("안녕하세요"));
+    private final Response<AiMessage> response = Response.from(AiMessage.from("반갑습니다"), new TokenUsage(10, 5));
+
+    @DisplayName("분당 요청 수를 다 쓰면 기다릴 수 있는 시간 안에서만 예약하고, 넘으면 예약하지 않는다.")
+    @Test
+    void reserveWithinMaxWait() {
+        // given
+        LlmRateLimiter.Limit limit = new LlmRateLimiter.Limit(60, 100000);
+        long now = System.nanoTime();
+        for (int i = 0; i < 60; i++) {
+            limit.reserve(10, now, 0);
+        }
+
+        // when
+        long shed = limit.reserve(10, now, 0);
+        long waited = limit.reserve(10, now, TimeUnit.SECONDS.toNanos(2));
+
+        // then
+        assertThat(shed).isNegative();
+        assertThat(waited).isBetween(TimeUnit.MILLISECONDS.toNanos(900), TimeUnit.MILLISECONDS.toNanos(1100));
+    }
+
+    @DisplayName("429를 받으면 알려준 시간만큼 기다린 뒤 다시 호출한다.")
+    @Test
+    void retryAfterProviderRateLimit() {
+        // given
+        LlmRateLimiter limiter = limiter(2);
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        Response<AiMessage> result = limiter.call(ChatRun.builder().build(), ModelName.GPT_4_O_MINI, "key", messages, 100, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new OpenAiHttpException(429, "Rate limit reached. Please try again in 20ms.");
+            }
+            return response;
+        });
+
+        // then
+        assertThat(result).isSameAs(response);
+        assertThat(calls).hasValue(2);
+    }
+
+    @DisplayName("429를 받은 호출이 예약한 토큰은 돌려주고, 성공한 호출의 실제 사용량만 토큰 버킷에서 뺀다.")
+    @Test
+    void refundReservedTokensOnProviderRateLimit() {
+        // given
+        LlmRateLimiter limiter = limiter(2);
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        limiter.call(ChatRun.builder().build(), ModelName.GPT_4_O_MINI, "key", messages, 1000, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new OpenAiHttpException(429, "Rate limit reached. Please try again in 20ms.");
+            }
+            return response;
+        });
+
+        // then
+        double tokens = limiter.limit(ModelName.GPT_4_O_MINI, "key").availableTokens(System.nanoTime());
+        assertThat(calls).hasValue(2);
+        assertThat(tokens).isGreaterThan(10000 - 15 - 100);
+    }
+
+    @DisplayName("재시도 후에도 429를 받으면 다시 시도할 시간과 함께 요청 한도 오류로 실패한다.")
+    @Test
+    void giveUpAfterMaxRetries() {
+        // given
+        LlmRateLimiter limiter = limiter(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        // when // then
+        assertThatThrownBy(() -> limiter.call(ChatRun.builder().build(), ModelName.GPT_4_O_MINI, "key", messages, 100, () -> {
+            calls.incrementAndGet();
+            throw new OpenAiHttpException(429, "Rate limit reached. Please try again in 10ms.");
+        }))
+                .isInstanceOf(RateLimitException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.AI_RATE_LIMITED);
+        assertThat(calls).hasValue(2);
+    }
+
+    @DisplayName("요청 한도 외의 제공자 오류는 재시도하지 않고, 인증 오류만 API 키 오류로 바꾼다.")
+    @Test
+    void translateProviderError() {
+        // given
+        LlmRateLimiter limiter = limiter(2);
+        AtomicInteger calls = new AtomicInteger();
+
+        // when // then
+        assertThatThrownBy(() -> limiter.call(ChatRun.builder().build(), ModelName.GPT_4_O_MINI, "key", messages, 100, () -> {
+            calls.incrementAndGet();
+            throw new OpenAiHttpException(401, "Incorrect API key provided");
+        }))
+                .isInstanceOf(OpenAiHttpException.class);
+        assertThat(calls).hasValue(1);
+        assertThat(ProviderErrors.translate(new OpenAiHttpException(401, "")).getErrorCode()).isEqualTo(ErrorCode.API_KEY_INVALID);
+        assertThat(ProviderErrors.translate(new OpenAiHttpException(500, "")).getErrorCode()).isEqualTo(ErrorCode.AI_PROVIDER_ERROR);
+        assertThat(ProviderErrors.retryAfterMillis(new OpenAiHttpException(429, "Please try again in 1.5s."))).isEqualTo(1500);
+    }
+
+    private LlmRateLimiter limiter(int maxRetries) {
+        FlowExecutionProperties properties = new FlowExecutionProperties();
+        properties.setLlmMaxRetries(maxRetries);
+        properties.setOpenAiTokensPerMinute(10000);
+        return new LlmRateLimiter(properties, new SimpleMeterRegistry(), new TokenizerService());
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.api.service.node.RedisService;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class LlmResponseCacheTest {
+
+    private final RedisService redisService = mock(RedisService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LlmResponseCache cache = new LlmResponseCache(redisService, new FlowExecutionProperties(), meterRegistry);
+
+    @DisplayName("저장한 응답은 Redis를 조회하지 않고 인스턴스 메모리에서 반환한다.")
+    @Test
+    void getFromLocal() {
+        // given
+        String key = LlmResponseCache.key(1L, "gpt-4o-mini", 0.0, 512, "system", "user");
+        cache.put(key, "answer");
+
+        // when
+        String response = cache.get(key);
+
+        // then
+        assertThat(response).isEqualTo("answer");
+        verify(redisService).save("llm:response:" + key, "answer", 60, TimeUnit.MINUTES);
+        verify(redisService, never()).get(anyString());
+        assertThat(meterRegistry.counter("flow.llm.response.cache", "result", "hit", "tier", "local").count()).isEqualTo(1);
+    }
+
+    @DisplayName("인스턴스 메모리에 없으면 Redis에서 조회한다.")
+    @Test
+    void getFromRedis() {
+        // given
+        String key = LlmResponseCache.key(1L, "gpt-4o-mini", 0.0, 512, null, "user");
+        given(redisService.get("llm:response:" + key)).willReturn("answer");
+
+        // when & then
+        assertThat(cache.get(key)).isEqualTo("answer");
+        assertThat(cache.get("unknown")).isNull();
+        assertThat(meterRegistry.counter("flow.llm.response.cache", "result", "hit", "tier", "redis").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("flow.llm.response.cache", "result", "miss", "tier", "none").count()).isEqualTo(1);
+    }
+
+    @DisplayName("프롬프트나 모델 설정이 다르면 다른 키를 만든다.")
+    @Test
+    void key() {
+        // when
+        String key = LlmResponseCache.key(1L, "gpt-4o-mini", 0.0, 512, "system", "user");
+
+        // then
+        assertThat(LlmResponseCache.key(1L, "gpt-4o-mini", 0.0, 512, "system", "user")).isEqualTo(key);
+        assertThat(LlmResponseCache.key(1L, "gpt-4o-mini", 0.0, 512, "systemuser", "")).isNotEqualTo(key);
+        assertThat(LlmResponseCache.key(1L, "gpt-4o-mini", 0.5, 512, "system", "user")).isNotEqualTo(key);
+        assertThat(LlmResponseCache.key(2L, "gpt-4o-mini", 0.0, 512, "system", "user")).isNotEqualTo(key);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalTitleExtractorTest {
+
+    private final LocalTitleExtractor localTitleExtractor = new LocalTitleExtractor();
+
+    @DisplayName("질문에서 추출한 명사구로 제목 길이를 넘지 않는 제목을 만든다.")
+    @Test
+    void extractPhrase() {
+        // given
+        String question = "서울 강남역 근처 맛집 추천해줘";
+
+        // when
+        String title = localTitleExtractor.extract(question, 10);
+
+        // then
+        assertThat(title).isNotBlank();
+        assertThat(title.codePointCount(0, title.length())).isLessThanOrEqualTo(10);
+        assertThat(question).contains(title.split(" ")[0]);
+    }
+
+    @DisplayName("명사가 없는 질문은 앞부분을 잘라 제목으로 사용한다.")
+    @Test
+    void truncateWithoutNouns() {
+        // when
+        String title = localTitleExtractor.extract("!!!!!!!!!!!!!!!!!!!!!!!!", 5);
+
+        // then
+        assertThat(title).isEqualTo("!!!!…");
+    }
+
+    @DisplayName("빈 질문이면 기본 제목을 사용한다.")
+    @Test
+    void defaultTitle() {
+        // when
+        String title = localTitleExtractor.extract("   ", 10);
+
+        // then
+        assertThat(title).isEqualTo(LocalTitleExtractor.DEFAULT_TITLE);
+    }
+
+}
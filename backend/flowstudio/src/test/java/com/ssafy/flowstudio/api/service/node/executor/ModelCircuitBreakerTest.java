@@ -0,0 +1,103 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import com.ssafy.flowstudio.domain.node.entity.ModelName;
+import dev.ai4j.openai4j.OpenAiHttpException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ModelCircuitBreakerTest {
+
+    private static final ModelName MODEL = ModelName.GPT_4_O_MINI;
+
+    @DisplayName("최근 호출의 실패율이 기준을 넘으면 서킷이 열려 호출하지 않는다.")
+    @Test
+    void openOnFailureRate() {
+        // given
+        ModelCircuitBreaker breaker = breaker(30);
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            breaker.tryAcquire(MODEL);
+            breaker.onError(MODEL, new OpenAiHttpException(503, "overloaded"));
+        }
+
+        // then
+        assertThat(breaker.getState(MODEL)).isEqualTo(ModelCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire(MODEL)).isFalse();
+        assertThat(breaker.tryAcquire(ModelName.CLAUDE_3_5_HAIKU)).isTrue();
+    }
+
+    @DisplayName("요청 한도 초과, 인증 오류, 실행 중단은 제공자 장애로 세지 않는다.")
+    @Test
+    void ignoreCallerErrors() {
+        // given
+        ModelCircuitBreaker breaker = breaker(30);
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            breaker.tryAcquire(MODEL);
+            breaker.onError(MODEL, new OpenAiHttpException(429, "Rate limit reached"));
+            breaker.onError(MODEL, new OpenAiHttpException(401, "Incorrect API key"));
+            breaker.onError(MODEL, new BaseException(ErrorCode.CHAT_RUN_CANCELLED));
+        }
+
+        // then
+        assertThat(breaker.getState(MODEL)).isEqualTo(ModelCircuitBreaker.State.CLOSED);
+    }
+
+    @DisplayName("열린 시간이 지나면 시험 호출 한 번만 허용하고, 성공하면 서킷이 닫힌다.")
+    @Test
+    void closeAfterSuccessfulTrial() {
+        // given
+        ModelCircuitBreaker breaker = breaker(0);
+        for (int i = 0; i < 4; i++) {
+            breaker.tryAcquire(MODEL);
+            breaker.onFailure(MODEL);
+        }
+
+        // when
+        boolean trial = breaker.tryAcquire(MODEL);
+        boolean concurrent = breaker.tryAcquire(MODEL);
+        breaker.onSuccess(MODEL, TimeUnit.MILLISECONDS.toNanos(100));
+
+        // then
+        assertThat(trial).isTrue();
+        assertThat(concurrent).isFalse();
+        assertThat(breaker.getState(MODEL)).isEqualTo(ModelCircuitBreaker.State.CLOSED);
+    }
+
+    @DisplayName("헤징 지연 시간은 성공한 호출의 첫 토큰 시간 p95이며, 표본이 부족하면 기본값을 사용한다.")
+    @Test
+    void hedgeDelayFromFirstTokenP95() {
+        // given
+        ModelCircuitBreaker breaker = breaker(30);
+        long defaultDelay = breaker.hedgeDelayMillis(MODEL);
+
+        // when
+        for (int i = 1; i <= 100; i++) {
+            breaker.tryAcquire(MODEL);
+            breaker.onSuccess(MODEL, TimeUnit.MILLISECONDS.toNanos(i * 10L));
+        }
+
+        // then
+        assertThat(defaultDelay).isEqualTo(2000);
+        assertThat(breaker.hedgeDelayMillis(MODEL)).isEqualTo(950);
+    }
+
+    private ModelCircuitBreaker breaker(long openSeconds) {
+        FlowExecutionProperties properties = new FlowExecutionProperties();
+        properties.setCircuitWindowSize(4);
+        properties.setCircuitMinimumCalls(4);
+        properties.setCircuitOpenSeconds(openSeconds);
+        return new ModelCircuitBreaker(properties, new SimpleMeterRegistry());
+    }
+
+}
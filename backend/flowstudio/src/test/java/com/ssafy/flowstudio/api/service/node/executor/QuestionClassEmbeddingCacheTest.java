@@ -0,0 +1,74 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.api.service.node.plan.PlanQuestionClass;
+import com.ssafy.flowstudio.api.service.rag.EmbeddingService;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import com.ssafy.flowstudio.domain.node.entity.QuestionClass;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class QuestionClassEmbeddingCacheTest {
+
+    private final EmbeddingService embeddingService = mock(EmbeddingService.class);
+    private final QuestionClassEmbeddingCache cache = new QuestionClassEmbeddingCache(embeddingService, new FlowExecutionProperties());
+
+    private final PlanQuestionClass korea = PlanQuestionClass.of(QuestionClass.builder().content("한국").build(), new int[]{1});
+    private final PlanQuestionClass japan = PlanQuestionClass.of(QuestionClass.builder().content("일본").build(), new int[]{2});
+
+    @DisplayName("입력 메시지와 임베딩이 가장 가까운 분류를 선택하고, 분류 임베딩은 한 번만 계산한다.")
+    @Test
+    void classify() {
+        // given
+        given(embeddingService.embed("한국")).willReturn(new float[]{1, 0});
+        given(embeddingService.embed("일본")).willReturn(new float[]{0, 1});
+        given(embeddingService.embed("서울은 어떤 곳인가요?")).willReturn(new float[]{0.9f, 0.1f});
+
+        // when
+        Optional<PlanQuestionClass> first = cache.classify(List.of(korea, japan), "서울은 어떤 곳인가요?");
+        Optional<PlanQuestionClass> second = cache.classify(List.of(korea, japan), "서울은 어떤 곳인가요?");
+
+        // then
+        assertThat(first).contains(korea);
+        assertThat(second).contains(korea);
+        verify(embeddingService, times(1)).embed("한국");
+        verify(embeddingService, times(1)).embed("일본");
+    }
+
+    @DisplayName("1, 2순위 분류의 유사도 차이가 기준보다 작으면 분류하지 않는다.")
+    @Test
+    void classifyAmbiguous() {
+        // given
+        given(embeddingService.embed("한국")).willReturn(new float[]{1, 0});
+        given(embeddingService.embed("일본")).willReturn(new float[]{0, 1});
+        given(embeddingService.embed("동아시아")).willReturn(new float[]{0.7071f, 0.7071f});
+
+        // when
+        Optional<PlanQuestionClass> result = cache.classify(List.of(korea, japan), "동아시아");
+
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    @DisplayName("임베딩에 실패하면 분류하지 않는다.")
+    @Test
+    void classifyEmbeddingFailed() {
+        // given
+        given(embeddingService.embed("서울")).willThrow(new IllegalStateException("milvus unavailable"));
+
+        // when
+        Optional<PlanQuestionClass> result = cache.classify(List.of(korea, japan), "서울");
+
+        // then
+        assertThat(result).isEmpty();
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.ssafy.flowstudio.api.service.node.executor;
+
+import com.ssafy.flowstudio.api.controller.sse.SseEmitters;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.run.ChatRun;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.output.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TokenStreamHandlerTest {
+
+    private final SseEmitters sseEmitters = mock(SseEmitters.class);
+    private final PlanNode node = mock(PlanNode.class);
+    private final ChatRun run = ChatRun.builder()
+            .runId("run")
+            .chatId(1L)
+            .userId(1L)
+            .build();
+
+    @DisplayName("첫 토큰은 바로 전송하고 이후 작은 토큰은 묶어서 전송한다.")
+    @Test
+    void coalesceTokens() {
+        // given
+        TokenStreamHandler handler = new TokenStreamHandler(sseEmitters, run, node, 4, 60_000);
+
+        // when
+        handler.onNext("안");
+        handler.onNext("녕");
+        handler.onNext("하");
+        handler.onNext("세");
+        handler.onNext("요");
+        handler.onComplete(Response.from(AiMessage.from("안녕하세요")));
+
+        // then
+        verify(sseEmitters).sendToken(run, node, 0, "안");
+        verify(sseEmitters).sendToken(run, node, 1, "녕하세요");
+        verify(sseEmitters, times(2)).sendToken(any(), any(), anyInt(), anyString());
+        assertThat(handler.getResult()).isCompleted();
+    }
+
+    @DisplayName("남은 토큰은 스트림이 끝날 때 전송한다.")
+    @Test
+    void flushOnComplete() {
+        // given
+        TokenStreamHandler handler = new TokenStreamHandler(sseEmitters, run, node, 100, 60_000);
+
+        // when
+        handler.onNext("a");
+        handler.onNext("b");
+        handler.onNext("c");
+        handler.onComplete(Response.from(AiMessage.from("abc")));
+
+        // then
+        verify(sseEmitters).sendToken(run, node, 0, "a");
+        verify(sseEmitters).sendToken(run, node, 1, "bc");
+    }
+
+    @DisplayName("SSE 전송에 실패해도 스트림 결과는 끝까지 받는다.")
+    @Test
+    void keepStreamingWhenDetached() throws Exception {
+        // given
+        TokenStreamHandler handler = new TokenStreamHandler(sseEmitters, run, node, 1, 60_000);
+        doThrow(new RuntimeException("closed")).when(sseEmitters).sendToken(any(), any(), eq(0), anyString());
+
+        // when
+        handler.onNext("a");
+        handler.onNext("b");
+        handler.onComplete(Response.from(AiMessage.from("ab")));
+
+        // then
+        verify(sseEmitters, times(1)).sendToken(any(), any(), anyInt(), anyString());
+        assertThat(handler.getResult().get().content().text()).isEqualTo("ab");
+    }
+
+}
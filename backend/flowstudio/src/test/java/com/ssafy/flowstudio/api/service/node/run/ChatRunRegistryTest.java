@@ -0,0 +1,81 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatRunRegistryTest {
+
+    @DisplayName("실행 제한 시간이 지난 run은 TIMEOUT 사유로 중단된다.")
+    @Test
+    void expireOverdueRun() {
+        // given
+        ChatRunRegistry registry = registry(0);
+        ChatRun run = run("overdue");
+        registry.register(run);
+
+        // when
+        registry.expireOverdueRuns();
+
+        // then
+        assertThat(run.isCancelled()).isTrue();
+        assertThat(run.getCancelReason()).isEqualTo(RunCancelReason.TIMEOUT);
+    }
+
+    @DisplayName("실행 제한 시간이 남은 run은 중단되지 않고, 노드 제한 시간은 남은 시간을 넘지 않는다.")
+    @Test
+    void keepRunWithinDeadline() {
+        // given
+        ChatRunRegistry registry = registry(30);
+        ChatRun run = run("running");
+        registry.register(run);
+
+        // when
+        registry.expireOverdueRuns();
+
+        // then
+        assertThat(run.isCancelled()).isFalse();
+        assertThat(run.timeoutMillis(TimeUnit.SECONDS.toMillis(60))).isLessThanOrEqualTo(TimeUnit.SECONDS.toMillis(30));
+        assertThat(run.timeoutMillis(1000)).isEqualTo(1000);
+    }
+
+    @DisplayName("처음 중단한 사유만 기록되고, 등록을 해제한 run은 찾을 수 없다.")
+    @Test
+    void cancelOnce() {
+        // given
+        ChatRunRegistry registry = registry(30);
+        ChatRun run = run("cancelled");
+        registry.register(run);
+
+        // when
+        boolean first = registry.find("cancelled").orElseThrow().cancel(RunCancelReason.USER);
+        boolean second = run.cancel(RunCancelReason.TIMEOUT);
+        registry.unregister(run);
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(run.getCancelReason()).isEqualTo(RunCancelReason.USER);
+        assertThat(registry.find("cancelled")).isEmpty();
+    }
+
+    private ChatRunRegistry registry(long runTimeoutSeconds) {
+        FlowExecutionProperties properties = new FlowExecutionProperties();
+        properties.setRunTimeoutSeconds(runTimeoutSeconds);
+        return new ChatRunRegistry(properties);
+    }
+
+    private ChatRun run(String runId) {
+        return ChatRun.builder()
+                .runId(runId)
+                .chatId(1L)
+                .userId(1L)
+                .message("message")
+                .build();
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlan;
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlanCompiler;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.plan.PromptTemplateCache;
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
+import com.ssafy.flowstudio.domain.edge.entity.Edge;
+import com.ssafy.flowstudio.domain.node.entity.Answer;
+import com.ssafy.flowstudio.domain.node.entity.Coordinate;
+import com.ssafy.flowstudio.domain.node.entity.Node;
+import com.ssafy.flowstudio.domain.node.entity.NodeType;
+import com.ssafy.flowstudio.domain.node.entity.Start;
+import com.ssafy.flowstudio.domain.user.entity.User;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NodeMetricsListenerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NodeMetricsListener listener = new NodeMetricsListener(meterRegistry);
+
+    @DisplayName("노드 실행 시간은 노드 타입, 챗플로우, 실행 모드별로 기록된다.")
+    @Test
+    void recordDuration() {
+        // given
+        ChatRun run = attach(plan(true));
+        PlanNode start = run.getPlan().getStartNode();
+
+        // when
+        listener.afterStep(run, start, TimeUnit.MILLISECONDS.toNanos(30));
+
+        // then
+        Timer timer = meterRegistry.find(NodeMetricsListener.DURATION_METRIC)
+                .tags("type", "START", "chatFlow", "1", "mode", "published")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(30);
+    }
+
+    @DisplayName("노드 실행 오류는 오류 코드별로 센다.")
+    @Test
+    void countError() {
+        // given
+        ChatRun run = attach(plan(false));
+        PlanNode start = run.getPlan().getStartNode();
+
+        // when
+        listener.onStepError(run, start, new BaseException(ErrorCode.CHAT_RUN_FAILED));
+        listener.onStepError(run, start, new IllegalStateException());
+
+        // then
+        assertThat(meterRegistry.find(NodeMetricsListener.ERROR_METRIC)
+                .tags("type", "START", "mode", "preview", "code", String.valueOf(ErrorCode.CHAT_RUN_FAILED.getCode()))
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(NodeMetricsListener.ERROR_METRIC)
+                .tags("code", "IllegalStateException")
+                .counter().count()).isEqualTo(1);
+    }
+
+    private ChatRun attach(ExecutionPlan plan) {
+        ChatRun run = ChatRun.builder()
+                .runId("run")
+                .chatId(1L)
+                .userId(1L)
+                .message("message")
+                .build();
+        run.attach(null, plan);
+        return run;
+    }
+
+    // start -> answer
+    private ExecutionPlan plan(boolean isPublished) {
+        User user = User.builder()
+                .id(1L)
+                .username("test")
+                .build();
+
+        ChatFlow chatFlow = ChatFlow.builder()
+                .id(1L)
+                .owner(user)
+                .author(user)
+                .title("test")
+                .build();
+
+        Coordinate coordinate = Coordinate.builder()
+                .x(1)
+                .y(1)
+                .build();
+
+        Node start = Start.builder().id(1L).chatFlow(chatFlow).name("start").type(NodeType.START).coordinate(coordinate).maxLength(100).build();
+        Node answer = Answer.builder().id(2L).chatFlow(chatFlow).name("answer").type(NodeType.ANSWER).coordinate(coordinate).outputMessage("answer").build();
+        chatFlow.addNode(start);
+        chatFlow.addNode(answer);
+
+        Edge edge = Edge.create(start, answer);
+        start.getOutputEdges().add(edge);
+        answer.getInputEdges().add(edge);
+
+        return new ExecutionPlanCompiler(null, null, new PromptTemplateCache()).compile(chatFlow, isPublished, 0L);
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import com.ssafy.flowstudio.common.constant.ChatEnvVariable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RunContextTest {
+
+    @DisplayName("미리 읽은 값은 Redis를 다시 조회하지 않고, 없던 값만 한 번 조회한다.")
+    @Test
+    void getSeededValues() {
+        // given
+        List<String> fallbackKeys = new ArrayList<>();
+        RunContext context = new RunContext(
+                1L,
+                List.of("10", "11", ChatEnvVariable.INPUT_MESSAGE.toString()),
+                Arrays.asList("output", null, "question"),
+                key -> {
+                    fallbackKeys.add(key);
+                    return "previous";
+                }
+        );
+
+        // when & then
+        assertThat(context.get(10L)).isEqualTo("output");
+        assertThat(context.get(11L)).isNull();
+        assertThat(context.get(ChatEnvVariable.INPUT_MESSAGE)).isEqualTo("question");
+        assertThat(context.get(99L)).isEqualTo("previous");
+        assertThat(context.get(99L)).isEqualTo("previous");
+        assertThat(fallbackKeys).containsExactly("1:99");
+    }
+
+    @DisplayName("실행 중 기록한 값만 Redis 키와 함께 한 번 꺼낸다.")
+    @Test
+    void drainDirtyValues() {
+        // given
+        RunContext context = RunContext.empty(1L);
+
+        // when
+        context.put(10L, "output");
+        context.put(ChatEnvVariable.INPUT_MESSAGE, "question");
+
+        // then
+        assertThat(context.get(10L)).isEqualTo("output");
+        assertThat(context.drainDirtyValues()).isEqualTo(Map.of(
+                "1:10", "output",
+                "1:" + ChatEnvVariable.INPUT_MESSAGE, "question"
+        ));
+        assertThat(context.drainDirtyValues()).isEmpty();
+    }
+
+}
@@ -0,0 +1,360 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import com.ssafy.flowstudio.api.service.node.executor.NodeExecutor;
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlan;
+import com.ssafy.flowstudio.api.service.node.plan.ExecutionPlanCompiler;
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.api.service.node.plan.PromptTemplateCache;
+import com.ssafy.flowstudio.common.config.FlowExecutionProperties;
+import com.ssafy.flowstudio.common.exception.BaseException;
+import com.ssafy.flowstudio.common.exception.ErrorCode;
+import com.ssafy.flowstudio.domain.chatflow.entity.ChatFlow;
+import com.ssafy.flowstudio.domain.edge.entity.Edge;
+import com.ssafy.flowstudio.domain.node.entity.Answer;
+import com.ssafy.flowstudio.domain.node.entity.Coordinate;
+import com.ssafy.flowstudio.domain.node.entity.Join;
+import com.ssafy.flowstudio.domain.node.entity.LLM;
+import com.ssafy.flowstudio.domain.node.entity.Node;
+import com.ssafy.flowstudio.domain.node.entity.NodeType;
+import com.ssafy.flowstudio.domain.node.entity.Start;
+import com.ssafy.flowstudio.domain.node.entity.VariableAssigner;
+import com.ssafy.flowstudio.domain.user.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RunSchedulerTest {
+
+    private final List<String> visited = Collections.synchronizedList(new ArrayList<>());
+    private ThreadPoolTaskExecutor pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @DisplayName("여러 갈래로 나뉜 노드들은 Join 노드에서 한 번만 합쳐진다.")
+    @Test
+    void runFanOutAndJoin() {
+        // given
+        RunScheduler scheduler = scheduler(FlowExecutionProperties.ThreadModel.CALLER, new SyncTaskExecutor(), run -> {
+        });
+        ChatRun run = attach(diamond());
+
+        // when
+        scheduler.run(run);
+
+        // then
+        assertThat(visited).containsExactly("start", "left", "right", "join", "answer");
+    }
+
+    @DisplayName("노드 실행 스레드 풀에서 병렬로 실행해도 Join 노드는 한 번만 실행된다.")
+    @Test
+    void runFanOutAndJoinOnPool() {
+        // given
+        pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(2);
+        pool.initialize();
+
+        RunScheduler scheduler = scheduler(FlowExecutionProperties.ThreadModel.PLATFORM, pool, run -> {
+        });
+        ChatRun run = attach(diamond());
+
+        // when
+        scheduler.run(run);
+
+        // then
+        assertThat(visited).containsExactlyInAnyOrder("start", "left", "right", "join", "answer");
+        assertThat(visited.get(0)).isEqualTo("start");
+        assertThat(visited.subList(3, 5)).containsExactly("join", "answer");
+    }
+
+    @DisplayName("실행을 중단하면 이후의 노드는 실행되지 않는다.")
+    @Test
+    void cancel() {
+        // given
+        RunScheduler scheduler = scheduler(FlowExecutionProperties.ThreadModel.CALLER, new SyncTaskExecutor(), run -> {
+            if (visited.contains("left")) {
+                run.getState().cancel();
+            }
+        });
+        ChatRun run = attach(diamond());
+
+        // when
+        scheduler.run(run);
+
+        // then
+        assertThat(visited).containsExactly("start", "left");
+        assertThat(run.getState().isCancelled()).isTrue();
+    }
+
+    @DisplayName("실행을 중단하면 실행 중인 노드의 스레드가 인터럽트되고, 노드 실행이 끝나면 인터럽트 상태가 지워진다.")
+    @Test
+    void cancelInterruptsRunningNode() {
+        // given
+        List<Boolean> interrupted = new ArrayList<>();
+        RunScheduler scheduler = scheduler(FlowExecutionProperties.ThreadModel.CALLER, new SyncTaskExecutor(), run -> {
+            if (visited.contains("left") && !run.isCancelled()) {
+                run.cancel(RunCancelReason.USER);
+                interrupted.add(Thread.currentThread().isInterrupted());
+            }
+        });
+        ChatRun run = attach(diamond());
+
+        // when
+        scheduler.run(run);
+
+        // then
+        assertThat(visited).containsExactly("start", "left");
+        assertThat(interrupted).containsExactly(true);
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+        assertThat(run.getCancelReason()).isEqualTo(RunCancelReason.USER);
+    }
+
+    @DisplayName("노드 실행 중 발생한 예외는 실행한 스레드로 전달된다.")
+    @Test
+    void propagateFailure() {
+        // given
+        RunScheduler scheduler = scheduler(FlowExecutionProperties.ThreadModel.CALLER, new SyncTaskExecutor(), run -> {
+            if (visited.contains("right")) {
+                throw new BaseException(ErrorCode.REQUIRED_NODE_VALUE_NOT_EXIST);
+            }
+        });
+        ChatRun run = attach(diamond());
+
+        // when & then
+        assertThatThrownBy(() -> scheduler.run(run))
+                .isInstanceOf(BaseException.class)
+                .hasMessage(ErrorCode.REQUIRED_NODE_VALUE_NOT_EXIST.getMessage());
+        assertThat(visited).doesNotContain("join", "answer");
+    }
+
+    @DisplayName("한 갈래가 실패해도 다른 갈래에서 실행 중인 노드가 끝난 뒤에 실패를 전달한다.")
+    @Test
+    void propagateFailureAfterRunningBranches() {
+        // given
+        pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(2);
+        pool.initialize();
+
+        RunScheduler scheduler = scheduler(FlowExecutionProperties.ThreadModel.PLATFORM, pool, (node, run) -> {
+            if (node.getName().equals("right")) {
+                throw new BaseException(ErrorCode.REQUIRED_NODE_VALUE_NOT_EXIST);
+            }
+            if (node.getName().equals("left")) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    visited.add("left interrupted");
+                } finally {
+                    visited.add("left done");
+                }
+            }
+        });
+        ChatRun run = attach(diamond());
+
+        // when & then
+        assertThatThrownBy(() -> scheduler.run(run))
+                .isInstanceOf(BaseException.class)
+                .hasMessage(ErrorCode.REQUIRED_NODE_VALUE_NOT_EXIST.getMessage());
+        assertThat(visited).contains("left done");
+        assertThat(visited).doesNotContain("join", "answer");
+        assertThat(run.getState().isIdle()).isTrue();
+    }
+
+    @DisplayName("출력이 참조되지 않는 LLM 노드는 실행하지 않고 다음 노드로 진행한다.")
+    @Test
+    void skipPrunedNode() {
+        // given
+        RunScheduler scheduler = scheduler(FlowExecutionProperties.ThreadModel.CALLER, new SyncTaskExecutor(), run -> {
+        });
+        ExecutionPlan plan = chain("{{INPUT_MESSAGE}}", true);
+        ChatRun run = attach(plan);
+
+        // when
+        scheduler.run(run);
+
+        // then
+        assertThat(visited).containsExactly("start", "answer");
+        assertThat(plan.getPrunedNodes()).extracting("name").containsExactly("llm");
+    }
+
+    @DisplayName("미리보기 실행은 출력이 참조되지 않는 LLM 노드도 실행한다.")
+    @Test
+    void runPrunedNodeInPreview() {
+        // given
+        RunScheduler scheduler = scheduler(FlowExecutionProperties.ThreadModel.CALLER, new SyncTaskExecutor(), run -> {
+        });
+        ExecutionPlan plan = chain("{{INPUT_MESSAGE}}", false);
+        ChatRun run = attach(plan);
+
+        // when
+        scheduler.run(run);
+
+        // then
+        assertThat(visited).containsExactly("start", "llm", "answer");
+        assertThat(plan.getPrunedNodes()).extracting("name").containsExactly("llm");
+    }
+
+    @DisplayName("답변이 참조하는 LLM 노드는 실행한다.")
+    @Test
+    void runReferencedNode() {
+        // given
+        RunScheduler scheduler = scheduler(FlowExecutionProperties.ThreadModel.CALLER, new SyncTaskExecutor(), run -> {
+        });
+        ExecutionPlan plan = chain("답변: {{ 2 }}", true);
+        ChatRun run = attach(plan);
+
+        // when
+        scheduler.run(run);
+
+        // then
+        assertThat(visited).containsExactly("start", "llm", "answer");
+        assertThat(plan.getPrunedNodes()).isEmpty();
+    }
+
+    private RunScheduler scheduler(FlowExecutionProperties.ThreadModel threadModel, TaskExecutor stepExecutor, Consumer<ChatRun> afterVisit) {
+        return scheduler(threadModel, stepExecutor, (node, run) -> afterVisit.accept(run));
+    }
+
+    private RunScheduler scheduler(FlowExecutionProperties.ThreadModel threadModel, TaskExecutor stepExecutor, BiConsumer<PlanNode, ChatRun> afterVisit) {
+        FlowExecutionProperties properties = new FlowExecutionProperties();
+        properties.setThreadModel(threadModel);
+
+        List<NodeExecutor> executors = new ArrayList<>();
+        for (NodeType type : List.of(NodeType.START, NodeType.VARIABLE_ASSIGNER, NodeType.JOIN, NodeType.LLM, NodeType.ANSWER)) {
+            executors.add(new RecordingExecutor(type, afterVisit));
+        }
+
+        return new RunScheduler(executors, stepExecutor, new DefaultListableBeanFactory().getBeanProvider(RunStepListener.class), properties);
+    }
+
+    private ChatRun attach(ExecutionPlan plan) {
+        ChatRun run = ChatRun.builder()
+                .runId("run")
+                .chatId(1L)
+                .userId(1L)
+                .message("message")
+                .build();
+        run.attach(null, plan);
+        return run;
+    }
+
+    // start -> llm -> answer
+    private ExecutionPlan chain(String outputMessage, boolean isPublished) {
+        User user = User.builder()
+                .id(1L)
+                .username("test")
+                .build();
+
+        ChatFlow chatFlow = ChatFlow.builder()
+                .id(2L)
+                .owner(user)
+                .author(user)
+                .title("test")
+                .build();
+
+        Coordinate coordinate = Coordinate.builder()
+                .x(1)
+                .y(1)
+                .build();
+
+        Node start = Start.builder().id(1L).chatFlow(chatFlow).name("start").type(NodeType.START).coordinate(coordinate).maxLength(100).build();
+        Node llm = LLM.builder().id(2L).chatFlow(chatFlow).name("llm").type(NodeType.LLM).coordinate(coordinate).promptSystem("").promptUser("{{INPUT_MESSAGE}}").build();
+        Node answer = Answer.builder().id(3L).chatFlow(chatFlow).name("answer").type(NodeType.ANSWER).coordinate(coordinate).outputMessage(outputMessage).build();
+
+        for (Node node : List.of(start, llm, answer)) {
+            chatFlow.addNode(node);
+        }
+
+        connect(start, llm);
+        connect(llm, answer);
+
+        return new ExecutionPlanCompiler(null, null, new PromptTemplateCache()).compile(chatFlow, isPublished, 0L);
+    }
+
+    // start -> (left, right) -> join -> answer
+    private ExecutionPlan diamond() {
+        User user = User.builder()
+                .id(1L)
+                .username("test")
+                .build();
+
+        ChatFlow chatFlow = ChatFlow.builder()
+                .id(1L)
+                .owner(user)
+                .author(user)
+                .title("test")
+                .build();
+
+        Coordinate coordinate = Coordinate.builder()
+                .x(1)
+                .y(1)
+                .build();
+
+        Node start = Start.builder().id(1L).chatFlow(chatFlow).name("start").type(NodeType.START).coordinate(coordinate).maxLength(100).build();
+        Node left = VariableAssigner.builder().id(2L).chatFlow(chatFlow).name("left").type(NodeType.VARIABLE_ASSIGNER).coordinate(coordinate).build();
+        Node right = VariableAssigner.builder().id(3L).chatFlow(chatFlow).name("right").type(NodeType.VARIABLE_ASSIGNER).coordinate(coordinate).build();
+        Node join = Join.builder().id(4L).chatFlow(chatFlow).name("join").type(NodeType.JOIN).coordinate(coordinate).build();
+        Node answer = Answer.builder().id(5L).chatFlow(chatFlow).name("answer").type(NodeType.ANSWER).coordinate(coordinate).outputMessage("answer").build();
+
+        for (Node node : List.of(start, left, right, join, answer)) {
+            chatFlow.addNode(node);
+        }
+
+        connect(start, left);
+        connect(start, right);
+        connect(left, join);
+        connect(right, join);
+        connect(join, answer);
+
+        return new ExecutionPlanCompiler(null, null, new PromptTemplateCache()).compile(chatFlow, false, 0L);
+    }
+
+    private void connect(Node source, Node target) {
+        Edge edge = Edge.create(source, target);
+        source.getOutputEdges().add(edge);
+        target.getInputEdges().add(edge);
+    }
+
+    private class RecordingExecutor extends NodeExecutor {
+
+        private final NodeType type;
+        private final BiConsumer<PlanNode, ChatRun> afterVisit;
+
+        RecordingExecutor(NodeType type, BiConsumer<PlanNode, ChatRun> afterVisit) {
+            super(null, null, null);
+            this.type = type;
+            this.afterVisit = afterVisit;
+        }
+
+        @Override
+        public void execute(PlanNode node, ChatRun run) {
+            visited.add(node.getName());
+            afterVisit.accept(node, run);
+            proceed(node, run);
+        }
+
+        @Override
+        public NodeType getNodeType() {
+            return type;
+        }
+
+    }
+
+}
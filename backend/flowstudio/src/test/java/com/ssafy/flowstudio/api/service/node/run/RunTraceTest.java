@@ -0,0 +1,63 @@
+package com.ssafy.flowstudio.api.service.node.run;
+
+import com.ssafy.flowstudio.api.service.node.plan.PlanNode;
+import com.ssafy.flowstudio.domain.node.entity.Coordinate;
+import com.ssafy.flowstudio.domain.node.entity.LLM;
+import com.ssafy.flowstudio.domain.node.entity.NodeType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RunTraceTest {
+
+    private final PlanNode node = PlanNode.of(0, LLM.builder()
+            .id(10L)
+            .type(NodeType.LLM)
+            .coordinate(Coordinate.builder().x(1).y(1).build())
+            .build());
+
+    @DisplayName("노드가 끝나면 실행 시간, 토큰 수, 캐시 적중, 출력 크기를 하나의 기록으로 남긴다.")
+    @Test
+    void recordSpan() {
+        // given
+        RunTrace trace = new RunTrace(1);
+        trace.start(node);
+        trace.addTokens(node, 120);
+        trace.addTokens(node, 30);
+        trace.markCacheHit(node, "response");
+
+        // when
+        trace.end(node, TimeUnit.MILLISECONDS.toNanos(5), 42, null);
+
+        // then
+        List<TraceSpan> spans = trace.snapshot();
+        assertThat(spans).hasSize(1);
+        assertThat(spans.get(0))
+                .extracting(TraceSpan::nodeId, TraceSpan::type, TraceSpan::elapsedMicros, TraceSpan::tokens, TraceSpan::cacheHit, TraceSpan::outputSize)
+                .containsExactly(10L, NodeType.LLM, 5000L, 150, "response", 42);
+    }
+
+    @DisplayName("링 버퍼가 가득 차면 오래된 기록부터 덮어쓰고, 남은 기록은 순서대로 반환한다.")
+    @Test
+    void overwriteOldestSpans() {
+        // given
+        RunTrace trace = new RunTrace(1);
+
+        // when
+        for (int i = 0; i < RunTrace.CAPACITY + 10; i++) {
+            trace.start(node);
+            trace.end(node, TimeUnit.MICROSECONDS.toNanos(i), 0, null);
+        }
+
+        // then
+        List<TraceSpan> spans = trace.snapshot();
+        assertThat(spans).hasSize(RunTrace.CAPACITY);
+        assertThat(spans.get(0).elapsedMicros()).isEqualTo(10);
+        assertThat(spans.get(spans.size() - 1).elapsedMicros()).isEqualTo(RunTrace.CAPACITY + 9);
+    }
+
+}
@@ -2,6 +2,7 @@ package com.ssafy.flowstudio.api.service.user;
 
 import com.ssafy.flowstudio.api.controller.user.request.ApiKeyRequest;
 import com.ssafy.flowstudio.api.service.user.response.ApiKeyResponse;
+import com.ssafy.flowstudio.domain.node.entity.ModelProvider;
 import com.ssafy.flowstudio.domain.user.entity.ApiKey;
 import com.ssafy.flowstudio.domain.user.entity.User;
 import com.ssafy.flowstudio.domain.user.repository.UserRepository;
@@ -9,9 +10,12 @@ import com.ssafy.flowstudio.support.IntegrationTestSupport;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.encrypt.AesBytesEncryptor;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Transactional
@@ -24,6 +28,9 @@ class ApiKeyServiceTest extends IntegrationTestSupport {
     @Autowired
     private ApiKeyService apiKeyService;
 
+    @Autowired
+    private AesBytesEncryptor encryptor;
+
 
     @DisplayName("사용자의 OpenAI Api Key를 등록한다.")
     @Test
@@ -162,4 +169,29 @@ class ApiKeyServiceTest extends IntegrationTestSupport {
                 .extracting("openAiKey", "geminiKey")
                 .containsExactly(null, "gemini_key");
     }
-}
\ No newline at end of file
+
+    @DisplayName("이전 형식으로 저장된 API 키도 복호화하고, 실행 시 새 형식으로 다시 저장한다.")
+    @Test
+    void migrateLegacyApiKey() {
+        // given
+        String legacyOpenAiKey = apiKeyService.byteArrayToString(encryptor.encrypt("openai_key".getBytes(StandardCharsets.UTF_8)));
+
+        User user = User.builder()
+                .username("test")
+                .apiKey(ApiKey.builder()
+                        .openAiKey(legacyOpenAiKey)
+                        .build())
+                .build();
+
+        userRepository.save(user);
+
+        // when
+        String decryptedOpenAiKey = apiKeyService.getDecryptedApiKey(user.getId(), ModelProvider.OPENAI);
+
+        // then
+        assertThat(apiKeyService.decrypt(legacyOpenAiKey)).isEqualTo("openai_key");
+        assertThat(decryptedOpenAiKey).isEqualTo("openai_key");
+        assertThat(userRepository.findByIdWithApiKey(user.getId()).orElseThrow().getApiKey().getOpenAiKey())
+                .isEqualTo(apiKeyService.encrypt("openai_key"));
+    }
+}
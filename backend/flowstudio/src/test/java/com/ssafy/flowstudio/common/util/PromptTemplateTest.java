@@ -0,0 +1,49 @@
+package com.ssafy.flowstudio.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PromptTemplateTest {
+
+    @DisplayName("변수 참조를 값으로 치환하고, 값이 없는 변수는 그대로 남긴다.")
+    @Test
+    void render() {
+        // given
+        PromptTemplate template = PromptTemplate.compile("example {{1}} example {{input-message}} word {{2}}");
+        Map<String, String> values = Map.of("1", "message1", "input-message", "message2");
+
+        // when
+        String result = template.render(values::get);
+
+        // then
+        assertThat(template.getVariables()).containsExactly("1", "input-message", "2");
+        assertThat(result).isEqualTo("example message1 example message2 word {{2}}");
+    }
+
+    @DisplayName("줄바꿈을 포함한 중괄호는 변수로 인식하지 않는다.")
+    @Test
+    void ignoreMultiLineBraces() {
+        // given
+        PromptTemplate template = PromptTemplate.compile("{{a\nb}} {{{c}}");
+
+        // when
+        String result = template.render(variable -> "[" + variable + "]");
+
+        // then
+        assertThat(template.getVariables()).containsExactly("{c");
+        assertThat(result).isEqualTo("{{a\nb}} [{c]");
+    }
+
+    @DisplayName("변수가 없거나 null인 템플릿은 원문을 그대로 반환한다.")
+    @Test
+    void renderWithoutVariables() {
+        // when & then
+        assertThat(PromptTemplate.compile("plain text").render(variable -> "value")).isEqualTo("plain text");
+        assertThat(PromptTemplate.compile(null).render(variable -> "value")).isNull();
+    }
+
+}
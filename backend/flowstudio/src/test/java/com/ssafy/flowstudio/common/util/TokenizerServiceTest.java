@@ -0,0 +1,73 @@
+package com.ssafy.flowstudio.common.util;
+
+import com.ssafy.flowstudio.domain.node.entity.ModelName;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenizerServiceTest {
+
+    private final TokenizerService tokenizerService = new TokenizerService();
+
+    @DisplayName("Claude 모델은 같은 텍스트를 OpenAI 모델보다 넉넉하게 센다.")
+    @Test
+    void countClaudeTokensConservatively() {
+        // given
+        String text = "서울 강남역 근처에서 점심 먹기 좋은 식당을 추천해줘";
+
+        // when
+        int openAiTokens = tokenizerService.countTokens(ModelName.GPT_4_O, text);
+        int claudeTokens = tokenizerService.countTokens(ModelName.CLAUDE_3_5_SONNET, text);
+
+        // then
+        assertThat(openAiTokens).isPositive();
+        assertThat(claudeTokens).isGreaterThan(openAiTokens);
+    }
+
+    @DisplayName("메시지 토큰 수에는 메시지마다 역할 구분 토큰이 더해진다.")
+    @Test
+    void countMessageTokens() {
+        // given
+        List<ChatMessage> messages = List.of(new SystemMessage("너는 친절한 비서야"), new UserMessage("안녕"));
+
+        // when
+        int tokens = tokenizerService.countTokens(ModelName.GPT_4_O_MINI, messages);
+
+        // then
+        assertThat(tokens).isEqualTo(8
+                + tokenizerService.countTokens(ModelName.GPT_4_O_MINI, "너는 친절한 비서야")
+                + tokenizerService.countTokens(ModelName.GPT_4_O_MINI, "안녕"));
+    }
+
+    @DisplayName("한도를 넘는 청크부터 잘라내고, 한도에 걸친 청크는 앞부분만 남긴다.")
+    @Test
+    void fitChunks() {
+        // given
+        String chunk = "hello world ".repeat(10);
+        List<String> chunks = List.of(chunk, chunk, chunk);
+        int chunkTokens = tokenizerService.countTokens(ModelName.GPT_4_O, chunk);
+
+        // when
+        List<String> fitted = tokenizerService.fit(chunks, chunkTokens + chunkTokens / 2);
+
+        // then
+        assertThat(fitted).hasSize(2);
+        assertThat(fitted.get(0)).isEqualTo(chunk);
+        assertThat(chunk).startsWith(fitted.get(1));
+        assertThat(fitted.get(1).length()).isLessThan(chunk.length());
+    }
+
+    @DisplayName("최대 출력 토큰을 남겨두고 프롬프트 한도를 계산하며, 출력 토큰은 모델 한도까지만 뺀다.")
+    @Test
+    void promptBudget() {
+        assertThat(ModelName.GPT_3_5_TURBO.promptBudget(1000)).isEqualTo(16385 - 1000);
+        assertThat(ModelName.GPT_3_5_TURBO.promptBudget(100000)).isEqualTo(16385 - 4096);
+    }
+
+}
@@ -5,11 +5,19 @@ import com.ssafy.flowstudio.api.controller.chat.ChatController;
 import com.ssafy.flowstudio.api.controller.chat.request.ChatCreateRequest;
 import com.ssafy.flowstudio.api.controller.chat.request.ChatMessageRequest;
 import com.ssafy.flowstudio.api.service.chat.ChatService;
+import com.ssafy.flowstudio.api.service.chat.request.ChatMessageServiceRequest;
 import com.ssafy.flowstudio.api.service.chat.response.ChatCreateResponse;
 import com.ssafy.flowstudio.api.service.chat.response.ChatDetailResponse;
 import com.ssafy.flowstudio.api.service.chat.response.ChatListResponse;
+import com.ssafy.flowstudio.api.service.chat.response.ChatMessageListResponse;
+import com.ssafy.flowstudio.api.service.chat.response.ChatMessageResponse;
+import com.ssafy.flowstudio.api.service.chat.response.ChatRunResponse;
 import com.ssafy.flowstudio.api.service.chat.response.ChatSimpleResponse;
+import com.ssafy.flowstudio.api.service.chat.response.NodeLatencyResponse;
+import com.ssafy.flowstudio.api.service.chat.response.RunTraceResponse;
+import com.ssafy.flowstudio.api.service.chat.response.TraceSpanResponse;
 import com.ssafy.flowstudio.docs.RestDocsSupport;
+import com.ssafy.flowstudio.domain.node.entity.NodeType;
 import com.ssafy.flowstudio.domain.user.entity.User;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -153,7 +161,86 @@ public class ChatControllerDocsTest extends RestDocsSupport {
                                         fieldWithPath("data.title").type(JsonFieldType.STRING)
                                                 .description("채팅 제목"),
                                         fieldWithPath("data.messageList").type(JsonFieldType.STRING)
-                                                .description("대화 내용")
+                                                .description("대화 내용 (최근 100개)"),
+                                        fieldWithPath("data.hasMoreMessages").type(JsonFieldType.BOOLEAN)
+                                                .description("이전 메시지 존재 여부, 이전 메시지는 메시지 목록 조회로 가져온다.")
+                                )
+                                .build())));
+    }
+
+    @DisplayName("채팅 메시지 목록을 커서로 조회한다.")
+    @Test
+    void getChatMessages() throws Exception {
+        // given
+        ChatMessageResponse message1 = ChatMessageResponse.builder()
+                .seq(41)
+                .question("question1")
+                .answer("answer1")
+                .runId("0b8f6a4e-2f7d-4c1b-9a57-3c5d2e8f1a90")
+                .nodeId(3L)
+                .build();
+
+        ChatMessageResponse message2 = ChatMessageResponse.builder()
+                .seq(42)
+                .question("question2")
+                .answer("answer2")
+                .build();
+
+        ChatMessageListResponse response = ChatMessageListResponse.builder()
+                .chatId(1L)
+                .messages(List.of(message1, message2))
+                .hasMore(true)
+                .build();
+
+        given(chatService.getMessages(any(User.class), anyLong(), anyLong(), any(), any(), anyInt()))
+                .willReturn(response);
+
+        // when
+        ResultActions perform = mockMvc.perform(
+                get("/api/v1/chat-flows/{chatFlowId}/chats/{chatId}/messages", 1L, 1L)
+                        .param("before", "43")
+                        .param("limit", "2")
+                        .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        perform
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("get-chat-messages",
+                        preprocessResponse(prettyPrint()),
+                        resource(ResourceSnippetParameters.builder()
+                                .tag("Chat")
+                                .summary("채팅 메시지 목록 조회")
+                                .queryParameters(
+                                        RequestDocumentation.parameterWithName("before").optional().description("이 seq 이전 메시지를 조회, after와 함께 사용할 수 없음"),
+                                        RequestDocumentation.parameterWithName("after").optional().description("이 seq 이후 메시지를 조회, 둘 다 없으면 최근 메시지를 조회"),
+                                        RequestDocumentation.parameterWithName("limit").optional().description("사이즈, 입력 없으면 default 30, 최대 100")
+                                )
+                                .responseFields(
+                                        fieldWithPath("code").type(JsonFieldType.NUMBER)
+                                                .description("코드"),
+                                        fieldWithPath("status").type(JsonFieldType.STRING)
+                                                .description("상태"),
+                                        fieldWithPath("message").type(JsonFieldType.STRING)
+                                                .description("메시지"),
+                                        fieldWithPath("data").type(JsonFieldType.OBJECT)
+                                                .description("데이터"),
+                                        fieldWithPath("data.chatId").type(JsonFieldType.NUMBER)
+                                                .description("채팅 아이디"),
+                                        fieldWithPath("data.messages").type(JsonFieldType.ARRAY)
+                                                .description("메시지 목록 (오래된 순서)"),
+                                        fieldWithPath("data.messages[].seq").type(JsonFieldType.NUMBER)
+                                                .description("채팅 안의 메시지 순번, 다음 조회의 커서로 사용"),
+                                        fieldWithPath("data.messages[].question").type(JsonFieldType.STRING)
+                                                .description("질문"),
+                                        fieldWithPath("data.messages[].answer").type(JsonFieldType.STRING)
+                                                .description("답변"),
+                                        fieldWithPath("data.messages[].runId").type(JsonFieldType.STRING).optional()
+                                                .description("답변을 만든 실행 아이디, 트레이스 조회에 사용"),
+                                        fieldWithPath("data.messages[].nodeId").type(JsonFieldType.NUMBER).optional()
+                                                .description("답변을 보낸 Answer 노드 아이디"),
+                                        fieldWithPath("data.hasMore").type(JsonFieldType.BOOLEAN)
+                                                .description("조회한 방향으로 메시지가 더 있는지 여부")
                                 )
                                 .build())));
     }
@@ -216,6 +303,14 @@ public class ChatControllerDocsTest extends RestDocsSupport {
                 .message("message")
                 .build();
 
+        ChatRunResponse response = ChatRunResponse.builder()
+                .chatId(1L)
+                .runId("0b8f6a4e-2f7d-4c1b-9a57-3c5d2e8f1a90")
+                .build();
+
+        given(chatService.sendMessage(anyLong(), any(ChatMessageServiceRequest.class)))
+                .willReturn(response);
+
         // when
         ResultActions perform = mockMvc.perform(
                 post("/api/v1/chats/{chatId}", 1L)
@@ -225,7 +320,7 @@ public class ChatControllerDocsTest extends RestDocsSupport {
         // then
         perform
                 .andDo(print())
-                .andExpect(status().isOk())
+                .andExpect(status().isAccepted())
                 .andDo(document("send-message",
                         preprocessResponse(prettyPrint()),
                         resource(ResourceSnippetParameters.builder()
@@ -238,8 +333,12 @@ public class ChatControllerDocsTest extends RestDocsSupport {
                                                 .description("상태"),
                                         fieldWithPath("message").type(JsonFieldType.STRING)
                                                 .description("메시지"),
-                                        fieldWithPath("data").type(JsonFieldType.NULL)
-                                                .description("데이터"))
+                                        fieldWithPath("data").type(JsonFieldType.OBJECT)
+                                                .description("데이터"),
+                                        fieldWithPath("data.chatId").type(JsonFieldType.NUMBER)
+                                                .description("채팅 아이디"),
+                                        fieldWithPath("data.runId").type(JsonFieldType.STRING)
+                                                .description("실행 아이디"))
                                 .build())));
 
     }
@@ -276,4 +375,162 @@ public class ChatControllerDocsTest extends RestDocsSupport {
                                 .build())));
     }
 
+    @DisplayName("실행 중인 채팅 메시지를 중단한다.")
+    @Test
+    void cancelChatRun() throws Exception {
+        // when
+        ResultActions perform = mockMvc.perform(
+                post("/api/v1/chats/{chatId}/runs/{runId}/cancel", 1L, "0b8f6a4e-2f7d-4c1b-9a57-3c5d2e8f1a90")
+                        .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        perform
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("cancel-chat-run",
+                        preprocessResponse(prettyPrint()),
+                        resource(ResourceSnippetParameters.builder()
+                                .tag("Chat")
+                                .summary("메시지 실행 중단")
+                                .responseFields(
+                                        fieldWithPath("code").type(JsonFieldType.NUMBER)
+                                                .description("코드"),
+                                        fieldWithPath("status").type(JsonFieldType.STRING)
+                                                .description("상태"),
+                                        fieldWithPath("message").type(JsonFieldType.STRING)
+                                                .description("메시지"),
+                                        fieldWithPath("data").type(JsonFieldType.NULL)
+                                                .description("데이터"))
+                                .build())));
+    }
+
+    @DisplayName("채팅 메시지 실행 트레이스를 조회한다.")
+    @Test
+    void getRunTrace() throws Exception {
+        // given
+        TraceSpanResponse span = TraceSpanResponse.builder()
+                .nodeId(2L)
+                .type(NodeType.LLM)
+                .startedAt(1760000000000L)
+                .endedAt(1760000001200L)
+                .elapsedMicros(1200000L)
+                .tokens(350)
+                .cacheHit(null)
+                .outputSize(512)
+                .errorCode(null)
+                .build();
+
+        RunTraceResponse response = RunTraceResponse.builder()
+                .chatId(1L)
+                .runId("0b8f6a4e-2f7d-4c1b-9a57-3c5d2e8f1a90")
+                .running(false)
+                .spans(List.of(span))
+                .build();
+
+        given(chatService.getRunTrace(any(User.class), anyLong(), any(String.class)))
+                .willReturn(response);
+
+        // when
+        ResultActions perform = mockMvc.perform(
+                get("/api/v1/chats/{chatId}/runs/{runId}/trace", 1L, "0b8f6a4e-2f7d-4c1b-9a57-3c5d2e8f1a90")
+                        .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        perform
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("get-run-trace",
+                        preprocessResponse(prettyPrint()),
+                        resource(ResourceSnippetParameters.builder()
+                                .tag("Chat")
+                                .summary("메시지 실행 트레이스 조회")
+                                .responseFields(
+                                        fieldWithPath("code").type(JsonFieldType.NUMBER)
+                                                .description("코드"),
+                                        fieldWithPath("status").type(JsonFieldType.STRING)
+                                                .description("상태"),
+                                        fieldWithPath("message").type(JsonFieldType.STRING)
+                                                .description("메시지"),
+                                        fieldWithPath("data").type(JsonFieldType.OBJECT)
+                                                .description("데이터"),
+                                        fieldWithPath("data.chatId").type(JsonFieldType.NUMBER)
+                                                .description("채팅 아이디"),
+                                        fieldWithPath("data.runId").type(JsonFieldType.STRING)
+                                                .description("실행 아이디"),
+                                        fieldWithPath("data.running").type(JsonFieldType.BOOLEAN)
+                                                .description("실행 중 여부"),
+                                        fieldWithPath("data.spans").type(JsonFieldType.ARRAY)
+                                                .description("노드 실행 기록"),
+                                        fieldWithPath("data.spans[].nodeId").type(JsonFieldType.NUMBER)
+                                                .description("노드 아이디"),
+                                        fieldWithPath("data.spans[].type").type(JsonFieldType.STRING)
+                                                .description("노드 타입"),
+                                        fieldWithPath("data.spans[].startedAt").type(JsonFieldType.NUMBER)
+                                                .description("실행 시작 시각 (epoch millis)"),
+                                        fieldWithPath("data.spans[].endedAt").type(JsonFieldType.NUMBER)
+                                                .description("실행 종료 시각 (epoch millis)"),
+                                        fieldWithPath("data.spans[].elapsedMicros").type(JsonFieldType.NUMBER)
+                                                .description("실행 시간 (마이크로초)"),
+                                        fieldWithPath("data.spans[].tokens").type(JsonFieldType.NUMBER)
+                                                .description("사용한 토큰 수"),
+                                        fieldWithPath("data.spans[].cacheHit").type(JsonFieldType.STRING).optional()
+                                                .description("재사용한 결과의 출처 (response, speculation, memo, embedding)"),
+                                        fieldWithPath("data.spans[].outputSize").type(JsonFieldType.NUMBER)
+                                                .description("출력 글자 수"),
+                                        fieldWithPath("data.spans[].errorCode").type(JsonFieldType.NUMBER).optional()
+                                                .description("실패한 경우 오류 코드"))
+                                .build())));
+    }
+
+    @DisplayName("챗플로우의 노드별 실행 시간 통계를 조회한다.")
+    @Test
+    void getNodeLatencies() throws Exception {
+        // given
+        NodeLatencyResponse latency = NodeLatencyResponse.builder()
+                .nodeId(2L)
+                .type(NodeType.LLM)
+                .count(120)
+                .p50Millis(850.0)
+                .p95Millis(2300.0)
+                .build();
+
+        given(chatService.getNodeLatencies(any(User.class), anyLong()))
+                .willReturn(List.of(latency));
+
+        // when
+        ResultActions perform = mockMvc.perform(
+                get("/api/v1/chat-flows/{chatFlowId}/node-latencies", 1L)
+                        .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        perform
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andDo(document("get-node-latencies",
+                        preprocessResponse(prettyPrint()),
+                        resource(ResourceSnippetParameters.builder()
+                                .tag("Chat")
+                                .summary("노드별 실행 시간 통계 조회")
+                                .responseFields(
+                                        fieldWithPath("code").type(JsonFieldType.NUMBER)
+                                                .description("코드"),
+                                        fieldWithPath("status").type(JsonFieldType.STRING)
+                                                .description("상태"),
+                                        fieldWithPath("message").type(JsonFieldType.STRING)
+                                                .description("메시지"),
+                                        fieldWithPath("data").type(JsonFieldType.ARRAY)
+                                                .description("데이터"),
+                                        fieldWithPath("data[].nodeId").type(JsonFieldType.NUMBER)
+                                                .description("노드 아이디"),
+                                        fieldWithPath("data[].type").type(JsonFieldType.STRING)
+                                                .description("노드 타입"),
+                                        fieldWithPath("data[].count").type(JsonFieldType.NUMBER)
+                                                .description("통계에 사용한 최근 실행 수"),
+                                        fieldWithPath("data[].p50Millis").type(JsonFieldType.NUMBER)
+                                                .description("실행 시간 중앙값 (밀리초)"),
+                                        fieldWithPath("data[].p95Millis").type(JsonFieldType.NUMBER)
+                                                .description("실행 시간 95 백분위수 (밀리초)"))
+                                .build())));
+    }
+
 }
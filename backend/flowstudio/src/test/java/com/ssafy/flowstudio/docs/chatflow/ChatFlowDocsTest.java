@@ -1347,7 +1347,9 @@ public class ChatFlowDocsTest extends RestDocsSupport {
                                         fieldWithPath("data.errorCode").type(JsonFieldType.NUMBER)
                                                 .description("해당 챗플로우가 실행 불가능할 시의 에러 코드"),
                                         fieldWithPath("data.malfunctionCause").type(JsonFieldType.STRING)
-                                                .description("해당 챗플로우가 실행 불가능할 시의 에러 발생이유")
+                                                .description("해당 챗플로우가 실행 불가능할 시의 에러 발생이유"),
+                                        fieldWithPath("data.prunedNodes").type(JsonFieldType.ARRAY)
+                                                .description("출력이 참조되지 않아 실행하지 않는 노드 목록")
                                 )
                                 .build())));
     }
@@ -135,6 +135,7 @@ public class NodeUpdateControllerDocsTest extends RestDocsSupport {
         QuestionClassifierUpdateRequest request = QuestionClassifierUpdateRequest.builder()
                 .name("updateStart")
                 .coordinate(coordinateRequest)
+                .speculativeTokenBudget(2000)
                 .build();
 
         QuestionClassifierResponse response = QuestionClassifierResponse.builder()
@@ -170,7 +171,9 @@ public class NodeUpdateControllerDocsTest extends RestDocsSupport {
                                         fieldWithPath("coordinate.x").type(JsonFieldType.NUMBER)
                                                 .description("변경할 x좌표"),
                                         fieldWithPath("coordinate.y").type(JsonFieldType.NUMBER)
-                                                .description("변경할 y좌표")
+                                                .description("변경할 y좌표"),
+                                        fieldWithPath("speculativeTokenBudget").type(JsonFieldType.NUMBER).optional()
+                                                .description("분류하는 동안 각 갈래의 첫 노드를 미리 실행할 때 사용할 토큰 예산 (0이면 사용하지 않음)")
                                 )
                                 .responseFields(
                                         fieldWithPath("code").type(JsonFieldType.NUMBER)
@@ -218,6 +221,9 @@ public class NodeUpdateControllerDocsTest extends RestDocsSupport {
                 .maxTokens(100)
                 .context("context")
                 .modelName(ModelName.GPT_4_O_MINI)
+                .responseCacheEnabled(true)
+                .fallbackModelName(ModelName.CLAUDE_3_5_HAIKU)
+                .hedgingEnabled(true)
                 .build();
 
         LlmDetailResponse response = LlmDetailResponse.builder()
@@ -270,7 +276,13 @@ public class NodeUpdateControllerDocsTest extends RestDocsSupport {
                                         fieldWithPath("maxTokens").type(JsonFieldType.NUMBER)
                                                 .description("maxTokens"),
                                         fieldWithPath("modelName").type(JsonFieldType.STRING)
-                                                .description("모델 이름")
+                                                .description("모델 이름"),
+                                        fieldWithPath("responseCacheEnabled").type(JsonFieldType.BOOLEAN).optional()
+                                                .description("응답 캐시 사용 여부 (없을 경우 기존 값 유지)"),
+                                        fieldWithPath("fallbackModelName").type(JsonFieldType.STRING).optional()
+                                                .description("기본 모델 호출이 실패하거나 서킷이 열렸을 때 사용할 대체 모델 (없을 경우 대체하지 않음)"),
+                                        fieldWithPath("hedgingEnabled").type(JsonFieldType.BOOLEAN).optional()
+                                                .description("첫 토큰이 늦으면 한 번 더 요청하고 먼저 응답한 쪽을 사용할지 여부 (없을 경우 기존 값 유지)")
                                 )
                                 .responseFields(
                                         fieldWithPath("code").type(JsonFieldType.NUMBER)
@@ -308,6 +320,12 @@ public class NodeUpdateControllerDocsTest extends RestDocsSupport {
                                                 .description("생성될 텍스트의 최대 토큰 수"),
                                         fieldWithPath("data.modelMaxTokens").type(JsonFieldType.NUMBER)
                                                 .description("모델이 허용하는 최대 토큰 수"),
+                                        fieldWithPath("data.responseCacheEnabled").type(JsonFieldType.BOOLEAN)
+                                                .description("응답 캐시 사용 여부"),
+                                        fieldWithPath("data.fallbackModelName").type(JsonFieldType.STRING).optional()
+                                                .description("대체 모델"),
+                                        fieldWithPath("data.hedgingEnabled").type(JsonFieldType.BOOLEAN)
+                                                .description("헤징 사용 여부"),
                                         fieldWithPath("data.modelProvider").type(JsonFieldType.STRING).optional()
                                                 .description("사용할 언어 모델의 제공자 (예: OpenAI)"),
                                         fieldWithPath("data.modelName").type(JsonFieldType.STRING).optional()